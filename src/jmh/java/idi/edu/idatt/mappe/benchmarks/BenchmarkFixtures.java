@@ -0,0 +1,170 @@
+package idi.edu.idatt.mappe.benchmarks;
+
+import idi.edu.idatt.mappe.exceptions.JsonParsingException;
+import idi.edu.idatt.mappe.exceptions.TileActionNotFoundException;
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.LandActionResolver;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.tileaction.LadderTileAction;
+import idi.edu.idatt.mappe.models.tileaction.SnakeTileAction;
+import idi.edu.idatt.mappe.utils.file.writer.BoardFileWriterGson;
+import idi.edu.idatt.mappe.utils.file.writer.PlayerFileWriterCVS;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reproducible fixtures for the benchmarks
+ * <p>
+ *     Every fixture is generated from a fixed seed, so two runs of the same benchmark
+ *     on different releases measure the same boards, rosters and access patterns.
+ * </p>
+ */
+public final class BenchmarkFixtures {
+    /**
+     * The seed all fixtures are generated from
+     */
+    public static final long SEED = 2003L;
+
+    private static final int TILES_PER_SNAKE_OR_LADDER = 10;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Turns off info logging, which would otherwise dominate the measured time
+     */
+    public static void quietLogging() {
+        Logger.getLogger("").setLevel(Level.WARNING);
+        for (var handler : Logger.getLogger("").getHandlers()) {
+            handler.setLevel(Level.WARNING);
+        }
+    }
+
+    /**
+     * Creates a square Snakes and Ladders board with about one ladder or snake per ten tiles
+     *
+     * @param tileCount The number of tiles, should be a square number
+     * @return The board
+     */
+    public static Board snakesAndLaddersBoard(int tileCount) {
+        int columns = (int) Math.sqrt(tileCount);
+        int rows = tileCount / columns;
+        Board board = new Board(rows, columns, GameType.SNAKES_AND_LADDERS);
+        int size = board.getTileCount();
+        Random random = new Random(SEED);
+
+        for (int i = 0; i < size / TILES_PER_SNAKE_OR_LADDER; i++) {
+            int start = 2 + random.nextInt(size - 2);
+            boolean ladder = random.nextBoolean();
+            int end = ladder
+                    ? start + 1 + random.nextInt(Math.max(1, Math.min(30, size - 1 - start)))
+                    : Math.max(1, start - 1 - random.nextInt(30));
+            Tile tile = board.getTileByIndex(start);
+            if (end >= size || end == start || tile.getLandAction() != null
+                    || LandActionResolver.createsLoop(board, start, end)) {
+                continue;
+            }
+            tile.setLandAction(ladder
+                    ? new LadderTileAction(end, "Ladder from " + start + " to " + end, board)
+                    : new SnakeTileAction(end, "Snake from " + start + " to " + end, board));
+        }
+        board.invalidateLandActionResolver();
+        return board;
+    }
+
+    /**
+     * Creates a started game on a board
+     *
+     * @param board The board
+     * @param playerCount The number of players
+     * @return The game, with the first player as the current player
+     */
+    public static BoardGame game(Board board, int playerCount) {
+        BoardGame game = new BoardGame(GameType.SNAKES_AND_LADDERS);
+        game.setBoard(board);
+        game.createDice(2);
+        for (Player player : roster(playerCount)) {
+            game.addPlayer(player);
+        }
+        game.startGame();
+        game.setCurrentPlayer(game.getPlayers().getFirst());
+        return game;
+    }
+
+    /**
+     * Creates a roster of players with generated names and tokens
+     *
+     * @param playerCount The number of players
+     * @return The players
+     */
+    public static List<Player> roster(int playerCount) {
+        String[] tokens = {"Car", "Hat", "Dog", "Ship", "Boot"};
+        Random random = new Random(SEED);
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(new Player("Player" + i + "-" + Integer.toHexString(random.nextInt()),
+                    tokens[random.nextInt(tokens.length)]));
+        }
+        return players;
+    }
+
+    /**
+     * Creates a sequence of tile indices to look up
+     *
+     * @param board The board
+     * @param count The number of indices
+     * @return Indices between 1 and the number of tiles
+     */
+    public static int[] tileIndices(Board board, int count) {
+        Random random = new Random(SEED);
+        int[] indices = new int[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = 1 + random.nextInt(board.getTileCount());
+        }
+        return indices;
+    }
+
+    /**
+     * Writes a board to a new file in a temporary directory
+     *
+     * @param board The board
+     * @return The path of the file
+     * @throws IOException If the file cannot be written
+     * @throws JsonParsingException If the board cannot be serialized
+     * @throws TileActionNotFoundException If the board has an action that cannot be written
+     */
+    public static Path writeBoardFile(Board board)
+            throws IOException, JsonParsingException, TileActionNotFoundException {
+        Path file = Files.createTempFile("benchmark-board", ".json");
+        file.toFile().deleteOnExit();
+        new BoardFileWriterGson().writeBoard(board, file.toString());
+        return file;
+    }
+
+    /**
+     * Writes a roster to a new file in a temporary directory
+     *
+     * @param players The players
+     * @return The path of the file
+     * @throws IOException If the file cannot be written
+     */
+    public static Path writeRosterFile(List<Player> players) throws IOException {
+        Path file = Files.createTempFile("benchmark-players", ".csv");
+        file.toFile().deleteOnExit();
+        new PlayerFileWriterCVS().savePlayers(players, file.toString());
+        return file;
+    }
+}
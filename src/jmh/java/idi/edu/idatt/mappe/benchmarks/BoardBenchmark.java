@@ -0,0 +1,55 @@
+package idi.edu.idatt.mappe.benchmarks;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.Tile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for looking up and iterating the tiles of a board
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    private static final int LOOKUPS = 1024;
+
+    @Param({"100", "10000", "1000000"})
+    private int tiles;
+
+    private Board board;
+    private int[] indices;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        board = BenchmarkFixtures.snakesAndLaddersBoard(tiles);
+        indices = BenchmarkFixtures.tileIndices(board, LOOKUPS);
+    }
+
+    @Benchmark
+    public Tile getTileByIndex() {
+        next = (next + 1) & (LOOKUPS - 1);
+        return board.getTileByIndex(indices[next]);
+    }
+
+    @Benchmark
+    public Tile getTilesGet() {
+        next = (next + 1) & (LOOKUPS - 1);
+        return board.getTiles().get(indices[next]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void getTilesIterate(Blackhole blackhole) {
+        for (Tile tile : board.getTiles().values()) {
+            blackhole.consume(tile);
+        }
+    }
+}
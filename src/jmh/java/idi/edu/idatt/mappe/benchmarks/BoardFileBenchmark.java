@@ -0,0 +1,59 @@
+package idi.edu.idatt.mappe.benchmarks;
+
+import idi.edu.idatt.mappe.exceptions.JsonParsingException;
+import idi.edu.idatt.mappe.exceptions.TileActionNotFoundException;
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.utils.file.reader.BoardFileReaderGson;
+import idi.edu.idatt.mappe.utils.file.writer.BoardFileWriterGson;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading and writing board files
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BoardFileBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    private int tiles;
+
+    private Board board;
+    private Path boardFile;
+    private Path outputFile;
+    private final BoardFileReaderGson reader = new BoardFileReaderGson();
+    private final BoardFileWriterGson writer = new BoardFileWriterGson();
+
+    @Setup
+    public void setUp() throws IOException, JsonParsingException, TileActionNotFoundException {
+        BenchmarkFixtures.quietLogging();
+        board = BenchmarkFixtures.snakesAndLaddersBoard(tiles);
+        boardFile = BenchmarkFixtures.writeBoardFile(board);
+        outputFile = Files.createTempFile("benchmark-board-out", ".json");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(boardFile);
+        Files.deleteIfExists(outputFile);
+    }
+
+    @Benchmark
+    public Board readBoard() throws JsonParsingException {
+        return reader.readBoard(boardFile.toString());
+    }
+
+    @Benchmark
+    public Path writeBoard() throws IOException, JsonParsingException, TileActionNotFoundException {
+        writer.writeBoard(board, outputFile.toString());
+        return outputFile;
+    }
+}
@@ -0,0 +1,63 @@
+package idi.edu.idatt.mappe.benchmarks;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for playing turns on boards of different sizes
+ * <p>
+ *     Players are put back on the first tile when they get close to the last one, so the
+ *     game never finishes and every invocation moves a player.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardGameBenchmark {
+    private static final int STEPS = 7;
+
+    @Param({"100", "10000", "1000000"})
+    private int tiles;
+
+    private Board board;
+    private BoardGame game;
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        board = BenchmarkFixtures.snakesAndLaddersBoard(tiles);
+        game = BenchmarkFixtures.game(board, 4);
+        player = game.getCurrentPlayer();
+    }
+
+    @Benchmark
+    public Player play() {
+        restartIfNearEnd();
+        game.play();
+        return player;
+    }
+
+    @Benchmark
+    public Player movePlayer() {
+        restartIfNearEnd();
+        game.movePlayer(player, STEPS);
+        return player;
+    }
+
+    /**
+     * Puts the player back on the first tile before a roll could reach the last tile
+     */
+    private void restartIfNearEnd() {
+        if (player.getCurrentTileIndex() > board.getTileCount() - 13) {
+            player.setCurrentTile(board.getTileByIndex(1));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package idi.edu.idatt.mappe.benchmarks;
+
+import idi.edu.idatt.mappe.models.dice.Dice;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for rolling dice and reading their values
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiceBenchmark {
+
+    @Param({"1", "2", "5"})
+    private int numberOfDice;
+
+    private Dice dice;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        dice = new Dice(numberOfDice);
+        dice.roll();
+    }
+
+    @Benchmark
+    public int roll() {
+        return dice.roll();
+    }
+
+    @Benchmark
+    public List<Integer> getValues() {
+        return dice.getValues();
+    }
+}
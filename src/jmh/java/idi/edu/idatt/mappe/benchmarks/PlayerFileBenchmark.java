@@ -0,0 +1,59 @@
+package idi.edu.idatt.mappe.benchmarks;
+
+import idi.edu.idatt.mappe.exceptions.CVSParsingException;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.utils.file.reader.PlayerFileReaderCVS;
+import idi.edu.idatt.mappe.utils.file.writer.PlayerFileWriterCVS;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading and writing player rosters
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PlayerFileBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int players;
+
+    private List<Player> roster;
+    private Path rosterFile;
+    private Path outputFile;
+    private final PlayerFileReaderCVS reader = new PlayerFileReaderCVS();
+    private final PlayerFileWriterCVS writer = new PlayerFileWriterCVS();
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkFixtures.quietLogging();
+        roster = BenchmarkFixtures.roster(players);
+        rosterFile = BenchmarkFixtures.writeRosterFile(roster);
+        outputFile = Files.createTempFile("benchmark-players-out", ".csv");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(rosterFile);
+        Files.deleteIfExists(outputFile);
+    }
+
+    @Benchmark
+    public List<Player> loadPlayers() throws IOException, CVSParsingException {
+        return reader.loadPlayers(rosterFile.toString());
+    }
+
+    @Benchmark
+    public Path savePlayers() throws IOException {
+        writer.savePlayers(roster, outputFile.toString());
+        return outputFile;
+    }
+}
@@ -0,0 +1,43 @@
+package idi.edu.idatt.mappe.benchmarks;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.utils.factory.BoardFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for finding the routes a player can afford on a Lost Diamond map
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TileBenchmark {
+
+    @Param({"0", "100", "300"})
+    private int money;
+
+    private Tile[] tiles;
+    private Player player;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        Board board = BoardFactory.createLostDiamondBoard();
+        tiles = board.getTiles().values().toArray(new Tile[0]);
+        player = new Player("Explorer", "Hat", money);
+    }
+
+    @Benchmark
+    public List<Tile> getAffordableConnections() {
+        next = next + 1 == tiles.length ? 0 : next + 1;
+        return tiles[next].getAffordableConnections(player);
+    }
+}
@@ -1,15 +1,24 @@
 package idi.edu.idatt.mappe;
 
+import idi.edu.idatt.mappe.controllers.RemoteGameController;
 import idi.edu.idatt.mappe.views.HomeView;
 import javafx.application.Application;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.BorderPane;
 import javafx.stage.Stage;
 
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
  * Main application class for the Boardgame.
  * Initializes services and sets up the main window.
+ * <p>
+ *     Started with {@code --host=PORT}, every game started in the window is also served to
+ *     network clients on that port. Started with {@code --join=HOST:PORT --name=NAME}, the
+ *     window joins a hosted game instead and plays the turns of the player with that name.
+ * </p>
  */
 public class BoardgameMain extends Application {
 
@@ -27,7 +36,16 @@ public class BoardgameMain extends Application {
         primaryStage.setHeight(900);
         primaryStage.setResizable(false);
 
+        Map<String, String> options = getParameters().getNamed();
+        if (options.containsKey("join")) {
+            joinGame(primaryStage, options.get("join"), options.getOrDefault("name", System.getProperty("user.name")));
+            return;
+        }
+
         HomeView homeView = new HomeView(primaryStage);
+        if (options.containsKey("host")) {
+            homeView.startHosting(Integer.parseInt(options.get("host")));
+        }
         Scene scene = new Scene(homeView.getRoot());
 
         scene.getStylesheets().add(getClass().getResource("/css/styles.css").toExternalForm());
@@ -37,12 +55,41 @@ public class BoardgameMain extends Application {
 
         primaryStage.setOnCloseRequest(event -> {
             logger.info("Closing Boardgame application");
+            homeView.shutdown();
             System.exit(0);
         });
 
         logger.info("Boardgame application started");
     }
 
+    /**
+     * Shows a window that plays a game hosted on another machine
+     *
+     * @param primaryStage The main window
+     * @param address The address of the host, as HOST:PORT
+     * @param playerName The name of the player to play as
+     */
+    private void joinGame(Stage primaryStage, String address, String playerName) {
+        int separator = address.lastIndexOf(':');
+        String host = address.substring(0, separator);
+        int port = Integer.parseInt(address.substring(separator + 1));
+
+        BorderPane root = new BorderPane(new Label("Connecting to " + address + " as " + playerName + "..."));
+        RemoteGameController controller = new RemoteGameController(playerName, root::setCenter);
+        Scene scene = new Scene(root);
+        scene.getStylesheets().add(getClass().getResource("/css/styles.css").toExternalForm());
+
+        primaryStage.setTitle("Brettspill - " + playerName + " @ " + address);
+        primaryStage.setScene(scene);
+        primaryStage.show();
+        primaryStage.setOnCloseRequest(event -> {
+            controller.shutdown();
+            System.exit(0);
+        });
+
+        controller.connect(host, port);
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -2,13 +2,25 @@ package idi.edu.idatt.mappe.controllers;
 
 import idi.edu.idatt.mappe.models.BoardGame;
 import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.PlayerGameResult;
 import idi.edu.idatt.mappe.models.PlayerSelectionEntry;
+import idi.edu.idatt.mappe.models.TurnScheduler;
 import idi.edu.idatt.mappe.models.enums.GameState;
+import idi.edu.idatt.mappe.models.history.GameHistory;
+import idi.edu.idatt.mappe.models.history.GameStateCodec;
+import idi.edu.idatt.mappe.services.network.GameHost;
+import idi.edu.idatt.mappe.services.network.GameSetup;
+import idi.edu.idatt.mappe.services.spectator.SpectatorStream;
+import idi.edu.idatt.mappe.services.stats.PlayerStatsStore;
+import idi.edu.idatt.mappe.utils.diagnostics.TurnTrace;
 import idi.edu.idatt.mappe.views.GameView;
+import javafx.application.Platform;
 
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -23,7 +35,14 @@ public abstract class BoardGameController {
     protected final FileService fileService;
     protected static final Logger logger = Logger.getLogger(BoardGameController.class.getName());
 
-    protected int currentPlayerIndex = 0;
+    protected final TurnScheduler turnScheduler = new TurnScheduler();
+    protected final TurnTrace turnTrace = new TurnTrace();
+    protected final Map<Player, Integer> turnsTaken = new HashMap<>();
+    private PlayerStatsStore statsStore;
+    private final GameHistory history = new GameHistory();
+    private GameStateCodec historyCodec;
+    private final SpectatorStream spectators;
+    private GameHost gameHost;
     protected boolean animationInProgress = false;
 
     /**
@@ -37,10 +56,14 @@ public abstract class BoardGameController {
         this.boardGame = boardGame;
         this.gameView = gameView;
         this.fileService = fileService;
+        this.spectators = new SpectatorStream(boardGame);
 
         boardGame.addObserver(gameView);
+        turnTrace.setListener(gameView.getPerformanceHud());
         setupDiceDisplay();
         gameView.setRollDiceAction(this::playTurn);
+        gameView.setHistoryActions(this::undo, this::redo);
+        gameView.setGameRules(boardGame.getGameRules());
 
         logger.info("BoardGameController initialized with board game, view, and file service");
     }
@@ -67,6 +90,7 @@ public abstract class BoardGameController {
         logger.info("Adding player: " + name);
         Player player = new Player(name);
         boardGame.addPlayer(player);
+        turnScheduler.addPlayer(player);
         gameView.addPlayer(player);
     }
 
@@ -78,9 +102,35 @@ public abstract class BoardGameController {
     public void addPlayer(Player player) {
         logger.info("Adding player: " + player.getName());
         boardGame.addPlayer(player);
+        turnScheduler.addPlayer(player);
         gameView.addPlayer(player);
     }
 
+    /**
+     * Removes a player from the game.
+     * If it was the player's turn, the turn passes to the next player.
+     *
+     * @param player The player to remove
+     */
+    public void removePlayer(Player player) {
+        boolean hadTurn = player == turnScheduler.getCurrentPlayer();
+        if (!turnScheduler.removePlayer(player)) {
+            logger.warning("Cannot remove player that is not in the game");
+            return;
+        }
+
+        logger.info("Removing player: " + player.getName());
+        boardGame.removePlayer(player);
+        gameView.removePlayer(player);
+
+        if (turnScheduler.getPlayerCount() == 0) {
+            boardGame.setCurrentPlayer(null);
+            gameView.setRollDiceButtonEnabled(false);
+        } else if (hadTurn && boardGame.getGameState() == GameState.STARTED) {
+            advanceToNextPlayer();
+        }
+    }
+
     /**
      * gets the players in the game.
      *
@@ -120,24 +170,246 @@ public abstract class BoardGameController {
             gameView.logGameEvent("Cannot start game without players. Please add at least one player.");
             return;
         }
-        currentPlayerIndex = 0;
+        turnScheduler.clear();
+        boardGame.getPlayers().forEach(turnScheduler::addPlayer);
+        turnsTaken.clear();
 
         boardGame.startGame();
-        boardGame.setCurrentPlayer(boardGame.getPlayers().get(currentPlayerIndex));
+        boardGame.setCurrentPlayer(turnScheduler.getCurrentPlayer());
         String firstPlayerName = boardGame.getCurrentPlayer().getName();
 
         gameView.logGameEvent("Game started with " + boardGame.getPlayers().size() + " players. " +
                 "Current player: " + firstPlayerName);
 
+        historyCodec = new GameStateCodec(boardGame, turnScheduler, getControllerStateSize());
+        history.start(captureState());
+        updateHistoryControls();
+        spectators.start();
+        gameView.setGameRules(boardGame.getGameRules());
+
         gameView.setRollDiceButtonEnabled(true);
     }
 
+    /**
+     * Undoes the last finished turn action, putting the game back as it was before it.
+     * Nothing happens while a turn is in progress or after the game has finished.
+     */
+    public void undo() {
+        if (!canChangeHistory() || !history.canUndo()) {
+            return;
+        }
+        restoreState(history.undo());
+        gameView.logGameEvent("Undid the last action. Current player: " + boardGame.getCurrentPlayer().getName());
+    }
+
+    /**
+     * Redoes the last undone turn action.
+     * Nothing happens while a turn is in progress or after the game has finished.
+     */
+    public void redo() {
+        if (!canChangeHistory() || !history.canRedo()) {
+            return;
+        }
+        restoreState(history.redo());
+        gameView.logGameEvent("Redid the action. Current player: " + boardGame.getCurrentPlayer().getName());
+    }
+
+    /**
+     * Checks if the game is between turn actions, so the history can be moved
+     *
+     * @return True if undo and redo are allowed now
+     */
+    protected boolean canChangeHistory() {
+        return historyCodec != null && !animationInProgress && boardGame.getGameState() == GameState.STARTED;
+    }
+
+    /**
+     * Records the state after a finished turn action as a step that can be undone,
+     * and sends what changed to the spectators.
+     */
+    protected void recordHistory() {
+        spectators.publish();
+        if (historyCodec == null) {
+            return;
+        }
+        history.record(captureState());
+        updateHistoryControls();
+    }
+
+    /**
+     * Returns the number of ints the controller stores in every history step.
+     * The base controller stores the turns taken by every player.
+     *
+     * @return The number of ints
+     */
+    protected int getControllerStateSize() {
+        return boardGame.getPlayers().size();
+    }
+
+    /**
+     * Writes the controller's own counters into a history step
+     *
+     * @param state The state to write into
+     * @param offset The position of the first int reserved for the controller
+     */
+    protected void writeControllerState(int[] state, int offset) {
+        List<Player> players = historyCodec.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            state[offset + i] = turnsTaken.getOrDefault(players.get(i), 0);
+        }
+    }
+
+    /**
+     * Reads the controller's own counters back from a history step
+     *
+     * @param state The state to read from
+     * @param offset The position of the first int reserved for the controller
+     */
+    protected void readControllerState(int[] state, int offset) {
+        List<Player> players = historyCodec.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            turnsTaken.put(players.get(i), state[offset + i]);
+        }
+    }
+
+    /**
+     * Encodes the current game and controller state
+     *
+     * @return The state
+     */
+    private int[] captureState() {
+        int[] state = historyCodec.capture();
+        writeControllerState(state, historyCodec.getControllerOffset());
+        return state;
+    }
+
+    /**
+     * Puts the game and controller back into a recorded state and redraws the view once
+     *
+     * @param state The state
+     */
+    private void restoreState(int[] state) {
+        historyCodec.restore(state);
+        readControllerState(state, historyCodec.getControllerOffset());
+        gameView.showRestoredState(historyCodec.getPlayers());
+        updateHistoryControls();
+        spectators.publish();
+        gameView.setRollDiceButtonEnabled(true);
+    }
+
+    /**
+     * Enables the undo and redo controls when there is something to undo or redo
+     */
+    private void updateHistoryControls() {
+        gameView.setHistoryAvailable(history.canUndo(), history.canRedo());
+    }
+
+    /**
+     * Stops everything the controller runs on its own, before its game is discarded or reused.
+     */
+    public void shutdown() {
+        animationInProgress = false;
+        spectators.close();
+    }
+
+    /**
+     * Returns the stream that publishes this game to spectators.
+     *
+     * @return The spectator stream
+     */
+    public SpectatorStream getSpectatorStream() {
+        return spectators;
+    }
+
+    /**
+     * Serves this game to network clients through a host.
+     * Clients receive the game's spectator stream, the seed of every roll, and can play the
+     * turns of the players with their name.
+     *
+     * @param gameHost The host, or null to stop announcing rolls
+     */
+    public void setGameHost(GameHost gameHost) {
+        this.gameHost = gameHost;
+        if (gameHost != null) {
+            gameHost.setGame(GameSetup.of(boardGame), spectators,
+                    playerName -> Platform.runLater(() -> playRemoteTurn(playerName)));
+        }
+    }
+
+    /**
+     * Plays a turn asked for by a network client, if it is the turn of the client's player
+     * and no turn is in progress.
+     *
+     * @param playerName The name of the client's player
+     */
+    public void playRemoteTurn(String playerName) {
+        Player current = boardGame.getCurrentPlayer();
+        if (boardGame.getGameState() != GameState.STARTED || animationInProgress
+                || current == null || !current.getName().equals(playerName)) {
+            logger.info("Ignoring turn request from " + playerName);
+            return;
+        }
+        playTurn();
+    }
+
     /**
      * Abstract method to play a turn of the game.
      * Each game type will implement this differently.
      */
     public abstract void playTurn();
 
+    /**
+     * Sets the store that receives the statistics of every finished game.
+     *
+     * @param statsStore The statistics store, or null to not record statistics
+     */
+    public void setPlayerStatsStore(PlayerStatsStore statsStore) {
+        this.statsStore = statsStore;
+    }
+
+    /**
+     * Starts a turn for a player, counting it for the player's statistics and tracing it.
+     *
+     * @param player The player whose turn starts
+     */
+    protected void beginTurn(Player player) {
+        turnsTaken.merge(player, 1, Integer::sum);
+        turnTrace.begin(boardGame, player);
+    }
+
+    /**
+     * Returns the coins a player has earned from treasures in the current game.
+     * Games without treasures earn none.
+     *
+     * @param player The player
+     * @return The treasure earned
+     */
+    protected int getTreasureEarned(Player player) {
+        return 0;
+    }
+
+    /**
+     * Records the finished game in the statistics of every player and sends its final state to the spectators.
+     * The statistics are written on a background thread, so this returns at once.
+     *
+     * @param winner The player who won the game
+     */
+    protected void recordGameResult(Player winner) {
+        spectators.publish();
+        if (statsStore == null) {
+            return;
+        }
+        List<PlayerGameResult> results = boardGame.getPlayers().stream()
+                .map(player -> new PlayerGameResult(player.getName(), player == winner,
+                        turnsTaken.getOrDefault(player, 0), getTreasureEarned(player)))
+                .toList();
+        statsStore.recordGameAsync(results).whenComplete((ignored, error) -> {
+            if (error != null) {
+                logger.warning("Could not record player statistics: " + error.getMessage());
+            }
+        });
+    }
+
     /**
      * Rolls the dice and returns the values.
      *
@@ -149,7 +421,14 @@ public abstract class BoardGameController {
             return new ArrayList<>();
         }
 
+        if (gameHost != null) {
+            boardGame.getDice().setSeed(gameHost.announceRoll(boardGame.getCurrentPlayer().getName()));
+        }
+
+        long modelStart = System.nanoTime();
         int total = boardGame.getDice().roll();
+        turnTrace.addModelTime(System.nanoTime() - modelStart);
+        turnTrace.setRoll(total);
         logger.info("Dice rolled: " + total);
 
         List<Integer> values = boardGame.getDice().getValues();
@@ -166,14 +445,19 @@ public abstract class BoardGameController {
 
     /**
      * Advances to the next player's turn.
+     * Players that skip their turn are passed over and logged.
      */
     protected void advanceToNextPlayer() {
-        List<Player> players = boardGame.getPlayers();
-
-        currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+        turnTrace.end();
+        Player nextPlayer = turnScheduler.advance(skipped ->
+                gameView.logGameEvent(skipped.getName() + " skips this turn."));
+        if (nextPlayer == null) {
+            logger.warning("No players left to take a turn");
+            return;
+        }
 
-        Player nextPlayer = players.get(currentPlayerIndex);
         boardGame.setCurrentPlayer(nextPlayer);
+        recordHistory();
 
         gameView.logGameEvent("Next turn: " + nextPlayer.getName());
 
@@ -1,5 +1,6 @@
 package idi.edu.idatt.mappe.controllers;
 
+import idi.edu.idatt.mappe.exceptions.CVSParsingException;
 import idi.edu.idatt.mappe.exceptions.JsonParsingException;
 import idi.edu.idatt.mappe.exceptions.TileActionNotFoundException;
 import idi.edu.idatt.mappe.models.Board;
@@ -26,8 +27,9 @@ public interface FileService {
      * @param file The file to load players from
      * @return List of players loaded from the file
      * @throws IOException If an error occurs during file reading
+     * @throws CVSParsingException If the file contains rows that are not valid
      */
-    List<Player> loadPlayersFromFile(File file) throws IOException;
+    List<Player> loadPlayersFromFile(File file) throws IOException, CVSParsingException;
 
     /**
      * Saves players to a CSV file.
@@ -76,8 +78,9 @@ public interface FileService {
      * @param filePath The path to the file where the players are saved
      * @return List of players loaded from the file
      * @throws IOException If an error occurs during file reading
+     * @throws CVSParsingException If the file contains rows that are not valid
      */
-    List<Player> loadPlayersFromPath(String filePath) throws IOException;
+    List<Player> loadPlayersFromPath(String filePath) throws IOException, CVSParsingException;
 
     /**
      * Saves players to a specified file path.
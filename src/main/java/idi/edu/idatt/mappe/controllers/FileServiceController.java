@@ -1,5 +1,6 @@
 package idi.edu.idatt.mappe.controllers;
 
+import idi.edu.idatt.mappe.exceptions.CVSParsingException;
 import idi.edu.idatt.mappe.exceptions.JsonParsingException;
 import idi.edu.idatt.mappe.exceptions.TileActionNotFoundException;
 import idi.edu.idatt.mappe.models.Board;
@@ -52,9 +53,10 @@ public class FileServiceController implements FileService {
      * @param file The file to load players from
      * @return List of players loaded from the file
      * @throws IOException If there is an error reading the file
+     * @throws CVSParsingException If the file contains rows that are not valid
      */
     @Override
-    public List<Player> loadPlayersFromFile(File file) throws IOException {
+    public List<Player> loadPlayersFromFile(File file) throws IOException, CVSParsingException {
         logger.info("Loading players from file: " + file.getAbsolutePath());
         return loadPlayersFromPath(file.getAbsolutePath());
     }
@@ -65,15 +67,16 @@ public class FileServiceController implements FileService {
      * @param filePath The file path to load players from
      * @return List of players loaded from the file
      * @throws IOException If there is an error reading the file
+     * @throws CVSParsingException If the file contains rows that are not valid
      */
     @Override
-    public List<Player> loadPlayersFromPath(String filePath) throws IOException {
+    public List<Player> loadPlayersFromPath(String filePath) throws IOException, CVSParsingException {
         try {
             logger.info("Loading players from path: " + filePath);
             List<Player> players = playerFileReader.loadPlayers(filePath);
             logger.info("Loaded " + players.size() + " players");
             return players;
-        } catch (IOException e) {
+        } catch (IOException | CVSParsingException e) {
             logger.severe("Error loading players from file: " + filePath);
             throw e;
         }
@@ -1,14 +1,17 @@
 package idi.edu.idatt.mappe.controllers;
 
 import idi.edu.idatt.mappe.models.*;
-import idi.edu.idatt.mappe.models.enums.Direction;
 import idi.edu.idatt.mappe.models.enums.GameState;
 import idi.edu.idatt.mappe.models.enums.TokenType;
+import idi.edu.idatt.mappe.models.rules.RulePhase;
+import idi.edu.idatt.mappe.models.rules.RulePipeline;
+import idi.edu.idatt.mappe.models.rules.TurnContext;
 import idi.edu.idatt.mappe.utils.factory.GameRulesFactory;
 import idi.edu.idatt.mappe.views.GameView;
 import idi.edu.idatt.mappe.views.game.LostDiamondDialog;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -23,6 +26,8 @@ import javafx.scene.control.ButtonType;
 public class LostDiamondController extends BoardGameController implements LostDiamondObserver {
     private static final Logger logger = Logger.getLogger(LostDiamondController.class.getName());
 
+    private final Map<Player, Integer> treasureEarned = new HashMap<>();
+
     /**
      * Creates a new LostDiamondController.
      *
@@ -91,13 +96,7 @@ public class LostDiamondController extends BoardGameController implements LostDi
             return;
         }
 
-        if (currentPlayer.isMissingTurn()) {
-            gameView.logGameEvent(currentPlayer.getName() + " misses this turn.");
-            currentPlayer.setMissingTurn(false);
-            advanceToNextPlayer();
-            return;
-        }
-
+        beginTurn(currentPlayer);
         showPlayerActions(currentPlayer);
     }
 
@@ -203,7 +202,8 @@ public class LostDiamondController extends BoardGameController implements LostDi
 
             boolean canTravel = !affordableTiles.isEmpty();
             boolean canBuyToken = currentTile.hasToken() && player.getMoney() >= currentTile.getTokenPrice();
-            boolean canRollForToken = currentTile.hasToken() && shouldAllowDiceRoll();
+            int tokenRollThreshold = currentTile.hasToken() ? getTokenRollThreshold(player) : 0;
+            boolean canRollForToken = tokenRollThreshold > 0;
 
             if (canTravel) {
                 content.append("• Travel to another city (").append(affordableTiles.size()).append(" destinations available)\n");
@@ -222,8 +222,7 @@ public class LostDiamondController extends BoardGameController implements LostDi
             }
 
             if (canRollForToken) {
-                int diceRollThreshold = calculateDiceRollThreshold();
-                content.append("• Roll dice to try for free token (need ").append(diceRollThreshold).append("+ to succeed)\n");
+                content.append("• Roll dice to try for free token (need ").append(tokenRollThreshold).append("+ to succeed)\n");
             }
 
             if (!canTravel && !canBuyToken && !canRollForToken) {
@@ -261,51 +260,16 @@ public class LostDiamondController extends BoardGameController implements LostDi
     }
 
     /**
-     * Determines if dice rolling for free tokens should be allowed based on game rules
+     * Runs the token roll rule of the compiled rules for a player
      *
-     * @return true if dice rolling is allowed, false otherwise
+     * @param player The player on a tile with a hidden token
+     * @return The lowest roll that wins the token, or 0 if the rules do not allow rolling for it
      */
-    private boolean shouldAllowDiceRoll() {
-        GameRules rules = boardGame.getGameRules();
-        if (rules == null) {
-            logger.warning("No rules available, defaulting to allow dice rolls");
-            return true;
-        }
-
-        Object allowDiceRolls = rules.getAdditionalData("allowDiceRollForTokens");
-        boolean allowed = allowDiceRolls == null || (Boolean) allowDiceRolls;
-
-        logger.fine("Dice roll for tokens allowed: " + allowed + " (from rules: " + rules.getRuleName() + ")");
-        return allowed;
-    }
-
-    /**
-     * Calculates the minimum dice roll needed to get a free token
-     *
-     * @return the threshold value
-     */
-    private int calculateDiceRollThreshold() {
-        GameRules rules = boardGame.getGameRules();
-        if (rules == null) {
-            logger.warning("No rules for dice threshold, using default of 4");
-            return 4;
-        }
-
-        Object customThreshold = rules.getAdditionalData("diceRollThreshold");
-        if (customThreshold instanceof Integer integer) {
-            int threshold = integer;
-            logger.fine("Using custom dice threshold from rules: " + threshold);
-            return threshold;
-        }
-
-        int diceSides = rules.getDiceSides();
-        int numberOfDice = rules.getNumberOfDice();
-        int maxRoll = numberOfDice * diceSides;
-        int threshold = (maxRoll / 2) + 1;
-
-        logger.fine("Calculated dice threshold: " + threshold +
-                " (from " + numberOfDice + "d" + diceSides + ")");
-        return threshold;
+    private int getTokenRollThreshold(Player player) {
+        RulePipeline rules = boardGame.getRulePipeline();
+        TurnContext turn = rules.newTurn(player, 0, gameView::logGameEvent);
+        rules.run(RulePhase.TOKEN_ROLL, turn);
+        return turn.getTokenRollThreshold();
     }
 
     /**
@@ -322,6 +286,13 @@ public class LostDiamondController extends BoardGameController implements LostDi
             return;
         }
 
+        int threshold = getTokenRollThreshold(player);
+        if (threshold == 0) {
+            gameView.logGameEvent("The rules do not allow rolling for tokens.");
+            advanceToNextPlayer();
+            return;
+        }
+
         List<Integer> diceValues = rollDice();
         if (diceValues.isEmpty()) {
             gameView.logGameEvent("Failed to roll dice.");
@@ -330,7 +301,6 @@ public class LostDiamondController extends BoardGameController implements LostDi
         }
 
         int totalRoll = diceValues.stream().mapToInt(Integer::intValue).sum();
-        int threshold = calculateDiceRollThreshold();
 
         gameView.logGameEvent(player.getName() + " rolled " + totalRoll + " (needed " + threshold + "+ for free token)");
         logRuleUsage("Dice Roll for Token", "Roll: " + totalRoll + ", Threshold: " + threshold);
@@ -451,6 +421,10 @@ public class LostDiamondController extends BoardGameController implements LostDi
      * @param tokenType The type of token found
      */
     private void processTokenEffect(Player player, TokenType tokenType) {
+        if (tokenType == TokenType.RUBY || tokenType == TokenType.EMERALD || tokenType == TokenType.TOPAZ) {
+            treasureEarned.merge(player, tokenType.getValue(), Integer::sum);
+        }
+
         switch (tokenType) {
             case RUBY:
                 gameView.logGameEvent(player.getName() + " found a ruby and gained " +
@@ -500,20 +474,13 @@ public class LostDiamondController extends BoardGameController implements LostDi
                 " at " + currentTile.getName() +
                 " with " + player.getMoney() + " coins");
 
-        Map<Direction, Tile> connections = currentTile.getConnections();
-
-        for (Map.Entry<Direction, Tile> entry : connections.entrySet()) {
-            Direction direction = entry.getKey();
-            Tile destination = entry.getValue();
-            int travelCost = currentTile.getTravelCost(direction);
-
-            logger.fine("Checking route " + direction + " to " + destination.getName() +
-                    " costs " + travelCost + " coins");
+        AdjacencyGraph graph = boardGame.getBoard().getAdjacencyGraph();
 
+        graph.forEachEdge(currentTile.getIndex(), (destinationId, travelCost) -> {
             if (player.getMoney() >= travelCost) {
-                affordableTiles.add(destination);
+                affordableTiles.add(graph.getTile(destinationId));
             }
-        }
+        });
 
         logger.info("Found " + affordableTiles.size() + " affordable destinations for " + player.getName());
         return affordableTiles;
@@ -527,41 +494,24 @@ public class LostDiamondController extends BoardGameController implements LostDi
     private void handleNoAvailableActions(Player player) {
         Tile currentTile = player.getCurrentTile();
 
-        if (currentTile != null && !currentTile.getConnections().isEmpty()) {
-            int cheapestCost = currentTile.getConnections().keySet().stream()
-                    .mapToInt(currentTile::getTravelCost)
-                    .min()
-                    .orElse(0);
+        int cheapestCost = currentTile == null ? AdjacencyGraph.NO_EDGE
+                : boardGame.getBoard().getAdjacencyGraph().getCheapestCost(currentTile.getIndex());
 
+        if (cheapestCost != AdjacencyGraph.NO_EDGE) {
             gameView.logGameEvent(player.getName() + " has no available actions.");
             gameView.logGameEvent("Need at least " + cheapestCost + " coins to travel from " +
                     currentTile.getName() + ". Currently has " + player.getMoney() + " coins.");
 
             if (player.getMoney() < cheapestCost && cheapestCost > 0) {
-                GameRules rules = boardGame.getGameRules();
-                boolean emergencyEnabled = true;
-                int emergencyAmount = 100;
-
-                if (rules != null) {
-                    Object emergencyEnabledObj = rules.getAdditionalData("emergencyMoneyEnabled");
-                    if (emergencyEnabledObj instanceof Boolean) {
-                        emergencyEnabled = (Boolean) emergencyEnabledObj;
-                    }
-
-                    Object emergencyAmountObj = rules.getAdditionalData("emergencyMoneyAmount");
-                    if (emergencyAmountObj instanceof Integer) {
-                        emergencyAmount = (Integer) emergencyAmountObj;
-                    }
-                }
-
-                if (emergencyEnabled) {
-                    int moneyNeeded = cheapestCost - player.getMoney();
-                    int moneyToGive = Math.max(moneyNeeded, emergencyAmount);
+                RulePipeline rules = boardGame.getRulePipeline();
+                TurnContext turn = rules.newTurn(player, 0, gameView::logGameEvent);
+                turn.setRequiredMoney(cheapestCost);
+                rules.run(RulePhase.OUT_OF_MONEY, turn);
 
+                int moneyToGive = turn.getEmergencyMoney();
+                if (moneyToGive > 0) {
                     player.setMoney(player.getMoney() + moneyToGive);
                     gameView.updatePlayerMoney(player);
-                    gameView.logGameEvent("Emergency: " + player.getName() + " received " +
-                            moneyToGive + " emergency coins to continue playing!");
 
                     logRuleUsage("Emergency Money Given", moneyToGive);
                     showPlayerActions(player);
@@ -615,35 +565,34 @@ public class LostDiamondController extends BoardGameController implements LostDi
      */
     private void executeMove(Player player, Tile destinationTile) {
         Tile currentTile = player.getCurrentTile();
-        Direction direction = null;
 
-        for (Direction dir : currentTile.getAvailableDirections()) {
-            if (currentTile.getConnectionInDirection(dir) == destinationTile) {
-                direction = dir;
-                break;
-            }
-        }
+        long modelStart = System.nanoTime();
+        int travelCost = boardGame.getBoard().getAdjacencyGraph()
+                .getTravelCost(currentTile.getIndex(), destinationTile.getIndex());
 
-        if (direction == null) {
-            logger.warning("Could not find direction to destination tile");
+        if (travelCost == AdjacencyGraph.NO_EDGE) {
+            turnTrace.addModelTime(System.nanoTime() - modelStart);
+            logger.warning("Could not find route to destination tile");
             return;
         }
 
-        int travelCost = currentTile.getTravelCost(direction);
-
         if (player.getMoney() < travelCost) {
+            turnTrace.addModelTime(System.nanoTime() - modelStart);
             gameView.logGameEvent(player.getName() + " doesn't have enough money to travel there.");
             return;
         }
 
         if (travelCost > 0) {
             player.spendMoney(travelCost);
+            turnTrace.addModelTime(System.nanoTime() - modelStart);
             gameView.logGameEvent(player.getName() + " spent " + travelCost +
                     " coins to travel to " + destinationTile.getName() + ".");
             gameView.updatePlayerMoney(player);
+            modelStart = System.nanoTime();
         }
 
         player.placeOnTile(destinationTile);
+        turnTrace.addModelTime(System.nanoTime() - modelStart);
         gameView.updatePlayerPosition(player);
         gameView.logGameEvent(player.getName() + " traveled to " + destinationTile.getName() + ".");
 
@@ -684,14 +633,14 @@ public class LostDiamondController extends BoardGameController implements LostDi
                 List<ButtonType> buttons = new ArrayList<>();
 
                 boolean canBuy = player.getMoney() >= city.getTokenPrice();
-                boolean canRoll = shouldAllowDiceRoll();
+                int threshold = getTokenRollThreshold(player);
+                boolean canRoll = threshold > 0;
 
                 if (canBuy) {
                     buttons.add(new ButtonType("Buy Token (" + city.getTokenPrice() + " coins)"));
                 }
 
                 if (canRoll) {
-                    int threshold = calculateDiceRollThreshold();
                     buttons.add(new ButtonType("Roll for Free (need " + threshold + "+)"));
                 }
 
@@ -712,11 +661,50 @@ public class LostDiamondController extends BoardGameController implements LostDi
         } else if (city.isStartingCity() && player.hasDiamond()) {
             boardGame.notifyGameWinner(player);
             boardGame.setGameState(GameState.FINISHED);
+            turnTrace.end();
+            recordGameResult(player);
+            gameView.setHistoryAvailable(false, false);
         } else {
             advanceToNextPlayer();
         }
     }
 
+    @Override
+    public void startGame() {
+        treasureEarned.clear();
+        super.startGame();
+    }
+
+    @Override
+    protected int getTreasureEarned(Player player) {
+        return treasureEarned.getOrDefault(player, 0);
+    }
+
+    @Override
+    protected int getControllerStateSize() {
+        return super.getControllerStateSize() + boardGame.getPlayers().size();
+    }
+
+    @Override
+    protected void writeControllerState(int[] state, int offset) {
+        super.writeControllerState(state, offset);
+        List<Player> players = boardGame.getPlayers();
+        int at = offset + super.getControllerStateSize();
+        for (int i = 0; i < players.size(); i++) {
+            state[at + i] = treasureEarned.getOrDefault(players.get(i), 0);
+        }
+    }
+
+    @Override
+    protected void readControllerState(int[] state, int offset) {
+        super.readControllerState(state, offset);
+        List<Player> players = boardGame.getPlayers();
+        int at = offset + super.getControllerStateSize();
+        for (int i = 0; i < players.size(); i++) {
+            treasureEarned.put(players.get(i), state[at + i]);
+        }
+    }
+
     @Override
     protected void movePlayer(Player player, int steps, Runnable callback) {
         if (callback != null) {
@@ -1,5 +1,6 @@
 package idi.edu.idatt.mappe.controllers;
 
+import idi.edu.idatt.mappe.exceptions.CVSParsingException;
 import idi.edu.idatt.mappe.models.Player;
 
 import java.io.File;
@@ -42,7 +43,7 @@ public class PlayerController {
                 players.addAll(loadedPlayers);
                 logger.info("Loaded " + loadedPlayers.size() + " players from default file");
             }
-        } catch (IOException e) {
+        } catch (IOException | CVSParsingException e) {
             logger.warning("Could not load default players: " + e.getMessage());
         }
     }
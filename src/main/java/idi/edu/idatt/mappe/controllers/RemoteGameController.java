@@ -0,0 +1,200 @@
+package idi.edu.idatt.mappe.controllers;
+
+import idi.edu.idatt.mappe.exceptions.JsonParsingException;
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.enums.GameState;
+import idi.edu.idatt.mappe.models.enums.TokenType;
+import idi.edu.idatt.mappe.services.network.GameClient;
+import idi.edu.idatt.mappe.services.network.GameSetup;
+import idi.edu.idatt.mappe.services.spectator.SpectatorFrames;
+import idi.edu.idatt.mappe.services.spectator.SpectatorState;
+import idi.edu.idatt.mappe.views.GameView;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import javafx.application.Platform;
+
+/**
+ * Controller for playing a game hosted on another machine.
+ * <p>
+ *     The host runs the game; this controller only mirrors it. It builds a local copy of the
+ *     host's board, applies every state frame from the host to local players and tiles, and
+ *     shows them in its own {@link GameView}. The dice are rolled locally from the seed the host
+ *     announces, so they show the same values as on the host before the move arrives.
+ *     The roll button asks the host to play the turn and is only enabled on this player's turn.
+ * </p>
+ */
+public class RemoteGameController implements GameClient.Listener {
+    private static final Logger logger = Logger.getLogger(RemoteGameController.class.getName());
+
+    private final String playerName;
+    private final Consumer<GameView> onViewChanged;
+    private final SpectatorState state = new SpectatorState();
+    private final List<Player> players = new ArrayList<>();
+    private GameClient client;
+    private BoardGame game;
+    private GameView gameView;
+
+    /**
+     * Creates a controller for a remote game
+     *
+     * @param playerName The name of this client's player, as entered on the host
+     * @param onViewChanged Receives the game view every time the host welcomes the client to a game
+     */
+    public RemoteGameController(String playerName, Consumer<GameView> onViewChanged) {
+        this.playerName = playerName;
+        this.onViewChanged = onViewChanged;
+    }
+
+    /**
+     * Connects to a host. The client keeps reconnecting until {@link #shutdown()} is called.
+     *
+     * @param host The host name or address of the host
+     * @param port The port of the host
+     */
+    public void connect(String host, int port) {
+        logger.info("Joining game at " + host + ":" + port + " as " + playerName);
+        client = GameClient.connect(host, port, playerName, this);
+    }
+
+    /**
+     * Disconnects from the host.
+     */
+    public void shutdown() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Override
+    public void onWelcome(GameSetup setup) {
+        Platform.runLater(() -> showGame(setup));
+    }
+
+    @Override
+    public void onState(ByteBuffer frame) {
+        Platform.runLater(() -> applyState(frame));
+    }
+
+    @Override
+    public void onRoll(String rollingPlayer, long seed) {
+        Platform.runLater(() -> showRoll(rollingPlayer, seed));
+    }
+
+    @Override
+    public void onConnectionLost() {
+        Platform.runLater(() -> {
+            if (gameView != null) {
+                gameView.setRollDiceButtonEnabled(false);
+                gameView.logGameEvent("Connection to the host lost. Reconnecting...");
+            }
+        });
+    }
+
+    /**
+     * Builds the local copy of the host's game and shows it in a new view
+     *
+     * @param setup The board and dice of the host's game
+     */
+    private void showGame(GameSetup setup) {
+        try {
+            game = setup.createGame();
+        } catch (JsonParsingException e) {
+            logger.warning("Could not build the host's board: " + e.getMessage());
+            return;
+        }
+        gameView = new GameView(game.getBoard());
+        gameView.initializeForGameType();
+        gameView.createDice(setup.getNumberOfDice(), setup.getDiceSides());
+        gameView.setRollDiceAction(this::requestTurn);
+        gameView.setRollDiceButtonEnabled(false);
+        gameView.setHistoryAvailable(false, false);
+        players.clear();
+        onViewChanged.accept(gameView);
+    }
+
+    /**
+     * Asks the host to play this player's turn
+     */
+    private void requestTurn() {
+        gameView.setRollDiceButtonEnabled(false);
+        if (!client.requestTurn()) {
+            gameView.logGameEvent("Not connected to the host.");
+        }
+    }
+
+    /**
+     * Applies a state frame to the local players and tiles and redraws the view once
+     *
+     * @param frame A spectator snapshot or delta
+     */
+    private void applyState(ByteBuffer frame) {
+        if (gameView == null) {
+            return;
+        }
+        GameState before = state.getGameState();
+        String previousPlayer = state.getCurrentPlayerName();
+        state.apply(frame);
+
+        List<String> names = state.getPlayerNames();
+        if (!names.equals(players.stream().map(Player::getName).toList())) {
+            players.forEach(gameView::removePlayer);
+            players.clear();
+            for (String name : names) {
+                Player player = new Player(name);
+                players.add(player);
+                gameView.addPlayer(player);
+            }
+        }
+
+        Board board = game.getBoard();
+        for (int i = 0; i < players.size(); i++) {
+            int tileIndex = state.getPlayerTile(i);
+            players.get(i).setCurrentTile(tileIndex == SpectatorFrames.NO_TILE ? null : board.getTileByIndex(tileIndex));
+            players.get(i).setMoney(state.getPlayerMoney(i));
+        }
+        for (Tile tile : board.getTiles().values()) {
+            TokenType token = state.getVisibleToken(tile.getIndex());
+            if (token != null) {
+                tile.setHiddenToken(token);
+            }
+            tile.setTokenRevealed(token != null);
+        }
+        gameView.showRestoredState(players);
+
+        boolean started = state.getGameState() == GameState.STARTED;
+        gameView.setRollDiceButtonEnabled(started && playerName.equals(state.getCurrentPlayerName()));
+        if (started && state.getCurrentPlayerName() != null
+                && !state.getCurrentPlayerName().equals(previousPlayer)) {
+            gameView.logGameEvent("Current player: " + state.getCurrentPlayerName());
+        } else if (state.getGameState() == GameState.FINISHED && before != GameState.FINISHED) {
+            gameView.logGameEvent("The game is over.");
+        }
+    }
+
+    /**
+     * Rolls the local dice with the host's seed, showing the same values as the host
+     *
+     * @param rollingPlayer The name of the player who rolls
+     * @param seed The seed of the roll
+     */
+    private void showRoll(String rollingPlayer, long seed) {
+        if (game == null) {
+            return;
+        }
+        game.getDice().setSeed(seed);
+        int total = game.getDice().roll();
+        List<Integer> values = game.getDice().getValues();
+        gameView.updateDiceDisplay(values);
+        gameView.logGameEvent(rollingPlayer + " rolled " + values.stream()
+                .map(Object::toString)
+                .collect(Collectors.joining(", ")) + " (Total: " + total + ")");
+    }
+}
@@ -1,10 +1,15 @@
 package idi.edu.idatt.mappe.controllers;
 
 import idi.edu.idatt.mappe.models.BoardGame;
-import idi.edu.idatt.mappe.models.GameRules;
 import idi.edu.idatt.mappe.models.Player;
 import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.enums.AnimationSpeed;
 import idi.edu.idatt.mappe.models.enums.GameState;
+import idi.edu.idatt.mappe.models.rules.RulePhase;
+import idi.edu.idatt.mappe.models.rules.RulePipeline;
+import idi.edu.idatt.mappe.models.rules.TurnContext;
+import idi.edu.idatt.mappe.models.tileaction.TileActionRegistry;
+import idi.edu.idatt.mappe.services.AutoplayScheduler;
 import idi.edu.idatt.mappe.views.GameView;
 
 import java.util.List;
@@ -16,8 +21,12 @@ import java.util.logging.Logger;
 public class SnakesAndLaddersController extends BoardGameController {
     private static final Logger logger = Logger.getLogger(SnakesAndLaddersController.class.getName());
 
-    private boolean[] skipNextTurn;
-    private int consecutiveSixes;
+    private static final double BATCHED_AUTOPLAY_RATE = 5.0;
+
+    private TurnContext currentTurn;
+
+    private final AutoplayScheduler autoplayScheduler;
+    private AnimationSpeed manualAnimationSpeed;
 
     /**
      * Creates a new SnakesAndLaddersController.
@@ -28,6 +37,14 @@ public class SnakesAndLaddersController extends BoardGameController {
      */
     public SnakesAndLaddersController(BoardGame boardGame, GameView gameView, FileService fileService) {
         super(boardGame, gameView, fileService);
+
+        autoplayScheduler = new AutoplayScheduler(
+                this::playTurn,
+                () -> boardGame.getGameState() == GameState.STARTED,
+                gameView::flushPendingUpdates);
+        autoplayScheduler.setOnStopped(this::onAutoplayStopped);
+        gameView.setAutoplayActions(this::startAutoplay, this::stopAutoplay);
+
         logger.info("Initialized SnakesAndLaddersController");
     }
 
@@ -38,8 +55,7 @@ public class SnakesAndLaddersController extends BoardGameController {
     public void startGame() {
         super.startGame();
 
-        skipNextTurn = new boolean[boardGame.getPlayers().size()];
-        consecutiveSixes = 0;
+        currentTurn = null;
 
         List<Player> players = boardGame.getPlayers();
         for (Player player : players) {
@@ -51,6 +67,81 @@ public class SnakesAndLaddersController extends BoardGameController {
         gameView.logGameEvent("Game started. All players positioned at the starting tile.");
 
         gameView.setRollDiceButtonEnabled(true);
+        gameView.setAutoplayEnabled(true);
+    }
+
+    @Override
+    public void shutdown() {
+        stopAutoplay();
+        super.shutdown();
+    }
+
+    @Override
+    protected boolean canChangeHistory() {
+        return !autoplayScheduler.isRunning() && super.canChangeHistory();
+    }
+
+    /**
+     * Starts playing turns automatically at the given rate.
+     * At rates above a few turns per second the dice are shown without animation and the
+     * view only draws the latest state once per frame, while the model still plays every turn.
+     * Calling this while autoplay is running changes the rate.
+     *
+     * @param turnsPerSecond The number of turns per second, or 0 to play as fast as possible
+     */
+    public void startAutoplay(double turnsPerSecond) {
+        if (boardGame.getGameState() != GameState.STARTED) {
+            gameView.logGameEvent("Game has not started yet. Please start the game first.");
+            gameView.setAutoplayRunning(false);
+            return;
+        }
+
+        autoplayScheduler.setTurnsPerSecond(turnsPerSecond);
+        boolean batched = autoplayScheduler.isMaxRate() || turnsPerSecond > BATCHED_AUTOPLAY_RATE;
+
+        if (batched) {
+            if (manualAnimationSpeed == null) {
+                manualAnimationSpeed = gameView.getDiceAnimationSpeed();
+            }
+            gameView.setDiceAnimationSpeed(AnimationSpeed.INSTANT);
+        } else if (manualAnimationSpeed != null) {
+            gameView.setDiceAnimationSpeed(manualAnimationSpeed);
+            manualAnimationSpeed = null;
+        }
+        gameView.setBatchUpdates(batched);
+
+        gameView.setAutoplayRunning(true);
+        autoplayScheduler.start();
+    }
+
+    /**
+     * Stops playing turns automatically.
+     */
+    public void stopAutoplay() {
+        autoplayScheduler.stop();
+    }
+
+    /**
+     * Checks if autoplay is running.
+     *
+     * @return True if turns are played automatically
+     */
+    public boolean isAutoplayRunning() {
+        return autoplayScheduler.isRunning();
+    }
+
+    /**
+     * Restores normal view updates when autoplay stops.
+     */
+    private void onAutoplayStopped() {
+        gameView.setBatchUpdates(false);
+        if (manualAnimationSpeed != null) {
+            gameView.setDiceAnimationSpeed(manualAnimationSpeed);
+            manualAnimationSpeed = null;
+        }
+        gameView.setAutoplayRunning(false);
+        gameView.setRollDiceButtonEnabled(boardGame.getGameState() == GameState.STARTED);
+        gameView.setAutoplayEnabled(boardGame.getGameState() == GameState.STARTED);
     }
 
     /**
@@ -61,13 +152,11 @@ public class SnakesAndLaddersController extends BoardGameController {
     public void playTurn() {
         if (isAnimationInProgressOrGameNotStarted()) return;
 
-        Player currentPlayer = boardGame.getPlayers().get(currentPlayerIndex);
+        Player currentPlayer = turnScheduler.getCurrentPlayer();
         boardGame.setCurrentPlayer(currentPlayer);
+        beginTurn(currentPlayer);
         gameView.setRollDiceButtonEnabled(false);
 
-        if (handleSkippedTurn(currentPlayer)) return;
-
-        GameRules rules = boardGame.getGameRules();
         List<Integer> diceValues = rollDice();
         if (diceValues.isEmpty()) {
             handleEmptyDiceRoll();
@@ -78,12 +167,18 @@ public class SnakesAndLaddersController extends BoardGameController {
         gameView.logGameEvent(currentPlayer.getName() + " rolled " +
                 formatDiceValues(diceValues) + " (Total: " + totalRoll + ")");
 
-        if (handleStartOnlyWithSixRule(currentPlayer, rules, diceValues)) return;
+        RulePipeline rules = boardGame.getRulePipeline();
+        TurnContext turn = rules.newTurn(currentPlayer, totalRoll, gameView::logGameEvent);
+        rules.run(RulePhase.AFTER_ROLL, turn);
+        if (turn.isTurnOver()) {
+            advanceToNextPlayer();
+            return;
+        }
 
-        boolean isMaxRoll = checkMaxRoll(rules, totalRoll);
+        currentTurn = turn;
         animationInProgress = true;
 
-        movePlayer(currentPlayer, totalRoll, () -> handlePostMoveActions(currentPlayer, rules, isMaxRoll));
+        movePlayer(currentPlayer, totalRoll, () -> handlePostMoveActions(turn));
     }
 
     /**
@@ -103,23 +198,6 @@ public class SnakesAndLaddersController extends BoardGameController {
         return false;
     }
 
-    /**
-     * Handles the case where the current player needs to skip their turn.
-     *
-     * @param currentPlayer The current player
-     * @return true if the turn is skipped, false otherwise
-     */
-    private boolean handleSkippedTurn(Player currentPlayer) {
-        if (skipNextTurn[currentPlayerIndex] || currentPlayer.isMissingTurn()) {
-            gameView.logGameEvent(currentPlayer.getName() + " skips this turn.");
-            skipNextTurn[currentPlayerIndex] = false;
-            currentPlayer.setMissingTurn(false);
-            advanceToNextPlayer();
-            return true;
-        }
-        return false;
-    }
-
     /**
      * Handles the case where no dice values are returned.
      */
@@ -128,70 +206,24 @@ public class SnakesAndLaddersController extends BoardGameController {
         gameView.setRollDiceButtonEnabled(true);
     }
 
-    /**
-     * Handles the case where the player needs to roll a 6 to start.
-     *
-     * @param currentPlayer The current player
-     * @param rules The game rules
-     * @param diceValues The rolled dice values
-     * @return true if the player cannot start, false otherwise
-     */
-    private boolean handleStartOnlyWithSixRule(Player currentPlayer, GameRules rules, List<Integer> diceValues) {
-        if (rules != null && rules.isStartOnlyWithMax() && currentPlayer.getCurrentTile().getIndex() == 1) {
-            int maxRoll = rules.getNumberOfDice() * rules.getDiceSides();
-            boolean canStart = diceValues.stream().mapToInt(Integer::intValue).sum() == maxRoll;
-
-            if (!canStart) {
-                gameView.logGameEvent(currentPlayer.getName() + " needs a 6 to start. Staying at the starting position.");
-                advanceToNextPlayer();
-                return true;
-            }
-            gameView.logGameEvent(currentPlayer.getName() + " rolled a 6 and can start the game!");
-        }
-        return false;
-    }
-
-    /**
-     * Checks if the player rolled the maximum value and handles the consequences.
-     *
-     * @param rules The game rules
-     * @param totalRoll The total roll value
-     * @return true if the player rolled the maximum value, false otherwise
-     */
-    private boolean checkMaxRoll(GameRules rules, int totalRoll) {
-        if (rules == null) return false;
-
-        int maxRoll = rules.getMaxRoll();
-        if (totalRoll == maxRoll) {
-            consecutiveSixes++;
-            gameView.logGameEvent(boardGame.getCurrentPlayer().getName() + " rolled the maximum value of " + maxRoll + "!");
-            if (rules.getConsecutiveSixesLimit() > 0 && consecutiveSixes >= rules.getConsecutiveSixesLimit()) {
-                gameView.logGameEvent(boardGame.getCurrentPlayer().getName() + " rolled maximum " +
-                        consecutiveSixes + " times in a row. Forfeit turn!");
-                consecutiveSixes = 0;
-                advanceToNextPlayer();
-                return false;
-            }
-            return true;
-        }
-        consecutiveSixes = 0;
-        return false;
-    }
-
     /**
      * Handles actions after the player has moved.
      *
-     * @param currentPlayer The current player
-     * @param rules The game rules
-     * @param isMaxRoll Whether the player rolled the maximum value
+     * @param turn The turn
      */
-    private void handlePostMoveActions(Player currentPlayer, GameRules rules, boolean isMaxRoll) {
+    private void handlePostMoveActions(TurnContext turn) {
         try {
+            Player currentPlayer = turn.getPlayer();
             if (checkWinCondition(currentPlayer)) return;
 
-            boolean extraTurn = checkExtraTurnConditions(currentPlayer, rules, isMaxRoll);
-            if (!extraTurn) advanceToNextPlayer();
+            boolean extraTurn = checkExtraTurnConditions(turn);
+            if (extraTurn) {
+                recordHistory();
+            } else {
+                advanceToNextPlayer();
+            }
         } finally {
+            currentTurn = null;
             animationInProgress = false;
         }
     }
@@ -203,10 +235,13 @@ public class SnakesAndLaddersController extends BoardGameController {
      * @return true if the player has won, false otherwise
      */
     private boolean checkWinCondition(Player currentPlayer) {
-        if (currentPlayer.getCurrentTile().getIndex() >= boardGame.getBoard().getTiles().size()) {
+        if (currentPlayer.getCurrentTile().getIndex() >= boardGame.getBoard().getTileCount()) {
             gameView.logGameEvent(currentPlayer.getName() + " wins the game!");
             boardGame.notifyObserversOfWinner(currentPlayer);
             boardGame.setGameState(GameState.FINISHED);
+            turnTrace.end();
+            recordGameResult(currentPlayer);
+            gameView.setHistoryAvailable(false, false);
             return true;
         }
         return false;
@@ -214,13 +249,13 @@ public class SnakesAndLaddersController extends BoardGameController {
 
     /**
      * Checks if the player meets the conditions for an extra turn or to skip their next turn.
+     * The rules that apply after the move run from the compiled rule pipeline.
      *
-     * @param currentPlayer The current player
-     * @param rules The game rules
-     * @param isMaxRoll Whether the player rolled the maximum value
+     * @param turn The turn
      * @return true if the player gets an extra turn, false otherwise
      */
-    private boolean checkExtraTurnConditions(Player currentPlayer, GameRules rules, boolean isMaxRoll) {
+    private boolean checkExtraTurnConditions(TurnContext turn) {
+        Player currentPlayer = turn.getPlayer();
         boolean extraTurn = false;
 
         if (currentPlayer.hasExtraThrow()) {
@@ -229,27 +264,12 @@ public class SnakesAndLaddersController extends BoardGameController {
             extraTurn = true;
         }
 
-
-        if (rules != null && rules.isExtraThrowOnMax() && isMaxRoll) {
-            gameView.logGameEvent(currentPlayer.getName() + " rolled maximum value and gets an extra turn!");
-            extraTurn = true;
-        }
-
-        Tile currentTile = currentPlayer.getCurrentTile();
-        if (rules != null && rules.isExtraTurnOnLadder() &&
-                currentTile.getLandAction() != null &&
-                currentTile.getLandAction().getClass().getSimpleName().contains("LadderTileAction")) {
-            gameView.logGameEvent(currentPlayer.getName() + " climbed a ladder and gets an extra turn!");
-            extraTurn = true;
-        }
-
-        if (rules != null && rules.isSkipTurnOnSnake() &&
-                currentTile.getLandAction() != null &&
-                currentTile.getLandAction().getClass().getSimpleName().contains("SnakeTileAction")) {
-            gameView.logGameEvent(currentPlayer.getName() + " was bitten by a snake and will skip next turn!");
-            skipNextTurn[currentPlayerIndex] = true;
+        boardGame.getRulePipeline().run(RulePhase.AFTER_MOVE, turn);
+        if (turn.isSkipNextTurn()) {
+            turnScheduler.skipNextTurn(currentPlayer);
         }
 
+        extraTurn |= turn.isExtraTurn();
         if (extraTurn) boardGame.notifyObserversOfExtraTurn(currentPlayer);
         return extraTurn;
     }
@@ -282,36 +302,29 @@ public class SnakesAndLaddersController extends BoardGameController {
     @Override
     protected void movePlayer(Player player, int steps, Runnable callback) {
         int currentIndex = player.getCurrentTile().getIndex();
-        int targetIndex = Math.min(currentIndex + steps, boardGame.getBoard().getTiles().size());
+        int targetIndex = Math.min(currentIndex + steps, boardGame.getBoard().getTileCount());
 
         gameView.logGameEvent(player.getName() + " moves " + steps + " steps from " +
                 currentIndex + " to " + targetIndex);
 
+        long modelStart = System.nanoTime();
         player.setCurrentTile(boardGame.getBoard().getTileByIndex(targetIndex));
+        turnTrace.addModelTime(System.nanoTime() - modelStart);
         gameView.updatePlayerPosition(player);
 
         Tile currentTile = player.getCurrentTile();
+        if (currentTurn != null && currentTurn.getPlayer() == player) {
+            currentTurn.setLandedTile(currentTile);
+        }
         if (currentTile.getLandAction() != null) {
+            modelStart = System.nanoTime();
             currentTile.performLandAction(player);
+            turnTrace.addModelTime(System.nanoTime() - modelStart);
 
             int newIndex = player.getCurrentTile().getIndex();
             if (newIndex != targetIndex) {
-                String actionName = currentTile.getLandAction().getClass().getSimpleName();
-                if (actionName.contains("RandomTeleportTileAction")) {
-                    gameView.logGameEvent(player.getName() + " was teleported from " +
-                            targetIndex + " to " + newIndex + "!");
-                } else if (actionName.contains("LadderTileAction")) {
-                    gameView.logGameEvent(player.getName() + " climbed a ladder from " +
-                            targetIndex + " to " + newIndex + "!");
-                } else if (actionName.contains("SnakeTileAction")) {
-                    gameView.logGameEvent(player.getName() + " slid down a snake from " +
-                            targetIndex + " to " + newIndex + "!");
-                } else if (actionName.contains("SwapAction")) {
-                    gameView.logGameEvent(player.getName() + " landed on a swap tile and swapped positions with another player!");
-                } else {
-                    gameView.logGameEvent(player.getName() + " moved from " +
-                            targetIndex + " to " + newIndex + " due to a special tile!");
-                }
+                gameView.logGameEvent(TileActionRegistry.get(currentTile.getLandAction())
+                        .formatMoveMessage(player.getName(), targetIndex, newIndex));
             }
 
             gameView.updatePlayerPosition(player);
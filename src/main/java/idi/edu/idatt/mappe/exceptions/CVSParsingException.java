@@ -2,19 +2,54 @@ package idi.edu.idatt.mappe.exceptions;
 
 /**
  * Exception class for handling errors related to parsing CSV files.
+ * <p>
+ *     When an error belongs to a line of the file, the line number is part of the exception.
+ *     A reader that finds errors on several rows throws one exception with the error of
+ *     each row added as a suppressed exception.
+ * </p>
  */
 public class CVSParsingException extends Exception {
 
+    /**
+     * Line number used when the error does not belong to a line
+     */
+    public static final int NO_LINE = -1;
+
+    private final int lineNumber;
 
     public CVSParsingException(String message) {
         super(message);
+        this.lineNumber = NO_LINE;
     }
 
     public CVSParsingException(String message, Throwable cause) {
         super(message, cause);
+        this.lineNumber = NO_LINE;
     }
 
     public CVSParsingException(Throwable cause) {
         super(cause);
+        this.lineNumber = NO_LINE;
+    }
+
+    /**
+     * Constructs a new CVSParsingException for an error on a line of the file.
+     * The line number is added to the start of the message.
+     *
+     * @param message The detail message
+     * @param lineNumber The line number, starting at 1
+     */
+    public CVSParsingException(String message, int lineNumber) {
+        super("Line " + lineNumber + ": " + message);
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Returns the line of the file the error belongs to
+     *
+     * @return The line number, starting at 1, or {@link #NO_LINE}
+     */
+    public int getLineNumber() {
+        return lineNumber;
     }
 }
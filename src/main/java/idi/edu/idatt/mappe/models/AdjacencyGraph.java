@@ -0,0 +1,360 @@
+package idi.edu.idatt.mappe.models;
+
+import idi.edu.idatt.mappe.models.enums.Direction;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Compact adjacency graph of the routes between the tiles on a board
+ * <p>
+ *     The routes are stored in compressed sparse row form: the routes leaving a tile are
+ *     stored next to each other in primitive arrays of target tile ids, travel costs and
+ *     directions, and an offset array indexed by tile id tells where each tile's routes start.
+ *     A tile has at most one route per {@link Direction}, so looking up a route by direction
+ *     or by destination touches at most eight entries.
+ * </p>
+ * <p>
+ *     The graph is a snapshot of the tile connections when it was built.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class AdjacencyGraph {
+    /**
+     * Returned when there is no route between two tiles
+     */
+    public static final int NO_EDGE = -1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Tile[] tiles;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] costs;
+    private final byte[] directions;
+
+    /**
+     * Receives the routes leaving a tile
+     */
+    @FunctionalInterface
+    public interface EdgeConsumer {
+        /**
+         * Called for a route
+         *
+         * @param targetTileId The id of the tile the route leads to
+         * @param cost The travel cost of the route
+         */
+        void accept(int targetTileId, int cost);
+    }
+
+    /**
+     * Builds the adjacency graph from the connections of the tiles on a board
+     *
+     * @param board The board to build the graph for
+     */
+    public AdjacencyGraph(Board board) {
+        int[] maxId = {0};
+        int[] edgeCount = {0};
+        board.forEachTile(tile -> {
+            maxId[0] = Math.max(maxId[0], tile.getIndex());
+            edgeCount[0] += tile.getConnections().size();
+        });
+
+        this.tiles = new Tile[maxId[0] + 1];
+        this.offsets = new int[maxId[0] + 2];
+        this.targets = new int[edgeCount[0]];
+        this.costs = new int[edgeCount[0]];
+        this.directions = new byte[edgeCount[0]];
+
+        board.forEachTile(tile -> {
+            tiles[tile.getIndex()] = tile;
+            offsets[tile.getIndex() + 1] = tile.getConnections().size();
+        });
+        for (int id = 0; id < tiles.length; id++) {
+            offsets[id + 1] += offsets[id];
+        }
+
+        for (Tile tile : tiles) {
+            if (tile == null) continue;
+            int edge = offsets[tile.getIndex()];
+            for (Map.Entry<Direction, Tile> connection : tile.getConnections().entrySet()) {
+                targets[edge] = connection.getValue().getIndex();
+                costs[edge] = tile.getTravelCost(connection.getKey());
+                directions[edge] = (byte) connection.getKey().ordinal();
+                edge++;
+            }
+        }
+    }
+
+    private AdjacencyGraph(Tile[] tiles, int[] offsets, int[] targets, int[] costs, byte[] directions) {
+        this.tiles = tiles;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.costs = costs;
+        this.directions = directions;
+    }
+
+    /**
+     * Builds a graph directly from tiles and routes in tile order, without reading the tile
+     * connections, so a map read from a file is stored in its final form in one pass
+     * <p>
+     *     Routes must be added grouped by the tile they leave from, in increasing tile id.
+     *     The route arrays start at the expected size and only grow if more routes are added.
+     * </p>
+     */
+    public static final class Builder {
+        private final Tile[] tiles;
+        private final int[] offsets;
+        private int[] targets;
+        private int[] costs;
+        private byte[] directions;
+        private int edgeCount;
+        private int lastFromTileId;
+
+        /**
+         * Creates a builder for a graph
+         *
+         * @param maxTileId The largest tile id in the graph
+         * @param expectedRouteCount The number of routes the graph is expected to have
+         */
+        public Builder(int maxTileId, int expectedRouteCount) {
+            if (maxTileId < 0 || expectedRouteCount < 0) {
+                throw new IllegalArgumentException("Tile ids and route counts cannot be negative");
+            }
+            this.tiles = new Tile[maxTileId + 1];
+            this.offsets = new int[maxTileId + 2];
+            this.targets = new int[expectedRouteCount];
+            this.costs = new int[expectedRouteCount];
+            this.directions = new byte[expectedRouteCount];
+        }
+
+        /**
+         * Adds a tile to the graph
+         *
+         * @param tile The tile
+         * @return This builder
+         * @throws IllegalArgumentException If the tile id is outside the graph
+         */
+        public Builder addTile(Tile tile) {
+            if (tile.getIndex() < 0 || tile.getIndex() >= tiles.length) {
+                throw new IllegalArgumentException("Tile " + tile.getIndex() + " is outside the graph");
+            }
+            tiles[tile.getIndex()] = tile;
+            return this;
+        }
+
+        /**
+         * Adds a route leaving a tile
+         *
+         * @param fromTileId The id of the tile the route leaves from
+         * @param direction The direction the route leaves in
+         * @param toTileId The id of the tile the route leads to
+         * @param cost The travel cost of the route
+         * @return This builder
+         * @throws IllegalArgumentException If a tile id is outside the graph, or the route leaves
+         *                                  from a tile before the tile of the previous route
+         */
+        public Builder addRoute(int fromTileId, Direction direction, int toTileId, int cost) {
+            if (fromTileId < lastFromTileId) {
+                throw new IllegalArgumentException("Route from tile " + fromTileId
+                        + " is added after routes from tile " + lastFromTileId);
+            }
+            if (fromTileId >= tiles.length || toTileId < 0 || toTileId >= tiles.length) {
+                throw new IllegalArgumentException("Route from tile " + fromTileId + " to tile "
+                        + toTileId + " is outside the graph");
+            }
+            if (edgeCount == targets.length) {
+                int capacity = Math.max(8, edgeCount * 2);
+                targets = Arrays.copyOf(targets, capacity);
+                costs = Arrays.copyOf(costs, capacity);
+                directions = Arrays.copyOf(directions, capacity);
+            }
+            targets[edgeCount] = toTileId;
+            costs[edgeCount] = cost;
+            directions[edgeCount] = (byte) direction.ordinal();
+            edgeCount++;
+            offsets[fromTileId + 1]++;
+            lastFromTileId = fromTileId;
+            return this;
+        }
+
+        /**
+         * Returns the number of routes added so far
+         *
+         * @return The number of routes
+         */
+        public int getRouteCount() {
+            return edgeCount;
+        }
+
+        /**
+         * Builds the graph. The builder should not be used afterwards.
+         *
+         * @return The graph
+         */
+        public AdjacencyGraph build() {
+            for (int id = 0; id < tiles.length; id++) {
+                offsets[id + 1] += offsets[id];
+            }
+            if (edgeCount < targets.length) {
+                targets = Arrays.copyOf(targets, edgeCount);
+                costs = Arrays.copyOf(costs, edgeCount);
+                directions = Arrays.copyOf(directions, edgeCount);
+            }
+            return new AdjacencyGraph(tiles, offsets, targets, costs, directions);
+        }
+    }
+
+    /**
+     * Returns the number of routes in the graph
+     *
+     * @return The number of routes
+     */
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the number of routes leaving a tile
+     *
+     * @param tileId The id of the tile
+     * @return The number of routes, or 0 if the tile is not in the graph
+     */
+    public int getDegree(int tileId) {
+        return contains(tileId) ? offsets[tileId + 1] - offsets[tileId] : 0;
+    }
+
+    /**
+     * Returns the tile with the given id
+     *
+     * @param tileId The id of the tile
+     * @return The tile, or null if it is not in the graph
+     */
+    public Tile getTile(int tileId) {
+        return contains(tileId) ? tiles[tileId] : null;
+    }
+
+    /**
+     * Returns the travel cost of the route between two tiles
+     *
+     * @param fromTileId The id of the tile the route leaves from
+     * @param toTileId The id of the tile the route leads to
+     * @return The travel cost, or {@link #NO_EDGE} if there is no such route
+     */
+    public int getTravelCost(int fromTileId, int toTileId) {
+        if (!contains(fromTileId)) {
+            return NO_EDGE;
+        }
+        for (int edge = offsets[fromTileId]; edge < offsets[fromTileId + 1]; edge++) {
+            if (targets[edge] == toTileId) {
+                return costs[edge];
+            }
+        }
+        return NO_EDGE;
+    }
+
+    /**
+     * Returns whether there is a route between two tiles
+     *
+     * @param fromTileId The id of the tile the route leaves from
+     * @param toTileId The id of the tile the route leads to
+     * @return True if there is a route
+     */
+    public boolean hasEdge(int fromTileId, int toTileId) {
+        return getTravelCost(fromTileId, toTileId) != NO_EDGE;
+    }
+
+    /**
+     * Returns the tile reached by leaving a tile in the given direction
+     *
+     * @param tileId The id of the tile
+     * @param direction The direction to leave in
+     * @return The id of the tile reached, or {@link #NO_EDGE} if there is no route in that direction
+     */
+    public int getNeighbour(int tileId, Direction direction) {
+        if (!contains(tileId)) {
+            return NO_EDGE;
+        }
+        for (int edge = offsets[tileId]; edge < offsets[tileId + 1]; edge++) {
+            if (directions[edge] == direction.ordinal()) {
+                return targets[edge];
+            }
+        }
+        return NO_EDGE;
+    }
+
+    /**
+     * Returns the direction of the route between two tiles
+     *
+     * @param fromTileId The id of the tile the route leaves from
+     * @param toTileId The id of the tile the route leads to
+     * @return The direction, or null if there is no such route
+     */
+    public Direction getDirection(int fromTileId, int toTileId) {
+        if (!contains(fromTileId)) {
+            return null;
+        }
+        for (int edge = offsets[fromTileId]; edge < offsets[fromTileId + 1]; edge++) {
+            if (targets[edge] == toTileId) {
+                return DIRECTIONS[directions[edge]];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the cheapest travel cost of the routes leaving a tile
+     *
+     * @param tileId The id of the tile
+     * @return The cheapest cost, or {@link #NO_EDGE} if no routes leave the tile
+     */
+    public int getCheapestCost(int tileId) {
+        if (getDegree(tileId) == 0) {
+            return NO_EDGE;
+        }
+        int cheapest = Integer.MAX_VALUE;
+        for (int edge = offsets[tileId]; edge < offsets[tileId + 1]; edge++) {
+            cheapest = Math.min(cheapest, costs[edge]);
+        }
+        return cheapest;
+    }
+
+    /**
+     * Runs an action for every route leaving a tile
+     *
+     * @param tileId The id of the tile
+     * @param action The action to run with the target tile id and cost of each route
+     */
+    public void forEachEdge(int tileId, EdgeConsumer action) {
+        if (!contains(tileId)) {
+            return;
+        }
+        for (int edge = offsets[tileId]; edge < offsets[tileId + 1]; edge++) {
+            action.accept(targets[edge], costs[edge]);
+        }
+    }
+
+    /**
+     * Returns the ids of the tiles reachable from a tile in one step
+     *
+     * @param tileId The id of the tile
+     * @return A new array with the neighbour ids
+     */
+    public int[] getNeighbours(int tileId) {
+        if (!contains(tileId)) {
+            return new int[0];
+        }
+        return Arrays.copyOfRange(targets, offsets[tileId], offsets[tileId + 1]);
+    }
+
+    /**
+     * Returns whether a tile id is part of the graph
+     *
+     * @param tileId The id of the tile
+     * @return True if the id is in range and has a tile
+     */
+    private boolean contains(int tileId) {
+        return tileId >= 0 && tileId < tiles.length && tiles[tileId] != null;
+    }
+}
@@ -1,9 +1,16 @@
 package idi.edu.idatt.mappe.models;
 
+import idi.edu.idatt.mappe.models.enums.Direction;
 import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.sampling.TargetTables;
+import idi.edu.idatt.mappe.models.tileaction.SampledTileAction;
+import idi.edu.idatt.mappe.models.tileaction.TileAction;
 
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
 import java.util.logging.Logger;
 
 import static idi.edu.idatt.mappe.validators.BoardValidator.boardSizeValidator;
@@ -11,12 +18,37 @@ import static idi.edu.idatt.mappe.validators.TileValidator.validateTileIndex;
 
 /**
  * The Board class represents the game board of the game.
+ * <p>
+ *     Tiles are stored in an array indexed by tile id, so looking up a tile and counting
+ *     the tiles are constant time. {@link #getTiles()} returns a read-only map view of the
+ *     array instead of a copy.
+ * </p>
+ * <p>
+ *     The structures derived from the tiles are built on first use. Tiles on the board
+ *     discard the ones they affect when their coordinates, connections, actions or tokens
+ *     change, and adding a tile discards them all.
+ * </p>
  */
 public class Board {
-    private Map<Integer, Tile> tiles;
+    /**
+     * The highest tile id a board accepts, since the tile array is as long as the highest id
+     */
+    public static final int MAX_TILE_INDEX = (1 << 20) - 1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Tile[] tiles = new Tile[DEFAULT_CAPACITY];
+    private int tileCount;
+    private final Map<Integer, Tile> tileView = new TileMapView();
     private int rows;
     private int columns;
     private GameType gameType;
+    private TileSpatialIndex spatialIndex;
+    private AdjacencyGraph adjacencyGraph;
+    private LandActionResolver landActionResolver;
+    private TargetTables targetTables;
+    private Tile[] tokenTiles;
+    private TokenPool tokenPool;
 
     private static final Logger logger = Logger.getLogger(Board.class.getName());
 
@@ -26,7 +58,7 @@ public class Board {
      * @param tiles The tiles of the board
      */
     public Board(Map<Integer, Tile> tiles) {
-        this.tiles = tiles;
+        tiles.forEach(this::addTile);
     }
 
     /**
@@ -36,7 +68,6 @@ public class Board {
      */
     public Board(GameType gameType) {
         this.gameType = gameType;
-        tiles = new HashMap<>();
     }
 
     /**
@@ -49,8 +80,6 @@ public class Board {
         boardSizeValidator(size);
         this.gameType = gameType;
 
-        tiles = new HashMap<>();
-
         switch (gameType) {
             case GameType.SNAKES_AND_LADDERS -> setupSnakesAndLaddersBoard();
             case GameType.THE_LOST_DIAMOND -> logger.info("Creating a board for The Lost Diamond game");
@@ -72,8 +101,6 @@ public class Board {
         this.columns = columns;
         this.gameType = gameType;
 
-        tiles = new HashMap<>();
-
         switch (gameType) {
             case GameType.SNAKES_AND_LADDERS -> setupSnakesAndLaddersBoard();
             case GameType.THE_LOST_DIAMOND -> logger.info("Creating a board for The Lost Diamond game");
@@ -96,7 +123,7 @@ public class Board {
         }
 
         for (int i = 1; i < rows * columns; i++) {
-            tiles.get(i).setNextTile(tiles.get(i + 1));
+            tiles[i].setNextTile(tiles[i + 1]);
         }
     }
 
@@ -116,13 +143,41 @@ public class Board {
     }
 
     /**
-     * Adds a tile to the board
+     * Adds a tile to the board, replacing any tile with the same index
      *
      * @param index The index of the tile
      * @param tile The tile to add
+     * @throws IllegalArgumentException If the index is negative or above {@link #MAX_TILE_INDEX}
      */
     public void addTile(int index, Tile tile) {
-        tiles.put(index, tile);
+        if (index < 0) {
+            throw new IllegalArgumentException("Tile index cannot be negative");
+        }
+        if (index > MAX_TILE_INDEX) {
+            throw new IllegalArgumentException("Tile index " + index + " is above the highest allowed index "
+                    + MAX_TILE_INDEX);
+        }
+        if (index >= tiles.length) {
+            tiles = Arrays.copyOf(tiles, Math.min(Math.max(index + 1, tiles.length * 2), MAX_TILE_INDEX + 1));
+        }
+        Tile previous = tiles[index];
+        if (previous == null && tile != null) {
+            tileCount++;
+        } else if (previous != null && tile == null) {
+            tileCount--;
+        }
+        if (previous != null && previous != tile && previous.getBoard() == this) {
+            previous.setBoard(null);
+        }
+        if (tile != null) {
+            tile.setBoard(this);
+        }
+        tiles[index] = tile;
+        spatialIndex = null;
+        adjacencyGraph = null;
+        landActionResolver = null;
+        targetTables = null;
+        tokenTiles = null;
     }
 
     /**
@@ -133,8 +188,8 @@ public class Board {
      */
     public Tile getTileByIndex(int tileIndex) {
         try {
-            validateTileIndex(tileIndex, tiles.size());
-            return tiles.get(tileIndex);
+            validateTileIndex(tileIndex, tileCount);
+            return tileIndex < tiles.length ? tiles[tileIndex] : null;
         } catch (IndexOutOfBoundsException e) {
             throw new IndexOutOfBoundsException("Tile with index " + tileIndex + " not found.");
         }
@@ -148,21 +203,235 @@ public class Board {
      * @return The tile at the given coordinates, or null if no tile exists
      */
     public Tile getTileByCoordinates(int x, int y) {
-        for (Tile tile : tiles.values()) {
-            if (tile.getX() == x && tile.getY() == y) {
-                return tile;
+        return getSpatialIndex().getTileAt(x, y);
+    }
+
+    /**
+     * Returns the spatial index over the tile coordinates.
+     * The index is built on first use and rebuilt after tiles are added or moved.
+     *
+     * @return The spatial index of the board
+     */
+    public TileSpatialIndex getSpatialIndex() {
+        if (spatialIndex == null) {
+            spatialIndex = new TileSpatialIndex(tileView.values());
+        }
+        return spatialIndex;
+    }
+
+    /**
+     * Discards the spatial index so it is rebuilt with the current tile coordinates
+     */
+    public void invalidateSpatialIndex() {
+        spatialIndex = null;
+    }
+
+    /**
+     * Returns the graph of routes between the tiles.
+     * The graph is built on first use and rebuilt after tiles are added or connected.
+     *
+     * @return The adjacency graph of the board
+     */
+    public AdjacencyGraph getAdjacencyGraph() {
+        if (adjacencyGraph == null) {
+            adjacencyGraph = new AdjacencyGraph(this);
+        }
+        return adjacencyGraph;
+    }
+
+    /**
+     * Replaces the adjacency graph with one built together with the tile connections, so a
+     * map read from a file does not build its graph a second time. The graph is discarded like
+     * a built one when tiles are added later.
+     *
+     * @param adjacencyGraph The graph of the routes between the tiles on this board
+     */
+    public void setAdjacencyGraph(AdjacencyGraph adjacencyGraph) {
+        this.adjacencyGraph = adjacencyGraph;
+    }
+
+    /**
+     * Discards the adjacency graph so it is rebuilt with the current tile connections
+     */
+    public void invalidateAdjacencyGraph() {
+        adjacencyGraph = null;
+    }
+
+    /**
+     * Returns the resolver with the final destination of every chain of ladders and snakes.
+     * The resolver is built on first use and rebuilt after tiles are added or their actions change.
+     *
+     * @return The land action resolver of the board
+     * @throws IllegalArgumentException If the tile actions form a loop
+     */
+    public LandActionResolver getLandActionResolver() {
+        if (landActionResolver == null) {
+            landActionResolver = new LandActionResolver(this);
+        }
+        return landActionResolver;
+    }
+
+    /**
+     * Discards the land action resolver so it is rebuilt with the current tile actions
+     */
+    public void invalidateLandActionResolver() {
+        landActionResolver = null;
+    }
+
+    /**
+     * Returns the target tables of the random tile actions.
+     * The tables are built on first use and rebuilt after tiles are added or their actions change.
+     *
+     * @return The target tables of the board
+     */
+    public TargetTables getTargetTables() {
+        if (targetTables == null) {
+            targetTables = new TargetTables(this);
+        }
+        return targetTables;
+    }
+
+    /**
+     * Discards the target tables so they are rebuilt with the current tile actions
+     */
+    public void invalidateTargetTables() {
+        targetTables = null;
+    }
+
+    /**
+     * Hides every token again and shuffles the tokens between the tiles that hold them,
+     * so the board can be played again without being rebuilt. Each token keeps its land action.
+     * The tiles with tokens are found on first use and again after tiles or tokens are added.
+     *
+     * @param random The source of randomness for the shuffle
+     */
+    public void resetTokens(Random random) {
+        if (tokenTiles == null) {
+            tokenTiles = Arrays.stream(tiles)
+                    .filter(tile -> tile != null && tile.getHiddenToken() != null)
+                    .toArray(Tile[]::new);
+        }
+        for (Tile tile : tiles) {
+            if (tile != null) {
+                tile.setTokenRevealed(false);
             }
         }
-        return null;
+        for (int i = tokenTiles.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            if (j != i) {
+                tokenTiles[i].swapTokenWith(tokenTiles[j]);
+            }
+        }
+    }
+
+    /**
+     * Discards the tiles with tokens so they are found again with the current tokens
+     */
+    void invalidateTokenTiles() {
+        tokenTiles = null;
+    }
+
+    /**
+     * Returns the tokens dealt to the cities of the board
+     *
+     * @return The token pool, or null if the board has no tokens
+     */
+    public TokenPool getTokenPool() {
+        return tokenPool;
+    }
+
+    /**
+     * Sets the tokens dealt to the cities of the board, so they can be saved with the map.
+     * The tokens are dealt with {@link TokenPool#deal(Board, Random)}.
+     *
+     * @param tokenPool The token pool
+     */
+    public void setTokenPool(TokenPool tokenPool) {
+        this.tokenPool = tokenPool;
     }
 
     /**
-     * Returns the tiles of the board
+     * Returns the tiles of the board.
+     * The map is a read-only view that reflects tiles added later, so it can be
+     * kept and read without copying the tiles.
      *
-     * @return The tiles of the board
+     * @return An unmodifiable view of the tiles keyed by tile index
      */
     public Map<Integer, Tile> getTiles() {
-        return new HashMap<>(tiles);
+        return tileView;
+    }
+
+    /**
+     * Returns the number of tiles on the board
+     *
+     * @return The number of tiles
+     */
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * Returns a key that identifies the layout of the board: its game type, size, the kind,
+     * fixed destination and sampling settings of every land action and the routes between tiles with their
+     * travel costs. Boards with the same layout have the
+     * same key, so games played on them can be compared. The key is computed on every call.
+     *
+     * @return The layout key
+     */
+    public String getLayoutKey() {
+        int[] hash = {0};
+        forEachTile(tile -> {
+            int tileHash = tile.getIndex();
+            TileAction action = tile.getLandAction();
+            if (action != null) {
+                tileHash = 31 * (31 * tileHash + action.getKind().ordinal() + 1)
+                        + LandActionResolver.getFixedDestination(action);
+                if (action instanceof SampledTileAction sampled && !sampled.getSamplingRule().isDefault()) {
+                    tileHash = 31 * tileHash + sampled.getSamplingRule().hashCode();
+                }
+            }
+            for (Map.Entry<Direction, Tile> route : tile.getConnections().entrySet()) {
+                tileHash = 31 * (31 * tileHash + route.getValue().getIndex()) + tile.getTravelCost(route.getKey());
+            }
+            hash[0] += Integer.rotateLeft(tileHash * 0x9E3779B9, 13) * 0x85EBCA6B;
+        });
+        return gameType + "-" + rows + "x" + columns + "-" + tileCount + "-" + Integer.toHexString(hash[0]);
+    }
+
+    /**
+     * Returns whether the board has a tile with the given index
+     *
+     * @param tileIndex The index of the tile
+     * @return True if the tile exists
+     */
+    public boolean hasTile(int tileIndex) {
+        return tileIndex >= 0 && tileIndex < tiles.length && tiles[tileIndex] != null;
+    }
+
+    /**
+     * Runs an action for every tile on the board, in order of tile index
+     *
+     * @param action The action to run
+     */
+    public void forEachTile(Consumer<Tile> action) {
+        for (Tile tile : tiles) {
+            if (tile != null) {
+                action.accept(tile);
+            }
+        }
+    }
+
+    /**
+     * Runs an action for the index of every tile on the board, in increasing order
+     *
+     * @param action The action to run
+     */
+    public void forEachTileIndex(IntConsumer action) {
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] != null) {
+                action.accept(i);
+            }
+        }
     }
 
     /**
@@ -200,4 +469,116 @@ public class Board {
     public int getColumns() {
         return columns;
     }
-}
\ No newline at end of file
+
+    /**
+     * Read-only map view of the tile array
+     */
+    private class TileMapView extends AbstractMap<Integer, Tile> {
+        private final Collection<Tile> values = new TileValuesView();
+        private final Set<Entry<Integer, Tile>> entries = new TileEntriesView();
+
+        @Override
+        public int size() {
+            return tileCount;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Integer index && hasTile(index);
+        }
+
+        @Override
+        public Tile get(Object key) {
+            return containsKey(key) ? tiles[(Integer) key] : null;
+        }
+
+        @Override
+        public Collection<Tile> values() {
+            return values;
+        }
+
+        @Override
+        public Set<Entry<Integer, Tile>> entrySet() {
+            return entries;
+        }
+    }
+
+    /**
+     * Read-only collection view of the tiles, in order of tile index
+     */
+    private class TileValuesView extends AbstractCollection<Tile> {
+        @Override
+        public int size() {
+            return tileCount;
+        }
+
+        @Override
+        public Iterator<Tile> iterator() {
+            return new TileIterator<>(i -> tiles[i]);
+        }
+    }
+
+    /**
+     * Read-only set view of the tile index and tile pairs, in order of tile index
+     */
+    private class TileEntriesView extends AbstractSet<Map.Entry<Integer, Tile>> {
+        @Override
+        public int size() {
+            return tileCount;
+        }
+
+        @Override
+        public Iterator<Map.Entry<Integer, Tile>> iterator() {
+            return new TileIterator<>(i -> new AbstractMap.SimpleImmutableEntry<>(i, tiles[i]));
+        }
+    }
+
+    /**
+     * Iterator over the occupied slots of the tile array
+     *
+     * @param <T> The type of element produced for each tile
+     */
+    private class TileIterator<T> implements Iterator<T> {
+        private final IntFunction<T> element;
+        private int next;
+
+        /**
+         * Creates an iterator that starts at the first tile
+         *
+         * @param element Produces the element for the tile at an index
+         */
+        TileIterator(IntFunction<T> element) {
+            this.element = element;
+            this.next = findNext(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < tiles.length;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T result = element.apply(next);
+            next = findNext(next + 1);
+            return result;
+        }
+
+        /**
+         * Finds the next occupied slot
+         *
+         * @param from The index to start searching from
+         * @return The next occupied index, or the array length if there is none
+         */
+        private int findNext(int from) {
+            int index = from;
+            while (index < tiles.length && tiles[index] == null) {
+                index++;
+            }
+            return index;
+        }
+    }
+}
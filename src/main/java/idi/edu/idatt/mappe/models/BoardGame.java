@@ -1,16 +1,22 @@
 package idi.edu.idatt.mappe.models;
 
 import idi.edu.idatt.mappe.models.dice.Dice;
-import idi.edu.idatt.mappe.models.enums.Direction;
 import idi.edu.idatt.mappe.models.enums.GameState;
 import idi.edu.idatt.mappe.models.enums.GameType;
 import idi.edu.idatt.mappe.models.enums.TokenType;
+import idi.edu.idatt.mappe.models.rules.RulePhase;
+import idi.edu.idatt.mappe.models.rules.RulePipeline;
+import idi.edu.idatt.mappe.models.rules.TurnContext;
+import idi.edu.idatt.mappe.utils.diagnostics.GameMetrics;
+import idi.edu.idatt.mappe.utils.diagnostics.ObserverDispatchEvent;
+import idi.edu.idatt.mappe.utils.diagnostics.TurnEvent;
 import idi.edu.idatt.mappe.views.GameView;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.stream.IntStream;
 
@@ -20,10 +26,12 @@ public class BoardGame {
     private List<Player> players;
     private Dice dice;
     private GameRules gameRules;
+    private RulePipeline rulePipeline = RulePipeline.EMPTY;
 
     private GameState gameState = GameState.NOT_STARTED;
     private boolean finished = false;
     private GameType gameType;
+    private String boardKey;
 
     private List<BoardGameObserver> observers = new ArrayList<>();
 
@@ -46,6 +54,19 @@ public class BoardGame {
         return board;
     }
 
+    /**
+     * Returns the layout key of the board, computed when the game starts
+     *
+     * @return The layout key, or null if the game has no board
+     * @see Board#getLayoutKey()
+     */
+    public String getBoardKey() {
+        if (boardKey == null && board != null) {
+            boardKey = board.getLayoutKey();
+        }
+        return boardKey;
+    }
+
     /**
      * Returns the current player
      *
@@ -84,12 +105,18 @@ public class BoardGame {
 
 
     /**
-     * Sets the board of the game
+     * Sets the board of the game.
+     * Snakes and Ladders boards are checked for loops of ladders and snakes.
      *
      * @param board The board of the game
+     * @throws IllegalArgumentException If the tile actions on the board form a loop
      */
     public void setBoard(Board board) {
+        if (board != null && gameType == GameType.SNAKES_AND_LADDERS) {
+            board.getLandActionResolver();
+        }
         this.board = board;
+        this.boardKey = null;
     }
 
     /**
@@ -132,18 +159,73 @@ public class BoardGame {
         player.placeOnTile(board.getTileByIndex(1));
     }
 
+    /**
+     * Removes a player from the game
+     *
+     * @param player The player to remove
+     * @return True if the player was in the game
+     */
+    public boolean removePlayer(Player player) {
+        boolean removed = players.remove(player);
+        if (removed && currentPlayer == player) {
+            currentPlayer = null;
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every player from the game
+     */
+    public void clearPlayers() {
+        players.clear();
+        currentPlayer = null;
+    }
+
+    /**
+     * Resets the game in place so it can be started again with the same board and rules.
+     * The hidden tokens are shuffled and hidden again and every player is reset and put back
+     * on the first tile. Nothing is rebuilt, so resetting is much cheaper than creating a new game.
+     */
+    public void reset() {
+        reset(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Resets the game in place so it can be started again with the same board and rules
+     *
+     * @param random The source of randomness for shuffling the hidden tokens
+     */
+    public void reset(Random random) {
+        if (board != null) {
+            board.resetTokens(random);
+        }
+        Tile firstTile = board != null && board.hasTile(1) ? board.getTileByIndex(1) : null;
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            player.reset();
+            player.setCurrentTile(firstTile);
+        }
+        currentPlayer = null;
+        finished = false;
+        gameState = GameState.NOT_STARTED;
+    }
+
     /**
      * Plays the game
      */
     public void play() {
-        int steps = dice.roll();
+        TurnEvent event = new TurnEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Player player = currentPlayer;
+        int fromTile = player.getCurrentTile() != null ? player.getCurrentTile().getIndex() : -1;
+        GameMetrics.beginTurn();
 
-        // Check for extra turn rule
-        if (gameRules != null && gameRules.isExtraThrowOnMax() && steps == gameRules.getMaxRoll()) {
-            notifyExtraTurn(currentPlayer);
-        }
+        int steps = dice.roll();
+        move(rulePipeline.newTurn(player, steps, logger::info));
 
-        movePlayer(currentPlayer, steps);
+        GameMetrics.recordTurn(event, start, gameType != null ? gameType.name() : null, getBoardKey(), player,
+                steps, fromTile, false);
     }
 
     /**
@@ -151,7 +233,7 @@ public class BoardGame {
      */
     public Player getWinner() {
         for (Player player : players) {
-            if (player.getCurrentTile().getIndex() == board.getTiles().size()) {
+            if (player.getCurrentTile().getIndex() == board.getTileCount()) {
                 return player;
             }
         }
@@ -159,9 +241,11 @@ public class BoardGame {
     }
 
     /**
-     * Starts the game
+     * Starts the game and compiles the game rules into the rule pipeline
      */
     public void startGame() {
+        rulePipeline = RulePipeline.compile(gameRules);
+        boardKey = board != null ? board.getLayoutKey() : null;
         switch (gameType) {
             case SNAKES_AND_LADDERS:
                 players.forEach(player -> player.setCurrentTile(board.getTileByIndex(1)));
@@ -188,42 +272,47 @@ public class BoardGame {
     }
 
     /**
-     * Moves a player a given number of steps
+     * Moves a player a given number of steps.
+     * The steps are not treated as a dice roll, so rules for maximum rolls do not apply.
      *
      * @param player The player to move
      * @param steps The number of steps to move
      */
     public void movePlayer(Player player, int steps) {
+        move(new TurnContext(player, steps, false, logger::info));
+    }
+
+    /**
+     * Moves the player of a turn and applies the rules that run after the move
+     *
+     * @param turn The turn
+     */
+    private void move(TurnContext turn) {
+        Player player = turn.getPlayer();
+        int steps = turn.getRoll();
         int currentIndex = player.getCurrentTile().getIndex();
         int newIndex = currentIndex + steps;
-        if (newIndex > board.getTiles().size()) {
-            newIndex = board.getTiles().size();
+        if (newIndex > board.getTileCount()) {
+            newIndex = board.getTileCount();
         }
-        player.placeOnTile(board.getTileByIndex(newIndex));
+        Tile landedTile = board.getTileByIndex(newIndex);
+        player.placeOnTile(landedTile);
 
         notifyPlayerMoved(player, steps);
 
-        // Apply special rules if applicable
-        if (gameRules != null) {
-            Tile currentTile = player.getCurrentTile();
-
-            // Check for ladder action with extra turn rule
-            if (gameRules.isExtraTurnOnLadder() &&
-                    currentTile.getLandAction() != null &&
-                    currentTile.getLandAction().getClass().getSimpleName().contains("LadderTileAction")) {
+        if (rulePipeline.hasStages(RulePhase.AFTER_MOVE)) {
+            turn.setLandedTile(landedTile);
+            rulePipeline.run(RulePhase.AFTER_MOVE, turn);
+            if (turn.isExtraTurn()) {
                 notifyExtraTurn(player);
             }
-
-            // Check for snake action with skip turn rule
-            if (gameRules.isSkipTurnOnSnake() &&
-                    currentTile.getLandAction() != null &&
-                    currentTile.getLandAction().getClass().getSimpleName().contains("SnakeTileAction")) {
+            if (turn.isSkipNextTurn()) {
                 notifySkipTurn(player);
             }
         }
 
         // Check if game is finished
-        if (player.getCurrentTile().getIndex() == board.getTiles().size()) {
+        if (player.getCurrentTile().getIndex() == board.getTileCount()) {
             finished = true;
             Player winner = getWinner();
             if (winner != null) {
@@ -260,15 +349,36 @@ public class BoardGame {
         observers.remove(observer);
     }
 
+    /**
+     * Remove every observer from the game
+     */
+    public void clearObservers() {
+        observers.clear();
+    }
+
+    /**
+     * Sends a notification to every observer and records it in the game metrics
+     *
+     * @param notification The name of the notification
+     * @param notifier Notifies one observer
+     */
+    private void dispatch(String notification, Consumer<BoardGameObserver> notifier) {
+        ObserverDispatchEvent event = new ObserverDispatchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        for (BoardGameObserver observer : observers) {
+            notifier.accept(observer);
+        }
+        GameMetrics.recordObserverDispatch(event, start, notification, observers.size());
+    }
+
     /**
      * Notify all observers about a player's move
      * @param player The player who moved
      * @param steps The number of steps moved
      */
     private void notifyPlayerMoved(Player player, int steps) {
-        for (BoardGameObserver observer : observers) {
-            observer.onPlayerMoved(player, steps);
-        }
+        dispatch("onPlayerMoved", observer -> observer.onPlayerMoved(player, steps));
     }
 
     /**
@@ -277,9 +387,7 @@ public class BoardGame {
      */
     private void notifyGameStateChanged(GameState newState) {
         gameState = newState;
-        for (BoardGameObserver observer : observers) {
-            observer.onGameStateChanged(newState);
-        }
+        dispatch("onGameStateChanged", observer -> observer.onGameStateChanged(newState));
     }
 
     /**
@@ -287,9 +395,7 @@ public class BoardGame {
      * @param winner The winning player
      */
     public void notifyGameWinner(Player winner) {
-        for (BoardGameObserver observer : observers) {
-            observer.onGameWinner(winner);
-        }
+        dispatch("onGameWinner", observer -> observer.onGameWinner(winner));
     }
 
     /**
@@ -297,9 +403,7 @@ public class BoardGame {
      * @param player The player who gets an extra turn
      */
     private void notifyExtraTurn(Player player) {
-        for (BoardGameObserver observer : observers) {
-            observer.onPlayerExtraTurn(player);
-        }
+        dispatch("onPlayerExtraTurn", observer -> observer.onPlayerExtraTurn(player));
     }
 
     /**
@@ -307,9 +411,7 @@ public class BoardGame {
      * @param player The player who must skip their turn
      */
     private void notifySkipTurn(Player player) {
-        for (BoardGameObserver observer : observers) {
-            observer.onPlayerSkipTurn(player);
-        }
+        dispatch("onPlayerSkipTurn", observer -> observer.onPlayerSkipTurn(player));
     }
 
     /**
@@ -364,6 +466,17 @@ public class BoardGame {
      */
     public void setGameRules(GameRules gameRules) {
         this.gameRules = gameRules;
+        this.rulePipeline = RulePipeline.compile(gameRules);
+    }
+
+    /**
+     * Gets the game rules compiled into stages. The rules are compiled again when the game
+     * starts, so changes to the rules before then are included.
+     *
+     * @return The rule pipeline
+     */
+    public RulePipeline getRulePipeline() {
+        return rulePipeline;
     }
 
 
@@ -372,9 +485,7 @@ public class BoardGame {
      * @param player The player who won the game
      */
     public void notifyObserversOfWinner(Player player) {
-        for (BoardGameObserver observer : observers) {
-            observer.onGameWinner(player);
-        }
+        dispatch("onGameWinner", observer -> observer.onGameWinner(player));
     }
 
     /**
@@ -383,9 +494,7 @@ public class BoardGame {
      * @param otherPlayer The player who was captured
      */
     public void notifyObserversOfCapture(Player player, Player otherPlayer) {
-        for (BoardGameObserver observer : observers) {
-            observer.onPlayerCaptured(player, otherPlayer);
-        }
+        dispatch("onPlayerCaptured", observer -> observer.onPlayerCaptured(player, otherPlayer));
     }
 
     /**
@@ -394,13 +503,11 @@ public class BoardGame {
      * @param currentPlayer The player who gets an extra turn
      */
     public void notifyObserversOfExtraTurn(Player currentPlayer) {
-        for (BoardGameObserver observer : observers) {
-            observer.onPlayerExtraTurn(currentPlayer);
-        }
+        dispatch("onPlayerExtraTurn", observer -> observer.onPlayerExtraTurn(currentPlayer));
     }
 
     public void notifyObserversOfSwap(Player player, Player otherPlayer, int playerTileIndex, int otherPlayerTileIndex) {
-        for (BoardGameObserver observer : observers) {
+        dispatch("onPlayerSwapped", observer -> {
             if (observer instanceof GameView) {
                 ((GameView) observer).logGameEvent(
                         player.getName() + " swapped positions with " +
@@ -408,7 +515,7 @@ public class BoardGame {
                                 " to " + otherPlayerTileIndex + ")!"
                 );
             }
-        }
+        });
     }
 
     /**
@@ -425,20 +532,13 @@ public class BoardGame {
 
         Tile currentTile = player.getCurrentTile();
 
-        if (!currentTile.getConnections().containsValue(destinationTile)) {
-            return false;
-        }
+        int travelCost = board.getAdjacencyGraph()
+                .getTravelCost(currentTile.getIndex(), destinationTile.getIndex());
 
-        Direction direction = null;
-        for (Map.Entry<Direction, Tile> entry : currentTile.getConnections().entrySet()) {
-            if (entry.getValue().equals(destinationTile)) {
-                direction = entry.getKey();
-                break;
-            }
+        if (travelCost == AdjacencyGraph.NO_EDGE) {
+            return false;
         }
 
-        int travelCost = currentTile.getTravelCost(direction);
-
         if (player.getMoney() < travelCost) {
             return false;
         }
@@ -506,11 +606,11 @@ public class BoardGame {
      * @param tokenType The type of token revealed
      */
     private void notifyTokenRevealed(Player player, TokenType tokenType) {
-        for (BoardGameObserver observer : observers) {
+        dispatch("onTokenRevealed", observer -> {
             if (observer instanceof LostDiamondObserver) {
                 ((LostDiamondObserver) observer).onTokenRevealed(player, tokenType);
             }
-        }
+        });
     }
 
     /**
@@ -519,10 +619,10 @@ public class BoardGame {
      * @param player The player who found the diamond
      */
     private void notifyDiamondFound(Player player) {
-        for (BoardGameObserver observer : observers) {
+        dispatch("onDiamondFound", observer -> {
             if (observer instanceof LostDiamondObserver) {
                 ((LostDiamondObserver) observer).onDiamondFound(player);
             }
-        }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package idi.edu.idatt.mappe.models;
+
+import idi.edu.idatt.mappe.models.tileaction.GoToStartTileAction;
+import idi.edu.idatt.mappe.models.tileaction.LadderTileAction;
+import idi.edu.idatt.mappe.models.tileaction.SnakeTileAction;
+import idi.edu.idatt.mappe.models.tileaction.TileAction;
+
+import java.util.Arrays;
+
+/**
+ * Resolves where a player ends up after landing on a tile
+ * <p>
+ *     Ladders, snakes and go-to-start tiles always move a player to the same tile, and that
+ *     tile may have such an action too. The resolver follows these chains once when it is
+ *     built and stores the final tile of every chain, so a landing is resolved with a single
+ *     array lookup instead of one action call per link. Chains that loop back on themselves
+ *     would never end, so the board is rejected when the resolver is built.
+ * </p>
+ * <p>
+ *     The resolver is a snapshot of the land actions when it was built.
+ * </p>
+ */
+public class LandActionResolver {
+    /**
+     * Returned when an action does not always lead to the same tile
+     */
+    public static final int NO_TILE = -1;
+
+    private static final int UNVISITED = 0;
+    private static final int VISITING = 1;
+    private static final int RESOLVED = 2;
+
+    private final Tile[] tiles;
+    private final TileAction[] actions;
+    private final int[] destinations;
+
+    /**
+     * Builds the resolver for the land actions on a board
+     *
+     * @param board The board to build the resolver for
+     * @throws IllegalArgumentException If a chain of actions loops or leads to a tile that is not on the board
+     */
+    public LandActionResolver(Board board) {
+        int[] maxId = {0};
+        board.forEachTileIndex(id -> maxId[0] = Math.max(maxId[0], id));
+
+        this.tiles = new Tile[maxId[0] + 1];
+        this.actions = new TileAction[tiles.length];
+        board.forEachTile(tile -> {
+            tiles[tile.getIndex()] = tile;
+            actions[tile.getIndex()] = tile.getLandAction();
+        });
+
+        this.destinations = new int[tiles.length];
+        int[] state = new int[tiles.length];
+        int[] path = new int[tiles.length];
+
+        for (int start = 0; start < tiles.length; start++) {
+            if (tiles[start] == null || state[start] != UNVISITED) {
+                continue;
+            }
+
+            int length = 0;
+            int current = start;
+            int destination;
+            while (true) {
+                state[current] = VISITING;
+                path[length++] = current;
+
+                int next = getFixedDestination(tiles[current].getLandAction());
+                if (next == NO_TILE) {
+                    destination = current;
+                    break;
+                }
+                if (next >= tiles.length || tiles[next] == null) {
+                    throw new IllegalArgumentException("Action on tile " + current
+                            + " leads to tile " + next + ", which is not on the board");
+                }
+                if (state[next] == VISITING) {
+                    throw new IllegalArgumentException("Tile actions form a loop: "
+                            + describeLoop(path, length, next));
+                }
+                if (state[next] == RESOLVED) {
+                    destination = destinations[next];
+                    break;
+                }
+                current = next;
+            }
+
+            for (int i = 0; i < length; i++) {
+                destinations[path[i]] = destination;
+                state[path[i]] = RESOLVED;
+            }
+        }
+    }
+
+    /**
+     * Returns the tile a player ends up on after landing on a tile and following
+     * every ladder, snake and go-to-start action from there
+     *
+     * @param tile The tile the player lands on
+     * @return The final tile, which has no such action; the given tile if it is not part of the resolver
+     *         or its action changed after the resolver was built
+     */
+    public Tile resolve(Tile tile) {
+        int id = tile.getIndex();
+        if (id < 0 || id >= tiles.length || tiles[id] != tile || actions[id] != tile.getLandAction()) {
+            return tile;
+        }
+        return tiles[destinations[id]];
+    }
+
+    /**
+     * Returns the id of the tile a player ends up on after landing on a tile
+     *
+     * @param tileId The id of the tile the player lands on
+     * @return The id of the final tile, or {@link #NO_TILE} if the tile is not part of the resolver
+     */
+    public int resolve(int tileId) {
+        if (tileId < 0 || tileId >= tiles.length || tiles[tileId] == null) {
+            return NO_TILE;
+        }
+        return destinations[tileId];
+    }
+
+    /**
+     * Returns the tile an action always moves a player to
+     *
+     * @param action The action, may be null
+     * @return The destination tile id, or {@link #NO_TILE} if the action does not always lead to the same tile
+     */
+    public static int getFixedDestination(TileAction action) {
+        if (action == null) {
+            return NO_TILE;
+        }
+        return switch (action) {
+            case LadderTileAction ladder -> ladder.getDestinationTileId();
+            case SnakeTileAction snake -> snake.getDestinationTileId();
+            case GoToStartTileAction goToStart -> 1;
+            default -> NO_TILE;
+        };
+    }
+
+    /**
+     * Returns whether an action from one tile to another would make the actions on the board loop
+     *
+     * @param board The board
+     * @param fromTileId The id of the tile the action would be placed on
+     * @param toTileId The id of the tile the action would move the player to
+     * @return True if following the actions from the destination leads back to the start tile
+     */
+    public static boolean createsLoop(Board board, int fromTileId, int toTileId) {
+        int current = toTileId;
+        for (int steps = 0; steps <= board.getTileCount(); steps++) {
+            if (current == fromTileId) {
+                return true;
+            }
+            if (!board.hasTile(current)) {
+                return false;
+            }
+            current = getFixedDestination(board.getTiles().get(current).getLandAction());
+            if (current == NO_TILE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Formats the tiles of a loop for an error message
+     *
+     * @param path The tiles followed so far
+     * @param length The number of tiles in the path
+     * @param loopStart The tile the path leads back to
+     * @return The loop, e.g. "12 -> 40 -> 12"
+     */
+    private static String describeLoop(int[] path, int length, int loopStart) {
+        int from = 0;
+        while (path[from] != loopStart) {
+            from++;
+        }
+        StringBuilder loop = new StringBuilder();
+        Arrays.stream(path, from, length).forEach(id -> loop.append(id).append(" -> "));
+        return loop.append(loopStart).toString();
+    }
+}
@@ -1,6 +1,9 @@
 package idi.edu.idatt.mappe.models;
 
+import idi.edu.idatt.mappe.models.enums.GameType;
 import idi.edu.idatt.mappe.models.enums.TokenType;
+import idi.edu.idatt.mappe.utils.diagnostics.GameMetrics;
+import idi.edu.idatt.mappe.utils.diagnostics.TileActionEvent;
 
 import java.util.logging.Logger;
 
@@ -11,8 +14,10 @@ public class Player {
 
     private String name;
     private String token;
+    private String color;
     private Tile currentTile;
     private BoardGame game;
+    private TurnScheduler turnScheduler;
 
     private boolean hasReachedHome;
 
@@ -23,6 +28,9 @@ public class Player {
     private int startingMoney = 300;
     private boolean hasDiamond = false;
 
+    private boolean landing;
+    private Tile pendingLanding;
+
 
     private static final Logger logger = Logger.getLogger(Player.class.getName());
 
@@ -86,6 +94,24 @@ public class Player {
         this.token = token;
     }
 
+    /**
+     * Returns the colour chosen for the player
+     *
+     * @return The colour as a hex code, e.g. "#e74c3c", or null if no colour is chosen
+     */
+    public String getColor() {
+        return color;
+    }
+
+    /**
+     * Sets the colour chosen for the player
+     *
+     * @param color The colour as a hex code, or null to let the game choose
+     */
+    public void setColor(String color) {
+        this.color = color;
+    }
+
 
     /**
      * Returns the current tile of the player
@@ -135,13 +161,74 @@ public class Player {
 
 
     /**
-     * Places the player on the given tile
+     * Places the player on the given tile and performs the land actions that follow.
+     * <p>
+     *     Actions that move the player call this method again. Those calls only record the
+     *     new tile, and the outermost call lands the player on it, so chains of actions run
+     *     in a loop instead of recursing. Ladders, snakes and go-to-start tiles are skipped
+     *     over in one step with the board's {@link LandActionResolver}.
+     * </p>
      *
      * @param tile The tile to place the player on
      */
     public void placeOnTile(Tile tile) {
         this.currentTile = tile;
-        tile.landPlayer(this);
+        if (landing) {
+            pendingLanding = tile;
+            return;
+        }
+
+        landing = true;
+        try {
+            Tile next = tile;
+            int maxLandings = game != null && game.getBoard() != null ? game.getBoard().getTileCount() + 1 : 1;
+            for (int landings = 0; next != null; landings++) {
+                if (landings == maxLandings) {
+                    logger.warning("Stopped following tile actions for " + name + " after " + landings + " landings");
+                    break;
+                }
+                pendingLanding = null;
+                Tile resolved = resolveLanding(next);
+                if (resolved != next) {
+                    jumpOverChain(next, resolved);
+                }
+                currentTile = resolved;
+                currentTile.landPlayer(this);
+                next = pendingLanding;
+            }
+        } finally {
+            landing = false;
+            pendingLanding = null;
+        }
+    }
+
+    /**
+     * Moves the player past a chain of ladders, snakes and go-to-start tiles in one step.
+     * The chain is recorded in the game metrics as one action of the first tile.
+     *
+     * @param from The tile the player landed on
+     * @param to The final tile of the chain
+     */
+    private void jumpOverChain(Tile from, Tile to) {
+        TileActionEvent event = new TileActionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        currentTile = to;
+        GameMetrics.recordTileAction(event, start, from.getLandAction(), this, from.getIndex());
+    }
+
+    /**
+     * Returns the tile the player ends up on after the ladders, snakes and go-to-start
+     * tiles that follow from landing on a tile
+     *
+     * @param tile The tile the player lands on
+     * @return The final tile of the chain
+     */
+    private Tile resolveLanding(Tile tile) {
+        if (game == null || game.getGameType() != GameType.SNAKES_AND_LADDERS || game.getBoard() == null) {
+            return tile;
+        }
+        return game.getBoard().getLandActionResolver().resolve(tile);
     }
 
     /**
@@ -168,7 +255,7 @@ public class Player {
      * @return Whether the player is missing a turn
      */
     public boolean isMissingTurn() {
-        return missingTurn;
+        return turnScheduler != null ? turnScheduler.isMissingTurn(this) : missingTurn;
     }
 
     /**
@@ -177,7 +264,29 @@ public class Player {
      * @param missingTurn Whether the player is missing a turn
      */
     public void setMissingTurn(boolean missingTurn) {
-        this.missingTurn = missingTurn;
+        if (turnScheduler != null) {
+            turnScheduler.setMissingTurn(this, missingTurn);
+        } else {
+            this.missingTurn = missingTurn;
+        }
+    }
+
+    /**
+     * Returns the turn order the player is seated in
+     *
+     * @return The turn scheduler that keeps the missing-turn flag, or null
+     */
+    TurnScheduler getTurnScheduler() {
+        return turnScheduler;
+    }
+
+    /**
+     * Sets the turn order the player is seated in, called by {@link TurnScheduler}
+     *
+     * @param turnScheduler The turn scheduler, or null when the player leaves it
+     */
+    void setTurnScheduler(TurnScheduler turnScheduler) {
+        this.turnScheduler = turnScheduler;
     }
 
 
@@ -188,9 +297,9 @@ public class Player {
      * @param steps The number of steps to move
      */
     public void move(int steps) {
-        if(missingTurn){
+        if(isMissingTurn()){
             logger.info(name + " is missing a turn");
-            missingTurn = false;
+            setMissingTurn(false);
         } else {
         if (currentTile == null) {
             throw new IllegalStateException("The player must be placed on a tile before moving");
@@ -320,9 +429,11 @@ public class Player {
         this.currentTile = null;
         this.hasReachedHome = false;
         this.extraThrow = false;
-        this.missingTurn = false;
+        setMissingTurn(false);
         this.money = startingMoney;
         this.hasDiamond = false;
+        this.landing = false;
+        this.pendingLanding = null;
     }
 
 }
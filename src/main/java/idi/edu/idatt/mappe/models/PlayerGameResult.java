@@ -0,0 +1,64 @@
+package idi.edu.idatt.mappe.models;
+
+/**
+ * The result of one player in a finished game, as recorded in the player statistics
+ *
+ * @see PlayerStats
+ */
+public final class PlayerGameResult {
+    private final String playerName;
+    private final boolean winner;
+    private final int turns;
+    private final int treasureEarned;
+
+    /**
+     * Creates a new game result
+     *
+     * @param playerName The name of the player
+     * @param winner Whether the player won the game
+     * @param turns The number of turns the player took
+     * @param treasureEarned The coins the player earned from treasures
+     */
+    public PlayerGameResult(String playerName, boolean winner, int turns, int treasureEarned) {
+        this.playerName = playerName;
+        this.winner = winner;
+        this.turns = turns;
+        this.treasureEarned = treasureEarned;
+    }
+
+    /**
+     * Returns the name of the player
+     *
+     * @return The name of the player
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * Returns whether the player won the game
+     *
+     * @return True if the player won
+     */
+    public boolean isWinner() {
+        return winner;
+    }
+
+    /**
+     * Returns the number of turns the player took
+     *
+     * @return The number of turns
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Returns the coins the player earned from treasures
+     *
+     * @return The treasure earned
+     */
+    public int getTreasureEarned() {
+        return treasureEarned;
+    }
+}
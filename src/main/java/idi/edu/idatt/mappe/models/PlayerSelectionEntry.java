@@ -26,7 +26,12 @@ public class PlayerSelectionEntry {
                 "#e67e22", "#1abc9c", "#34495e", "#d35400", "#16a085"
         };
 
-        this.color = availableColors[Math.abs(player.getName().hashCode()) % availableColors.length];
+        if (player.getColor() != null) {
+            this.color = player.getColor();
+        } else {
+            this.color = availableColors[Math.abs(player.getName().hashCode()) % availableColors.length];
+            player.setColor(color);
+        }
     }
 
     /**
@@ -81,6 +86,7 @@ public class PlayerSelectionEntry {
      */
     public void setColor(String color) {
         this.color = color;
+        player.setColor(color);
     }
 
     /**
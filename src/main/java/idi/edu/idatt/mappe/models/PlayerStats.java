@@ -0,0 +1,108 @@
+package idi.edu.idatt.mappe.models;
+
+/**
+ * Cumulative statistics of a player over all games played
+ * <p>
+ *     Statistics are kept per player name and never change; recording a game returns
+ *     new statistics.
+ * </p>
+ */
+public final class PlayerStats {
+    private final String name;
+    private final int gamesPlayed;
+    private final int wins;
+    private final long totalTurns;
+    private final long treasureEarned;
+
+    /**
+     * Creates statistics with the given values
+     *
+     * @param name The name of the player
+     * @param gamesPlayed The number of games played
+     * @param wins The number of games won
+     * @param totalTurns The number of turns taken in all games
+     * @param treasureEarned The coins earned from treasures in The Lost Diamond
+     */
+    public PlayerStats(String name, int gamesPlayed, int wins, long totalTurns, long treasureEarned) {
+        this.name = name;
+        this.gamesPlayed = gamesPlayed;
+        this.wins = wins;
+        this.totalTurns = totalTurns;
+        this.treasureEarned = treasureEarned;
+    }
+
+    /**
+     * Creates statistics for a player that has not played any games
+     *
+     * @param name The name of the player
+     * @return Statistics with every value zero
+     */
+    public static PlayerStats empty(String name) {
+        return new PlayerStats(name, 0, 0, 0, 0);
+    }
+
+    /**
+     * Returns the statistics with one more game added
+     *
+     * @param result The result of the player in the game
+     * @return The new statistics
+     */
+    public PlayerStats withGame(PlayerGameResult result) {
+        return new PlayerStats(name, gamesPlayed + 1, wins + (result.isWinner() ? 1 : 0),
+                totalTurns + result.getTurns(), treasureEarned + result.getTreasureEarned());
+    }
+
+    /**
+     * Returns the name of the player
+     *
+     * @return The name of the player
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of games played
+     *
+     * @return The number of games played
+     */
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Returns the number of games won
+     *
+     * @return The number of games won
+     */
+    public int getWins() {
+        return wins;
+    }
+
+    /**
+     * Returns the number of turns taken in all games
+     *
+     * @return The total number of turns
+     */
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    /**
+     * Returns the average number of turns per game
+     *
+     * @return The average number of turns, or 0 if no games are played
+     */
+    public double getAverageTurns() {
+        return gamesPlayed == 0 ? 0 : totalTurns / (double) gamesPlayed;
+    }
+
+    /**
+     * Returns the coins earned from treasures in The Lost Diamond
+     *
+     * @return The treasure earned
+     */
+    public long getTreasureEarned() {
+        return treasureEarned;
+    }
+}
@@ -2,12 +2,16 @@ package idi.edu.idatt.mappe.models;
 
 import idi.edu.idatt.mappe.models.enums.Direction;
 import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
 import idi.edu.idatt.mappe.models.enums.TileType;
 import idi.edu.idatt.mappe.models.enums.TokenType;
 import idi.edu.idatt.mappe.models.tileaction.TileAction;
+import idi.edu.idatt.mappe.utils.diagnostics.GameMetrics;
+import idi.edu.idatt.mappe.utils.diagnostics.TileActionEvent;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
@@ -32,8 +36,10 @@ public class Tile {
     private int x; // x-coordinate on the board
     private int y; // y-coordinate on the board
 
-    private Map<Direction, Tile> connections = new HashMap<>();
-    private Map<Direction, Integer> travelCosts = new HashMap<>();
+    private Map<Direction, Tile> connections;
+    private Map<Direction, Tile> connectionView;
+    private List<Direction> availableDirections;
+    private int[] travelCosts;
 
     private boolean isStartTile = false;
     private boolean isGoal = false;
@@ -42,6 +48,7 @@ public class Tile {
     private TokenType hiddenToken;
     private boolean tokenRevealed = false;
     private int tokenPrice = 100;
+    private Board board;
 
     /**
      * Creates a new tile with the given id
@@ -92,7 +99,7 @@ public class Tile {
         validatePlayer(player);
         validateTileAction(landAction);
         if (landAction != null && player.getGame().getGameType() == GameType.SNAKES_AND_LADDERS) {
-            landAction.perform(player);
+            performRecorded(player);
         }
     }
 
@@ -130,6 +137,10 @@ public class Tile {
     public void setLandAction(TileAction action) {
         validateTileAction(action);
         this.landAction = action;
+        if (board != null) {
+            board.invalidateLandActionResolver();
+            board.invalidateTargetTables();
+        }
     }
 
     /**
@@ -140,7 +151,21 @@ public class Tile {
     public void performLandAction(Player player) {
         validatePlayer(player);
         validateTileAction(landAction);
-        landAction.perform(player);
+        performRecorded(player);
+    }
+
+    /**
+     * Performs the land action and records it in the game metrics
+     *
+     * @param player The player that landed on the tile
+     */
+    private void performRecorded(Player player) {
+        TileActionEvent event = new TileActionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        TileAction action = landAction;
+        action.perform(player);
+        GameMetrics.recordTileAction(event, start, action, player, tileId);
     }
 
     /**
@@ -152,6 +177,16 @@ public class Tile {
         return landAction;
     }
 
+    /**
+     * Returns whether the tile has a land action of the given kind
+     *
+     * @param kind The kind of action
+     * @return True if the land action is of the given kind
+     */
+    public boolean hasLandAction(TileActionKind kind) {
+        return landAction != null && landAction.getKind() == kind;
+    }
+
     /**
      * Returns the index of the tile
      *
@@ -176,7 +211,7 @@ public class Tile {
      * @param x The x-coordinate
      */
     public void setX(int x) {
-        this.x = x;
+        setCoordinates(x, y);
     }
 
     /**
@@ -194,7 +229,7 @@ public class Tile {
      * @param y The y-coordinate
      */
     public void setY(int y) {
-        this.y = y;
+        setCoordinates(x, y);
     }
 
     /**
@@ -206,19 +241,34 @@ public class Tile {
     public void setCoordinates(int x, int y) {
         this.x = x;
         this.y = y;
+        if (board != null) {
+            board.invalidateSpatialIndex();
+        }
     }
 
 
     /**
      * Adds connections to another tile in a spoecific direction
-     * implemented because of the need to have a tile with multiple connections
+     * implemented because of the need to have a tile with multiple connections.
+     * The connection storage is only allocated when the first connection is added,
+     * so tiles on boards without routes carry no adjacency data.
      *
      * @param direction The direction of the connection
      * @param tile The tile to connect to
+     * @param cost The cost in coins to travel the connection
      */
     public void addConnection(Direction direction, Tile tile, int cost) {
+        if (connections == null) {
+            connections = new EnumMap<>(Direction.class);
+            connectionView = Collections.unmodifiableMap(connections);
+            travelCosts = new int[Direction.values().length];
+        }
         connections.put(direction, tile);
-        travelCosts.put(direction, cost);
+        travelCosts[direction.ordinal()] = cost;
+        availableDirections = null;
+        if (board != null) {
+            board.invalidateAdjacencyGraph();
+        }
     }
 
     /**
@@ -228,16 +278,16 @@ public class Tile {
      * @return The connected tile, or null if no connection exists
      */
     public Tile getConnectionInDirection(Direction direction) {
-        return connections.get(direction);
+        return connections == null ? null : connections.get(direction);
     }
 
     /**
      * Gets all available connections from this tile
      *
-     * @return A map of direction to connected tiles
+     * @return An unmodifiable view of the connected tiles keyed by direction
      */
     public Map<Direction, Tile> getConnections() {
-        return new HashMap<>(connections);
+        return connectionView == null ? Collections.emptyMap() : connectionView;
     }
 
     /**
@@ -246,7 +296,13 @@ public class Tile {
      * @return List of available directions
      */
     public List<Direction> getAvailableDirections() {
-        return new ArrayList<>(connections.keySet());
+        if (connections == null) {
+            return Collections.emptyList();
+        }
+        if (availableDirections == null) {
+            availableDirections = List.copyOf(connections.keySet());
+        }
+        return availableDirections;
     }
 
     /**
@@ -292,7 +348,25 @@ public class Tile {
      * @return The cost in coins, or 0 if free/not available
      */
     public int getTravelCost(Direction direction) {
-        return travelCosts.getOrDefault(direction, 0);
+        return travelCosts == null || direction == null ? 0 : travelCosts[direction.ordinal()];
+    }
+
+    /**
+     * Gets the cost to travel directly to another tile
+     *
+     * @param destination The tile to travel to
+     * @return The cost in coins, or -1 if there is no connection to the tile
+     */
+    public int getTravelCostTo(Tile destination) {
+        if (connections == null) {
+            return -1;
+        }
+        for (Map.Entry<Direction, Tile> entry : connections.entrySet()) {
+            if (entry.getValue() == destination) {
+                return travelCosts[entry.getKey().ordinal()];
+            }
+        }
+        return -1;
     }
 
     /**
@@ -322,6 +396,48 @@ public class Tile {
         this.tokenPrice = price;
     }
 
+    /**
+     * Gets the token hidden at this location, whether or not it has been revealed
+     *
+     * @return The token, or null if the tile has none
+     */
+    public TokenType getHiddenToken() {
+        return hiddenToken;
+    }
+
+    /**
+     * Checks if the token at this location has been revealed
+     *
+     * @return True if the token has been revealed
+     */
+    public boolean isTokenRevealed() {
+        return tokenRevealed;
+    }
+
+    /**
+     * Sets whether the token at this location has been revealed, without performing its action
+     *
+     * @param tokenRevealed True if the token has been revealed
+     */
+    public void setTokenRevealed(boolean tokenRevealed) {
+        this.tokenRevealed = tokenRevealed;
+    }
+
+    /**
+     * Swaps the hidden token and the land action that goes with it with another tile
+     *
+     * @param other The tile to swap with
+     */
+    void swapTokenWith(Tile other) {
+        TokenType token = hiddenToken;
+        hiddenToken = other.hiddenToken;
+        other.hiddenToken = token;
+
+        TileAction action = landAction;
+        landAction = other.landAction;
+        other.landAction = action;
+    }
+
     /**
      * Sets the hidden token for this tile
      *
@@ -329,6 +445,27 @@ public class Tile {
      */
     public void setHiddenToken(TokenType tokenType) {
         this.hiddenToken = tokenType;
+        if (board != null) {
+            board.invalidateTokenTiles();
+        }
+    }
+
+    /**
+     * Returns the board the tile is on
+     *
+     * @return The board whose derived structures the tile discards when it changes, or null
+     */
+    Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Sets the board the tile is on, called by {@link Board#addTile(int, Tile)}
+     *
+     * @param board The board, or null when the tile is replaced
+     */
+    void setBoard(Board board) {
+        this.board = board;
     }
 
     /**
@@ -391,7 +528,7 @@ public class Tile {
     public List<Tile> getAffordableConnections(Player player) {
         List<Tile> affordableTiles = new ArrayList<>();
 
-        for (Map.Entry<Direction, Tile> entry : connections.entrySet()) {
+        for (Map.Entry<Direction, Tile> entry : getConnections().entrySet()) {
             Direction direction = entry.getKey();
             Tile connectedTile = entry.getValue();
             int cost = getTravelCost(direction);
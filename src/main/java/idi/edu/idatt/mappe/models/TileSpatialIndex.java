@@ -0,0 +1,381 @@
+package idi.edu.idatt.mappe.models;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spatial index over the coordinates of the tiles on a board
+ * <p>
+ *     Boards where the tiles fill a complete rectangle of coordinates, like Snakes and Ladders,
+ *     are stored in a two-dimensional array so a lookup is a single array access. Free-form maps,
+ *     like the cities of The Lost Diamond, are stored in a uniform grid of buckets with about one
+ *     tile per bucket, so the nearest-tile and radius queries only look at the buckets around the
+ *     query point instead of every tile on the board.
+ * </p>
+ * <p>
+ *     The index is a snapshot of the tile coordinates when it was built. Distances are measured
+ *     in board coordinates.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class TileSpatialIndex {
+    private final int size;
+    private final int minX;
+    private final int minY;
+    private final int maxX;
+    private final int maxY;
+
+    private final Tile[][] grid;
+
+    private final double cellSize;
+    private final int cellColumns;
+    private final int cellRows;
+    private final int[] cellStart;
+    private final Tile[] cellTiles;
+
+    /**
+     * Creates a spatial index over the given tiles
+     *
+     * @param tiles The tiles to index, null entries are ignored
+     */
+    public TileSpatialIndex(Collection<Tile> tiles) {
+        List<Tile> indexed = new ArrayList<>(tiles.size());
+        int lowX = Integer.MAX_VALUE;
+        int lowY = Integer.MAX_VALUE;
+        int highX = Integer.MIN_VALUE;
+        int highY = Integer.MIN_VALUE;
+        for (Tile tile : tiles) {
+            if (tile == null) continue;
+            indexed.add(tile);
+            lowX = Math.min(lowX, tile.getX());
+            lowY = Math.min(lowY, tile.getY());
+            highX = Math.max(highX, tile.getX());
+            highY = Math.max(highY, tile.getY());
+        }
+
+        this.size = indexed.size();
+        this.minX = size == 0 ? 0 : lowX;
+        this.minY = size == 0 ? 0 : lowY;
+        this.maxX = size == 0 ? -1 : highX;
+        this.maxY = size == 0 ? -1 : highY;
+
+        this.grid = createGrid(indexed);
+
+        if (grid != null || size == 0) {
+            this.cellSize = 1;
+            this.cellColumns = 0;
+            this.cellRows = 0;
+            this.cellStart = new int[1];
+            this.cellTiles = new Tile[0];
+            return;
+        }
+
+        double width = maxX - minX + 1;
+        double height = maxY - minY + 1;
+        this.cellSize = Math.max(1.0, Math.sqrt(width * height / size));
+        this.cellColumns = (int) (width / cellSize) + 1;
+        this.cellRows = (int) (height / cellSize) + 1;
+        this.cellStart = new int[cellColumns * cellRows + 1];
+        this.cellTiles = new Tile[size];
+
+        for (Tile tile : indexed) {
+            cellStart[cellOf(tile.getX(), tile.getY()) + 1]++;
+        }
+        for (int cell = 0; cell < cellColumns * cellRows; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        int[] fill = new int[cellColumns * cellRows];
+        for (Tile tile : indexed) {
+            int cell = cellOf(tile.getX(), tile.getY());
+            cellTiles[cellStart[cell] + fill[cell]++] = tile;
+        }
+    }
+
+    /**
+     * Returns whether the tiles are stored in a direct two-dimensional array
+     *
+     * @return True if the tiles fill a complete rectangle of coordinates
+     */
+    public boolean isGrid() {
+        return grid != null;
+    }
+
+    /**
+     * Returns the number of tiles in the index
+     *
+     * @return The number of tiles
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the tile at the given coordinates
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The tile at the coordinates, or null if there is no tile there
+     */
+    public Tile getTileAt(int x, int y) {
+        if (x < minX || x > maxX || y < minY || y > maxY) {
+            return null;
+        }
+        if (grid != null) {
+            return grid[y - minY][x - minX];
+        }
+
+        int cell = cellOf(x, y);
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            Tile tile = cellTiles[i];
+            if (tile.getX() == x && tile.getY() == y) {
+                return tile;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the tile closest to the given point
+     *
+     * @param x The x-coordinate of the point
+     * @param y The y-coordinate of the point
+     * @return The closest tile, or null if the index is empty
+     */
+    public Tile findNearest(double x, double y) {
+        return findNearest(x, y, Double.POSITIVE_INFINITY, null);
+    }
+
+    /**
+     * Returns the tile closest to the given point, if it is within the given distance
+     *
+     * @param x The x-coordinate of the point
+     * @param y The y-coordinate of the point
+     * @param maxDistance The maximum distance from the point to the tile
+     * @return The closest tile, or null if no tile is within the distance
+     */
+    public Tile findNearest(double x, double y, double maxDistance) {
+        return findNearest(x, y, maxDistance, null);
+    }
+
+    /**
+     * Returns the tile closest to the given tile, not counting the tile itself
+     *
+     * @param tile The tile to find the closest neighbour of
+     * @return The closest other tile, or null if there is none
+     */
+    public Tile findNearestNeighbour(Tile tile) {
+        return findNearest(tile.getX(), tile.getY(), Double.POSITIVE_INFINITY, tile);
+    }
+
+    /**
+     * Returns all tiles within the given distance of a point
+     *
+     * @param x The x-coordinate of the point
+     * @param y The y-coordinate of the point
+     * @param radius The maximum distance from the point
+     * @return A new list with the tiles within the distance
+     */
+    public List<Tile> findWithinRadius(double x, double y, double radius) {
+        List<Tile> result = new ArrayList<>();
+        if (size == 0 || radius < 0) {
+            return result;
+        }
+
+        double radiusSquared = radius * radius;
+        if (grid != null) {
+            int fromX = Math.max(minX, (int) Math.ceil(x - radius));
+            int toX = Math.min(maxX, (int) Math.floor(x + radius));
+            int fromY = Math.max(minY, (int) Math.ceil(y - radius));
+            int toY = Math.min(maxY, (int) Math.floor(y + radius));
+            for (int ty = fromY; ty <= toY; ty++) {
+                for (int tx = fromX; tx <= toX; tx++) {
+                    if (distanceSquared(tx, ty, x, y) <= radiusSquared) {
+                        result.add(grid[ty - minY][tx - minX]);
+                    }
+                }
+            }
+            return result;
+        }
+
+        int fromColumn = clampColumn(x - radius);
+        int toColumn = clampColumn(x + radius);
+        int fromRow = clampRow(y - radius);
+        int toRow = clampRow(y + radius);
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                int cell = row * cellColumns + column;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    Tile tile = cellTiles[i];
+                    if (distanceSquared(tile.getX(), tile.getY(), x, y) <= radiusSquared) {
+                        result.add(tile);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the closest tile to a point, searching the buckets in rings around the point
+     *
+     * @param x The x-coordinate of the point
+     * @param y The y-coordinate of the point
+     * @param maxDistance The maximum distance from the point to the tile
+     * @param exclude A tile to leave out of the search, may be null
+     * @return The closest tile, or null if no tile is within the distance
+     */
+    private Tile findNearest(double x, double y, double maxDistance, Tile exclude) {
+        if (size == 0 || (exclude != null && size == 1)) {
+            return null;
+        }
+
+        if (grid != null && exclude == null) {
+            int tx = (int) Math.max(minX, Math.min(maxX, Math.round(x)));
+            int ty = (int) Math.max(minY, Math.min(maxY, Math.round(y)));
+            boolean inRange = distanceSquared(tx, ty, x, y) <= maxDistance * maxDistance;
+            return inRange ? grid[ty - minY][tx - minX] : null;
+        }
+        if (grid != null) {
+            return findNearestInRange(x, y, maxDistance, exclude);
+        }
+
+        int centerColumn = clampColumn(x);
+        int centerRow = clampRow(y);
+        int maxRing = Math.max(cellColumns, cellRows);
+
+        Tile best = null;
+        double bestDistanceSquared = maxDistance * maxDistance;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                if (row < 0 || row >= cellRows) continue;
+                boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int column = centerColumn - ring; column <= centerColumn + ring; column += step) {
+                    if (column < 0 || column >= cellColumns) continue;
+                    int cell = row * cellColumns + column;
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                        Tile tile = cellTiles[i];
+                        if (tile == exclude) continue;
+                        double distance = distanceSquared(tile.getX(), tile.getY(), x, y);
+                        if (distance <= bestDistanceSquared) {
+                            best = tile;
+                            bestDistanceSquared = distance;
+                        }
+                    }
+                }
+            }
+
+            double searched = ring * cellSize;
+            if ((best != null && bestDistanceSquared <= searched * searched) || searched > maxDistance) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the closest tile in a grid by searching squares of growing size around the point
+     *
+     * @param x The x-coordinate of the point
+     * @param y The y-coordinate of the point
+     * @param maxDistance The maximum distance from the point to the tile
+     * @param exclude A tile to leave out of the search
+     * @return The closest tile, or null if no tile is within the distance
+     */
+    private Tile findNearestInRange(double x, double y, double maxDistance, Tile exclude) {
+        for (int radius = 1; radius <= Math.max(maxX - minX, maxY - minY) + 1; radius++) {
+            Tile best = null;
+            double bestDistance = Double.POSITIVE_INFINITY;
+            for (Tile tile : findWithinRadius(x, y, Math.min(radius, maxDistance))) {
+                double distance = distanceSquared(tile.getX(), tile.getY(), x, y);
+                if (tile != exclude && distance < bestDistance) {
+                    best = tile;
+                    bestDistance = distance;
+                }
+            }
+            if (best != null || radius >= maxDistance) {
+                return best;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores the tiles in a two-dimensional array if they fill a complete rectangle
+     *
+     * @param tiles The tiles to store
+     * @return The array indexed by [y][x], or null if the tiles do not form a complete grid
+     */
+    private Tile[][] createGrid(List<Tile> tiles) {
+        if (size == 0) {
+            return null;
+        }
+
+        long width = (long) maxX - minX + 1;
+        long height = (long) maxY - minY + 1;
+        if (width * height != size) {
+            return null;
+        }
+
+        Tile[][] cells = new Tile[(int) height][(int) width];
+        for (Tile tile : tiles) {
+            int row = tile.getY() - minY;
+            int column = tile.getX() - minX;
+            if (cells[row][column] != null) {
+                return null;
+            }
+            cells[row][column] = tile;
+        }
+        return cells;
+    }
+
+    /**
+     * Returns the bucket that contains the given coordinates
+     *
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The bucket number
+     */
+    private int cellOf(double x, double y) {
+        return clampRow(y) * cellColumns + clampColumn(x);
+    }
+
+    /**
+     * Returns the bucket column of an x-coordinate, clamped to the index
+     *
+     * @param x The x-coordinate
+     * @return The bucket column
+     */
+    private int clampColumn(double x) {
+        int column = (int) Math.floor((x - minX) / cellSize);
+        return Math.max(0, Math.min(cellColumns - 1, column));
+    }
+
+    /**
+     * Returns the bucket row of a y-coordinate, clamped to the index
+     *
+     * @param y The y-coordinate
+     * @return The bucket row
+     */
+    private int clampRow(double y) {
+        int row = (int) Math.floor((y - minY) / cellSize);
+        return Math.max(0, Math.min(cellRows - 1, row));
+    }
+
+    /**
+     * Returns the squared distance between two points
+     *
+     * @param x1 The x-coordinate of the first point
+     * @param y1 The y-coordinate of the first point
+     * @param x2 The x-coordinate of the second point
+     * @param y2 The y-coordinate of the second point
+     * @return The squared distance
+     */
+    private static double distanceSquared(double x1, double y1, double x2, double y2) {
+        double dx = x1 - x2;
+        double dy = y1 - y2;
+        return dx * dx + dy * dy;
+    }
+}
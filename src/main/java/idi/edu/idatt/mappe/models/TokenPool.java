@@ -0,0 +1,140 @@
+package idi.edu.idatt.mappe.models;
+
+import idi.edu.idatt.mappe.models.enums.TileType;
+import idi.edu.idatt.mappe.models.enums.TokenType;
+import idi.edu.idatt.mappe.models.tileaction.DiamondTileAction;
+import idi.edu.idatt.mappe.models.tileaction.ThiefTileAction;
+import idi.edu.idatt.mappe.models.tileaction.TreasureTileAction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The tokens hidden in the cities of a Lost Diamond map
+ * <p>
+ *     The diamond is always hidden in the same city. The other tokens are shuffled over the
+ *     remaining cities, and the cities the pool does not cover hide nothing. Every city
+ *     sells its token at the base price give or take {@link #PRICE_VARIANCE} coins.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class TokenPool {
+    /**
+     * How far the price of a token may be from the base price
+     */
+    public static final int PRICE_VARIANCE = 20;
+
+    private final int diamondCityId;
+    private final int basePrice;
+    private final Map<TokenType, Integer> counts;
+
+    private TokenPool(int diamondCityId, int basePrice, Map<TokenType, Integer> counts) {
+        this.diamondCityId = diamondCityId;
+        this.basePrice = basePrice;
+        this.counts = Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Creates a token pool
+     *
+     * @param diamondCityId The id of the city that hides the diamond
+     * @param basePrice The price of a token before the variance of each city
+     * @param counts The number of each token besides the diamond
+     * @return The token pool
+     * @throws IllegalArgumentException If a count or the price is negative, or the counts include the diamond
+     */
+    public static TokenPool of(int diamondCityId, int basePrice, Map<TokenType, Integer> counts) {
+        if (diamondCityId < 0) {
+            throw new IllegalArgumentException("The diamond city id cannot be negative");
+        }
+        if (basePrice < 0) {
+            throw new IllegalArgumentException("The token price cannot be negative");
+        }
+        EnumMap<TokenType, Integer> copy = new EnumMap<>(TokenType.class);
+        counts.forEach((tokenType, count) -> {
+            if (tokenType == TokenType.DIAMOND) {
+                throw new IllegalArgumentException("The diamond is placed by its city, not by the pool");
+            }
+            if (count == null || count < 0) {
+                throw new IllegalArgumentException("The number of " + tokenType + " tokens cannot be negative");
+            }
+            if (count > 0) {
+                copy.put(tokenType, count);
+            }
+        });
+        return new TokenPool(diamondCityId, basePrice, copy);
+    }
+
+    /**
+     * Returns the id of the city that hides the diamond
+     *
+     * @return The city id
+     */
+    public int getDiamondCityId() {
+        return diamondCityId;
+    }
+
+    /**
+     * Returns the price of a token before the variance of each city
+     *
+     * @return The base price
+     */
+    public int getBasePrice() {
+        return basePrice;
+    }
+
+    /**
+     * Returns the number of each token besides the diamond
+     *
+     * @return An unmodifiable map of the tokens in the pool
+     */
+    public Map<TokenType, Integer> getCounts() {
+        return counts;
+    }
+
+    /**
+     * Hides the tokens in the cities of a board and gives every city its token price
+     *
+     * @param board The board to deal the tokens on
+     * @param random The source of randomness for the shuffle and the prices
+     * @throws IllegalArgumentException If the board has no city with the diamond city id
+     */
+    public void deal(Board board, Random random) {
+        if (!board.hasTile(diamondCityId) || !board.getTileByIndex(diamondCityId).isCity()) {
+            throw new IllegalArgumentException("There is no city " + diamondCityId + " to hide the diamond in");
+        }
+        List<TokenType> tokens = new ArrayList<>(board.getTileCount());
+        counts.forEach((tokenType, count) -> tokens.addAll(Collections.nCopies(count, tokenType)));
+        while (tokens.size() < board.getTileCount()) {
+            tokens.add(TokenType.EMPTY);
+        }
+        Collections.shuffle(tokens, random);
+
+        Tile diamondCity = board.getTileByIndex(diamondCityId);
+        diamondCity.setHiddenToken(TokenType.DIAMOND);
+        diamondCity.setLandAction(new DiamondTileAction());
+
+        int[] tokenIndex = {0};
+        board.forEachTile(tile -> {
+            if (tile.getTileType() != TileType.CITY) {
+                return;
+            }
+            tile.setTokenPrice(basePrice + random.nextInt(2 * PRICE_VARIANCE + 1) - PRICE_VARIANCE);
+            if (tile == diamondCity || tokenIndex[0] >= tokens.size()) {
+                return;
+            }
+            TokenType tokenType = tokens.get(tokenIndex[0]++);
+            tile.setHiddenToken(tokenType);
+            switch (tokenType) {
+                case THIEF -> tile.setLandAction(new ThiefTileAction());
+                case EMPTY -> { }
+                default -> tile.setLandAction(new TreasureTileAction(tokenType));
+            }
+        });
+    }
+}
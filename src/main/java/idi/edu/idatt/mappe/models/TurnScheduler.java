@@ -0,0 +1,432 @@
+package idi.edu.idatt.mappe.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Keeps track of whose turn it is in a board game
+ * <p>
+ *     Every player gets a seat number when joining. The active seats form a ring stored
+ *     in two int arrays, so adding or removing a player is O(1) and never rebuilds the turn
+ *     order. Skipped and missed turns are stored in bitsets indexed by seat, together with a
+ *     combined mask of every seat that cannot take the next turn.
+ * </p>
+ * <p>
+ *     While the ring visits the seats in seat order, which it does until a player joins
+ *     somewhere other than at the end of the seat numbers, {@link #advance(Consumer)} finds
+ *     the next playable seat with {@link BitSet#nextClearBit(int)} and consumes the passed
+ *     skips as one range, so passing over k players costs O(k / 64). Otherwise it walks the
+ *     ring one seat at a time.
+ * </p>
+ * <p>
+ *     A player takes part in one turn order at a time: while seated, the missing-turn flag of
+ *     the {@link Player} is kept here.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class TurnScheduler {
+    private static final Logger logger = Logger.getLogger(TurnScheduler.class.getName());
+
+    private static final int NO_SEAT = -1;
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final List<Player> seats = new ArrayList<>();
+    private final Map<Player, Integer> seatNumbers = new HashMap<>();
+    private final BitSet skipTurns = new BitSet();
+    private final BitSet missingTurns = new BitSet();
+    private final BitSet vacantSeats = new BitSet();
+    private final BitSet passedSeats = new BitSet();
+
+    private int[] nextSeat = new int[INITIAL_CAPACITY];
+    private int[] previousSeat = new int[INITIAL_CAPACITY];
+    private int currentSeat = NO_SEAT;
+    private int activePlayers;
+    private boolean seatOrdered = true;
+
+    /**
+     * Creates an empty TurnScheduler
+     */
+    public TurnScheduler() {
+        logger.fine("TurnScheduler created");
+    }
+
+    /**
+     * Creates a TurnScheduler with the given players in turn order.
+     * The first player gets the first turn.
+     *
+     * @param players The players in turn order
+     */
+    public TurnScheduler(List<Player> players) {
+        players.forEach(this::addPlayer);
+    }
+
+    /**
+     * Adds a player to the turn order.
+     * The player is placed last in the current round, right before the current player.
+     *
+     * @param player The player to add
+     * @throws IllegalArgumentException If the player is null or already in the turn order
+     */
+    public void addPlayer(Player player) {
+        if (player == null) {
+            throw new IllegalArgumentException("Player cannot be null");
+        }
+        if (seatNumbers.containsKey(player)) {
+            throw new IllegalArgumentException("Player " + player.getName() + " is already in the turn order");
+        }
+
+        if (currentSeat == NO_SEAT) {
+            int seat = takeSeat(player, NO_SEAT);
+            seatOrdered = true;
+            nextSeat[seat] = seat;
+            previousSeat[seat] = seat;
+            currentSeat = seat;
+        } else {
+            int last = previousSeat[currentSeat];
+            int seat = takeSeat(player, last);
+            seatOrdered = seatOrdered && isBetween(last, seat, currentSeat);
+            nextSeat[last] = seat;
+            previousSeat[seat] = last;
+            nextSeat[seat] = currentSeat;
+            previousSeat[currentSeat] = seat;
+        }
+        activePlayers++;
+    }
+
+    /**
+     * Removes a player from the turn order.
+     * If the player had the current turn, the turn passes to the next player on the next advance.
+     *
+     * @param player The player to remove
+     * @return True if the player was in the turn order
+     */
+    public boolean removePlayer(Player player) {
+        Integer seat = seatNumbers.remove(player);
+        if (seat == null) {
+            return false;
+        }
+
+        if (activePlayers == 1) {
+            currentSeat = NO_SEAT;
+        } else {
+            int previous = previousSeat[seat];
+            int next = nextSeat[seat];
+            nextSeat[previous] = next;
+            previousSeat[next] = previous;
+            if (currentSeat == seat) {
+                currentSeat = previous;
+            }
+        }
+
+        if (player.getTurnScheduler() == this) {
+            player.setTurnScheduler(null);
+            player.setMissingTurn(missingTurns.get(seat));
+        }
+        skipTurns.clear(seat);
+        missingTurns.clear(seat);
+        vacantSeats.set(seat);
+        passedSeats.set(seat);
+        seats.set(seat, null);
+        activePlayers--;
+        return true;
+    }
+
+    /**
+     * Returns whether a player is in the turn order
+     *
+     * @param player The player
+     * @return True if the player is in the turn order
+     */
+    public boolean contains(Player player) {
+        return seatNumbers.containsKey(player);
+    }
+
+    /**
+     * Returns the player that has the current turn
+     *
+     * @return The current player, or null if there are no players
+     */
+    public Player getCurrentPlayer() {
+        return currentSeat == NO_SEAT ? null : seats.get(currentSeat);
+    }
+
+    /**
+     * Gives the current turn to the given player
+     *
+     * @param player The player that should have the turn
+     * @throws IllegalArgumentException If the player is not in the turn order
+     */
+    public void setCurrentPlayer(Player player) {
+        Integer seat = seatNumbers.get(player);
+        if (seat == null) {
+            throw new IllegalArgumentException("Player is not in the turn order");
+        }
+        currentSeat = seat;
+    }
+
+    /**
+     * Passes the turn to the next player that is not skipping a turn
+     *
+     * @return The player that has the turn now, or null if there are no players
+     */
+    public Player advance() {
+        return advance(null);
+    }
+
+    /**
+     * Passes the turn to the next player that is not skipping a turn.
+     * Players that skip are passed over and their skip is consumed. A player skips when
+     * marked with {@link #skipNextTurn(Player)} or when {@link Player#isMissingTurn()} is set.
+     * If every player skips, the first one passed over gets the turn after one full round.
+     *
+     * @param onSkipped Called for every player that is passed over, may be null
+     * @return The player that has the turn now, or null if there are no players
+     */
+    public Player advance(Consumer<Player> onSkipped) {
+        if (currentSeat == NO_SEAT) {
+            return null;
+        }
+        if (!seatOrdered) {
+            return walkToNextPlayer(onSkipped);
+        }
+
+        int from = nextSeat[currentSeat];
+        int seat = passedSeats.nextClearBit(from);
+        if (seat >= seats.size()) {
+            seat = passedSeats.nextClearBit(0);
+            if (seat >= from) {
+                seat = from;
+            }
+        }
+
+        if (seat == from && passedSeats.get(from)) {
+            consumeSkips(0, seats.size(), onSkipped, from);
+        } else if (seat >= from) {
+            consumeSkips(from, seat, onSkipped, NO_SEAT);
+        } else {
+            consumeSkips(from, seats.size(), onSkipped, NO_SEAT);
+            consumeSkips(0, seat, onSkipped, NO_SEAT);
+        }
+        currentSeat = seat;
+        return seats.get(currentSeat);
+    }
+
+    /**
+     * Marks a player to skip their next turn
+     *
+     * @param player The player that should skip
+     */
+    public void skipNextTurn(Player player) {
+        setSkipNextTurn(player, true);
+    }
+
+    /**
+     * Sets whether a player skips their next turn, for example when restoring a saved state.
+     * Players that are not in the turn order are ignored.
+     *
+     * @param player The player
+     * @param skip True if the player skips their next turn
+     */
+    public void setSkipNextTurn(Player player, boolean skip) {
+        Integer seat = seatNumbers.get(player);
+        if (seat != null) {
+            skipTurns.set(seat, skip);
+            updatePassed(seat);
+        }
+    }
+
+    /**
+     * Returns whether a player will skip their next turn
+     *
+     * @param player The player
+     * @return True if the player will skip their next turn
+     */
+    public boolean isSkippingNextTurn(Player player) {
+        Integer seat = seatNumbers.get(player);
+        return seat != null && passedSeats.get(seat);
+    }
+
+    /**
+     * Returns whether a seated player misses their next turn
+     *
+     * @param player The player
+     * @return True if the player misses their next turn
+     */
+    boolean isMissingTurn(Player player) {
+        Integer seat = seatNumbers.get(player);
+        return seat != null && missingTurns.get(seat);
+    }
+
+    /**
+     * Sets whether a seated player misses their next turn, called by
+     * {@link Player#setMissingTurn(boolean)}
+     *
+     * @param player The player
+     * @param missingTurn True if the player misses their next turn
+     */
+    void setMissingTurn(Player player, boolean missingTurn) {
+        Integer seat = seatNumbers.get(player);
+        if (seat != null) {
+            missingTurns.set(seat, missingTurn);
+            updatePassed(seat);
+        }
+    }
+
+    /**
+     * Returns the number of players in the turn order
+     *
+     * @return The number of players
+     */
+    public int getPlayerCount() {
+        return activePlayers;
+    }
+
+    /**
+     * Returns the players in turn order, starting with the current player
+     *
+     * @return A new list with the players in turn order
+     */
+    public List<Player> getPlayersInTurnOrder() {
+        List<Player> order = new ArrayList<>(activePlayers);
+        int seat = currentSeat;
+        for (int i = 0; i < activePlayers; i++) {
+            order.add(seats.get(seat));
+            seat = nextSeat[seat];
+        }
+        return order;
+    }
+
+    /**
+     * Removes all players and pending skips
+     */
+    public void clear() {
+        for (int seat = 0; seat < seats.size(); seat++) {
+            Player player = seats.get(seat);
+            if (player != null && player.getTurnScheduler() == this) {
+                player.setTurnScheduler(null);
+                player.setMissingTurn(missingTurns.get(seat));
+            }
+        }
+        seats.clear();
+        seatNumbers.clear();
+        skipTurns.clear();
+        missingTurns.clear();
+        vacantSeats.clear();
+        passedSeats.clear();
+        currentSeat = NO_SEAT;
+        activePlayers = 0;
+        seatOrdered = true;
+    }
+
+    /**
+     * Passes the turn by walking the ring one seat at a time, for rings that are not in
+     * seat order
+     *
+     * @param onSkipped Called for every player that is passed over, may be null
+     * @return The player that has the turn now
+     */
+    private Player walkToNextPlayer(Consumer<Player> onSkipped) {
+        currentSeat = nextSeat[currentSeat];
+        for (int passed = 0; passed < activePlayers && passedSeats.get(currentSeat); passed++) {
+            consumeSkips(currentSeat, currentSeat + 1, onSkipped, NO_SEAT);
+            currentSeat = nextSeat[currentSeat];
+        }
+        return seats.get(currentSeat);
+    }
+
+    /**
+     * Consumes the skips of the seats in a range and reports the passed players in seat order.
+     * The bits are cleared as one range; vacant seats stay in the passed mask.
+     *
+     * @param from The first seat, inclusive
+     * @param to The last seat, exclusive
+     * @param onSkipped Called for every player that is passed over, may be null
+     * @param firstSeat The seat to report first when the range wraps the whole ring, or
+     *                  {@link #NO_SEAT} to report in seat order
+     */
+    private void consumeSkips(int from, int to, Consumer<Player> onSkipped, int firstSeat) {
+        if (from >= to) {
+            return;
+        }
+        if (onSkipped != null) {
+            int start = firstSeat == NO_SEAT ? from : firstSeat;
+            for (int i = 0; i < to - from; i++) {
+                int seat = start + i < to ? start + i : start + i - (to - from);
+                Player skipped = seats.get(seat);
+                if (skipped != null) {
+                    onSkipped.accept(skipped);
+                }
+            }
+        }
+        skipTurns.clear(from, to);
+        missingTurns.clear(from, to);
+        passedSeats.clear(from, to);
+        for (int seat = vacantSeats.nextSetBit(from); seat >= 0 && seat < to; seat = vacantSeats.nextSetBit(seat + 1)) {
+            passedSeats.set(seat);
+        }
+    }
+
+    /**
+     * Updates the passed mask of a seat after its skip or missing-turn bit changed
+     *
+     * @param seat The seat number
+     */
+    private void updatePassed(int seat) {
+        passedSeats.set(seat, skipTurns.get(seat) || missingTurns.get(seat) || vacantSeats.get(seat));
+    }
+
+    /**
+     * Returns whether a seat lies after one seat and before another in seat order, going
+     * around from the last seat number to the first
+     *
+     * @param after The seat before
+     * @param seat The seat to check
+     * @param before The seat after
+     * @return True if the ring stays in seat order with the seat between the two
+     */
+    private static boolean isBetween(int after, int seat, int before) {
+        if (after < before) {
+            return after < seat && seat < before;
+        }
+        return seat > after || seat < before;
+    }
+
+    /**
+     * Gives a player a free seat, growing the ring arrays if needed.
+     * A vacant seat that keeps the ring in seat order is preferred.
+     *
+     * @param player The player
+     * @param after The seat the player is placed after, or {@link #NO_SEAT} for the first player
+     * @return The seat number
+     */
+    private int takeSeat(Player player, int after) {
+        int seat = vacantSeats.nextSetBit(after + 1);
+        if (after != NO_SEAT && (seat < 0 || !isBetween(after, seat, currentSeat))) {
+            seat = vacantSeats.nextSetBit(0);
+        }
+        if (seat < 0) {
+            seat = seats.size();
+            seats.add(player);
+            if (seat >= nextSeat.length) {
+                int capacity = nextSeat.length * 2;
+                nextSeat = Arrays.copyOf(nextSeat, capacity);
+                previousSeat = Arrays.copyOf(previousSeat, capacity);
+            }
+        } else {
+            vacantSeats.clear(seat);
+            seats.set(seat, player);
+        }
+        seatNumbers.put(player, seat);
+        missingTurns.set(seat, player.isMissingTurn());
+        updatePassed(seat);
+        player.setTurnScheduler(this);
+        return seat;
+    }
+}
@@ -57,6 +57,18 @@ public class Dice {
                 .sum();
     }
 
+    /**
+     * Seeds every die, so the rolls that follow are the same on all dice seeded with the same value.
+     * This lets another machine predict the rolls from the seed alone.
+     *
+     * @param seed the seed of the following rolls
+     */
+    public void setSeed(long seed) {
+        for (int i = 0; i < dice.size(); i++) {
+            dice.get(i).setSeed(seed + i);
+        }
+    }
+
     /**
      * Retrieves the values of all dice after they have been rolled.
      *
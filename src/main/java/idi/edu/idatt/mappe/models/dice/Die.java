@@ -47,6 +47,15 @@ public class Die {
         return lastRolledValue;
     }
 
+    /**
+     * Seeds the die, so the rolls that follow are the same on every die seeded with the same value.
+     *
+     * @param seed the seed of the following rolls.
+     */
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
     /**
      * Retrieves the last rolled value of the die.
      *
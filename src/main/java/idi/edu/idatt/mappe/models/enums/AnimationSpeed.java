@@ -0,0 +1,70 @@
+package idi.edu.idatt.mappe.models.enums;
+
+/**
+ * Represents the speed used for the game animations
+ * <p>
+ *     Each speed defines how many intermediate frames the dice animation shows
+ *     and how long each frame stays on screen. INSTANT shows the result directly.
+ * </p>
+ *
+ * @version 1.0
+ */
+public enum AnimationSpeed {
+    NORMAL("Normal", 10, 50),
+    FAST("Fast", 6, 30),
+    TURBO("Turbo", 3, 16),
+    INSTANT("Instant", 0, 0);
+
+    private final String name;
+    private final int frames;
+    private final int frameDurationMs;
+
+    /**
+     * Constructor for the AnimationSpeed enum
+     *
+     * @param name The display name of the speed
+     * @param frames The number of intermediate frames
+     * @param frameDurationMs The duration of each frame in milliseconds
+     */
+    AnimationSpeed(String name, int frames, int frameDurationMs) {
+        this.name = name;
+        this.frames = frames;
+        this.frameDurationMs = frameDurationMs;
+    }
+
+    /**
+     * Returns the display name of the speed
+     *
+     * @return The display name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of intermediate frames
+     *
+     * @return The number of frames
+     */
+    public int getFrames() {
+        return frames;
+    }
+
+    /**
+     * Returns the duration of each frame in milliseconds
+     *
+     * @return The frame duration
+     */
+    public int getFrameDurationMs() {
+        return frameDurationMs;
+    }
+
+    /**
+     * Returns whether this speed skips the animation entirely
+     *
+     * @return True if no intermediate frames are shown
+     */
+    public boolean isInstant() {
+        return frames == 0;
+    }
+}
@@ -0,0 +1,68 @@
+package idi.edu.idatt.mappe.models.enums;
+
+/**
+ * The kinds of messages sent between a game host and its clients
+ * <p>
+ *     Every message is sent as one frame whose first byte is the code of its kind.
+ * </p>
+ */
+public enum NetworkMessageType {
+    /**
+     * Client to host: the name of the client's player and the last state frame it has seen.
+     */
+    HELLO(1),
+    /**
+     * Host to client: the board and dice of the hosted game.
+     */
+    WELCOME(2),
+    /**
+     * Host to client: a spectator snapshot or delta of the game state.
+     */
+    STATE(3),
+    /**
+     * Host to client: the player about to roll and the seed of the roll.
+     */
+    ROLL(4),
+    /**
+     * Client to host: the client's player wants to play its turn.
+     */
+    TURN_REQUEST(5);
+
+    private static final NetworkMessageType[] BY_CODE = new NetworkMessageType[6];
+
+    static {
+        for (NetworkMessageType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    /**
+     * Constructor for the NetworkMessageType enum
+     *
+     * @param code The code of the message kind on the wire
+     */
+    NetworkMessageType(int code) {
+        this.code = (byte) code;
+    }
+
+    /**
+     * Returns the code of the message kind on the wire
+     *
+     * @return The code
+     */
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Finds the message kind with a code
+     *
+     * @param code The code
+     * @return The message kind, or null if no kind has the code
+     */
+    public static NetworkMessageType fromCode(byte code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,18 @@
+package idi.edu.idatt.mappe.models.enums;
+
+/**
+ * Which players a swap tile can swap the landing player with
+ * <p>
+ *     Set per swap tile in the sampling settings of the board file.
+ * </p>
+ *
+ * @version 1.0
+ */
+public enum SwapCandidates {
+    /** Every other player */
+    ANY,
+    /** The players on a tile further along the board */
+    AHEAD,
+    /** The players on a tile further back on the board */
+    BEHIND
+}
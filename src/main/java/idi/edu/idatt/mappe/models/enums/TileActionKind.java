@@ -0,0 +1,27 @@
+package idi.edu.idatt.mappe.models.enums;
+
+/**
+ * Represents the kind of action performed when a player lands on a tile
+ * <p>
+ *     Every {@link idi.edu.idatt.mappe.models.tileaction.TileAction} reports its kind, so code that
+ *     needs to treat actions differently can switch on the kind instead of checking class names.
+ * </p>
+ *
+ * @version 1.0
+ */
+public enum TileActionKind {
+    LADDER,
+    SNAKE,
+    RANDOM_TELEPORT,
+    SWAP,
+    EXTRA_THROW,
+    MISSING_TURN,
+    GO_TO_JAIL,
+    GO_TO_START,
+    CAPTURE,
+    WIN,
+    STARTING_AREA,
+    DIAMOND,
+    THIEF,
+    TREASURE
+}
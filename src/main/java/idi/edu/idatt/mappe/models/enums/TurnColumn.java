@@ -0,0 +1,41 @@
+package idi.edu.idatt.mappe.models.enums;
+
+/**
+ * The fields of a turn kept by the turn analytics store
+ * <p>
+ *     Text columns are stored as codes into a dictionary of the distinct values; the other
+ *     columns are stored as numbers. {@link #DIAMOND_FOUND} is 1 for turns in which the
+ *     diamond was found and 0 otherwise.
+ * </p>
+ */
+public enum TurnColumn {
+    GAME_TYPE(true),
+    BOARD(true),
+    PLAYER(true),
+    ROLL(false),
+    FROM_TILE(false),
+    TO_TILE(false),
+    MONEY(false),
+    LAND_ACTION(true),
+    DIAMOND_FOUND(false);
+
+    private final boolean text;
+
+    /**
+     * Constructor for the TurnColumn enum
+     *
+     * @param text True if the values of the column are text
+     */
+    TurnColumn(boolean text) {
+        this.text = text;
+    }
+
+    /**
+     * Returns whether the values of the column are text
+     *
+     * @return True for text columns, false for numeric columns
+     */
+    public boolean isText() {
+        return text;
+    }
+}
@@ -0,0 +1,255 @@
+package idi.edu.idatt.mappe.models.history;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Undo and redo history of a game, stored as a log of state changes with periodic keyframes
+ * <p>
+ *     Game states are encoded as int arrays of a fixed length, see {@link GameStateCodec}.
+ *     Every recorded step stores only the positions that changed since the step before,
+ *     and every {@code keyframeInterval} steps the whole state is stored as a keyframe.
+ *     Moving to a step starts from the nearest keyframe at or before it and applies the
+ *     changes after it, so undoing any number of steps costs at most one keyframe interval
+ *     of changes, however long the game is.
+ * </p>
+ * <p>
+ *     The history keeps at most {@code maxSteps} steps. When it grows past that, the oldest
+ *     keyframe and the changes up to the next keyframe are dropped, so memory stays bounded
+ *     in very long games. Recording a step after undoing discards the steps that could have
+ *     been redone.
+ * </p>
+ */
+public class GameHistory {
+    /** The default number of steps between keyframes */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 32;
+    /** The default largest number of steps kept */
+    public static final int DEFAULT_MAX_STEPS = 100_000;
+
+    private final int keyframeInterval;
+    private final int maxSteps;
+
+    private final List<int[]> changes = new ArrayList<>();
+    private final List<int[]> keyframes = new ArrayList<>();
+    private int currentStep;
+    private int[] currentState;
+
+    /**
+     * Creates an empty history with the default keyframe interval and size limit
+     */
+    public GameHistory() {
+        this(DEFAULT_KEYFRAME_INTERVAL, DEFAULT_MAX_STEPS);
+    }
+
+    /**
+     * Creates an empty history
+     *
+     * @param keyframeInterval The number of steps between keyframes
+     * @param maxSteps The largest number of steps to keep, at least one keyframe interval
+     * @throws IllegalArgumentException If the interval is not positive or the limit is below the interval
+     */
+    public GameHistory(int keyframeInterval, int maxSteps) {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("Keyframe interval must be positive");
+        }
+        if (maxSteps < keyframeInterval) {
+            throw new IllegalArgumentException("History must keep at least one keyframe interval");
+        }
+        this.keyframeInterval = keyframeInterval;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Clears the history and starts it from a state
+     *
+     * @param state The first state
+     */
+    public void start(int[] state) {
+        changes.clear();
+        keyframes.clear();
+        changes.add(null);
+        keyframes.add(state.clone());
+        currentStep = 0;
+        currentState = state.clone();
+    }
+
+    /**
+     * Records a new state as the step after the current one.
+     * A state equal to the current one is not recorded.
+     *
+     * @param state The new state
+     * @return True if a step was recorded
+     */
+    public boolean record(int[] state) {
+        if (currentState == null || state.length != currentState.length) {
+            start(state);
+            return false;
+        }
+
+        int[] change = diff(currentState, state);
+        if (change.length == 0) {
+            return false;
+        }
+
+        discardRedo();
+        changes.add(change);
+        currentStep++;
+        currentState = state.clone();
+        if (currentStep % keyframeInterval == 0) {
+            keyframes.add(currentState.clone());
+        }
+
+        if (changes.size() > maxSteps + keyframeInterval) {
+            dropOldestKeyframe();
+        }
+        return true;
+    }
+
+    /**
+     * Checks if there is a step to undo
+     *
+     * @return True if undo is possible
+     */
+    public boolean canUndo() {
+        return currentStep > 0;
+    }
+
+    /**
+     * Checks if there is an undone step to redo
+     *
+     * @return True if redo is possible
+     */
+    public boolean canRedo() {
+        return currentStep < changes.size() - 1;
+    }
+
+    /**
+     * Moves one step back
+     *
+     * @return The state of the step before, which must not be changed
+     * @throws IllegalStateException If there is no step to undo
+     */
+    public int[] undo() {
+        return undo(1);
+    }
+
+    /**
+     * Moves a number of steps back
+     *
+     * @param steps The number of steps
+     * @return The state of the step moved to, which must not be changed
+     * @throws IllegalStateException If there are fewer steps to undo
+     */
+    public int[] undo(int steps) {
+        if (steps < 1 || steps > currentStep) {
+            throw new IllegalStateException("Cannot undo " + steps + " steps");
+        }
+        return moveTo(currentStep - steps);
+    }
+
+    /**
+     * Moves one step forward again after undoing
+     *
+     * @return The state of the step after, which must not be changed
+     * @throws IllegalStateException If there is no step to redo
+     */
+    public int[] redo() {
+        if (!canRedo()) {
+            throw new IllegalStateException("Nothing to redo");
+        }
+        return moveTo(currentStep + 1);
+    }
+
+    /**
+     * Returns the number of steps that can be undone
+     *
+     * @return The number of steps before the current one
+     */
+    public int getUndoCount() {
+        return currentStep;
+    }
+
+    /**
+     * Returns the number of steps that can be redone
+     *
+     * @return The number of steps after the current one
+     */
+    public int getRedoCount() {
+        return changes.size() - 1 - currentStep;
+    }
+
+    /**
+     * Rebuilds the state of a step from the nearest keyframe at or before it
+     *
+     * @param step The step
+     * @return The state of the step
+     */
+    private int[] moveTo(int step) {
+        int keyframe = step / keyframeInterval;
+        int[] state = keyframes.get(keyframe).clone();
+        for (int i = keyframe * keyframeInterval + 1; i <= step; i++) {
+            apply(changes.get(i), state);
+        }
+        currentStep = step;
+        currentState = state;
+        return state;
+    }
+
+    /**
+     * Removes the steps after the current one
+     */
+    private void discardRedo() {
+        if (canRedo()) {
+            changes.subList(currentStep + 1, changes.size()).clear();
+            keyframes.subList(currentStep / keyframeInterval + 1, keyframes.size()).clear();
+        }
+    }
+
+    /**
+     * Removes the oldest keyframe and the changes up to the next one,
+     * which becomes the first state of the history
+     */
+    private void dropOldestKeyframe() {
+        changes.subList(0, keyframeInterval).clear();
+        changes.set(0, null);
+        keyframes.removeFirst();
+        currentStep -= keyframeInterval;
+    }
+
+    /**
+     * Lists the positions where two states differ, with their new values
+     *
+     * @param from The old state
+     * @param to The new state
+     * @return Pairs of position and new value
+     */
+    private static int[] diff(int[] from, int[] to) {
+        int count = 0;
+        for (int i = 0; i < from.length; i++) {
+            if (from[i] != to[i]) {
+                count++;
+            }
+        }
+        int[] change = new int[count * 2];
+        int next = 0;
+        for (int i = 0; i < from.length; i++) {
+            if (from[i] != to[i]) {
+                change[next++] = i;
+                change[next++] = to[i];
+            }
+        }
+        return change;
+    }
+
+    /**
+     * Applies a change to a state
+     *
+     * @param change Pairs of position and new value
+     * @param state The state to change
+     */
+    private static void apply(int[] change, int[] state) {
+        for (int i = 0; i < change.length; i += 2) {
+            state[change[i]] = change[i + 1];
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package idi.edu.idatt.mappe.models.history;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.TurnScheduler;
+import idi.edu.idatt.mappe.models.enums.GameState;
+import idi.edu.idatt.mappe.models.rules.RulePipeline;
+
+import java.util.List;
+
+/**
+ * Encodes the changing state of a game as an int array of fixed length, for the {@link GameHistory}
+ * <p>
+ *     The state holds the game state and the current player, the tile, money and flags of every
+ *     player, whether they skip their next turn, one bit per tile for revealed tokens, and the
+ *     counters the stages of the rule pipeline keep between turns.
+ *     Controllers can reserve ints at the end of the state for their own per-game counters.
+ *     A codec is made for one game after it is started; the board, the players and the
+ *     rules must not change while the codec is used.
+ * </p>
+ */
+public class GameStateCodec {
+    private static final int HEADER_INTS = 2;
+    private static final int PLAYER_INTS = 3;
+    private static final int NONE = -1;
+
+    private static final int EXTRA_THROW = 1;
+    private static final int MISSING_TURN = 1 << 1;
+    private static final int HAS_DIAMOND = 1 << 2;
+    private static final int SKIP_NEXT_TURN = 1 << 3;
+
+    private final BoardGame game;
+    private final TurnScheduler turnScheduler;
+    private final Player[] players;
+    private final List<Player> playerList;
+    private final Tile[] tiles;
+    private final RulePipeline rules;
+    private final int tileOffset;
+    private final int ruleOffset;
+    private final int controllerOffset;
+    private final int size;
+
+    /**
+     * Creates a codec for a game
+     *
+     * @param game The game
+     * @param turnScheduler The turn order of the game
+     * @param controllerInts The number of ints reserved for the controller
+     */
+    public GameStateCodec(BoardGame game, TurnScheduler turnScheduler, int controllerInts) {
+        this.game = game;
+        this.turnScheduler = turnScheduler;
+        this.players = game.getPlayers().toArray(new Player[0]);
+        this.playerList = List.of(players);
+
+        Board board = game.getBoard();
+        this.tiles = board.getTiles().values().toArray(new Tile[0]);
+        this.rules = game.getRulePipeline();
+
+        this.tileOffset = HEADER_INTS + players.length * PLAYER_INTS;
+        this.ruleOffset = tileOffset + (tiles.length + 31) / 32;
+        this.controllerOffset = ruleOffset + rules.getStateSize();
+        this.size = controllerOffset + controllerInts;
+    }
+
+    /**
+     * Returns the position of the first int reserved for the controller
+     *
+     * @return The offset of the controller state
+     */
+    public int getControllerOffset() {
+        return controllerOffset;
+    }
+
+    /**
+     * Returns the players of the game in the order they are stored
+     *
+     * @return The players
+     */
+    public List<Player> getPlayers() {
+        return playerList;
+    }
+
+    /**
+     * Encodes the current state of the game. The ints reserved for the controller are zero.
+     *
+     * @return The state
+     */
+    public int[] capture() {
+        int[] state = new int[size];
+        state[0] = game.getGameState().ordinal();
+        state[1] = indexOf(game.getCurrentPlayer());
+
+        int at = HEADER_INTS;
+        for (Player player : players) {
+            Tile tile = player.getCurrentTile();
+            state[at++] = tile == null ? NONE : tile.getIndex();
+            state[at++] = player.getMoney();
+            state[at++] = (player.hasExtraThrow() ? EXTRA_THROW : 0)
+                    | (player.isMissingTurn() ? MISSING_TURN : 0)
+                    | (player.hasDiamond() ? HAS_DIAMOND : 0)
+                    | (turnScheduler.isSkippingNextTurn(player) ? SKIP_NEXT_TURN : 0);
+        }
+
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i].isTokenRevealed()) {
+                state[tileOffset + i / 32] |= 1 << (i % 32);
+            }
+        }
+        rules.saveState(state, ruleOffset);
+        return state;
+    }
+
+    /**
+     * Puts the game back into an encoded state. Tile actions are not performed.
+     *
+     * @param state The state
+     * @throws IllegalArgumentException If the state was not made by a codec for this game
+     */
+    public void restore(int[] state) {
+        if (state.length != size) {
+            throw new IllegalArgumentException("State does not belong to this game");
+        }
+        game.setGameState(GameState.values()[state[0]]);
+        Player current = state[1] == NONE ? null : players[state[1]];
+        game.setCurrentPlayer(current);
+        if (current != null) {
+            turnScheduler.setCurrentPlayer(current);
+        }
+
+        Board board = game.getBoard();
+        int at = HEADER_INTS;
+        for (Player player : players) {
+            int tileIndex = state[at++];
+            player.setCurrentTile(tileIndex == NONE ? null : board.getTileByIndex(tileIndex));
+            player.setMoney(state[at++]);
+            int flags = state[at++];
+            player.setExtraThrow((flags & EXTRA_THROW) != 0);
+            player.setMissingTurn((flags & MISSING_TURN) != 0);
+            player.setHasDiamond((flags & HAS_DIAMOND) != 0);
+            turnScheduler.setSkipNextTurn(player, (flags & SKIP_NEXT_TURN) != 0);
+        }
+
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i].setTokenRevealed((state[tileOffset + i / 32] & (1 << (i % 32))) != 0);
+        }
+        rules.restoreState(state, ruleOffset);
+    }
+
+    /**
+     * Finds the position of a player in the stored order
+     *
+     * @param player The player
+     * @return The position, or -1 if the player is null or not in the game
+     */
+    private int indexOf(Player player) {
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == player) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,15 @@
+package idi.edu.idatt.mappe.models.rules;
+
+/**
+ * The points in a turn where rule stages run
+ */
+public enum RulePhase {
+    /** After the dice are rolled and before the player moves */
+    AFTER_ROLL,
+    /** After the player has moved and the tile action has been performed */
+    AFTER_MOVE,
+    /** When a player on a tile with a hidden token may roll the dice to win it */
+    TOKEN_ROLL,
+    /** When a player cannot afford any route from the tile they are on */
+    OUT_OF_MONEY
+}
@@ -0,0 +1,203 @@
+package idi.edu.idatt.mappe.models.rules;
+
+import idi.edu.idatt.mappe.models.GameRules;
+import idi.edu.idatt.mappe.models.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * The rules of a game compiled into an ordered list of stages for each phase of a turn
+ * <p>
+ *     The rules are compiled once when the game starts. Every registered {@link RuleStageFactory}
+ *     is asked for its stage, and rules that are turned off are left out, so a turn only runs the
+ *     rules that apply and never looks at the rule settings again. New rule variants are added
+ *     with {@link #register}, without changes to the controllers.
+ * </p>
+ * <p>
+ *     Stages can keep state between turns, so a pipeline belongs to one game.
+ * </p>
+ */
+public final class RulePipeline {
+    private static final Logger logger = Logger.getLogger(RulePipeline.class.getName());
+
+    private static final List<RuleStageFactory> factories = new CopyOnWriteArrayList<>(StandardRuleStages.all());
+    private static final RuleStage[] NO_STAGES = new RuleStage[0];
+
+    /** A pipeline without any stages, used when a game has no rules */
+    public static final RulePipeline EMPTY = new RulePipeline(new RuleStage[RulePhase.values().length][], 0);
+
+    private final RuleStage[][] stagesByPhase;
+    private final int maxRoll;
+
+    /**
+     * Creates a pipeline
+     *
+     * @param stagesByPhase The stages of each phase, indexed by phase ordinal, null for none
+     * @param maxRoll The highest value the dice can show, or 0 if unknown
+     */
+    private RulePipeline(RuleStage[][] stagesByPhase, int maxRoll) {
+        for (int i = 0; i < stagesByPhase.length; i++) {
+            if (stagesByPhase[i] == null) {
+                stagesByPhase[i] = NO_STAGES;
+            }
+        }
+        this.stagesByPhase = stagesByPhase;
+        this.maxRoll = maxRoll;
+    }
+
+    /**
+     * Adds a rule to every pipeline compiled from now on. The rule runs after the rules
+     * registered before it.
+     *
+     * @param factory Creates the stage of the rule
+     */
+    public static void register(RuleStageFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Rule stage factory cannot be null");
+        }
+        factories.add(factory);
+    }
+
+    /**
+     * Compiles game rules with the registered rules
+     *
+     * @param rules The game rules, or null for none
+     * @return The pipeline
+     */
+    public static RulePipeline compile(GameRules rules) {
+        return compile(rules, factories);
+    }
+
+    /**
+     * Compiles game rules with a list of rules
+     *
+     * @param rules The game rules, or null for none
+     * @param factories The rules, in the order they run
+     * @return The pipeline
+     */
+    public static RulePipeline compile(GameRules rules, List<RuleStageFactory> factories) {
+        if (rules == null) {
+            return EMPTY;
+        }
+
+        RulePhase[] phases = RulePhase.values();
+        List<List<RuleStage>> stages = new ArrayList<>(phases.length);
+        for (int i = 0; i < phases.length; i++) {
+            stages.add(new ArrayList<>());
+        }
+        for (RuleStageFactory factory : factories) {
+            RuleStage stage = factory.create(rules);
+            if (stage != null) {
+                stages.get(stage.getPhase().ordinal()).add(stage);
+            }
+        }
+
+        RuleStage[][] stagesByPhase = new RuleStage[phases.length][];
+        for (int i = 0; i < phases.length; i++) {
+            stagesByPhase[i] = stages.get(i).toArray(NO_STAGES);
+        }
+        RulePipeline pipeline = new RulePipeline(stagesByPhase, rules.getMaxRoll());
+        logger.fine("Compiled " + pipeline.size() + " rule stages for " + rules.getRuleName());
+        return pipeline;
+    }
+
+    /**
+     * Creates the context of a turn
+     *
+     * @param player The player taking the turn
+     * @param roll The total of the dice
+     * @param eventLog Receives the messages of the stages
+     * @return The context
+     */
+    public TurnContext newTurn(Player player, int roll, Consumer<String> eventLog) {
+        return new TurnContext(player, roll, maxRoll > 0 && roll == maxRoll, eventLog);
+    }
+
+    /**
+     * Checks whether any stage runs in a phase
+     *
+     * @param phase The phase
+     * @return True if the phase has stages
+     */
+    public boolean hasStages(RulePhase phase) {
+        return stagesByPhase[phase.ordinal()].length > 0;
+    }
+
+    /**
+     * Runs the stages of a phase in order, stopping if a stage ends the turn
+     *
+     * @param phase The phase
+     * @param turn The turn
+     */
+    public void run(RulePhase phase, TurnContext turn) {
+        for (RuleStage stage : stagesByPhase[phase.ordinal()]) {
+            if (turn.isTurnOver()) {
+                return;
+            }
+            stage.apply(turn);
+        }
+    }
+
+    /**
+     * Returns the number of ints needed to save the counters of every stage
+     *
+     * @return The number of ints
+     * @see RuleStage#getStateSize()
+     */
+    public int getStateSize() {
+        int size = 0;
+        for (RuleStage[] stages : stagesByPhase) {
+            for (RuleStage stage : stages) {
+                size += stage.getStateSize();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Writes the counters of every stage into a state, in phase order
+     *
+     * @param state The state
+     * @param offset The position of the first int of the pipeline
+     */
+    public void saveState(int[] state, int offset) {
+        for (RuleStage[] stages : stagesByPhase) {
+            for (RuleStage stage : stages) {
+                stage.saveState(state, offset);
+                offset += stage.getStateSize();
+            }
+        }
+    }
+
+    /**
+     * Reads the counters of every stage from a state written by {@link #saveState(int[], int)}
+     *
+     * @param state The state
+     * @param offset The position of the first int of the pipeline
+     */
+    public void restoreState(int[] state, int offset) {
+        for (RuleStage[] stages : stagesByPhase) {
+            for (RuleStage stage : stages) {
+                stage.restoreState(state, offset);
+                offset += stage.getStateSize();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of stages in the pipeline
+     *
+     * @return The number of stages
+     */
+    public int size() {
+        int size = 0;
+        for (RuleStage[] stages : stagesByPhase) {
+            size += stages.length;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,80 @@
+package idi.edu.idatt.mappe.models.rules;
+
+import java.util.function.Consumer;
+
+/**
+ * One rule of a game, bound to its settings when the rules are compiled
+ * <p>
+ *     A stage runs in a single {@link RulePhase} of every turn and reads and changes the
+ *     {@link TurnContext} of that turn. Stages are created by a {@link RuleStageFactory},
+ *     which leaves out rules that are turned off, so a stage never checks whether it is enabled.
+ * </p>
+ * <p>
+ *     A stage that keeps counters between turns saves them as ints, so undo and redo can
+ *     put them back together with the rest of the game.
+ * </p>
+ */
+public interface RuleStage {
+
+    /**
+     * Returns the phase of the turn the stage runs in
+     *
+     * @return The phase
+     */
+    RulePhase getPhase();
+
+    /**
+     * Applies the rule to a turn
+     *
+     * @param turn The turn
+     */
+    void apply(TurnContext turn);
+
+    /**
+     * Returns the number of ints the stage needs to save the counters it keeps between turns
+     *
+     * @return The number of ints, 0 for stages without counters
+     */
+    default int getStateSize() {
+        return 0;
+    }
+
+    /**
+     * Writes the counters of the stage into a state
+     *
+     * @param state The state
+     * @param offset The position of the first int of the stage
+     */
+    default void saveState(int[] state, int offset) {
+    }
+
+    /**
+     * Reads the counters of the stage from a state
+     *
+     * @param state The state
+     * @param offset The position of the first int of the stage
+     */
+    default void restoreState(int[] state, int offset) {
+    }
+
+    /**
+     * Creates a stage that runs an action in a phase
+     *
+     * @param phase The phase to run in
+     * @param action The rule to apply
+     * @return The stage
+     */
+    static RuleStage of(RulePhase phase, Consumer<TurnContext> action) {
+        return new RuleStage() {
+            @Override
+            public RulePhase getPhase() {
+                return phase;
+            }
+
+            @Override
+            public void apply(TurnContext turn) {
+                action.accept(turn);
+            }
+        };
+    }
+}
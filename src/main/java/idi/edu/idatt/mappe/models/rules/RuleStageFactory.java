@@ -0,0 +1,18 @@
+package idi.edu.idatt.mappe.models.rules;
+
+import idi.edu.idatt.mappe.models.GameRules;
+
+/**
+ * Creates the stage of one rule from a set of game rules
+ */
+@FunctionalInterface
+public interface RuleStageFactory {
+
+    /**
+     * Creates the stage, reading any settings it needs from the rules and their additional data
+     *
+     * @param rules The game rules, never null
+     * @return The stage, or null if the rule is turned off
+     */
+    RuleStage create(GameRules rules);
+}
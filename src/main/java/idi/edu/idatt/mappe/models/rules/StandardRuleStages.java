@@ -0,0 +1,234 @@
+package idi.edu.idatt.mappe.models.rules;
+
+import idi.edu.idatt.mappe.models.GameRules;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
+
+import java.util.List;
+
+/**
+ * The stages of the rules in {@link GameRules}, in the order they run
+ */
+public final class StandardRuleStages {
+    private static final String ALLOW_TOKEN_ROLL = "allowDiceRollForTokens";
+    private static final String TOKEN_ROLL_THRESHOLD = "diceRollThreshold";
+    private static final String EMERGENCY_MONEY_ENABLED = "emergencyMoneyEnabled";
+    private static final String EMERGENCY_MONEY_AMOUNT = "emergencyMoneyAmount";
+    private static final int DEFAULT_EMERGENCY_MONEY = 100;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private StandardRuleStages() {
+    }
+
+    /**
+     * Returns the factories of the standard rules, in the order they run
+     *
+     * @return The factories
+     */
+    public static List<RuleStageFactory> all() {
+        return List.of(
+                StandardRuleStages::startOnlyWithMax,
+                StandardRuleStages::maxRoll,
+                StandardRuleStages::extraThrowOnMax,
+                StandardRuleStages::extraTurnOnLadder,
+                StandardRuleStages::skipTurnOnSnake,
+                StandardRuleStages::tokenRoll,
+                StandardRuleStages::emergencyMoney);
+    }
+
+    /**
+     * Keeps players on the starting tile until they roll the highest value
+     *
+     * @param rules The game rules
+     * @return The stage, or null if the rule is off
+     */
+    public static RuleStage startOnlyWithMax(GameRules rules) {
+        if (!rules.isStartOnlyWithMax()) {
+            return null;
+        }
+        return RuleStage.of(RulePhase.AFTER_ROLL, turn -> {
+            Player player = turn.getPlayer();
+            Tile tile = player.getCurrentTile();
+            if (tile == null || tile.getIndex() != 1) {
+                return;
+            }
+            if (turn.isMaxRoll()) {
+                turn.log(player.getName() + " rolled a 6 and can start the game!");
+            } else {
+                turn.endTurn(player.getName() + " needs a 6 to start. Staying at the starting position.");
+            }
+        });
+    }
+
+    /**
+     * Announces maximum rolls and ends the turn after too many in a row
+     *
+     * @param rules The game rules
+     * @return The stage
+     */
+    public static RuleStage maxRoll(GameRules rules) {
+        return new MaxRollStage(rules.getMaxRoll(), rules.getConsecutiveSixesLimit());
+    }
+
+    /**
+     * Gives an extra turn for a maximum roll
+     *
+     * @param rules The game rules
+     * @return The stage, or null if the rule is off
+     */
+    public static RuleStage extraThrowOnMax(GameRules rules) {
+        if (!rules.isExtraThrowOnMax()) {
+            return null;
+        }
+        return RuleStage.of(RulePhase.AFTER_MOVE, turn -> {
+            if (turn.isMaxRoll()) {
+                turn.grantExtraTurn(turn.getPlayer().getName() + " rolled maximum value and gets an extra turn!");
+            }
+        });
+    }
+
+    /**
+     * Gives an extra turn for landing on a ladder
+     *
+     * @param rules The game rules
+     * @return The stage, or null if the rule is off
+     */
+    public static RuleStage extraTurnOnLadder(GameRules rules) {
+        if (!rules.isExtraTurnOnLadder()) {
+            return null;
+        }
+        return RuleStage.of(RulePhase.AFTER_MOVE, turn -> {
+            if (landedOn(turn, TileActionKind.LADDER)) {
+                turn.grantExtraTurn(turn.getPlayer().getName() + " climbed a ladder and gets an extra turn!");
+            }
+        });
+    }
+
+    /**
+     * Makes a player skip the next turn after landing on a snake
+     *
+     * @param rules The game rules
+     * @return The stage, or null if the rule is off
+     */
+    public static RuleStage skipTurnOnSnake(GameRules rules) {
+        if (!rules.isSkipTurnOnSnake()) {
+            return null;
+        }
+        return RuleStage.of(RulePhase.AFTER_MOVE, turn -> {
+            if (landedOn(turn, TileActionKind.SNAKE)) {
+                turn.skipNextTurn(turn.getPlayer().getName() + " was bitten by a snake and will skip next turn!");
+            }
+        });
+    }
+
+    /**
+     * Lets Lost Diamond players roll the dice for a token instead of buying it.
+     * The threshold is the {@code diceRollThreshold} option, or just above half the highest roll.
+     *
+     * @param rules The game rules
+     * @return The stage, or null if the game is not The Lost Diamond or
+     *         {@code allowDiceRollForTokens} is false
+     */
+    public static RuleStage tokenRoll(GameRules rules) {
+        if (rules.getGameType() != GameType.THE_LOST_DIAMOND
+                || Boolean.FALSE.equals(rules.getAdditionalData(ALLOW_TOKEN_ROLL))) {
+            return null;
+        }
+        int threshold = rules.getIntAdditionalData(TOKEN_ROLL_THRESHOLD,
+                rules.getNumberOfDice() * rules.getDiceSides() / 2 + 1);
+        return RuleStage.of(RulePhase.TOKEN_ROLL, turn -> turn.allowTokenRoll(threshold));
+    }
+
+    /**
+     * Gives Lost Diamond players that cannot afford any route enough money to travel, at least
+     * the {@code emergencyMoneyAmount} option
+     *
+     * @param rules The game rules
+     * @return The stage, or null if the game is not The Lost Diamond or
+     *         {@code emergencyMoneyEnabled} is false
+     */
+    public static RuleStage emergencyMoney(GameRules rules) {
+        if (rules.getGameType() != GameType.THE_LOST_DIAMOND
+                || Boolean.FALSE.equals(rules.getAdditionalData(EMERGENCY_MONEY_ENABLED))) {
+            return null;
+        }
+        int amount = rules.getIntAdditionalData(EMERGENCY_MONEY_AMOUNT, DEFAULT_EMERGENCY_MONEY);
+        return RuleStage.of(RulePhase.OUT_OF_MONEY, turn -> {
+            Player player = turn.getPlayer();
+            int given = Math.max(turn.getRequiredMoney() - player.getMoney(), amount);
+            turn.grantEmergencyMoney(given, "Emergency: " + player.getName() + " received "
+                    + given + " emergency coins to continue playing!");
+        });
+    }
+
+    /**
+     * Checks whether the tile a player landed on has an action of a kind
+     *
+     * @param turn The turn
+     * @param kind The kind of action
+     * @return True if the landed tile has the action
+     */
+    private static boolean landedOn(TurnContext turn, TileActionKind kind) {
+        Tile tile = turn.getLandedTile();
+        return tile != null && tile.hasLandAction(kind);
+    }
+
+    /**
+     * Counts maximum rolls in a row and ends the turn when the limit is reached
+     */
+    private static final class MaxRollStage implements RuleStage {
+        private final int maxRoll;
+        private final int limit;
+        private int consecutive;
+
+        /**
+         * Creates the stage
+         *
+         * @param maxRoll The highest value the dice can show
+         * @param limit The number of maximum rolls in a row that ends the turn, or 0 for no limit
+         */
+        MaxRollStage(int maxRoll, int limit) {
+            this.maxRoll = maxRoll;
+            this.limit = limit;
+        }
+
+        @Override
+        public RulePhase getPhase() {
+            return RulePhase.AFTER_ROLL;
+        }
+
+        @Override
+        public void apply(TurnContext turn) {
+            if (!turn.isMaxRoll()) {
+                consecutive = 0;
+                return;
+            }
+            consecutive++;
+            String name = turn.getPlayer().getName();
+            turn.log(name + " rolled the maximum value of " + maxRoll + "!");
+            if (limit > 0 && consecutive >= limit) {
+                consecutive = 0;
+                turn.endTurn(name + " rolled maximum " + limit + " times in a row. Forfeit turn!");
+            }
+        }
+
+        @Override
+        public int getStateSize() {
+            return 1;
+        }
+
+        @Override
+        public void saveState(int[] state, int offset) {
+            state[offset] = consecutive;
+        }
+
+        @Override
+        public void restoreState(int[] state, int offset) {
+            consecutive = state[offset];
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package idi.edu.idatt.mappe.models.rules;
+
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.Tile;
+
+import java.util.function.Consumer;
+
+/**
+ * The state of one turn as the rule stages see it
+ * <p>
+ *     The controller fills in the roll and, after the move, the tile the player landed on.
+ *     The stages record their outcome here: whether the turn ends before the move, whether the
+ *     player gets an extra turn and whether the player skips the next turn. In The Lost Diamond
+ *     they also record the roll that wins a token and the emergency money a player gets.
+ *     Messages from the stages go to the event log given when the turn is created.
+ * </p>
+ */
+public class TurnContext {
+    private final Player player;
+    private final int roll;
+    private final boolean maxRoll;
+    private final Consumer<String> eventLog;
+
+    private Tile landedTile;
+    private boolean turnOver;
+    private boolean extraTurn;
+    private boolean skipNextTurn;
+    private int tokenRollThreshold;
+    private int requiredMoney;
+    private int emergencyMoney;
+
+    /**
+     * Creates the context of a turn
+     *
+     * @param player The player taking the turn
+     * @param roll The total of the dice
+     * @param maxRoll Whether the roll is the highest the dice can show
+     * @param eventLog Receives the messages of the stages
+     */
+    public TurnContext(Player player, int roll, boolean maxRoll, Consumer<String> eventLog) {
+        this.player = player;
+        this.roll = roll;
+        this.maxRoll = maxRoll;
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Returns the player taking the turn
+     *
+     * @return The player
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Returns the total of the dice
+     *
+     * @return The roll
+     */
+    public int getRoll() {
+        return roll;
+    }
+
+    /**
+     * Returns whether the roll is the highest the dice can show
+     *
+     * @return True for a maximum roll
+     */
+    public boolean isMaxRoll() {
+        return maxRoll;
+    }
+
+    /**
+     * Returns the tile the player landed on, before any tile action moved them on
+     *
+     * @return The tile, or null before the move
+     */
+    public Tile getLandedTile() {
+        return landedTile;
+    }
+
+    /**
+     * Sets the tile the player landed on
+     *
+     * @param landedTile The tile, before any tile action moved the player on
+     */
+    public void setLandedTile(Tile landedTile) {
+        this.landedTile = landedTile;
+    }
+
+    /**
+     * Returns whether the turn has ended, so no further stages run
+     *
+     * @return True if the turn is over
+     */
+    public boolean isTurnOver() {
+        return turnOver;
+    }
+
+    /**
+     * Ends the turn before the player moves
+     *
+     * @param message The reason, written to the event log
+     */
+    public void endTurn(String message) {
+        log(message);
+        turnOver = true;
+    }
+
+    /**
+     * Returns whether the player gets another turn
+     *
+     * @return True for an extra turn
+     */
+    public boolean isExtraTurn() {
+        return extraTurn;
+    }
+
+    /**
+     * Gives the player another turn
+     *
+     * @param message The reason, written to the event log
+     */
+    public void grantExtraTurn(String message) {
+        log(message);
+        extraTurn = true;
+    }
+
+    /**
+     * Returns whether the player skips the next turn
+     *
+     * @return True if the next turn is skipped
+     */
+    public boolean isSkipNextTurn() {
+        return skipNextTurn;
+    }
+
+    /**
+     * Makes the player skip the next turn
+     *
+     * @param message The reason, written to the event log
+     */
+    public void skipNextTurn(String message) {
+        log(message);
+        skipNextTurn = true;
+    }
+
+    /**
+     * Returns the lowest roll that wins the token on the player's tile
+     *
+     * @return The threshold, or 0 if the player cannot roll for the token
+     */
+    public int getTokenRollThreshold() {
+        return tokenRollThreshold;
+    }
+
+    /**
+     * Lets the player roll the dice for the token on their tile
+     *
+     * @param threshold The lowest roll that wins the token
+     */
+    public void allowTokenRoll(int threshold) {
+        tokenRollThreshold = threshold;
+    }
+
+    /**
+     * Returns the money the player needs to travel from their tile
+     *
+     * @return The cost of the cheapest route
+     */
+    public int getRequiredMoney() {
+        return requiredMoney;
+    }
+
+    /**
+     * Sets the money the player needs to travel from their tile
+     *
+     * @param requiredMoney The cost of the cheapest route
+     */
+    public void setRequiredMoney(int requiredMoney) {
+        this.requiredMoney = requiredMoney;
+    }
+
+    /**
+     * Returns the emergency money given to the player
+     *
+     * @return The amount, or 0 if none was given
+     */
+    public int getEmergencyMoney() {
+        return emergencyMoney;
+    }
+
+    /**
+     * Gives the player emergency money so they can keep playing
+     *
+     * @param amount The amount
+     * @param message The reason, written to the event log
+     */
+    public void grantEmergencyMoney(int amount, String message) {
+        log(message);
+        emergencyMoney = amount;
+    }
+
+    /**
+     * Writes a message to the event log
+     *
+     * @param message The message
+     */
+    public void log(String message) {
+        eventLog.accept(message);
+    }
+}
@@ -0,0 +1,137 @@
+package idi.edu.idatt.mappe.models.sampling;
+
+import java.util.Random;
+
+/**
+ * Walker alias table for drawing from a fixed weighted distribution in constant time
+ * <p>
+ *     The weights are spread over one column per outcome, each holding the chance of its own
+ *     outcome and the outcome that fills the rest of the column. A draw picks a column and
+ *     flips one biased coin, so it takes two random numbers and no allocation however many
+ *     outcomes there are. The table is built in linear time with Vose's method and is
+ *     immutable, so it can be shared between threads.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class AliasTable {
+    private final int[] outcomes;
+    private final int[] aliases;
+    private final double[] thresholds;
+    private final double[] chances;
+
+    private AliasTable(int[] outcomes, int[] aliases, double[] thresholds, double[] chances) {
+        this.outcomes = outcomes;
+        this.aliases = aliases;
+        this.thresholds = thresholds;
+        this.chances = chances;
+    }
+
+    /**
+     * Builds a table that draws each outcome with a chance proportional to its weight
+     *
+     * @param outcomes The outcomes
+     * @param weights The weight of each outcome, not negative
+     * @return The table
+     * @throws IllegalArgumentException If there are no outcomes, the arrays differ in length,
+     *                                  a weight is negative or not finite, or all weights are zero
+     */
+    public static AliasTable of(int[] outcomes, double[] weights) {
+        int n = outcomes.length;
+        if (n == 0 || weights.length != n) {
+            throw new IllegalArgumentException("An alias table needs one weight per outcome");
+        }
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            if (!(weights[i] >= 0) || Double.isInfinite(weights[i])) {
+                throw new IllegalArgumentException("The weight of " + outcomes[i] + " must be a number of at least 0");
+            }
+            total += weights[i];
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one weight must be above 0");
+        }
+
+        double[] chances = new double[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            chances[i] = weights[i] / total;
+            scaled[i] = chances[i] * n;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        int[] aliases = new int[n];
+        double[] thresholds = new double[n];
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            thresholds[less] = scaled[less];
+            aliases[less] = outcomes[more];
+            scaled[more] += scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        while (largeCount > 0) {
+            int column = large[--largeCount];
+            thresholds[column] = 1;
+            aliases[column] = outcomes[column];
+        }
+        while (smallCount > 0) {
+            int column = small[--smallCount];
+            thresholds[column] = 1;
+            aliases[column] = outcomes[column];
+        }
+        return new AliasTable(outcomes.clone(), aliases, thresholds, chances);
+    }
+
+    /**
+     * Draws an outcome
+     *
+     * @param random The source of randomness
+     * @return The outcome
+     */
+    public int sample(Random random) {
+        int column = random.nextInt(outcomes.length);
+        return random.nextDouble() < thresholds[column] ? outcomes[column] : aliases[column];
+    }
+
+    /**
+     * Returns the number of outcomes
+     *
+     * @return The number of outcomes
+     */
+    public int size() {
+        return outcomes.length;
+    }
+
+    /**
+     * Returns an outcome of the table
+     *
+     * @param index The index of the outcome, from 0 to {@link #size()} - 1
+     * @return The outcome
+     */
+    public int getOutcome(int index) {
+        return outcomes[index];
+    }
+
+    /**
+     * Returns the chance that a draw gives an outcome
+     *
+     * @param index The index of the outcome, from 0 to {@link #size()} - 1
+     * @return The chance, from 0 to 1
+     */
+    public double getChance(int index) {
+        return chances[index];
+    }
+}
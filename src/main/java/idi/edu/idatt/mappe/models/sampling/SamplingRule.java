@@ -0,0 +1,236 @@
+package idi.edu.idatt.mappe.models.sampling;
+
+import idi.edu.idatt.mappe.models.enums.SwapCandidates;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * The settings of the random draws made by a tile action, as stored in the board file
+ * <p>
+ *     Tile targets are drawn from a range of tiles that all have the default weight, and
+ *     single tiles can be given their own weight, inside or outside the range. A weight of 0
+ *     leaves a tile out, and a default weight of 0 draws only from the weighted tiles.
+ *     Without settings, random teleports draw evenly from tile {@value #DEFAULT_FIRST_TILE}
+ *     to {@value #DEFAULT_END_MARGIN} tiles before the last tile. Swap tiles only use the
+ *     candidate rule.
+ * </p>
+ * <p>
+ *     Rules are values: equal rules on a board share one {@link AliasTable} in
+ *     {@link TargetTables}.
+ * </p>
+ *
+ * @version 1.0
+ */
+public final class SamplingRule {
+    /**
+     * The first tile a teleport can lead to when the rule has no range
+     */
+    public static final int DEFAULT_FIRST_TILE = 5;
+
+    /**
+     * How many tiles before the last tile the default teleport range ends
+     */
+    public static final int DEFAULT_END_MARGIN = 5;
+
+    /**
+     * The rule of actions without settings
+     */
+    public static final SamplingRule DEFAULT = new SamplingRule(0, 0, 1, Map.of(), SwapCandidates.ANY);
+
+    private final int fromTile;
+    private final int toTile;
+    private final double defaultWeight;
+    private final Map<Integer, Double> weights;
+    private final SwapCandidates candidates;
+    private final int hash;
+
+    private SamplingRule(int fromTile, int toTile, double defaultWeight, Map<Integer, Double> weights,
+                         SwapCandidates candidates) {
+        this.fromTile = fromTile;
+        this.toTile = toTile;
+        this.defaultWeight = defaultWeight;
+        this.weights = weights;
+        this.candidates = candidates;
+        this.hash = Objects.hash(fromTile, toTile, defaultWeight, weights, candidates.ordinal());
+    }
+
+    /**
+     * Creates a sampling rule
+     *
+     * @param fromTile The first tile of the range, or 0 for the default
+     * @param toTile The last tile of the range, or 0 for the default
+     * @param defaultWeight The weight of every tile in the range
+     * @param weights The weights of single tiles, replacing the default weight
+     * @param candidates Which players a swap can pick
+     * @return The rule
+     * @throws IllegalArgumentException If a tile is negative, the range is reversed or a weight
+     *                                  is negative or not finite
+     */
+    public static SamplingRule of(int fromTile, int toTile, double defaultWeight, Map<Integer, Double> weights,
+                                  SwapCandidates candidates) {
+        if (fromTile < 0 || toTile < 0) {
+            throw new IllegalArgumentException("The target range cannot start or end before tile 1");
+        }
+        if (fromTile > 0 && toTile > 0 && fromTile > toTile) {
+            throw new IllegalArgumentException("The target range " + fromTile + ".." + toTile + " is reversed");
+        }
+        validateWeight("The default weight", defaultWeight);
+        TreeMap<Integer, Double> sorted = new TreeMap<>();
+        weights.forEach((tile, weight) -> {
+            if (tile < 1) {
+                throw new IllegalArgumentException("Weighted tile " + tile + " is not on the board");
+            }
+            validateWeight("The weight of tile " + tile, weight);
+            sorted.put(tile, weight);
+        });
+        return new SamplingRule(fromTile, toTile, defaultWeight, Collections.unmodifiableMap(sorted),
+                Objects.requireNonNull(candidates, "Swap candidates cannot be null"));
+    }
+
+    /**
+     * Returns the first tile of the range
+     *
+     * @return The tile id, or 0 for the default
+     */
+    public int getFromTile() {
+        return fromTile;
+    }
+
+    /**
+     * Returns the last tile of the range
+     *
+     * @return The tile id, or 0 for the default
+     */
+    public int getToTile() {
+        return toTile;
+    }
+
+    /**
+     * Returns the weight of every tile in the range
+     *
+     * @return The default weight
+     */
+    public double getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * Returns the weights of single tiles
+     *
+     * @return An unmodifiable map from tile id to weight, in tile order
+     */
+    public Map<Integer, Double> getWeights() {
+        return weights;
+    }
+
+    /**
+     * Returns which players a swap can pick
+     *
+     * @return The swap candidates
+     */
+    public SwapCandidates getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Returns whether the rule has no settings of its own
+     *
+     * @return True if the rule equals {@link #DEFAULT}
+     */
+    public boolean isDefault() {
+        return equals(DEFAULT);
+    }
+
+    /**
+     * Builds the table of tile targets for a board
+     *
+     * @param lastTile The id of the last tile on the board
+     * @return The table of tile ids
+     * @throws IllegalArgumentException If a target is not on the board or no tile can be drawn
+     */
+    public AliasTable createTileTable(int lastTile) {
+        int first = fromTile > 0 ? fromTile : DEFAULT_FIRST_TILE;
+        int last = toTile > 0 ? toTile : lastTile - DEFAULT_END_MARGIN - 1;
+        if (defaultWeight > 0 && fromTile == 0 && toTile == 0 && first > last) {
+            throw new IllegalArgumentException("random teleports need at least "
+                    + (DEFAULT_FIRST_TILE + DEFAULT_END_MARGIN + 1) + " tiles, the board has " + lastTile);
+        }
+        if (defaultWeight > 0 && (first > last || last > lastTile)) {
+            throw new IllegalArgumentException("the target range " + first + ".." + last
+                    + " is not on the board of " + lastTile + " tiles");
+        }
+        for (int tile : weights.keySet()) {
+            if (tile > lastTile) {
+                throw new IllegalArgumentException("weighted tile " + tile + " is not on the board of "
+                        + lastTile + " tiles");
+            }
+        }
+
+        double[] tileWeights = new double[lastTile + 1];
+        if (defaultWeight > 0) {
+            Arrays.fill(tileWeights, first, last + 1, defaultWeight);
+        }
+        weights.forEach((tile, weight) -> tileWeights[tile] = weight);
+
+        int count = 0;
+        for (double weight : tileWeights) {
+            if (weight > 0) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("no target tile has a weight above 0");
+        }
+        int[] outcomes = new int[count];
+        double[] outcomeWeights = new double[count];
+        int index = 0;
+        for (int tile = 1; tile <= lastTile; tile++) {
+            if (tileWeights[tile] > 0) {
+                outcomes[index] = tile;
+                outcomeWeights[index++] = tileWeights[tile];
+            }
+        }
+        return AliasTable.of(outcomes, outcomeWeights);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SamplingRule rule)) {
+            return false;
+        }
+        return fromTile == rule.fromTile && toTile == rule.toTile
+                && Double.compare(defaultWeight, rule.defaultWeight) == 0
+                && weights.equals(rule.weights) && candidates == rule.candidates;
+    }
+
+    /**
+     * Returns a hash of the rule that is the same in every run, so it can be part of a layout key.
+     * The hash is computed once, as rules are looked up in {@link TargetTables} on every draw.
+     *
+     * @return The hash code
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Checks a weight
+     *
+     * @param name What the weight is, for the message
+     * @param weight The weight
+     * @throws IllegalArgumentException If the weight is negative or not finite
+     */
+    private static void validateWeight(String name, Double weight) {
+        if (weight == null || !(weight >= 0) || weight.isInfinite()) {
+            throw new IllegalArgumentException(name + " must be a number of at least 0");
+        }
+    }
+}
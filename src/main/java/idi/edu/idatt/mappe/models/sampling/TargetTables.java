@@ -0,0 +1,73 @@
+package idi.edu.idatt.mappe.models.sampling;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
+import idi.edu.idatt.mappe.models.tileaction.SampledTileAction;
+import idi.edu.idatt.mappe.models.tileaction.TileAction;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * The precomputed target tables of the random tile actions on a board
+ * <p>
+ *     The tables of every random teleport on the board are built when the board is first
+ *     played, one per distinct {@link SamplingRule}, so a draw only looks its table up and
+ *     never walks the tiles. Tables for rules added later are built on their first draw and
+ *     kept. The tables are immutable and the lookup is thread safe, so the heat map can read
+ *     them while a game is running.
+ * </p>
+ *
+ * @see Board#getTargetTables()
+ * @version 1.0
+ */
+public final class TargetTables {
+    private static final Logger logger = Logger.getLogger(TargetTables.class.getName());
+
+    private final int lastTile;
+    private final Map<SamplingRule, AliasTable> tileTables = new ConcurrentHashMap<>();
+
+    /**
+     * Builds the target tables of the random teleports on a board
+     *
+     * @param board The board
+     */
+    public TargetTables(Board board) {
+        this.lastTile = board.getTileCount();
+        board.forEachTile(tile -> {
+            TileAction action = tile.getLandAction();
+            if (action instanceof SampledTileAction sampled && action.getKind() == TileActionKind.RANDOM_TELEPORT) {
+                try {
+                    getTileTable(sampled.getSamplingRule());
+                } catch (IllegalArgumentException e) {
+                    logger.warning("Tile " + tile.getIndex() + ": " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the table of tile targets for a rule
+     *
+     * @param rule The sampling rule
+     * @return The table of tile ids
+     * @throws IllegalArgumentException If the rule has no target on the board
+     */
+    public AliasTable getTileTable(SamplingRule rule) {
+        AliasTable table = tileTables.get(rule);
+        if (table == null) {
+            table = tileTables.computeIfAbsent(rule, key -> key.createTileTable(lastTile));
+        }
+        return table;
+    }
+
+    /**
+     * Returns the number of tables built so far
+     *
+     * @return The number of tables
+     */
+    public int getTableCount() {
+        return tileTables.size();
+    }
+}
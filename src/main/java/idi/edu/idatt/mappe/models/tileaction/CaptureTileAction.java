@@ -3,6 +3,7 @@ package idi.edu.idatt.mappe.models.tileaction;
 import idi.edu.idatt.mappe.models.Board;
 import idi.edu.idatt.mappe.models.Player;
 import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
 
 import java.util.logging.Logger;
 
@@ -16,7 +17,7 @@ import static java.util.logging.Logger.getLogger;
  *     that has this tileaction.
  * </p>
  */
-public class CaptureTileAction implements TileAction {
+public final class CaptureTileAction implements TileAction {
 
     private final static Logger logger = getLogger(CaptureTileAction.class.getName());
 
@@ -55,4 +56,14 @@ public class CaptureTileAction implements TileAction {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * Returns the kind of this action
+     *
+     * @return {@link TileActionKind#CAPTURE}
+     */
+    @Override
+    public TileActionKind getKind() {
+        return TileActionKind.CAPTURE;
+    }
 }
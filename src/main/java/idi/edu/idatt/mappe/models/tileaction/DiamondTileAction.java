@@ -2,11 +2,12 @@ package idi.edu.idatt.mappe.models.tileaction;
 
 import idi.edu.idatt.mappe.models.Player;
 import idi.edu.idatt.mappe.models.enums.TokenType;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
 
 /**
  * Action for revealing a diamond token
  */
-public class DiamondTileAction implements TileAction {
+public final class DiamondTileAction implements TileAction {
     private String description;
 
     public DiamondTileAction() {
@@ -23,4 +24,14 @@ public class DiamondTileAction implements TileAction {
     public String getDescription() {
         return description;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the kind of this action
+     *
+     * @return {@link TileActionKind#DIAMOND}
+     */
+    @Override
+    public TileActionKind getKind() {
+        return TileActionKind.DIAMOND;
+    }
+}
@@ -2,6 +2,7 @@ package idi.edu.idatt.mappe.models.tileaction;
 
 import idi.edu.idatt.mappe.models.Board;
 import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
 
 /**
  * Represents an action that is performed when a player lands on a tile
@@ -9,7 +10,7 @@ import idi.edu.idatt.mappe.models.Player;
  *     This action allows the player to throw the dice again
  *     if the player lands on the tile
  */
-public class ExtraThrowAction implements TileAction {
+public final class ExtraThrowAction implements TileAction {
 
     private final String description;
     /**
@@ -41,4 +42,14 @@ public class ExtraThrowAction implements TileAction {
     public void perform(Player player) {
         player.setExtraThrow(true);
     }
+
+    /**
+     * Returns the kind of this action
+     *
+     * @return {@link TileActionKind#EXTRA_THROW}
+     */
+    @Override
+    public TileActionKind getKind() {
+        return TileActionKind.EXTRA_THROW;
+    }
 }
@@ -2,8 +2,9 @@ package idi.edu.idatt.mappe.models.tileaction;
 
 import idi.edu.idatt.mappe.models.Board;
 import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
 
-public class GoToJailTileAction implements TileAction {
+public final class GoToJailTileAction implements TileAction {
 
     private final String description;
     private final Board board;
@@ -23,4 +24,13 @@ public class GoToJailTileAction implements TileAction {
         // player.goToJail();
     }
 
+    /**
+     * Returns the kind of this action
+     *
+     * @return {@link TileActionKind#GO_TO_JAIL}
+     */
+    @Override
+    public TileActionKind getKind() {
+        return TileActionKind.GO_TO_JAIL;
+    }
 }
@@ -1,8 +1,9 @@
 package idi.edu.idatt.mappe.models.tileaction;
 
 import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
 
-public class GoToStartTileAction implements TileAction {
+public final class GoToStartTileAction implements TileAction {
 
     private final String description;
 
@@ -31,4 +32,14 @@ public class GoToStartTileAction implements TileAction {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * Returns the kind of this action
+     *
+     * @return {@link TileActionKind#GO_TO_START}
+     */
+    @Override
+    public TileActionKind getKind() {
+        return TileActionKind.GO_TO_START;
+    }
 }
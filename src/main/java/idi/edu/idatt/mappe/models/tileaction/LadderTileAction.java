@@ -2,8 +2,9 @@ package idi.edu.idatt.mappe.models.tileaction;
 
 import idi.edu.idatt.mappe.models.Board;
 import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
 
-public class LadderTileAction implements TileAction {
+public final class LadderTileAction implements TileAction {
 
     private final int destinationTileId;
     private final String description;
@@ -48,4 +49,14 @@ public class LadderTileAction implements TileAction {
     public void perform(Player player) {
         player.placeOnTile(board.getTileByIndex(destinationTileId));
     }
+
+    /**
+     * Returns the kind of this action
+     *
+     * @return {@link TileActionKind#LADDER}
+     */
+    @Override
+    public TileActionKind getKind() {
+        return TileActionKind.LADDER;
+    }
 }
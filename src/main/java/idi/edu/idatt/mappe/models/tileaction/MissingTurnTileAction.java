@@ -2,6 +2,7 @@ package idi.edu.idatt.mappe.models.tileaction;
 
 import idi.edu.idatt.mappe.models.Board;
 import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
 
 /**
  * Represents an action that is performed when a player lands on a tile
@@ -9,7 +10,7 @@ import idi.edu.idatt.mappe.models.Player;
  *     This action allows the player to miss a turn
  *     if the player lands on the tile
  */
-public class MissingTurnTileAction implements TileAction {
+public final class MissingTurnTileAction implements TileAction {
 
     private final String description;
     private final Board board;
@@ -44,4 +45,14 @@ public class MissingTurnTileAction implements TileAction {
     public void perform(Player player) {
         player.setMissingTurn(true);
     }
+
+    /**
+     * Returns the kind of this action
+     *
+     * @return {@link TileActionKind#MISSING_TURN}
+     */
+    @Override
+    public TileActionKind getKind() {
+        return TileActionKind.MISSING_TURN;
+    }
 }
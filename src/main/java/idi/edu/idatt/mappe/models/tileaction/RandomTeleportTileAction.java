@@ -3,21 +3,33 @@ package idi.edu.idatt.mappe.models.tileaction;
 import idi.edu.idatt.mappe.models.Board;
 import idi.edu.idatt.mappe.models.Player;
 import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
+import idi.edu.idatt.mappe.models.sampling.AliasTable;
+import idi.edu.idatt.mappe.models.sampling.SamplingRule;
+import idi.edu.idatt.mappe.models.sampling.TargetTables;
 
-import java.util.Map;
 import java.util.Random;
 import java.util.logging.Logger;
 
 /**
  * A class representing a random teleport tile action
+ * <p>
+ *     The destination is drawn from the board's precomputed target table for the action's
+ *     {@link SamplingRule}, so a teleport takes constant time and allocates nothing. The
+ *     table is kept by the action and looked up again only when the board rebuilds its
+ *     target tables or the rule changes.
+ * </p>
  */
-public class RandomTeleportTileAction implements TileAction {
+public final class RandomTeleportTileAction implements TileAction, SampledTileAction {
 
     private static final Logger logger = Logger.getLogger(RandomTeleportTileAction.class.getName());
 
     private Board board;
     private Random random;
     private String description;
+    private SamplingRule samplingRule = SamplingRule.DEFAULT;
+    private TargetTables cachedTables;
+    private AliasTable cachedTable;
 
     /**
      * Creates a new random teleport tile action
@@ -49,9 +61,55 @@ public class RandomTeleportTileAction implements TileAction {
      */
     @Override
     public void perform(Player player) {
-        Map<Integer, Tile> boardTiles = board.getTiles();
-        Tile randomTile = boardTiles.get( 5 + random.nextInt(boardTiles.size() - 10));
+        Tile randomTile = board.getTileByIndex(getTargetTable().sample(random));
         logger.info("Player " + player.getName() + " was teleported from " + player.getCurrentTile() + " to " + randomTile.getIndex());
         player.placeOnTile(randomTile);
     }
+
+    /**
+     * Returns the settings of the teleport destinations
+     *
+     * @return The sampling rule
+     */
+    @Override
+    public SamplingRule getSamplingRule() {
+        return samplingRule;
+    }
+
+    /**
+     * Sets the settings of the teleport destinations
+     *
+     * @param samplingRule The sampling rule
+     */
+    @Override
+    public void setSamplingRule(SamplingRule samplingRule) {
+        this.samplingRule = samplingRule == null ? SamplingRule.DEFAULT : samplingRule;
+        cachedTables = null;
+        cachedTable = null;
+    }
+
+    /**
+     * Returns the target table of the rule, looking it up again if the board's tables were rebuilt
+     *
+     * @return The table of tile ids
+     * @throws IllegalArgumentException If the rule has no target on the board
+     */
+    private AliasTable getTargetTable() {
+        TargetTables tables = board.getTargetTables();
+        if (tables != cachedTables) {
+            cachedTable = tables.getTileTable(samplingRule);
+            cachedTables = tables;
+        }
+        return cachedTable;
+    }
+
+    /**
+     * Returns the kind of this action
+     *
+     * @return {@link TileActionKind#RANDOM_TELEPORT}
+     */
+    @Override
+    public TileActionKind getKind() {
+        return TileActionKind.RANDOM_TELEPORT;
+    }
 }
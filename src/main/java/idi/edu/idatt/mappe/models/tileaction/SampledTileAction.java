@@ -0,0 +1,26 @@
+package idi.edu.idatt.mappe.models.tileaction;
+
+import idi.edu.idatt.mappe.models.sampling.SamplingRule;
+
+/**
+ * A tile action that makes random draws with settings from the board file
+ * <p>
+ *     Board readers and writers store the {@link SamplingRule} of these actions, so a new
+ *     random action only needs to implement this interface to become configurable.
+ * </p>
+ */
+public interface SampledTileAction {
+    /**
+     * Returns the settings of the random draws
+     *
+     * @return The sampling rule, {@link SamplingRule#DEFAULT} if none was set
+     */
+    SamplingRule getSamplingRule();
+
+    /**
+     * Sets the settings of the random draws
+     *
+     * @param samplingRule The sampling rule
+     */
+    void setSamplingRule(SamplingRule samplingRule);
+}
@@ -2,8 +2,9 @@ package idi.edu.idatt.mappe.models.tileaction;
 
 import idi.edu.idatt.mappe.models.Board;
 import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
 
-public class SnakeTileAction implements TileAction {
+public final class SnakeTileAction implements TileAction {
 
     private final int destinationTileId;
     private final String description;
@@ -50,4 +51,14 @@ public class SnakeTileAction implements TileAction {
         player.placeOnTile(board.getTileByIndex(destinationTileId));
         ;
     }
+
+    /**
+     * Returns the kind of this action
+     *
+     * @return {@link TileActionKind#SNAKE}
+     */
+    @Override
+    public TileActionKind getKind() {
+        return TileActionKind.SNAKE;
+    }
 }
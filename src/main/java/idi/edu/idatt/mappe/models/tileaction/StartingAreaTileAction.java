@@ -3,12 +3,13 @@ package idi.edu.idatt.mappe.models.tileaction;
 
 import idi.edu.idatt.mappe.models.Board;
 import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
 
 import java.util.logging.Logger;
 
 import static java.util.logging.Logger.getLogger;
 
-public class StartingAreaTileAction implements TileAction {
+public final class StartingAreaTileAction implements TileAction {
 
     private final String description;
     private final Board board;
@@ -46,4 +47,14 @@ public class StartingAreaTileAction implements TileAction {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * Returns the kind of this action
+     *
+     * @return {@link TileActionKind#STARTING_AREA}
+     */
+    @Override
+    public TileActionKind getKind() {
+        return TileActionKind.STARTING_AREA;
+    }
 }
@@ -2,19 +2,35 @@ package idi.edu.idatt.mappe.models.tileaction;
 
 import idi.edu.idatt.mappe.models.BoardGame;
 import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.enums.SwapCandidates;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
+import idi.edu.idatt.mappe.models.sampling.SamplingRule;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 /**
  * Represents a tile action that swaps the position of the players
  * <p>
  *     This action swaps the position of the players that lands on the tile
+ *     with another player picked by the {@link SwapCandidates} of its {@link SamplingRule}.
+ *     The candidates are collected into a buffer the action keeps, so a swap makes one draw
+ *     and allocates nothing. An identity set, also kept by the action, skips players listed
+ *     twice, so collecting takes linear time and a player is never picked as its own opponent.
+ * </p>
  */
-public class SwapAction implements TileAction {
+public final class SwapAction implements TileAction, SampledTileAction {
     private String description;
     private BoardGame game;
     private Random random;
+    private SamplingRule samplingRule = SamplingRule.DEFAULT;
+    private Player[] candidates = new Player[0];
+    private final Set<Player> collected = Collections.newSetFromMap(new IdentityHashMap<>());
 
     /**
      * Creates a new swap tile action
@@ -38,6 +54,26 @@ public class SwapAction implements TileAction {
         this.game = game;
     }
 
+    /**
+     * Returns the settings of the swap
+     *
+     * @return The sampling rule
+     */
+    @Override
+    public SamplingRule getSamplingRule() {
+        return samplingRule;
+    }
+
+    /**
+     * Sets the settings of the swap
+     *
+     * @param samplingRule The sampling rule
+     */
+    @Override
+    public void setSamplingRule(SamplingRule samplingRule) {
+        this.samplingRule = samplingRule == null ? SamplingRule.DEFAULT : samplingRule;
+    }
+
     @Override
     public void perform(Player player) {
         if (game == null) {
@@ -47,22 +83,74 @@ public class SwapAction implements TileAction {
             }
         }
 
-        List<Player> players = game.getPlayers();
-        if (players.size() > 1) {
-            Player otherPlayer;
-            do {
-                otherPlayer = players.get(random.nextInt(players.size()));
-            } while (otherPlayer == player);
+        Player otherPlayer = pickOpponent(player, game.getPlayers());
+        if (otherPlayer == null) {
+            return;
+        }
 
-            int playerTileIndex = player.getCurrentTile().getIndex();
-            int otherPlayerTileIndex = otherPlayer.getCurrentTile().getIndex();
+        int playerTileIndex = player.getCurrentTile().getIndex();
+        int otherPlayerTileIndex = otherPlayer.getCurrentTile().getIndex();
 
-            player.placeOnTile(game.getBoard().getTileByIndex(otherPlayerTileIndex));
-            otherPlayer.placeOnTile(game.getBoard().getTileByIndex(playerTileIndex));
+        player.placeOnTile(game.getBoard().getTileByIndex(otherPlayerTileIndex));
+        otherPlayer.placeOnTile(game.getBoard().getTileByIndex(playerTileIndex));
+
+        if (game.getCurrentPlayer() == player) {
+            game.notifyObserversOfSwap(player, otherPlayer, playerTileIndex, otherPlayerTileIndex);
+        }
+    }
 
-            if (game.getCurrentPlayer() == player) {
-                game.notifyObserversOfSwap(player, otherPlayer, playerTileIndex, otherPlayerTileIndex);
+    /**
+     * Picks the player to swap with among the players the candidate rule allows
+     *
+     * @param player The player that landed on the tile
+     * @param players The players of the game
+     * @return The other player, or null if no player can be swapped with
+     */
+    private Player pickOpponent(Player player, List<Player> players) {
+        Tile playerTile = player.getCurrentTile();
+        if (playerTile == null) {
+            return null;
+        }
+        if (candidates.length < players.size()) {
+            candidates = Arrays.copyOf(candidates, players.size());
+        }
+        int count = 0;
+        for (Player other : players) {
+            Tile otherTile = other.getCurrentTile();
+            if (other == player || otherTile == null || !isCandidate(playerTile, otherTile)
+                    || !collected.add(other)) {
+                continue;
             }
+            candidates[count++] = other;
         }
+        Player picked = count == 0 ? null : candidates[random.nextInt(count)];
+        Arrays.fill(candidates, 0, count, null);
+        collected.clear();
+        return picked;
+    }
+
+    /**
+     * Returns whether a player on a tile may be swapped with under the candidate rule
+     *
+     * @param playerTile The tile of the player that landed on the swap tile
+     * @param otherTile The tile of the other player
+     * @return True if the other player is a candidate
+     */
+    private boolean isCandidate(Tile playerTile, Tile otherTile) {
+        return switch (samplingRule.getCandidates()) {
+            case ANY -> true;
+            case AHEAD -> otherTile.getIndex() > playerTile.getIndex();
+            case BEHIND -> otherTile.getIndex() < playerTile.getIndex();
+        };
+    }
+
+    /**
+     * Returns the kind of this action
+     *
+     * @return {@link TileActionKind#SWAP}
+     */
+    @Override
+    public TileActionKind getKind() {
+        return TileActionKind.SWAP;
     }
 }
@@ -1,11 +1,12 @@
 package idi.edu.idatt.mappe.models.tileaction;
 
 import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
 
 /**
  * Action for revealing a thief token
  */
-public class ThiefTileAction implements TileAction {
+public final class ThiefTileAction implements TileAction {
     private String description = "A thief stole your treasures!";
 
     public ThiefTileAction() {
@@ -22,4 +23,14 @@ public class ThiefTileAction implements TileAction {
     public String getDescription() {
         return description;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the kind of this action
+     *
+     * @return {@link TileActionKind#THIEF}
+     */
+    @Override
+    public TileActionKind getKind() {
+        return TileActionKind.THIEF;
+    }
+}
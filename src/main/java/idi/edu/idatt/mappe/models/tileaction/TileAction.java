@@ -1,11 +1,20 @@
 package idi.edu.idatt.mappe.models.tileaction;
 
 import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
 
 /**
  * Represents an action that is performed when a player lands on a tile
+ * <p>
+ *     The set of actions is closed. A new action is added by permitting its class here,
+ *     adding a {@link TileActionKind} and registering it in {@link TileActionRegistry}.
+ * </p>
  */
-public interface TileAction {
+public sealed interface TileAction permits
+        LadderTileAction, SnakeTileAction, RandomTeleportTileAction, SwapAction,
+        ExtraThrowAction, MissingTurnTileAction, GoToJailTileAction, GoToStartTileAction,
+        CaptureTileAction, WinTileAction, StartingAreaTileAction, DiamondTileAction,
+        ThiefTileAction, TreasureTileAction {
     /**
      * Performs the action
      *
@@ -14,4 +23,11 @@ public interface TileAction {
     void perform(Player player);
 
     String getDescription();
+
+    /**
+     * Returns the kind of this action
+     *
+     * @return The kind of action
+     */
+    TileActionKind getKind();
 }
@@ -0,0 +1,241 @@
+package idi.edu.idatt.mappe.models.tileaction;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Registry with the metadata for every kind of tile action
+ * <p>
+ *     For each {@link TileActionKind} the registry holds the type name used in board files,
+ *     how to create the action from a file and which destination to write back, the colour
+ *     of the tile on the board and the log message shown when the action moves a player.
+ *     File readers, writers, the colour service and the controllers all look actions up
+ *     here, so a new action only needs one registration.
+ * </p>
+ */
+public final class TileActionRegistry {
+
+    private static final String DEFAULT_COLOR = "#f5f5dc";
+    private static final String DEFAULT_MOVE_MESSAGE = "%s moved from %d to %d due to a special tile!";
+
+    private static final Map<TileActionKind, Definition> definitions = new EnumMap<>(TileActionKind.class);
+    private static final Map<String, Definition> definitionsByTypeName = new HashMap<>();
+
+    static {
+        register(TileActionKind.LADDER, "LadderAction",
+                LadderTileAction::new,
+                action -> ((LadderTileAction) action).getDestinationTileId(),
+                "#d0f0c0", "%s climbed a ladder from %d to %d!");
+        register(TileActionKind.SNAKE, "SnakeAction",
+                SnakeTileAction::new,
+                action -> ((SnakeTileAction) action).getDestinationTileId(),
+                "#ffd1d1", "%s slid down a snake from %d to %d!");
+        register(TileActionKind.RANDOM_TELEPORT, "RandomTeleportAction",
+                (destination, description, board) -> new RandomTeleportTileAction(board, description),
+                null, "#add8e6", "%s was teleported from %d to %d!");
+        register(TileActionKind.SWAP, "SwapAction",
+                (destination, description, board) -> new SwapAction(null, description),
+                null, "#ffd700", "%s landed on a swap tile and swapped positions with another player!");
+        register(TileActionKind.EXTRA_THROW, "ExtraThrowAction",
+                (destination, description, board) -> new ExtraThrowAction(description, board),
+                null, "#9370db", null);
+        register(TileActionKind.MISSING_TURN, "MissingTurnAction",
+                (destination, description, board) -> new MissingTurnTileAction(description, board),
+                null, "#ffa07a", null);
+        register(TileActionKind.GO_TO_JAIL, "GoToJailAction",
+                (destination, description, board) -> new GoToJailTileAction(description, board),
+                null, null, null);
+        register(TileActionKind.GO_TO_START, "GoToStartAction",
+                (destination, description, board) -> new GoToStartTileAction(description),
+                null, "#f08080", null);
+
+        register(TileActionKind.CAPTURE, null, null, null, null, null);
+        register(TileActionKind.WIN, null, null, null, null, null);
+        register(TileActionKind.STARTING_AREA, null, null, null, null, null);
+        register(TileActionKind.DIAMOND, null, null, null, null, null);
+        register(TileActionKind.THIEF, null, null, null, null, null);
+        register(TileActionKind.TREASURE, null, null, null, null, null);
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private TileActionRegistry() {
+    }
+
+    /**
+     * Creates a tile action read from a board file
+     */
+    @FunctionalInterface
+    public interface Factory {
+        /**
+         * Creates the action
+         *
+         * @param destinationTileId The destination tile id from the file, or -1 if the action has none
+         * @param description The description of the action
+         * @param board The board the action belongs to
+         * @return The new tile action
+         */
+        TileAction create(int destinationTileId, String description, Board board);
+    }
+
+    /**
+     * The registered metadata of one kind of tile action
+     */
+    public static final class Definition {
+        private final TileActionKind kind;
+        private final String typeName;
+        private final Factory factory;
+        private final ToIntFunction<TileAction> destination;
+        private final String color;
+        private final String moveMessage;
+
+        /**
+         * Creates a new definition
+         *
+         * @param kind The kind of action
+         * @param typeName The type name in board files, or null if the action is not stored in files
+         * @param factory Creates the action when reading a board file, or null
+         * @param destination Gets the destination tile id to write to a board file, or null if the action has none
+         * @param color The tile colour as a web colour string, or null for the default colour
+         * @param moveMessage Format for the log message when the action moves a player, or null for the default
+         */
+        private Definition(TileActionKind kind, String typeName, Factory factory,
+                           ToIntFunction<TileAction> destination, String color, String moveMessage) {
+            this.kind = kind;
+            this.typeName = typeName;
+            this.factory = factory;
+            this.destination = destination;
+            this.color = color == null ? DEFAULT_COLOR : color;
+            this.moveMessage = moveMessage == null ? DEFAULT_MOVE_MESSAGE : moveMessage;
+        }
+
+        /**
+         * Returns the kind of action
+         *
+         * @return The kind of action
+         */
+        public TileActionKind getKind() {
+            return kind;
+        }
+
+        /**
+         * Returns the type name used in board files
+         *
+         * @return The type name, or null if the action is not stored in files
+         */
+        public String getTypeName() {
+            return typeName;
+        }
+
+        /**
+         * Returns whether the action can be read from and written to board files
+         *
+         * @return True if the action has a type name and a factory
+         */
+        public boolean isSerializable() {
+            return typeName != null && factory != null;
+        }
+
+        /**
+         * Creates the action from the values read from a board file
+         *
+         * @param destinationTileId The destination tile id, or -1 if the action has none
+         * @param description The description of the action
+         * @param board The board the action belongs to
+         * @return The new tile action
+         * @throws IllegalStateException If the action cannot be read from files
+         */
+        public TileAction create(int destinationTileId, String description, Board board) {
+            if (factory == null) {
+                throw new IllegalStateException("Tile action " + kind + " cannot be read from a board file");
+            }
+            return factory.create(destinationTileId, description, board);
+        }
+
+        /**
+         * Returns the destination tile id to write to a board file
+         *
+         * @param action The action
+         * @return The destination tile id, or -1 if the action has none
+         */
+        public int getDestinationTileId(TileAction action) {
+            return destination == null ? -1 : destination.applyAsInt(action);
+        }
+
+        /**
+         * Returns the tile colour as a web colour string
+         *
+         * @return The colour, e.g. "#d0f0c0"
+         */
+        public String getColor() {
+            return color;
+        }
+
+        /**
+         * Formats the log message for a player moved by the action
+         *
+         * @param playerName The name of the player
+         * @param fromTileId The tile the player landed on
+         * @param toTileId The tile the action moved the player to
+         * @return The log message
+         */
+        public String formatMoveMessage(String playerName, int fromTileId, int toTileId) {
+            return String.format(moveMessage, playerName, fromTileId, toTileId);
+        }
+    }
+
+    /**
+     * Returns the definition of a kind of action
+     *
+     * @param kind The kind of action
+     * @return The definition
+     */
+    public static Definition get(TileActionKind kind) {
+        return definitions.get(kind);
+    }
+
+    /**
+     * Returns the definition of an action
+     *
+     * @param action The action
+     * @return The definition of the action's kind
+     */
+    public static Definition get(TileAction action) {
+        return definitions.get(action.getKind());
+    }
+
+    /**
+     * Returns the definition with the given board file type name
+     *
+     * @param typeName The type name, e.g. "LadderAction"
+     * @return The definition, or null if no action uses the type name
+     */
+    public static Definition forTypeName(String typeName) {
+        return definitionsByTypeName.get(typeName);
+    }
+
+    /**
+     * Registers the metadata of a kind of action
+     *
+     * @param kind The kind of action
+     * @param typeName The type name in board files, or null
+     * @param factory Creates the action when reading a board file, or null
+     * @param destination Gets the destination tile id to write to a board file, or null
+     * @param color The tile colour as a web colour string, or null
+     * @param moveMessage Format for the log message when the action moves a player, or null
+     */
+    private static void register(TileActionKind kind, String typeName, Factory factory,
+                                 ToIntFunction<TileAction> destination, String color, String moveMessage) {
+        Definition definition = new Definition(kind, typeName, factory, destination, color, moveMessage);
+        definitions.put(kind, definition);
+        if (typeName != null) {
+            definitionsByTypeName.put(typeName, definition);
+        }
+    }
+}
@@ -2,11 +2,12 @@ package idi.edu.idatt.mappe.models.tileaction;
 
 import idi.edu.idatt.mappe.models.Player;
 import idi.edu.idatt.mappe.models.enums.TokenType;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
 
 /**
  * Action for revealing a treasure token
  */
-public class TreasureTileAction implements TileAction {
+public final class TreasureTileAction implements TileAction {
     private TokenType treasureType;
     private String description;
 
@@ -24,4 +25,14 @@ public class TreasureTileAction implements TileAction {
     public String getDescription() {
         return description;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the kind of this action
+     *
+     * @return {@link TileActionKind#TREASURE}
+     */
+    @Override
+    public TileActionKind getKind() {
+        return TileActionKind.TREASURE;
+    }
+}
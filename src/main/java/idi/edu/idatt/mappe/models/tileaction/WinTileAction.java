@@ -3,6 +3,7 @@ package idi.edu.idatt.mappe.models.tileaction;
 import idi.edu.idatt.mappe.models.Board;
 import idi.edu.idatt.mappe.models.enums.GameState;
 import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
 
 /**
  * The WinTileAction class represents a tile action that allows players to win the game.
@@ -13,7 +14,7 @@ import idi.edu.idatt.mappe.models.Player;
  *     This is used in the LUDO game.
  * </p>
  */
-public class WinTileAction implements TileAction {
+public final class WinTileAction implements TileAction {
 
     private final String description;
     private final Board board;
@@ -50,4 +51,14 @@ public class WinTileAction implements TileAction {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * Returns the kind of this action
+     *
+     * @return {@link TileActionKind#WIN}
+     */
+    @Override
+    public TileActionKind getKind() {
+        return TileActionKind.WIN;
+    }
 }
@@ -1,5 +1,6 @@
 package idi.edu.idatt.mappe.services;
 
+import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
@@ -24,6 +25,7 @@ public class AnimationController {
     private static final int DICE_ANIMATION_FRAMES = 10;
 
     private final Random random = new Random();
+    private int activeAnimations;
 
     /**
      * Creates a new AnimationService.
@@ -32,6 +34,31 @@ public class AnimationController {
         logger.info("AnimationService initialized");
     }
 
+    /**
+     * Counts an animation as active while it is running.
+     * Animations started by this controller are tracked automatically.
+     *
+     * @param animation The animation to track
+     */
+    public void track(Animation animation) {
+        animation.statusProperty().addListener((obs, oldStatus, newStatus) -> {
+            if (oldStatus == Animation.Status.STOPPED && newStatus != Animation.Status.STOPPED) {
+                activeAnimations++;
+            } else if (oldStatus != Animation.Status.STOPPED && newStatus == Animation.Status.STOPPED) {
+                activeAnimations--;
+            }
+        });
+    }
+
+    /**
+     * Returns the number of tracked animations that are running or paused.
+     *
+     * @return The number of active animations
+     */
+    public int getActiveAnimationCount() {
+        return activeAnimations;
+    }
+
     /**
      * Sets the position of a token immediately without animation.
      *
@@ -83,6 +110,7 @@ public class AnimationController {
                 new KeyValue(blur.radiusProperty(), 0));
 
         timeline.getKeyFrames().addAll(start, blurStart, end);
+        track(timeline);
 
         timeline.setOnFinished(e -> {
             token.setEffect(null);
@@ -120,6 +148,7 @@ public class AnimationController {
         KeyFrame end = new KeyFrame(Duration.millis(500), new KeyValue(label.opacityProperty(), 1));
 
         timeline.getKeyFrames().addAll(start, end);
+        track(timeline);
         timeline.play();
     }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package idi.edu.idatt.mappe.services;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Service for playing turns automatically at a configurable rate.
+ * <p>
+ *     The scheduler runs on the JavaFX pulse through an {@link AnimationTimer}, so turns are
+ *     always played on the FX thread and no extra threads are created. Every pulse it plays the
+ *     turns that are due since the previous pulse and then runs a frame callback once, which lets
+ *     the view draw only the latest state no matter how many turns were played in that frame.
+ * </p>
+ */
+public class AutoplayScheduler {
+    private static final Logger logger = Logger.getLogger(AutoplayScheduler.class.getName());
+
+    /**
+     * Turn rate meaning "as fast as possible".
+     */
+    public static final double MAX_RATE = Double.POSITIVE_INFINITY;
+
+    private static final long FRAME_BUDGET_NANOS = 8_000_000L;
+    private static final int MAX_TURNS_PER_FRAME = 10_000;
+
+    private final Runnable turnAction;
+    private final BooleanSupplier canContinue;
+    private final Runnable onFrameEnd;
+    private final AnimationTimer timer;
+
+    private double turnsPerSecond = 1.0;
+    private double dueTurns;
+    private long lastPulse = -1;
+    private boolean running;
+    private Runnable onStopped;
+
+    /**
+     * Creates a new AutoplayScheduler.
+     *
+     * @param turnAction The action that plays a single turn
+     * @param canContinue Returns false when autoplay should stop, e.g. when the game is finished
+     * @param onFrameEnd Callback run once per frame after the turns of that frame have been played
+     */
+    public AutoplayScheduler(Runnable turnAction, BooleanSupplier canContinue, Runnable onFrameEnd) {
+        this.turnAction = turnAction;
+        this.canContinue = canContinue;
+        this.onFrameEnd = onFrameEnd;
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onPulse(now);
+            }
+        };
+    }
+
+    /**
+     * Sets the number of turns to play per second.
+     * A rate of zero or less, or {@link #MAX_RATE}, plays turns as fast as possible.
+     *
+     * @param turnsPerSecond The number of turns per second
+     */
+    public void setTurnsPerSecond(double turnsPerSecond) {
+        this.turnsPerSecond = turnsPerSecond <= 0 ? MAX_RATE : turnsPerSecond;
+    }
+
+    /**
+     * Gets the number of turns played per second.
+     *
+     * @return The turn rate, or {@link #MAX_RATE} if turns are played as fast as possible
+     */
+    public double getTurnsPerSecond() {
+        return turnsPerSecond;
+    }
+
+    /**
+     * Checks if the scheduler plays turns as fast as possible.
+     *
+     * @return True if the rate is unlimited
+     */
+    public boolean isMaxRate() {
+        return Double.isInfinite(turnsPerSecond);
+    }
+
+    /**
+     * Sets a callback that runs when autoplay stops, either manually or because the game ended.
+     *
+     * @param onStopped The callback to run
+     */
+    public void setOnStopped(Runnable onStopped) {
+        this.onStopped = onStopped;
+    }
+
+    /**
+     * Starts playing turns automatically. The first turn is played on the next pulse.
+     */
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        dueTurns = 1.0;
+        lastPulse = -1;
+        timer.start();
+        logger.info("Autoplay started at " + (isMaxRate() ? "maximum rate" : turnsPerSecond + " turns per second"));
+    }
+
+    /**
+     * Stops playing turns automatically.
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        timer.stop();
+        logger.info("Autoplay stopped");
+        if (onStopped != null) {
+            onStopped.run();
+        }
+    }
+
+    /**
+     * Checks if autoplay is running.
+     *
+     * @return True if autoplay is running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Plays the turns that are due on this pulse and ends the frame.
+     *
+     * @param now The timestamp of the current pulse in nanoseconds
+     */
+    private void onPulse(long now) {
+        if (lastPulse >= 0 && !isMaxRate()) {
+            dueTurns += (now - lastPulse) / 1_000_000_000.0 * turnsPerSecond;
+            dueTurns = Math.min(dueTurns, Math.max(1.0, turnsPerSecond));
+        }
+        lastPulse = now;
+
+        long frameStart = System.nanoTime();
+        int playedTurns = 0;
+        while (running && canContinue.getAsBoolean() && playedTurns < MAX_TURNS_PER_FRAME) {
+            if (isMaxRate()) {
+                if (playedTurns > 0 && System.nanoTime() - frameStart >= FRAME_BUDGET_NANOS) {
+                    break;
+                }
+            } else if (dueTurns < 1.0) {
+                break;
+            } else {
+                dueTurns -= 1.0;
+            }
+            turnAction.run();
+            playedTurns++;
+        }
+
+        if (playedTurns > 0) {
+            onFrameEnd.run();
+        }
+
+        if (running && !canContinue.getAsBoolean()) {
+            stop();
+        }
+    }
+}
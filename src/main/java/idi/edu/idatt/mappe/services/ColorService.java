@@ -1,9 +1,12 @@
 package idi.edu.idatt.mappe.services;
 
 import idi.edu.idatt.mappe.models.Player;
-import idi.edu.idatt.mappe.models.tileaction.*;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
+import idi.edu.idatt.mappe.models.tileaction.TileAction;
+import idi.edu.idatt.mappe.models.tileaction.TileActionRegistry;
 import javafx.scene.paint.Color;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,7 +19,9 @@ import java.util.logging.Logger;
  */
 public class ColorService {
     private final Map<Player, Color> playerColors = new HashMap<>();
-    private final Map<String, Color> actionColors = new HashMap<>();
+    private final Map<TileActionKind, Color> actionColors = new EnumMap<>(TileActionKind.class);
+    private final Color ladderDestinationColor = Color.web("#90EE90"); // Lighter green
+    private final Color snakeDestinationColor = Color.web("#FFC0CB"); // Light pink
 
     private static final Logger logger = Logger.getLogger(ColorService.class.getName());
 
@@ -28,19 +33,12 @@ public class ColorService {
     }
 
     /**
-     * Initializes the predefined colors for tile actions.
+     * Initializes the colors for tile actions from the tile action registry.
      */
     private void initializeActionColors() {
-        actionColors.put("LadderTileAction", Color.web("#d0f0c0")); // Light green
-        actionColors.put("SnakeTileAction", Color.web("#ffd1d1")); // Light red
-        actionColors.put("RandomTeleportTileAction", Color.LIGHTBLUE);
-        actionColors.put("MissingTurnTileAction", Color.LIGHTSALMON);
-        actionColors.put("ExtraThrowAction", Color.MEDIUMPURPLE);
-        actionColors.put("GoToStartTileAction", Color.LIGHTCORAL);
-        actionColors.put("SwapAction", Color.GOLD);
-
-        actionColors.put("LadderDestination", Color.web("#90EE90")); // Lighter green
-        actionColors.put("SnakeDestination", Color.web("#FFC0CB")); // Light pink
+        for (TileActionKind kind : TileActionKind.values()) {
+            actionColors.put(kind, Color.web(TileActionRegistry.get(kind).getColor()));
+        }
     }
 
     /**
@@ -108,24 +106,7 @@ public class ColorService {
             return Color.BEIGE;
         }
 
-        if (action instanceof LadderTileAction) {
-            return actionColors.get("LadderTileAction");
-        } else if (action instanceof SnakeTileAction) {
-            return actionColors.get("SnakeTileAction");
-        } else if (action instanceof RandomTeleportTileAction) {
-            return actionColors.get("RandomTeleportTileAction");
-        } else if (action instanceof MissingTurnTileAction) {
-            return actionColors.get("MissingTurnTileAction");
-        } else if (action instanceof ExtraThrowAction) {
-            return actionColors.get("ExtraThrowAction");
-        } else if (action instanceof GoToStartTileAction) {
-            return actionColors.get("GoToStartTileAction");
-        } else if (action instanceof SwapAction) {
-            return actionColors.get("SwapAction");
-        }
-
-        logger.warning("Unknown Tile action: " + action.getClass().getName());
-        return Color.BEIGE;
+        return actionColors.get(action.getKind());
     }
 
     /**
@@ -134,7 +115,7 @@ public class ColorService {
      * @return The color for a ladder destination tile
      */
     public Color getLadderDestinationColor() {
-        return actionColors.get("LadderDestination");
+        return ladderDestinationColor;
     }
 
     /**
@@ -143,7 +124,7 @@ public class ColorService {
      * @return The color for a snake destination tile
      */
     public Color getSnakeDestinationColor() {
-        return actionColors.get("SnakeDestination");
+        return snakeDestinationColor;
     }
 
 }
@@ -0,0 +1,132 @@
+package idi.edu.idatt.mappe.services.analytics;
+
+import java.util.Arrays;
+
+/**
+ * An immutable column of ints, compressed with frame-of-reference bit packing
+ * <p>
+ *     Every value is stored as its distance from the smallest value in the column, using
+ *     only as many bits as the largest distance needs. Tile indices, rolls and dictionary
+ *     codes fit in a few bits each, and a column where every value is the same takes no
+ *     space beyond its minimum. The minimum and maximum are kept as statistics, so a scan
+ *     can skip the column when a filter cannot match.
+ * </p>
+ */
+final class PackedColumn {
+    private final int size;
+    private final int min;
+    private final int max;
+    private final int bits;
+    private final long[] words;
+
+    /**
+     * Creates a packed column
+     *
+     * @param size The number of values
+     * @param min The smallest value
+     * @param max The largest value
+     * @param bits The number of bits per value
+     * @param words The packed distances from the smallest value
+     */
+    private PackedColumn(int size, int min, int max, int bits, long[] words) {
+        this.size = size;
+        this.min = min;
+        this.max = max;
+        this.bits = bits;
+        this.words = words;
+    }
+
+    /**
+     * Packs the first values of an array
+     *
+     * @param values The values
+     * @param size The number of values to pack
+     * @return The packed column
+     */
+    static PackedColumn pack(int[] values, int size) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+        }
+        if (size == 0) {
+            return new PackedColumn(0, 0, 0, 0, new long[0]);
+        }
+
+        int bits = 64 - Long.numberOfLeadingZeros((long) max - min);
+        long[] words = new long[(int) (((long) size * bits + 63) >>> 6)];
+        if (bits > 0) {
+            for (int i = 0; i < size; i++) {
+                long distance = (long) values[i] - min;
+                long bit = (long) i * bits;
+                int word = (int) (bit >>> 6);
+                int shift = (int) (bit & 63);
+                words[word] |= distance << shift;
+                if (shift + bits > 64) {
+                    words[word + 1] |= distance >>> (64 - shift);
+                }
+            }
+        }
+        return new PackedColumn(size, min, max, bits, words);
+    }
+
+    /**
+     * Unpacks every value into an array
+     *
+     * @param into The array to fill, at least as long as the column
+     */
+    void unpack(int[] into) {
+        if (bits == 0) {
+            Arrays.fill(into, 0, size, min);
+            return;
+        }
+        long mask = (1L << bits) - 1;
+        for (int i = 0; i < size; i++) {
+            long bit = (long) i * bits;
+            int word = (int) (bit >>> 6);
+            int shift = (int) (bit & 63);
+            long distance = words[word] >>> shift;
+            if (shift + bits > 64) {
+                distance |= words[word + 1] << (64 - shift);
+            }
+            into[i] = (int) (min + (distance & mask));
+        }
+    }
+
+    /**
+     * Returns the number of values
+     *
+     * @return The number of values
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the smallest value in the column
+     *
+     * @return The smallest value
+     */
+    int getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the largest value in the column
+     *
+     * @return The largest value
+     */
+    int getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the number of bytes taken by the packed values
+     *
+     * @return The size in bytes
+     */
+    long getPackedBytes() {
+        return words.length * 8L;
+    }
+}
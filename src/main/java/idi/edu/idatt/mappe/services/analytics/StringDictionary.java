@@ -0,0 +1,71 @@
+package idi.edu.idatt.mappe.services.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the distinct values of a text column to small int codes
+ * <p>
+ *     Codes are handed out in the order values are first seen, starting at 1; code 0 stands
+ *     for a missing value. A code never changes once it is handed out, so segments that were
+ *     packed earlier stay valid as the dictionary grows.
+ * </p>
+ */
+final class StringDictionary {
+    static final int NULL_CODE = 0;
+    static final int UNKNOWN_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Creates an empty dictionary
+     */
+    StringDictionary() {
+        values.add(null);
+    }
+
+    /**
+     * Returns the code of a value, adding the value if it is new
+     *
+     * @param value The value, or null
+     * @return The code of the value
+     */
+    synchronized int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Returns the code of a value without adding it
+     *
+     * @param value The value, or null
+     * @return The code of the value, or {@link #UNKNOWN_CODE} if the value has never been seen
+     */
+    synchronized int lookup(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        return codes.getOrDefault(value, UNKNOWN_CODE);
+    }
+
+    /**
+     * Returns the value of a code
+     *
+     * @param code The code
+     * @return The value, or null for {@link #NULL_CODE}
+     */
+    synchronized String decode(int code) {
+        return values.get(code);
+    }
+}
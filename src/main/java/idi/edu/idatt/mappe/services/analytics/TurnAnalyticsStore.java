@@ -0,0 +1,258 @@
+package idi.edu.idatt.mappe.services.analytics;
+
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
+import idi.edu.idatt.mappe.models.enums.TurnColumn;
+import idi.edu.idatt.mappe.utils.diagnostics.GameMetrics;
+import idi.edu.idatt.mappe.utils.diagnostics.TurnEvent;
+import idi.edu.idatt.mappe.utils.diagnostics.TurnSample;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Column store of finished turns for analytics over many games
+ * <p>
+ *     Turns are appended to one buffer per {@link TurnColumn}; when the buffers hold
+ *     {@link #DEFAULT_SEGMENT_SIZE} turns they are packed into an immutable {@link TurnSegment}.
+ *     Text columns are dictionary coded and every column is bit packed, so a turn takes a few
+ *     bytes. Queries scan the segments in parallel and skip segments whose column statistics
+ *     rule out a filter; turns still in the buffers are included in every query.
+ * </p>
+ * <p>
+ *     Turns come either live, from the turn listeners of {@link GameMetrics} once the store is
+ *     attached, or from Flight Recorder recordings that contain {@link TurnEvent}s.
+ * </p>
+ */
+public class TurnAnalyticsStore {
+    private static final Logger logger = Logger.getLogger(TurnAnalyticsStore.class.getName());
+
+    /**
+     * The number of turns in a full segment
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 16;
+
+    private static final TurnColumn[] COLUMNS = TurnColumn.values();
+
+    private final int segmentSize;
+    private final Map<TurnColumn, StringDictionary> dictionaries = new EnumMap<>(TurnColumn.class);
+    private final int[][] buffers;
+    private final Consumer<TurnSample> listener = this::ingest;
+    private volatile List<TurnSegment> segments = List.of();
+    private int buffered;
+
+    /**
+     * Creates an empty store with segments of {@link #DEFAULT_SEGMENT_SIZE} turns
+     */
+    public TurnAnalyticsStore() {
+        this(DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates an empty store
+     *
+     * @param segmentSize The number of turns in a full segment
+     * @throws IllegalArgumentException If the segment size is not positive
+     */
+    public TurnAnalyticsStore(int segmentSize) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive: " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+        this.buffers = new int[COLUMNS.length][segmentSize];
+        for (TurnColumn column : COLUMNS) {
+            if (column.isText()) {
+                dictionaries.put(column, new StringDictionary());
+            }
+        }
+    }
+
+    /**
+     * Starts ingesting every turn recorded by {@link GameMetrics}
+     */
+    public void attach() {
+        GameMetrics.removeTurnListener(listener);
+        GameMetrics.addTurnListener(listener);
+    }
+
+    /**
+     * Stops ingesting the turns recorded by {@link GameMetrics}
+     */
+    public void detach() {
+        GameMetrics.removeTurnListener(listener);
+    }
+
+    /**
+     * Appends a turn
+     *
+     * @param sample The turn
+     */
+    public synchronized void ingest(TurnSample sample) {
+        int row = buffered;
+        buffers[TurnColumn.GAME_TYPE.ordinal()][row] = encode(TurnColumn.GAME_TYPE, sample.getGameType());
+        buffers[TurnColumn.BOARD.ordinal()][row] = encode(TurnColumn.BOARD, sample.getBoard());
+        buffers[TurnColumn.PLAYER.ordinal()][row] = encode(TurnColumn.PLAYER, sample.getPlayer());
+        buffers[TurnColumn.ROLL.ordinal()][row] = sample.getRoll();
+        buffers[TurnColumn.FROM_TILE.ordinal()][row] = sample.getFromTile();
+        buffers[TurnColumn.TO_TILE.ordinal()][row] = sample.getToTile();
+        buffers[TurnColumn.MONEY.ordinal()][row] = sample.getMoney();
+        buffers[TurnColumn.LAND_ACTION.ordinal()][row] = encode(TurnColumn.LAND_ACTION,
+                sample.getLandAction() != null ? sample.getLandAction().name() : null);
+        buffers[TurnColumn.DIAMOND_FOUND.ordinal()][row] = sample.isDiamondFound() ? 1 : 0;
+        buffered++;
+        if (buffered == segmentSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Appends the turns in a Flight Recorder recording
+     *
+     * @param recording The path of the recording file
+     * @return The number of turns appended
+     * @throws IOException If the recording cannot be read
+     */
+    public int ingestRecording(Path recording) throws IOException {
+        int count = 0;
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (TurnEvent.NAME.equals(event.getEventType().getName())) {
+                    ingest(toSample(event));
+                    count++;
+                }
+            }
+        }
+        logger.info("Ingested " + count + " turns from " + recording);
+        return count;
+    }
+
+    /**
+     * Packs the buffered turns into a segment, even if it is not full
+     */
+    public synchronized void flush() {
+        if (buffered == 0) {
+            return;
+        }
+        List<TurnSegment> sealed = new ArrayList<>(segments.size() + 1);
+        sealed.addAll(segments);
+        sealed.add(TurnSegment.pack(buffers, buffered));
+        segments = List.copyOf(sealed);
+        buffered = 0;
+    }
+
+    /**
+     * Starts a query over every turn in the store
+     *
+     * @return A query without filters or grouping
+     */
+    public TurnQuery query() {
+        return new TurnQuery(this);
+    }
+
+    /**
+     * Returns the number of turns in the store
+     *
+     * @return The number of turns
+     */
+    public synchronized long getRowCount() {
+        long rows = buffered;
+        for (TurnSegment segment : segments) {
+            rows += segment.getRowCount();
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the number of packed segments
+     *
+     * @return The number of segments
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Returns the number of bytes taken by the packed segments
+     *
+     * @return The size in bytes
+     */
+    public long getPackedBytes() {
+        long bytes = 0;
+        for (TurnSegment segment : segments) {
+            bytes += segment.getPackedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the packed segments together with a segment of the buffered turns
+     *
+     * @return The segments to scan
+     */
+    synchronized List<TurnSegment> snapshot() {
+        if (buffered == 0) {
+            return segments;
+        }
+        List<TurnSegment> all = new ArrayList<>(segments.size() + 1);
+        all.addAll(segments);
+        all.add(TurnSegment.pack(buffers, buffered));
+        return all;
+    }
+
+    /**
+     * Returns the dictionary of a text column
+     *
+     * @param column The text column
+     * @return The dictionary
+     */
+    StringDictionary getDictionary(TurnColumn column) {
+        return dictionaries.get(column);
+    }
+
+    /**
+     * Returns the dictionary code of a value
+     *
+     * @param column The text column
+     * @param value The value
+     * @return The code
+     */
+    private int encode(TurnColumn column, String value) {
+        return dictionaries.get(column).encode(value);
+    }
+
+    /**
+     * Reads a turn from a recorded turn event. Fields that older recordings lack are left empty.
+     *
+     * @param event The recorded event
+     * @return The turn
+     */
+    private static TurnSample toSample(RecordedEvent event) {
+        TileActionKind landAction = null;
+        String actionName = event.hasField("landAction") ? event.getString("landAction") : null;
+        if (actionName != null) {
+            try {
+                landAction = TileActionKind.valueOf(actionName);
+            } catch (IllegalArgumentException e) {
+                logger.warning("Unknown land action in recording: " + actionName);
+            }
+        }
+        return new TurnSample(
+                event.getString("gameType"),
+                event.hasField("board") ? event.getString("board") : null,
+                event.getString("player"),
+                event.getInt("roll"),
+                event.getInt("fromTile"),
+                event.getInt("toTile"),
+                event.hasField("money") ? event.getInt("money") : 0,
+                landAction,
+                event.hasField("diamondFound") && event.getBoolean("diamondFound"));
+    }
+}
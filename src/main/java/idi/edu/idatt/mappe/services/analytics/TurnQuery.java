@@ -0,0 +1,345 @@
+package idi.edu.idatt.mappe.services.analytics;
+
+import idi.edu.idatt.mappe.models.enums.TurnColumn;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A query over the turns in a {@link TurnAnalyticsStore}
+ * <p>
+ *     A query filters turns, optionally groups them by one column and computes one aggregate
+ *     per group. Filters are ranges over the stored values; a segment whose minimum and
+ *     maximum lie outside a range is skipped without unpacking it. The remaining segments are
+ *     scanned in parallel, each unpacking only the columns the query reads, and the partial
+ *     results are merged.
+ * </p>
+ * <pre>{@code
+ * TurnQueryResult mostLanded = store.query().groupBy(TurnColumn.TO_TILE).count();
+ * TurnQueryResult money = store.query().whereEquals(TurnColumn.DIAMOND_FOUND, 1).average(TurnColumn.MONEY);
+ * }</pre>
+ */
+public class TurnQuery {
+    private static final int NO_GROUP = 0;
+
+    private final TurnAnalyticsStore store;
+    private final List<Filter> filters = new ArrayList<>();
+    private TurnColumn groupColumn;
+    private boolean matchesNothing;
+
+    /**
+     * The aggregates a query can compute
+     */
+    private enum Aggregate {
+        COUNT,
+        SUM,
+        AVERAGE,
+        MIN,
+        MAX
+    }
+
+    /**
+     * A range of values a column must lie in
+     */
+    private static final class Filter {
+        private final TurnColumn column;
+        private final int min;
+        private final int max;
+
+        /**
+         * Creates a filter
+         *
+         * @param column The column
+         * @param min The smallest accepted value
+         * @param max The largest accepted value
+         */
+        private Filter(TurnColumn column, int min, int max) {
+            this.column = column;
+            this.min = min;
+            this.max = max;
+        }
+    }
+
+    /**
+     * The count, sum, minimum and maximum of the turns of one group
+     */
+    private static final class Accumulator {
+        private long count;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        /**
+         * Adds a value
+         *
+         * @param value The value
+         */
+        private void add(long value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        /**
+         * Adds the values of another accumulator
+         *
+         * @param other The other accumulator
+         */
+        private void merge(Accumulator other) {
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    /**
+     * Creates a query over every turn in a store
+     *
+     * @param store The store
+     */
+    TurnQuery(TurnAnalyticsStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Keeps only turns where a text column has a value
+     *
+     * @param column The text column
+     * @param value The value, or null for turns without a value
+     * @return This query
+     * @throws IllegalArgumentException If the column is not a text column
+     */
+    public TurnQuery whereEquals(TurnColumn column, String value) {
+        if (!column.isText()) {
+            throw new IllegalArgumentException("Column " + column + " is not a text column");
+        }
+        int code = store.getDictionary(column).lookup(value);
+        if (code == StringDictionary.UNKNOWN_CODE) {
+            matchesNothing = true;
+            return this;
+        }
+        filters.add(new Filter(column, code, code));
+        return this;
+    }
+
+    /**
+     * Keeps only turns where a numeric column has a value
+     *
+     * @param column The numeric column
+     * @param value The value
+     * @return This query
+     * @throws IllegalArgumentException If the column is a text column
+     */
+    public TurnQuery whereEquals(TurnColumn column, int value) {
+        return whereBetween(column, value, value);
+    }
+
+    /**
+     * Keeps only turns where a numeric column lies in a range
+     *
+     * @param column The numeric column
+     * @param min The smallest accepted value
+     * @param max The largest accepted value
+     * @return This query
+     * @throws IllegalArgumentException If the column is a text column
+     */
+    public TurnQuery whereBetween(TurnColumn column, int min, int max) {
+        if (column.isText()) {
+            throw new IllegalArgumentException("Column " + column + " is a text column");
+        }
+        filters.add(new Filter(column, min, max));
+        return this;
+    }
+
+    /**
+     * Groups the turns by the values of a column
+     *
+     * @param column The column to group by
+     * @return This query
+     */
+    public TurnQuery groupBy(TurnColumn column) {
+        this.groupColumn = column;
+        return this;
+    }
+
+    /**
+     * Counts the turns
+     *
+     * @return The number of turns per group
+     */
+    public TurnQueryResult count() {
+        return run(Aggregate.COUNT, null);
+    }
+
+    /**
+     * Sums a numeric column
+     *
+     * @param column The column
+     * @return The sum per group
+     */
+    public TurnQueryResult sum(TurnColumn column) {
+        return run(Aggregate.SUM, column);
+    }
+
+    /**
+     * Averages a numeric column
+     *
+     * @param column The column
+     * @return The average per group
+     */
+    public TurnQueryResult average(TurnColumn column) {
+        return run(Aggregate.AVERAGE, column);
+    }
+
+    /**
+     * Finds the smallest value of a numeric column
+     *
+     * @param column The column
+     * @return The smallest value per group
+     */
+    public TurnQueryResult min(TurnColumn column) {
+        return run(Aggregate.MIN, column);
+    }
+
+    /**
+     * Finds the largest value of a numeric column
+     *
+     * @param column The column
+     * @return The largest value per group
+     */
+    public TurnQueryResult max(TurnColumn column) {
+        return run(Aggregate.MAX, column);
+    }
+
+    /**
+     * Scans the store and computes an aggregate
+     *
+     * @param aggregate The aggregate
+     * @param column The column to aggregate, or null for counts
+     * @return The result per group
+     */
+    private TurnQueryResult run(Aggregate aggregate, TurnColumn column) {
+        if (column != null && column.isText()) {
+            throw new IllegalArgumentException("Cannot aggregate text column " + column);
+        }
+        Map<Integer, Accumulator> groups = matchesNothing ? Map.of() : store.snapshot().parallelStream()
+                .map(segment -> scan(segment, column))
+                .reduce(new HashMap<>(), TurnQuery::merge);
+
+        Map<String, Double> values = new LinkedHashMap<>();
+        groups.entrySet().stream()
+                .map(entry -> Map.entry(groupName(entry.getKey()), value(aggregate, entry.getValue())))
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .forEachOrdered(entry -> values.put(entry.getKey(), entry.getValue()));
+        return new TurnQueryResult(values);
+    }
+
+    /**
+     * Scans one segment
+     *
+     * @param segment The segment
+     * @param column The column to aggregate, or null for counts
+     * @return The accumulators of the groups found in the segment
+     */
+    private Map<Integer, Accumulator> scan(TurnSegment segment, TurnColumn column) {
+        Map<Integer, Accumulator> groups = new HashMap<>();
+        List<Filter> checked = new ArrayList<>();
+        for (Filter filter : filters) {
+            int min = segment.getMin(filter.column);
+            int max = segment.getMax(filter.column);
+            if (max < filter.min || min > filter.max) {
+                return groups;
+            }
+            if (min < filter.min || max > filter.max) {
+                checked.add(filter);
+            }
+        }
+
+        int[][] filterValues = new int[checked.size()][];
+        for (int i = 0; i < checked.size(); i++) {
+            filterValues[i] = segment.unpack(checked.get(i).column);
+        }
+        int[] groupValues = groupColumn != null ? segment.unpack(groupColumn) : null;
+        int[] aggregateValues = column != null ? segment.unpack(column) : null;
+
+        Accumulator ungrouped = null;
+        rows:
+        for (int row = 0; row < segment.getRowCount(); row++) {
+            for (int i = 0; i < filterValues.length; i++) {
+                int value = filterValues[i][row];
+                if (value < checked.get(i).min || value > checked.get(i).max) {
+                    continue rows;
+                }
+            }
+            Accumulator accumulator;
+            if (groupValues != null) {
+                accumulator = groups.computeIfAbsent(groupValues[row], key -> new Accumulator());
+            } else {
+                if (ungrouped == null) {
+                    ungrouped = groups.computeIfAbsent(NO_GROUP, key -> new Accumulator());
+                }
+                accumulator = ungrouped;
+            }
+            accumulator.add(aggregateValues != null ? aggregateValues[row] : 0);
+        }
+        return groups;
+    }
+
+    /**
+     * Merges the accumulators of two partial results
+     *
+     * @param into The result to merge into
+     * @param from The result to merge from
+     * @return The merged result
+     */
+    private static Map<Integer, Accumulator> merge(Map<Integer, Accumulator> into, Map<Integer, Accumulator> from) {
+        Map<Integer, Accumulator> merged = new HashMap<>(into);
+        from.forEach((key, accumulator) -> merged.merge(key, accumulator, (a, b) -> {
+            Accumulator sum = new Accumulator();
+            sum.merge(a);
+            sum.merge(b);
+            return sum;
+        }));
+        return merged;
+    }
+
+    /**
+     * Returns the name of a group
+     *
+     * @param key The stored value the group was formed from
+     * @return The text of the value for text columns, the number otherwise, or an empty
+     *         string when the query is not grouped or the value is missing
+     */
+    private String groupName(int key) {
+        if (groupColumn == null) {
+            return TurnQueryResult.ALL;
+        }
+        if (groupColumn.isText()) {
+            String value = store.getDictionary(groupColumn).decode(key);
+            return value != null ? value : TurnQueryResult.ALL;
+        }
+        return Integer.toString(key);
+    }
+
+    /**
+     * Computes an aggregate from an accumulator
+     *
+     * @param aggregate The aggregate
+     * @param accumulator The accumulator of a group
+     * @return The value of the aggregate
+     */
+    private static double value(Aggregate aggregate, Accumulator accumulator) {
+        return switch (aggregate) {
+            case COUNT -> accumulator.count;
+            case SUM -> accumulator.sum;
+            case AVERAGE -> (double) accumulator.sum / accumulator.count;
+            case MIN -> accumulator.min;
+            case MAX -> accumulator.max;
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package idi.edu.idatt.mappe.services.analytics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The aggregates computed by a {@link TurnQuery}, one per group
+ * <p>
+ *     Groups are ordered from the largest value to the smallest. A query that is not grouped
+ *     has a single group named {@link #ALL}.
+ * </p>
+ */
+public class TurnQueryResult {
+    /**
+     * The name of the group of an ungrouped query, and of turns without a value in the grouped column
+     */
+    public static final String ALL = "";
+
+    private final Map<String, Double> values;
+
+    /**
+     * Creates a result
+     *
+     * @param values The value of every group, in the order of the result
+     */
+    TurnQueryResult(Map<String, Double> values) {
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Returns the value of every group, from the largest to the smallest
+     *
+     * @return The values by group name
+     */
+    public Map<String, Double> getValues() {
+        return values;
+    }
+
+    /**
+     * Returns the value of a group
+     *
+     * @param group The name of the group
+     * @return The value, or 0 if no turn fell in the group
+     */
+    public double getValue(String group) {
+        return values.getOrDefault(group, 0.0);
+    }
+
+    /**
+     * Returns the value of an ungrouped query
+     *
+     * @return The value, or 0 if no turn matched
+     */
+    public double getValue() {
+        return getValue(ALL);
+    }
+
+    /**
+     * Returns the names of the groups with the largest values
+     *
+     * @param limit The number of groups to return
+     * @return Up to {@code limit} group names, largest value first
+     */
+    public List<String> top(int limit) {
+        return values.keySet().stream().limit(limit).toList();
+    }
+
+    /**
+     * Divides the value of every group by the value of the same group in another result,
+     * for example to turn counts of snake hits into rates per board
+     *
+     * @param totals The result to divide by
+     * @return The ratios of the groups present in both results, largest first
+     */
+    public TurnQueryResult ratioTo(TurnQueryResult totals) {
+        Map<String, Double> ratios = new LinkedHashMap<>();
+        values.entrySet().stream()
+                .filter(entry -> totals.values.getOrDefault(entry.getKey(), 0.0) != 0.0)
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue() / totals.values.get(entry.getKey())))
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .forEachOrdered(entry -> ratios.put(entry.getKey(), entry.getValue()));
+        return new TurnQueryResult(ratios);
+    }
+}
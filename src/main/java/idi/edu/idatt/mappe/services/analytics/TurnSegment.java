@@ -0,0 +1,98 @@
+package idi.edu.idatt.mappe.services.analytics;
+
+import idi.edu.idatt.mappe.models.enums.TurnColumn;
+
+/**
+ * An immutable block of turns, stored column by column
+ * <p>
+ *     Each {@link TurnColumn} is packed separately, so a query only unpacks the columns it
+ *     reads, and the minimum and maximum of every column let a query skip the whole segment
+ *     when a filter rules it out.
+ * </p>
+ */
+final class TurnSegment {
+    private static final TurnColumn[] COLUMNS = TurnColumn.values();
+
+    private final PackedColumn[] columns;
+    private final int rowCount;
+
+    /**
+     * Creates a segment
+     *
+     * @param columns The packed columns, indexed by {@link TurnColumn#ordinal()}
+     * @param rowCount The number of turns
+     */
+    private TurnSegment(PackedColumn[] columns, int rowCount) {
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Packs the first rows of a set of column buffers
+     *
+     * @param buffers One value array per column, indexed by {@link TurnColumn#ordinal()}
+     * @param rowCount The number of rows to pack
+     * @return The segment
+     */
+    static TurnSegment pack(int[][] buffers, int rowCount) {
+        PackedColumn[] columns = new PackedColumn[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            columns[i] = PackedColumn.pack(buffers[i], rowCount);
+        }
+        return new TurnSegment(columns, rowCount);
+    }
+
+    /**
+     * Returns the number of turns in the segment
+     *
+     * @return The number of turns
+     */
+    int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the smallest value of a column in the segment
+     *
+     * @param column The column
+     * @return The smallest value
+     */
+    int getMin(TurnColumn column) {
+        return columns[column.ordinal()].getMin();
+    }
+
+    /**
+     * Returns the largest value of a column in the segment
+     *
+     * @param column The column
+     * @return The largest value
+     */
+    int getMax(TurnColumn column) {
+        return columns[column.ordinal()].getMax();
+    }
+
+    /**
+     * Unpacks a column
+     *
+     * @param column The column
+     * @return The values of the column, one per turn
+     */
+    int[] unpack(TurnColumn column) {
+        int[] values = new int[rowCount];
+        columns[column.ordinal()].unpack(values);
+        return values;
+    }
+
+    /**
+     * Returns the number of bytes taken by the packed columns
+     *
+     * @return The size in bytes
+     */
+    long getPackedBytes() {
+        long bytes = 0;
+        for (PackedColumn column : columns) {
+            bytes += column.getPackedBytes();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,105 @@
+package idi.edu.idatt.mappe.services.heatmap;
+
+/**
+ * How often each tile of a board is landed on and how many turns are spent on it
+ * <p>
+ *     Both values are shares: the landings of a tile divided by all landings, and the turns
+ *     started on a tile divided by all turns. A tile that is landed on often is a hot spot;
+ *     a tile where many turns are spent but few landings happen is where players get stuck.
+ * </p>
+ */
+public final class HeatMap {
+    private final String key;
+    private final double[] landings;
+    private final double[] turns;
+    private final double maxLandings;
+    private final boolean exact;
+
+    /**
+     * Creates a heat map from raw counts or expectations, indexed by tile id
+     *
+     * @param key The key of the board and rules the map was computed for
+     * @param landings The landings of every tile
+     * @param turns The turns started on every tile
+     * @param exact True if the values were computed exactly rather than simulated
+     */
+    HeatMap(String key, double[] landings, double[] turns, boolean exact) {
+        this.key = key;
+        this.landings = normalize(landings);
+        this.turns = normalize(turns);
+        this.exact = exact;
+        double max = 0;
+        for (double value : this.landings) {
+            max = Math.max(max, value);
+        }
+        this.maxLandings = max;
+    }
+
+    /**
+     * Returns the key of the board and rules the map was computed for
+     *
+     * @return The key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the share of all landings that land on a tile
+     *
+     * @param tileId The id of the tile
+     * @return The share between 0 and 1, or 0 if the tile is not on the map
+     */
+    public double getLandingShare(int tileId) {
+        return tileId >= 0 && tileId < landings.length ? landings[tileId] : 0;
+    }
+
+    /**
+     * Returns the share of all turns that start on a tile
+     *
+     * @param tileId The id of the tile
+     * @return The share between 0 and 1, or 0 if the tile is not on the map
+     */
+    public double getTurnShare(int tileId) {
+        return tileId >= 0 && tileId < turns.length ? turns[tileId] : 0;
+    }
+
+    /**
+     * Returns the landings of a tile relative to the most landed tile
+     *
+     * @param tileId The id of the tile
+     * @return The intensity between 0 and 1
+     */
+    public double getIntensity(int tileId) {
+        return maxLandings > 0 ? getLandingShare(tileId) / maxLandings : 0;
+    }
+
+    /**
+     * Returns whether the values were computed exactly rather than simulated
+     *
+     * @return True for exact values
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * Divides values by their sum
+     *
+     * @param values The values
+     * @return A new array with values that sum to 1, or zeros if the sum is 0
+     */
+    private static double[] normalize(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        double[] shares = new double[values.length];
+        if (sum > 0) {
+            for (int i = 0; i < values.length; i++) {
+                shares[i] = values[i] / sum;
+            }
+        }
+        return shares;
+    }
+}
@@ -0,0 +1,161 @@
+package idi.edu.idatt.mappe.services.heatmap;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.GameRules;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.concurrent.Task;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Computes heat maps in the background for the board on screen
+ * <p>
+ *     A request copies the board and rules on the JavaFX thread and computes the heat map as a
+ *     {@link Task} on a background executor. Only the latest request runs: a new request
+ *     cancels the one in progress. The latest finished heat map stays available while a new
+ *     one is computed, so the view can keep showing it until the new one is ready, and a
+ *     request for the board and rules of that heat map returns it without computing again.
+ * </p>
+ * <p>
+ *     All methods must be called on the JavaFX thread, and callbacks run on it.
+ * </p>
+ */
+public class HeatMapService {
+    private static final Logger logger = Logger.getLogger(HeatMapService.class.getName());
+
+    private static final ExecutorService SHARED_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "heat-map");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Executor executor;
+    private final ReadOnlyDoubleWrapper progress = new ReadOnlyDoubleWrapper(this, "progress", 0);
+    private final ReadOnlyBooleanWrapper running = new ReadOnlyBooleanWrapper(this, "running", false);
+    private Task<HeatMap> task;
+    private HeatMap latest;
+
+    /**
+     * Creates a service that computes on a shared background thread
+     */
+    public HeatMapService() {
+        this(SHARED_EXECUTOR);
+    }
+
+    /**
+     * Creates a service
+     *
+     * @param executor The executor to compute on
+     */
+    public HeatMapService(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Requests the heat map of a board and its rules, cancelling the request in progress
+     *
+     * @param board The board
+     * @param rules The rules
+     * @param onReady Receives the heat map when it is ready
+     */
+    public void request(Board board, GameRules rules, Consumer<HeatMap> onReady) {
+        cancel();
+        if (latest != null && latest.getKey().equals(LandingFrequencyCalculator.keyOf(board, rules))) {
+            onReady.accept(latest);
+            return;
+        }
+
+        LandingFrequencyCalculator calculator;
+        try {
+            calculator = LandingFrequencyCalculator.of(board, rules);
+        } catch (IllegalArgumentException e) {
+            logger.warning("Cannot compute heat map: " + e.getMessage());
+            return;
+        }
+
+        Task<HeatMap> computation = new Task<>() {
+            @Override
+            protected HeatMap call() {
+                return calculator.compute(done -> updateProgress(done, 1), this::isCancelled);
+            }
+        };
+        computation.setOnSucceeded(event -> {
+            if (task != computation) {
+                return;
+            }
+            latest = computation.getValue();
+            finish(computation);
+            onReady.accept(latest);
+        });
+        computation.setOnFailed(event -> {
+            logger.warning("Heat map calculation failed: " + computation.getException());
+            finish(computation);
+        });
+        computation.setOnCancelled(event -> finish(computation));
+
+        task = computation;
+        progress.bind(computation.progressProperty());
+        running.set(true);
+        executor.execute(computation);
+    }
+
+    /**
+     * Cancels the request in progress, if any
+     */
+    public void cancel() {
+        if (task != null) {
+            Task<HeatMap> cancelled = task;
+            finish(cancelled);
+            cancelled.cancel();
+        }
+    }
+
+    /**
+     * Returns the latest finished heat map
+     *
+     * @return The heat map, or null if none has been computed
+     */
+    public HeatMap getLatest() {
+        return latest;
+    }
+
+    /**
+     * Returns the progress of the request in progress, between 0 and 1
+     *
+     * @return The progress property
+     */
+    public ReadOnlyDoubleProperty progressProperty() {
+        return progress.getReadOnlyProperty();
+    }
+
+    /**
+     * Returns whether a heat map is being computed
+     *
+     * @return The running property
+     */
+    public ReadOnlyBooleanProperty runningProperty() {
+        return running.getReadOnlyProperty();
+    }
+
+    /**
+     * Stops tracking a task if it is the current one
+     *
+     * @param finished The task that finished or was cancelled
+     */
+    private void finish(Task<HeatMap> finished) {
+        if (task != finished) {
+            return;
+        }
+        task = null;
+        progress.unbind();
+        progress.set(0);
+        running.set(false);
+    }
+}
@@ -0,0 +1,317 @@
+package idi.edu.idatt.mappe.services.heatmap;
+
+import idi.edu.idatt.mappe.models.AdjacencyGraph;
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.GameRules;
+import idi.edu.idatt.mappe.models.LandActionResolver;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
+import idi.edu.idatt.mappe.models.sampling.AliasTable;
+import idi.edu.idatt.mappe.models.tileaction.SampledTileAction;
+import idi.edu.idatt.mappe.models.tileaction.TileAction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Computes a {@link HeatMap} for a board and its rules
+ * <p>
+ *     The calculator copies what it needs from the board and rules when it is created, so
+ *     {@link #compute} can run on any thread while the board stays in use on screen.
+ * </p>
+ * <p>
+ *     Snakes and Ladders is computed exactly for one player as an absorbing Markov chain: the
+ *     chance of standing on every tile is pushed through the dice distribution and the
+ *     ladder, snake and go-to-start chains turn by turn, until the chance of not having
+ *     finished is negligible. Random teleports spread the landing over their target table,
+ *     and missed turns and snakes with the skip-turn rule add a turn on the tile the player
+ *     ends up on. Swaps depend on the other players and are left out.
+ * </p>
+ * <p>
+ *     The Lost Diamond is simulated: a player travels to a random affordable neighbour every
+ *     turn, pays the travel cost and receives emergency money when stuck. Tokens are not
+ *     revealed, so the map shows how the routes and costs alone steer players.
+ * </p>
+ */
+public final class LandingFrequencyCalculator {
+    private static final double REMAINING_MASS_LIMIT = 1e-9;
+    private static final int MAX_TURNS = 20_000;
+    private static final int SIMULATED_GAMES = 2_000;
+    private static final int SIMULATED_TURNS = 100;
+    private static final long SIMULATION_SEED = 0x5EED_4EA7L;
+
+    private final String key;
+    private final GameType gameType;
+    private final int tileCount;
+    private final int[] destinations;
+    private final TileActionKind[] kinds;
+    private final AliasTable[] teleportTargets;
+    private final double[] rollChances;
+    private final boolean startOnlyWithMax;
+    private final boolean skipTurnOnSnake;
+    private final int[][] neighbours;
+    private final int[][] costs;
+    private final int[] startTiles;
+    private final int startingMoney;
+    private final int emergencyMoney;
+
+    /**
+     * Copies the parts of a board and its rules the calculation needs
+     *
+     * @param board The board
+     * @param rules The rules
+     */
+    private LandingFrequencyCalculator(Board board, GameRules rules) {
+        this.gameType = board.getGameType();
+        int maxId = 0;
+        for (Tile tile : board.getTiles().values()) {
+            maxId = Math.max(maxId, tile.getIndex());
+        }
+        this.tileCount = board.getTileCount();
+        this.destinations = new int[maxId + 1];
+        this.kinds = new TileActionKind[maxId + 1];
+        this.teleportTargets = new AliasTable[maxId + 1];
+        this.neighbours = new int[maxId + 1][];
+        this.costs = new int[maxId + 1][];
+        this.rollChances = rollDistribution(rules.getNumberOfDice(), rules.getDiceSides());
+        this.startOnlyWithMax = rules.isStartOnlyWithMax();
+        this.skipTurnOnSnake = rules.isSkipTurnOnSnake();
+        this.startingMoney = rules.getStartingMoney();
+        Object emergencyEnabled = rules.getAdditionalData("emergencyMoneyEnabled");
+        this.emergencyMoney = Boolean.FALSE.equals(emergencyEnabled)
+                ? 0 : rules.getIntAdditionalData("emergencyMoneyAmount", 100);
+
+        List<Integer> starts = new ArrayList<>();
+        if (gameType == GameType.THE_LOST_DIAMOND) {
+            AdjacencyGraph graph = board.getAdjacencyGraph();
+            for (Tile tile : board.getTiles().values()) {
+                int id = tile.getIndex();
+                neighbours[id] = graph.getNeighbours(id);
+                costs[id] = new int[neighbours[id].length];
+                for (int i = 0; i < neighbours[id].length; i++) {
+                    costs[id][i] = graph.getTravelCost(id, neighbours[id][i]);
+                }
+                if (tile.isStartingCity()) {
+                    starts.add(id);
+                }
+            }
+        } else {
+            LandActionResolver resolver = new LandActionResolver(board);
+            for (Tile tile : board.getTiles().values()) {
+                destinations[tile.getIndex()] = resolver.resolve(tile.getIndex());
+                TileAction action = tile.getLandAction();
+                kinds[tile.getIndex()] = action != null ? action.getKind() : null;
+                if (action instanceof SampledTileAction sampled && action.getKind() == TileActionKind.RANDOM_TELEPORT) {
+                    try {
+                        teleportTargets[tile.getIndex()] = board.getTargetTables().getTileTable(sampled.getSamplingRule());
+                    } catch (IllegalArgumentException e) {
+                        // A teleport without targets on the board leaves the player where it landed
+                    }
+                }
+            }
+        }
+        this.startTiles = starts.stream().mapToInt(Integer::intValue).toArray();
+        this.key = keyOf(board, rules);
+    }
+
+    /**
+     * Creates a calculator for a board and its rules. Call on the thread that owns the board.
+     *
+     * @param board The board
+     * @param rules The rules
+     * @return The calculator
+     * @throws IllegalArgumentException If the ladders and snakes of the board loop
+     */
+    public static LandingFrequencyCalculator of(Board board, GameRules rules) {
+        return new LandingFrequencyCalculator(board, rules);
+    }
+
+    /**
+     * Returns the key of a board and rules, which is the same for boards and rules that give the same heat map
+     *
+     * @param board The board
+     * @param rules The rules
+     * @return The key
+     */
+    public static String keyOf(Board board, GameRules rules) {
+        return board.getLayoutKey() + "/" + rules.getNumberOfDice() + "d" + rules.getDiceSides()
+                + (rules.isStartOnlyWithMax() ? "/start-on-max" : "")
+                + (rules.isSkipTurnOnSnake() ? "/skip-on-snake" : "")
+                + "/" + rules.getStartingMoney();
+    }
+
+    /**
+     * Returns the key of the board and rules the calculator was created for
+     *
+     * @return The key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Computes the heat map
+     *
+     * @param progress Receives the progress between 0 and 1 as the calculation goes on
+     * @param cancelled Checked regularly; the calculation stops when it returns true
+     * @return The heat map
+     * @throws CancellationException If the calculation was cancelled
+     */
+    public HeatMap compute(DoubleConsumer progress, BooleanSupplier cancelled) {
+        HeatMap heatMap = gameType == GameType.THE_LOST_DIAMOND
+                ? simulate(progress, cancelled)
+                : solve(progress, cancelled);
+        progress.accept(1);
+        return heatMap;
+    }
+
+    /**
+     * Computes the expected landings and turns of one Snakes and Ladders player
+     *
+     * @param progress Receives the progress
+     * @param cancelled Checked once per turn
+     * @return The heat map
+     */
+    private HeatMap solve(DoubleConsumer progress, BooleanSupplier cancelled) {
+        int size = destinations.length;
+        double[] landings = new double[size];
+        double[] turns = new double[size];
+        double[] current = new double[size];
+        double[] next = new double[size];
+        double startChance = startOnlyWithMax ? rollChances[rollChances.length - 1] : 1;
+        int lastTile = tileCount;
+
+        current[Math.min(1, size - 1)] = 1;
+        double remaining = 1;
+        for (int turn = 0; turn < MAX_TURNS && remaining > REMAINING_MASS_LIMIT; turn++) {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException("Heat map calculation cancelled");
+            }
+            Arrays.fill(next, 0);
+            for (int tile = 1; tile < size; tile++) {
+                double chance = current[tile];
+                if (chance == 0 || tile == lastTile) {
+                    continue;
+                }
+                turns[tile] += chance;
+                int minRoll = 1;
+                if (tile == 1 && startOnlyWithMax) {
+                    next[tile] += chance * (1 - startChance);
+                    minRoll = rollChances.length - 1;
+                }
+                for (int roll = minRoll; roll < rollChances.length; roll++) {
+                    double landing = chance * rollChances[roll];
+                    if (landing == 0) {
+                        continue;
+                    }
+                    int landed = Math.min(tile + roll, lastTile);
+                    if (landed >= size) {
+                        continue;
+                    }
+                    landings[landed] += landing;
+                    AliasTable targets = teleportTargets[landed];
+                    if (targets != null) {
+                        for (int i = 0; i < targets.size(); i++) {
+                            int target = targets.getOutcome(i);
+                            double share = landing * targets.getChance(i);
+                            landings[target] += share;
+                            next[destinations[target]] += share;
+                        }
+                        continue;
+                    }
+                    int end = destinations[landed];
+                    next[end] += landing;
+                    if (kinds[landed] == TileActionKind.MISSING_TURN
+                            || (skipTurnOnSnake && kinds[landed] == TileActionKind.SNAKE)) {
+                        turns[end] += landing;
+                    }
+                }
+            }
+            double[] swap = current;
+            current = next;
+            next = swap;
+            remaining = 0;
+            for (int tile = 1; tile < size; tile++) {
+                if (tile != lastTile) {
+                    remaining += current[tile];
+                }
+            }
+            progress.accept(Math.max((double) turn / MAX_TURNS, Math.min(1, 1 - remaining)));
+        }
+        return new HeatMap(key, landings, turns, true);
+    }
+
+    /**
+     * Simulates Lost Diamond players walking the routes
+     *
+     * @param progress Receives the progress
+     * @param cancelled Checked once per game
+     * @return The heat map
+     */
+    private HeatMap simulate(DoubleConsumer progress, BooleanSupplier cancelled) {
+        double[] landings = new double[neighbours.length];
+        double[] turns = new double[neighbours.length];
+        if (startTiles.length == 0) {
+            return new HeatMap(key, landings, turns, false);
+        }
+        Random random = new Random(SIMULATION_SEED);
+        int[] affordable = new int[neighbours.length];
+
+        for (int game = 0; game < SIMULATED_GAMES; game++) {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException("Heat map calculation cancelled");
+            }
+            int tile = startTiles[game % startTiles.length];
+            int money = startingMoney;
+            for (int turn = 0; turn < SIMULATED_TURNS; turn++) {
+                turns[tile]++;
+                int[] routes = neighbours[tile];
+                int count = 0;
+                for (int i = 0; i < routes.length; i++) {
+                    if (costs[tile][i] <= money) {
+                        affordable[count++] = i;
+                    }
+                }
+                if (count == 0) {
+                    money += emergencyMoney;
+                    continue;
+                }
+                int route = affordable[random.nextInt(count)];
+                money -= costs[tile][route];
+                tile = routes[route];
+                landings[tile]++;
+            }
+            if (game % 100 == 0) {
+                progress.accept((double) game / SIMULATED_GAMES);
+            }
+        }
+        return new HeatMap(key, landings, turns, false);
+    }
+
+    /**
+     * Returns the chance of every total of a number of dice
+     *
+     * @param dice The number of dice
+     * @param sides The number of sides of each die
+     * @return The chances indexed by total, from 0 to the highest total
+     */
+    static double[] rollDistribution(int dice, int sides) {
+        double[] chances = {1};
+        for (int die = 0; die < Math.max(1, dice); die++) {
+            double[] sums = new double[chances.length + sides];
+            for (int total = 0; total < chances.length; total++) {
+                for (int face = 1; face <= sides; face++) {
+                    sums[total + face] += chances[total] / sides;
+                }
+            }
+            chances = sums;
+        }
+        return chances;
+    }
+}
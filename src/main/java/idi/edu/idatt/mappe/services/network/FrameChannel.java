@@ -0,0 +1,210 @@
+package idi.edu.idatt.mappe.services.network;
+
+import idi.edu.idatt.mappe.models.enums.NetworkMessageType;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+
+/**
+ * Length-prefixed message frames over a non-blocking socket channel
+ * <p>
+ *     A frame is a four byte length, a one byte {@link NetworkMessageType} code and a payload;
+ *     the length counts the code and the payload. Reading collects bytes until whole frames
+ *     are available, so a frame may arrive in any number of pieces. Sent frames are queued and
+ *     written with gathering writes when the socket can take them; a payload is queued as a
+ *     view of the caller's buffer, so the same encoded update can be sent to many channels
+ *     without copying it.
+ * </p>
+ */
+final class FrameChannel {
+    static final int MAX_FRAME_SIZE = 1 << 20;
+    static final long DEFAULT_MAX_PENDING_BYTES = 4L << 20;
+
+    private static final int LENGTH_SIZE = 4;
+    private static final int HEADER_SIZE = LENGTH_SIZE + 1;
+
+    private final SocketChannel channel;
+    private final long maxPendingBytes;
+    private final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+    private ByteBuffer readBuffer = ByteBuffer.allocate(4096);
+    private long pendingBytes;
+
+    /**
+     * Receives the frames read from a channel
+     */
+    @FunctionalInterface
+    interface FrameHandler {
+        /**
+         * Called for every whole frame
+         *
+         * @param type The kind of the message
+         * @param payload The payload, only valid during the call
+         * @throws IOException If the frame cannot be handled and the channel should be closed
+         */
+        void onFrame(NetworkMessageType type, ByteBuffer payload) throws IOException;
+    }
+
+    /**
+     * Creates a frame channel over a connected, non-blocking socket channel
+     *
+     * @param channel The socket channel
+     * @param maxPendingBytes The number of unsent bytes after which sending fails
+     */
+    FrameChannel(SocketChannel channel, long maxPendingBytes) {
+        this.channel = channel;
+        this.maxPendingBytes = maxPendingBytes;
+    }
+
+    /**
+     * Returns the socket channel
+     *
+     * @return The socket channel
+     */
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Reads what the socket has and hands every whole frame to a handler
+     *
+     * @param handler Receives the frames
+     * @return False if the other side closed the connection
+     * @throws IOException If the socket fails or a frame is malformed
+     */
+    boolean read(FrameHandler handler) throws IOException {
+        if (channel.read(readBuffer) < 0) {
+            return false;
+        }
+        readBuffer.flip();
+        while (readBuffer.remaining() >= LENGTH_SIZE) {
+            int length = readBuffer.getInt(readBuffer.position());
+            if (length < 1 || length > MAX_FRAME_SIZE) {
+                throw new IOException("Invalid frame length: " + length);
+            }
+            if (readBuffer.remaining() < LENGTH_SIZE + length) {
+                break;
+            }
+            int start = readBuffer.position() + HEADER_SIZE;
+            NetworkMessageType type = NetworkMessageType.fromCode(readBuffer.get(start - 1));
+            if (type == null) {
+                throw new IOException("Unknown message code: " + readBuffer.get(start - 1));
+            }
+            ByteBuffer payload = readBuffer.slice(start, length - 1);
+            readBuffer.position(start + length - 1);
+            handler.onFrame(type, payload);
+        }
+        readBuffer.compact();
+
+        if (readBuffer.position() >= LENGTH_SIZE) {
+            int needed = LENGTH_SIZE + readBuffer.getInt(0);
+            if (needed > readBuffer.capacity()) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.min(Integer.highestOneBit(needed - 1) << 1,
+                        LENGTH_SIZE + MAX_FRAME_SIZE));
+                readBuffer = larger.put(readBuffer.flip());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Queues a frame to be written
+     *
+     * @param type The kind of the message
+     * @param payload The payload from its position to its limit; it must not change afterwards
+     * @return False if too many bytes are already waiting, and the frame was not queued
+     */
+    synchronized boolean send(NetworkMessageType type, ByteBuffer payload) {
+        int size = payload.remaining();
+        if (size + 1 > MAX_FRAME_SIZE) {
+            throw new IllegalArgumentException("Frame is too large to send: " + size);
+        }
+        if (pendingBytes + HEADER_SIZE + size > maxPendingBytes) {
+            return false;
+        }
+        pending.add(ByteBuffer.allocate(HEADER_SIZE).putInt(size + 1).put(type.getCode()).flip());
+        if (size > 0) {
+            pending.add(payload.duplicate());
+        }
+        pendingBytes += HEADER_SIZE + size;
+        return true;
+    }
+
+    /**
+     * Writes as much of the queued frames as the socket takes
+     *
+     * @return True if every queued frame was written
+     * @throws IOException If the socket fails
+     */
+    synchronized boolean flush() throws IOException {
+        while (!pending.isEmpty()) {
+            long written = channel.write(pending.toArray(new ByteBuffer[0]));
+            pendingBytes -= written;
+            while (!pending.isEmpty() && !pending.peek().hasRemaining()) {
+                pending.poll();
+            }
+            if (written == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if frames are waiting to be written
+     *
+     * @return True if frames are waiting
+     */
+    synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Closes the socket and drops the queued frames
+     */
+    synchronized void close() {
+        pending.clear();
+        pendingBytes = 0;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // The connection is gone either way
+        }
+    }
+
+    /**
+     * Encodes a payload of a string followed by longs, the layout of hello and roll messages
+     *
+     * @param text The string, written as a four byte length and UTF-8 bytes
+     * @param values The longs
+     * @return The payload
+     */
+    static ByteBuffer stringAndLongs(String text, long... values) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(4 + bytes.length + 8 * values.length).putInt(bytes.length).put(bytes);
+        for (long value : values) {
+            payload.putLong(value);
+        }
+        return payload.flip();
+    }
+
+    /**
+     * Reads a string written as a four byte length and UTF-8 bytes
+     *
+     * @param payload The payload to read from
+     * @return The string
+     * @throws BufferUnderflowException If the payload is shorter than the string
+     */
+    static String getString(ByteBuffer payload) {
+        int length = payload.getInt();
+        if (length < 0 || length > payload.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,284 @@
+package idi.edu.idatt.mappe.services.network;
+
+import idi.edu.idatt.mappe.models.enums.NetworkMessageType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.logging.Logger;
+
+/**
+ * Connects to a {@link GameHost} and receives the game it serves
+ * <p>
+ *     The client runs on its own thread with a non-blocking channel. When the connection is
+ *     lost it keeps trying to reconnect, waiting longer between every attempt, and says hello
+ *     again with the last state frame it saw; the host answers with a fresh snapshot, so the
+ *     client is back in sync without replaying what it missed.
+ * </p>
+ * <p>
+ *     Rolls and state frames travel on separate paths on the host, so a roll can arrive
+ *     before the state it follows. Every roll names the state frame it follows and is held
+ *     back until that frame has been passed to the listener.
+ * </p>
+ */
+public class GameClient implements Closeable {
+    private static final Logger logger = Logger.getLogger(GameClient.class.getName());
+
+    private static final long MIN_RETRY_MILLIS = 100;
+    private static final long MAX_RETRY_MILLIS = 5000;
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final InetSocketAddress address;
+    private final String playerName;
+    private final Listener listener;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile FrameChannel frames;
+    private volatile Selector selector;
+    private long lastSequence = -1;
+    private final Queue<HeldRoll> heldRolls = new ArrayDeque<>();
+
+    /**
+     * Receives what the host sends, on the client thread
+     */
+    public interface Listener {
+        /**
+         * Called when the host welcomes the client to a game, after every connect
+         *
+         * @param setup The board and dice of the game
+         */
+        void onWelcome(GameSetup setup);
+
+        /**
+         * Called for every state frame of the game
+         *
+         * @param frame A spectator snapshot or delta, owned by the listener
+         * @see idi.edu.idatt.mappe.services.spectator.SpectatorState
+         */
+        void onState(ByteBuffer frame);
+
+        /**
+         * Called before a player rolls the dice
+         *
+         * @param playerName The name of the player about to roll
+         * @param seed The seed the dice are rolled with
+         */
+        void onRoll(String playerName, long seed);
+
+        /**
+         * Called when the connection is lost, before trying to reconnect
+         */
+        void onConnectionLost();
+    }
+
+    /**
+     * Creates a client
+     *
+     * @param address The address of the host
+     * @param playerName The name of the client's player
+     * @param listener Receives what the host sends
+     */
+    private GameClient(InetSocketAddress address, String playerName, Listener listener) {
+        this.address = address;
+        this.playerName = playerName;
+        this.listener = listener;
+        this.thread = new Thread(this::run, "game-client");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts a client that connects to a host and stays connected until it is closed
+     *
+     * @param host The host name or address of the host
+     * @param port The port of the host
+     * @param playerName The name of the client's player
+     * @param listener Receives what the host sends, on the client thread
+     * @return The client
+     */
+    public static GameClient connect(String host, int port, String playerName, Listener listener) {
+        GameClient client = new GameClient(new InetSocketAddress(host, port), playerName, listener);
+        client.thread.start();
+        return client;
+    }
+
+    /**
+     * Checks if the client is connected to the host
+     *
+     * @return True if the client is connected
+     */
+    public boolean isConnected() {
+        return frames != null;
+    }
+
+    /**
+     * Asks the host to play the turn of the client's player
+     *
+     * @return False if the client is not connected
+     */
+    public boolean requestTurn() {
+        FrameChannel current = frames;
+        Selector currentSelector = selector;
+        if (current == null || currentSelector == null || !current.send(NetworkMessageType.TURN_REQUEST, EMPTY)) {
+            return false;
+        }
+        currentSelector.wakeup();
+        return true;
+    }
+
+    /**
+     * Disconnects from the host and stops reconnecting
+     */
+    @Override
+    public void close() {
+        running = false;
+        Selector current = selector;
+        if (current != null) {
+            current.wakeup();
+        }
+        thread.interrupt();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Connects and reconnects until the client is closed
+     */
+    private void run() {
+        long retryMillis = MIN_RETRY_MILLIS;
+        while (running) {
+            try {
+                if (runSession()) {
+                    retryMillis = MIN_RETRY_MILLIS;
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.info("Connection to " + address + " failed: " + e.getMessage());
+            }
+            if (!running) {
+                break;
+            }
+            listener.onConnectionLost();
+            try {
+                Thread.sleep(retryMillis);
+            } catch (InterruptedException e) {
+                break;
+            }
+            retryMillis = Math.min(retryMillis * 2, MAX_RETRY_MILLIS);
+        }
+        logger.info("Game client stopped");
+    }
+
+    /**
+     * Runs one connection until it is lost or the client is closed
+     *
+     * @return True if the connection was established before it ended
+     * @throws IOException If the connection fails
+     */
+    private boolean runSession() throws IOException {
+        boolean connected = false;
+        try (Selector sessionSelector = Selector.open(); SocketChannel channel = SocketChannel.open()) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.connect(address);
+            SelectionKey key = channel.register(sessionSelector, SelectionKey.OP_CONNECT);
+            FrameChannel session = new FrameChannel(channel, FrameChannel.DEFAULT_MAX_PENDING_BYTES);
+            selector = sessionSelector;
+
+            while (running) {
+                sessionSelector.select();
+                if (key.isValid() && key.isConnectable() && channel.finishConnect()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                    session.send(NetworkMessageType.HELLO, FrameChannel.stringAndLongs(playerName, lastSequence));
+                    frames = session;
+                    connected = true;
+                    logger.info("Connected to " + address + " as " + playerName);
+                }
+                if (key.isValid() && key.isReadable() && !session.read(this::onFrame)) {
+                    logger.info("Host closed the connection");
+                    return true;
+                }
+                if (connected && key.isValid()) {
+                    key.interestOps(session.flush() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+                sessionSelector.selectedKeys().clear();
+            }
+            return connected;
+        } finally {
+            frames = null;
+            selector = null;
+        }
+    }
+
+    /**
+     * Handles a message from the host
+     *
+     * @param type The kind of the message
+     * @param payload The payload
+     */
+    private void onFrame(NetworkMessageType type, ByteBuffer payload) throws IOException {
+        try {
+            switch (type) {
+                case WELCOME -> {
+                    lastSequence = -1;
+                    heldRolls.clear();
+                    listener.onWelcome(GameSetup.decode(payload));
+                }
+                case STATE -> {
+                    ByteBuffer frame = ByteBuffer.allocate(payload.remaining()).put(payload).flip();
+                    lastSequence = frame.getLong(1);
+                    listener.onState(frame);
+                    releaseRolls();
+                }
+                case ROLL -> {
+                    heldRolls.add(new HeldRoll(FrameChannel.getString(payload), payload.getLong(), payload.getLong()));
+                    releaseRolls();
+                }
+                default -> throw new IOException("Unexpected message from host: " + type);
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Malformed " + type + " message", e);
+        }
+    }
+
+    /**
+     * Passes the held rolls whose state frame has arrived to the listener, in the order they were sent
+     */
+    private void releaseRolls() {
+        for (HeldRoll roll; (roll = heldRolls.peek()) != null && roll.stateSequence <= lastSequence; ) {
+            heldRolls.remove();
+            listener.onRoll(roll.playerName, roll.seed);
+        }
+    }
+
+    /**
+     * A roll waiting for the state frame it follows
+     */
+    private static final class HeldRoll {
+        private final String playerName;
+        private final long seed;
+        private final long stateSequence;
+
+        /**
+         * Creates a held roll
+         *
+         * @param playerName The name of the player about to roll
+         * @param seed The seed the dice are rolled with
+         * @param stateSequence The sequence number of the state frame the roll follows
+         */
+        private HeldRoll(String playerName, long seed, long stateSequence) {
+            this.playerName = playerName;
+            this.seed = seed;
+            this.stateSequence = stateSequence;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package idi.edu.idatt.mappe.services.network;
+
+import idi.edu.idatt.mappe.models.enums.NetworkMessageType;
+import idi.edu.idatt.mappe.services.spectator.SpectatorStream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Serves the authoritative game to clients on other machines
+ * <p>
+ *     The host accepts clients on a TCP port and handles all of them on one thread with a
+ *     {@link Selector}. A client says hello with the name of its player; the host answers with
+ *     the {@link GameSetup} of the game and then forwards the game's {@link SpectatorStream},
+ *     starting with a snapshot. A client that reconnects is simply welcomed again, so it is
+ *     resynchronised from a fresh snapshot.
+ * </p>
+ * <p>
+ *     Before every roll the host sends the seed of the dice, so clients can roll the same
+ *     values locally and start the dice animation before the resulting state arrives.
+ *     A client asks to play a turn with a turn request, which is handed to the game with the
+ *     name of the client's player; the game decides whether it is that player's turn.
+ * </p>
+ */
+public class GameHost implements Closeable {
+    private static final Logger logger = Logger.getLogger(GameHost.class.getName());
+
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final Thread thread;
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+    private final Queue<Connection> changed = new ConcurrentLinkedQueue<>();
+    private final Random seeds = new Random();
+    private volatile boolean running = true;
+
+    private ByteBuffer welcome;
+    private SpectatorStream stream;
+    private volatile Consumer<String> turnRequests = playerName -> { };
+
+    /**
+     * Creates a host over a bound server channel
+     *
+     * @param server The server channel
+     * @param selector The selector the server channel is registered with
+     */
+    private GameHost(ServerSocketChannel server, Selector selector) {
+        this.server = server;
+        this.selector = selector;
+        this.thread = new Thread(this::run, "game-host");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts a host listening on a port
+     *
+     * @param port The port, or 0 for any free port
+     * @return The running host
+     * @throws IOException If the port cannot be opened
+     */
+    public static GameHost start(int port) throws IOException {
+        ServerSocketChannel server = ServerSocketChannel.open();
+        try {
+            server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            server.bind(new InetSocketAddress(port));
+            server.configureBlocking(false);
+            Selector selector = Selector.open();
+            server.register(selector, SelectionKey.OP_ACCEPT);
+
+            GameHost host = new GameHost(server, selector);
+            host.thread.start();
+            logger.info("Hosting games on port " + host.getPort());
+            return host;
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the port the host listens on
+     *
+     * @return The port
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Returns the number of clients that have said hello
+     *
+     * @return The number of clients
+     */
+    public int getClientCount() {
+        return (int) connections.stream().filter(connection -> connection.playerName != null).count();
+    }
+
+    /**
+     * Sets the game served to clients and welcomes every connected client to it
+     *
+     * @param setup The board and dice of the game
+     * @param stream The spectator stream of the game
+     * @param turnRequests Receives the player name of every turn request, on the host thread
+     */
+    public synchronized void setGame(GameSetup setup, SpectatorStream stream, Consumer<String> turnRequests) {
+        this.welcome = setup.encode();
+        this.stream = stream;
+        this.turnRequests = turnRequests;
+        for (Connection connection : connections) {
+            if (connection.playerName != null) {
+                connection.join();
+            }
+        }
+    }
+
+    /**
+     * Picks the seed of the next roll and sends it to every client
+     * <p>
+     *     State frames reach the clients through the spectator stream's executor, so a roll
+     *     can overtake the state it follows. The roll therefore carries the sequence number of
+     *     the latest state frame, and clients hold it back until they have seen that frame.
+     * </p>
+     *
+     * @param playerName The name of the player about to roll
+     * @return The seed to roll the dice with
+     */
+    public long announceRoll(String playerName) {
+        long seed = seeds.nextLong();
+        SpectatorStream currentStream;
+        synchronized (this) {
+            currentStream = stream;
+        }
+        long stateSequence = currentStream == null ? -1 : currentStream.getSequence();
+        ByteBuffer payload = FrameChannel.stringAndLongs(playerName, seed, stateSequence);
+        for (Connection connection : connections) {
+            if (connection.playerName != null) {
+                connection.send(NetworkMessageType.ROLL, payload);
+            }
+        }
+        return seed;
+    }
+
+    /**
+     * Disconnects every client and stops listening
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs the selector loop until the host is closed
+     */
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                for (Connection connection; (connection = changed.poll()) != null; ) {
+                    connection.update();
+                }
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        ((Connection) key.attachment()).onReady(key);
+                    }
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException e) {
+            logger.severe("Game host stopped: " + e.getMessage());
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+            try {
+                selector.close();
+                server.close();
+            } catch (IOException e) {
+                logger.warning("Could not close game host: " + e.getMessage());
+            }
+            logger.info("Stopped hosting games");
+        }
+    }
+
+    /**
+     * Accepts a waiting client
+     */
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Connection connection = new Connection(new FrameChannel(channel, FrameChannel.DEFAULT_MAX_PENDING_BYTES));
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        connections.add(connection);
+        logger.info("Client connected from " + channel.getRemoteAddress());
+    }
+
+    /**
+     * A connected client
+     */
+    private final class Connection {
+        private final FrameChannel frames;
+        private SelectionKey key;
+        private volatile String playerName;
+        private volatile boolean closed;
+        private SpectatorStream.Subscription subscription;
+
+        /**
+         * Creates a connection
+         *
+         * @param frames The frame channel of the client
+         */
+        private Connection(FrameChannel frames) {
+            this.frames = frames;
+        }
+
+        /**
+         * Reads or writes when the socket is ready, closing the connection if it fails
+         *
+         * @param key The selection key of the connection
+         */
+        private void onReady(SelectionKey key) {
+            try {
+                if (key.isReadable() && !frames.read(this::onFrame)) {
+                    close();
+                    return;
+                }
+                if (key.isValid() && key.isWritable() && frames.flush()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.info("Dropping client " + playerName + ": " + e.getMessage());
+                close();
+            }
+        }
+
+        /**
+         * Handles a message from the client
+         *
+         * @param type The kind of the message
+         * @param payload The payload
+         */
+        private void onFrame(NetworkMessageType type, ByteBuffer payload) throws IOException {
+            try {
+                switch (type) {
+                    case HELLO -> {
+                        playerName = FrameChannel.getString(payload);
+                        long lastSequence = payload.getLong();
+                        logger.info("Welcoming " + playerName + (lastSequence < 0 ? "" : ", resyncing from frame " + lastSequence));
+                        join();
+                    }
+                    case TURN_REQUEST -> {
+                        if (playerName != null) {
+                            turnRequests.accept(playerName);
+                        }
+                    }
+                    default -> throw new IOException("Unexpected message from client: " + type);
+                }
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Malformed " + type + " message", e);
+            }
+        }
+
+        /**
+         * Sends the current game to the client and subscribes it to the game's state frames.
+         * A client that falls behind the frames is closed; when the game itself ends, the
+         * client stays connected until the next game is set.
+         */
+        private void join() {
+            synchronized (GameHost.this) {
+                if (subscription != null) {
+                    subscription.cancel();
+                    subscription = null;
+                }
+                if (welcome == null || closed) {
+                    return;
+                }
+                send(NetworkMessageType.WELCOME, welcome);
+                SpectatorStream joined = stream;
+                subscription = joined.subscribe(frame -> send(NetworkMessageType.STATE, frame), () -> {
+                    if (!joined.isClosed()) {
+                        requestClose();
+                    }
+                });
+            }
+        }
+
+        /**
+         * Queues a message and asks the host thread to write it
+         *
+         * @param type The kind of the message
+         * @param payload The payload
+         */
+        private void send(NetworkMessageType type, ByteBuffer payload) {
+            if (closed) {
+                return;
+            }
+            if (!frames.send(type, payload)) {
+                logger.info("Client " + playerName + " fell too far behind");
+                requestClose();
+                return;
+            }
+            changed.add(this);
+            selector.wakeup();
+        }
+
+        /**
+         * Asks the host thread to close the connection
+         */
+        private void requestClose() {
+            closed = true;
+            changed.add(this);
+            selector.wakeup();
+        }
+
+        /**
+         * Writes queued messages or closes the connection, on the host thread
+         */
+        private void update() {
+            if (closed) {
+                close();
+                return;
+            }
+            try {
+                if (key.isValid() && !frames.flush()) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            } catch (IOException e) {
+                logger.info("Dropping client " + playerName + ": " + e.getMessage());
+                close();
+            }
+        }
+
+        /**
+         * Closes the connection and stops its state frames
+         */
+        private void close() {
+            closed = true;
+            if (!connections.remove(this)) {
+                return;
+            }
+            synchronized (GameHost.this) {
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+            }
+            key.cancel();
+            frames.close();
+            logger.info("Client " + playerName + " disconnected");
+        }
+    }
+}
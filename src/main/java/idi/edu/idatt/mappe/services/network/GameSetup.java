@@ -0,0 +1,149 @@
+package idi.edu.idatt.mappe.services.network;
+
+import idi.edu.idatt.mappe.exceptions.JsonParsingException;
+import idi.edu.idatt.mappe.exceptions.TileActionNotFoundException;
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.GameRules;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.utils.factory.BoardGameFactory;
+import idi.edu.idatt.mappe.utils.file.reader.BoardFileReaderGson;
+import idi.edu.idatt.mappe.utils.file.writer.BoardFileWriterGson;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Logger;
+
+/**
+ * The board and dice of a hosted game, sent to clients so they can build the same game locally
+ * <p>
+ *     Boards that can be written as board JSON are sent whole, so randomly generated layouts
+ *     look the same on every client. Other boards are rebuilt from their board variant.
+ * </p>
+ */
+public final class GameSetup {
+    private static final Logger logger = Logger.getLogger(GameSetup.class.getName());
+    private static final String DEFAULT_VARIANT = "Standard";
+
+    private final GameType gameType;
+    private final String boardVariant;
+    private final int numberOfDice;
+    private final int diceSides;
+    private final String boardJson;
+
+    /**
+     * Creates a game setup
+     *
+     * @param gameType The type of the game
+     * @param boardVariant The board variant of the game rules
+     * @param numberOfDice The number of dice
+     * @param diceSides The number of sides of every die
+     * @param boardJson The board as board JSON, or null to rebuild it from the variant
+     */
+    private GameSetup(GameType gameType, String boardVariant, int numberOfDice, int diceSides, String boardJson) {
+        this.gameType = gameType;
+        this.boardVariant = boardVariant;
+        this.numberOfDice = numberOfDice;
+        this.diceSides = diceSides;
+        this.boardJson = boardJson;
+    }
+
+    /**
+     * Describes the board and dice of a game
+     *
+     * @param game The game
+     * @return The setup of the game
+     */
+    public static GameSetup of(BoardGame game) {
+        GameRules rules = game.getGameRules();
+        String variant = rules == null || rules.getBoardVariant() == null ? DEFAULT_VARIANT : rules.getBoardVariant();
+
+        String boardJson = null;
+        Board board = game.getBoard();
+        if (board.getGameType() == GameType.SNAKES_AND_LADDERS) {
+            try {
+                boardJson = new BoardFileWriterGson().writeBoardToString(board);
+            } catch (TileActionNotFoundException e) {
+                logger.warning("Board cannot be sent as JSON, clients rebuild it from its variant: " + e.getMessage());
+            }
+        }
+        return new GameSetup(game.getGameType(), variant, game.getDice().getNumberOfDice(),
+                game.getDice().getNumberOfSides(0), boardJson);
+    }
+
+    /**
+     * Returns the type of the game
+     *
+     * @return The game type
+     */
+    public GameType getGameType() {
+        return gameType;
+    }
+
+    /**
+     * Returns the number of dice
+     *
+     * @return The number of dice
+     */
+    public int getNumberOfDice() {
+        return numberOfDice;
+    }
+
+    /**
+     * Returns the number of sides of every die
+     *
+     * @return The number of sides
+     */
+    public int getDiceSides() {
+        return diceSides;
+    }
+
+    /**
+     * Builds a local game with the same board and dice
+     *
+     * @return The game, not started and without players
+     * @throws JsonParsingException If the board JSON cannot be read
+     */
+    public BoardGame createGame() throws JsonParsingException {
+        GameRules rules = new GameRules(gameType, boardVariant, numberOfDice, diceSides);
+        if (boardJson == null) {
+            return BoardGameFactory.createCustomGame(rules);
+        }
+        BoardGame game = new BoardGame(gameType);
+        game.setBoard(new BoardFileReaderGson().readBoardFromString(boardJson));
+        game.setGameRules(rules);
+        game.createDice(numberOfDice, diceSides);
+        return game;
+    }
+
+    /**
+     * Encodes the setup as the payload of a welcome message
+     *
+     * @return The payload
+     */
+    ByteBuffer encode() {
+        byte[] variant = boardVariant.getBytes(StandardCharsets.UTF_8);
+        byte[] board = boardJson == null ? new byte[0] : boardJson.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(1 + 1 + 1 + 4 + variant.length + 1 + 4 + board.length);
+        payload.put((byte) gameType.ordinal()).put((byte) numberOfDice).put((byte) diceSides);
+        payload.putInt(variant.length).put(variant);
+        payload.put((byte) (boardJson == null ? 0 : 1)).putInt(board.length).put(board);
+        return payload.flip();
+    }
+
+    /**
+     * Decodes a setup from the payload of a welcome message
+     *
+     * @param payload The payload
+     * @return The setup
+     */
+    static GameSetup decode(ByteBuffer payload) {
+        GameType gameType = GameType.values()[payload.get()];
+        int numberOfDice = Byte.toUnsignedInt(payload.get());
+        int diceSides = Byte.toUnsignedInt(payload.get());
+        String variant = FrameChannel.getString(payload);
+        boolean hasBoard = payload.get() != 0;
+        String board = FrameChannel.getString(payload);
+        return new GameSetup(gameType, variant, numberOfDice, diceSides, hasBoard ? board : null);
+    }
+}
@@ -0,0 +1,75 @@
+package idi.edu.idatt.mappe.services.spectator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary layout of the frames sent to spectators
+ * <p>
+ *     Every frame starts with its kind, a sequence number, the game state and the current
+ *     player. A snapshot then holds every player with their name, tile and money, followed by
+ *     every visible token. A delta holds only what changed since the previous frame: the players
+ *     that moved, the players whose money changed and the tiles whose visible token changed.
+ *     Players are referred to by their position in the latest snapshot, tiles by their index,
+ *     and a tile index of {@value #NO_TILE} means the player is not on the board. A token of
+ *     {@value #NO_TOKEN} means the tile shows no token.
+ * </p>
+ */
+public final class SpectatorFrames {
+    public static final byte SNAPSHOT = 1;
+    public static final byte DELTA = 2;
+    public static final int NO_TILE = -1;
+    public static final byte NO_TOKEN = -1;
+
+    static final int HEADER_SIZE = 1 + 8 + 1 + 2;
+    static final int MOVE_SIZE = 2 + 4;
+    static final int MONEY_SIZE = 2 + 4;
+    static final int TOKEN_SIZE = 4 + 1;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private SpectatorFrames() {
+    }
+
+    /**
+     * Writes the header of a frame
+     *
+     * @param buffer The buffer to write to
+     * @param kind {@link #SNAPSHOT} or {@link #DELTA}
+     * @param sequence The sequence number of the frame
+     * @param gameState The ordinal of the game state
+     * @param currentPlayer The position of the current player, or -1 if there is none
+     */
+    static void putHeader(ByteBuffer buffer, byte kind, long sequence, int gameState, int currentPlayer) {
+        buffer.put(kind).putLong(sequence).put((byte) gameState).putShort((short) currentPlayer);
+    }
+
+    /**
+     * Returns the encoded form of a player name
+     *
+     * @param name The name
+     * @return The UTF-8 bytes of the name, cut to fit a length of two bytes
+     */
+    static byte[] encodeName(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= 0xFFFF) {
+            return bytes;
+        }
+        byte[] cut = new byte[0xFFFF];
+        System.arraycopy(bytes, 0, cut, 0, cut.length);
+        return cut;
+    }
+
+    /**
+     * Reads a player name written as a two byte length and UTF-8 bytes
+     *
+     * @param buffer The buffer to read from
+     * @return The name
+     */
+    static String getName(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
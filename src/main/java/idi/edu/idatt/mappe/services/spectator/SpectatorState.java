@@ -0,0 +1,157 @@
+package idi.edu.idatt.mappe.services.spectator;
+
+import idi.edu.idatt.mappe.models.enums.GameState;
+import idi.edu.idatt.mappe.models.enums.TokenType;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The view of a game that a spectator builds from the frames of a {@link SpectatorStream}
+ * <p>
+ *     A snapshot replaces the whole state and every delta after it is applied on top.
+ *     A delta that does not follow the previous frame means frames were lost, and is rejected.
+ * </p>
+ */
+public class SpectatorState {
+    private final List<String> playerNames = new ArrayList<>();
+    private int[] playerTiles = new int[0];
+    private int[] playerMoney = new int[0];
+    private final Map<Integer, TokenType> visibleTokens = new HashMap<>();
+    private GameState gameState;
+    private int currentPlayer = -1;
+    private long sequence = -1;
+
+    /**
+     * Applies a frame to the state
+     *
+     * @param frame The frame, read from its position without changing it
+     * @throws IllegalStateException If the frame is a delta that does not follow the previous frame
+     * @throws IllegalArgumentException If the frame is not a spectator frame
+     */
+    public void apply(ByteBuffer frame) {
+        ByteBuffer in = frame.duplicate();
+        byte kind = in.get();
+        long frameSequence = in.getLong();
+        if (kind == SpectatorFrames.DELTA && (sequence < 0 || frameSequence != sequence + 1)) {
+            throw new IllegalStateException("Expected frame " + (sequence + 1) + " but got " + frameSequence);
+        }
+        if (kind != SpectatorFrames.SNAPSHOT && kind != SpectatorFrames.DELTA) {
+            throw new IllegalArgumentException("Unknown spectator frame kind: " + kind);
+        }
+        sequence = frameSequence;
+        gameState = GameState.values()[in.get()];
+        currentPlayer = in.getShort();
+
+        if (kind == SpectatorFrames.SNAPSHOT) {
+            int players = Short.toUnsignedInt(in.getShort());
+            playerNames.clear();
+            playerTiles = new int[players];
+            playerMoney = new int[players];
+            for (int i = 0; i < players; i++) {
+                playerNames.add(SpectatorFrames.getName(in));
+                playerTiles[i] = in.getInt();
+                playerMoney[i] = in.getInt();
+            }
+            visibleTokens.clear();
+            readTokens(in);
+            return;
+        }
+
+        for (int moved = Short.toUnsignedInt(in.getShort()); moved > 0; moved--) {
+            int player = in.getShort();
+            playerTiles[player] = in.getInt();
+        }
+        for (int paid = Short.toUnsignedInt(in.getShort()); paid > 0; paid--) {
+            int player = in.getShort();
+            playerMoney[player] = in.getInt();
+        }
+        readTokens(in);
+    }
+
+    /**
+     * Returns the sequence number of the last applied frame
+     *
+     * @return The sequence number, or -1 if no frame has been applied
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the state of the game
+     *
+     * @return The game state, or null if no frame has been applied
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Returns the names of the players, in the order of the latest snapshot
+     *
+     * @return The player names
+     */
+    public List<String> getPlayerNames() {
+        return List.copyOf(playerNames);
+    }
+
+    /**
+     * Returns the name of the player whose turn it is
+     *
+     * @return The name, or null if there is no current player
+     */
+    public String getCurrentPlayerName() {
+        return currentPlayer < 0 ? null : playerNames.get(currentPlayer);
+    }
+
+    /**
+     * Returns the tile a player stands on
+     *
+     * @param player The position of the player
+     * @return The tile index, or {@link SpectatorFrames#NO_TILE}
+     */
+    public int getPlayerTile(int player) {
+        return playerTiles[player];
+    }
+
+    /**
+     * Returns the money of a player
+     *
+     * @param player The position of the player
+     * @return The money
+     */
+    public int getPlayerMoney(int player) {
+        return playerMoney[player];
+    }
+
+    /**
+     * Returns the token a tile shows
+     *
+     * @param tileIndex The index of the tile
+     * @return The token, or null if the tile shows none
+     */
+    public TokenType getVisibleToken(int tileIndex) {
+        return visibleTokens.get(tileIndex);
+    }
+
+    /**
+     * Reads a count of tiles followed by the token each tile shows
+     *
+     * @param in The frame
+     */
+    private void readTokens(ByteBuffer in) {
+        for (int changed = Short.toUnsignedInt(in.getShort()); changed > 0; changed--) {
+            int tileIndex = in.getInt();
+            byte token = in.get();
+            if (token == SpectatorFrames.NO_TOKEN) {
+                visibleTokens.remove(tileIndex);
+            } else {
+                visibleTokens.put(tileIndex, TokenType.values()[token]);
+            }
+        }
+    }
+}
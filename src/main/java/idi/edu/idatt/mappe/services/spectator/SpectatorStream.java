@@ -0,0 +1,444 @@
+package idi.edu.idatt.mappe.services.spectator;
+
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.enums.TokenType;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Publishes a running game to any number of spectators
+ * <p>
+ *     A spectator first receives a snapshot of the game and then one delta per finished turn
+ *     action, holding only the players that moved, the money that changed and the tokens that
+ *     were revealed or covered. Every update is encoded once into a single buffer, and each
+ *     spectator gets a read-only view of that same buffer.
+ * </p>
+ * <p>
+ *     Publishing never waits for spectators. Frames are queued per spectator and delivered on
+ *     a pool of background threads that serves each spectator on at most one thread at a time
+ *     and a few frames per turn, so a spectator that blocks only holds up itself. A spectator
+ *     whose queue is full has fallen too far behind and is disconnected. It can subscribe again
+ *     to get a new snapshot.
+ * </p>
+ *
+ * @see SpectatorFrames
+ * @see SpectatorState
+ */
+public class SpectatorStream implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(SpectatorStream.class.getName());
+
+    /**
+     * Default number of frames a spectator may have waiting before it is disconnected.
+     */
+    public static final int DEFAULT_MAX_PENDING_FRAMES = 64;
+
+    private static final int MAX_DRAIN_BATCH = 16;
+
+    private static final ExecutorService SHARED_DELIVERY = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "spectator-delivery");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final BoardGame game;
+    private final Executor delivery;
+    private final int maxPendingFrames;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private Player[] players = new Player[0];
+    private Tile[] tiles = new Tile[0];
+    private int[] playerTiles = new int[0];
+    private int[] playerMoney = new int[0];
+    private byte[] visibleTokens = new byte[0];
+    private int gameState;
+    private int currentPlayer;
+    private long sequence;
+    private boolean started;
+    private volatile boolean closed;
+    private ByteBuffer snapshot;
+
+    /**
+     * Creates a stream for a game that delivers on a shared pool of background threads
+     *
+     * @param game The game to publish
+     */
+    public SpectatorStream(BoardGame game) {
+        this(game, SHARED_DELIVERY, DEFAULT_MAX_PENDING_FRAMES);
+    }
+
+    /**
+     * Creates a stream for a game
+     *
+     * @param game The game to publish
+     * @param delivery The executor that hands frames to the spectators
+     * @param maxPendingFrames The number of frames a spectator may have waiting before it is disconnected
+     */
+    public SpectatorStream(BoardGame game, Executor delivery, int maxPendingFrames) {
+        if (maxPendingFrames < 1) {
+            throw new IllegalArgumentException("A spectator must be able to have at least one pending frame");
+        }
+        this.game = game;
+        this.delivery = delivery;
+        this.maxPendingFrames = maxPendingFrames;
+    }
+
+    /**
+     * Adds a spectator. If the game is running, the spectator's first frame is a snapshot of it.
+     *
+     * @param frames Receives every frame, on the delivery thread
+     * @param onDisconnected Called once when the spectator is disconnected, or null
+     * @return The subscription of the spectator
+     */
+    public synchronized Subscription subscribe(Consumer<ByteBuffer> frames, Runnable onDisconnected) {
+        Subscription subscription = new Subscription(frames, onDisconnected);
+        subscriptions.add(subscription);
+        if (started) {
+            subscription.offer(snapshot());
+        }
+        return subscription;
+    }
+
+    /**
+     * Returns the number of connected spectators
+     *
+     * @return The number of spectators
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Returns the sequence number of the latest frame sent to spectators
+     *
+     * @return The sequence number, 0 before the stream is started
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Starts publishing the game from its current state and sends a snapshot to every spectator.
+     * Called when the game starts or its players change.
+     */
+    public synchronized void start() {
+        players = game.getPlayers().toArray(new Player[0]);
+        tiles = game.getBoard().getTiles().values().toArray(new Tile[0]);
+        playerTiles = new int[players.length];
+        playerMoney = new int[players.length];
+        visibleTokens = new byte[tiles.length];
+        for (int i = 0; i < players.length; i++) {
+            playerTiles[i] = tileIndexOf(players[i]);
+            playerMoney[i] = players[i].getMoney();
+        }
+        for (int i = 0; i < tiles.length; i++) {
+            visibleTokens[i] = visibleTokenOf(tiles[i]);
+        }
+        gameState = game.getGameState().ordinal();
+        currentPlayer = indexOf(game.getCurrentPlayer());
+        started = true;
+        snapshot = null;
+        sequence++;
+        fanOut(snapshot());
+    }
+
+    /**
+     * Sends what changed since the previous frame to every spectator.
+     * Nothing is sent if nothing changed.
+     */
+    public synchronized void publish() {
+        if (!started || !samePlayers()) {
+            start();
+            return;
+        }
+
+        int moved = 0;
+        int paid = 0;
+        int revealed = 0;
+        for (int i = 0; i < players.length; i++) {
+            if (tileIndexOf(players[i]) != playerTiles[i]) moved++;
+            if (players[i].getMoney() != playerMoney[i]) paid++;
+        }
+        for (int i = 0; i < tiles.length; i++) {
+            if (visibleTokenOf(tiles[i]) != visibleTokens[i]) revealed++;
+        }
+        int newGameState = game.getGameState().ordinal();
+        int newCurrentPlayer = indexOf(game.getCurrentPlayer());
+        if (moved == 0 && paid == 0 && revealed == 0
+                && newGameState == gameState && newCurrentPlayer == currentPlayer) {
+            return;
+        }
+
+        gameState = newGameState;
+        currentPlayer = newCurrentPlayer;
+        ByteBuffer frame = ByteBuffer.allocate(SpectatorFrames.HEADER_SIZE + 6
+                + moved * SpectatorFrames.MOVE_SIZE + paid * SpectatorFrames.MONEY_SIZE
+                + revealed * SpectatorFrames.TOKEN_SIZE);
+        SpectatorFrames.putHeader(frame, SpectatorFrames.DELTA, ++sequence, gameState, currentPlayer);
+
+        frame.putShort((short) moved);
+        for (int i = 0; i < players.length; i++) {
+            int tile = tileIndexOf(players[i]);
+            if (tile != playerTiles[i]) {
+                playerTiles[i] = tile;
+                frame.putShort((short) i).putInt(tile);
+            }
+        }
+        frame.putShort((short) paid);
+        for (int i = 0; i < players.length; i++) {
+            int money = players[i].getMoney();
+            if (money != playerMoney[i]) {
+                playerMoney[i] = money;
+                frame.putShort((short) i).putInt(money);
+            }
+        }
+        frame.putShort((short) revealed);
+        for (int i = 0; i < tiles.length; i++) {
+            byte token = visibleTokenOf(tiles[i]);
+            if (token != visibleTokens[i]) {
+                visibleTokens[i] = token;
+                frame.putInt(tiles[i].getIndex()).put(token);
+            }
+        }
+
+        snapshot = null;
+        fanOut(frame.flip().asReadOnlyBuffer());
+    }
+
+    /**
+     * Checks if the stream has been closed
+     *
+     * @return True if the stream has been closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Disconnects every spectator
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Subscription subscription : subscriptions) {
+            subscription.disconnect();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the last published state, encoding it only once per update
+     *
+     * @return The snapshot frame
+     */
+    private ByteBuffer snapshot() {
+        if (snapshot != null) {
+            return snapshot;
+        }
+        byte[][] names = new byte[players.length][];
+        int size = SpectatorFrames.HEADER_SIZE + 2 + 2;
+        for (int i = 0; i < players.length; i++) {
+            names[i] = SpectatorFrames.encodeName(players[i].getName());
+            size += 2 + names[i].length + 4 + 4;
+        }
+        int visible = 0;
+        for (byte token : visibleTokens) {
+            if (token != SpectatorFrames.NO_TOKEN) visible++;
+        }
+        size += visible * SpectatorFrames.TOKEN_SIZE;
+
+        ByteBuffer frame = ByteBuffer.allocate(size);
+        SpectatorFrames.putHeader(frame, SpectatorFrames.SNAPSHOT, sequence, gameState, currentPlayer);
+        frame.putShort((short) players.length);
+        for (int i = 0; i < players.length; i++) {
+            frame.putShort((short) names[i].length).put(names[i]).putInt(playerTiles[i]).putInt(playerMoney[i]);
+        }
+        frame.putShort((short) visible);
+        for (int i = 0; i < tiles.length; i++) {
+            if (visibleTokens[i] != SpectatorFrames.NO_TOKEN) {
+                frame.putInt(tiles[i].getIndex()).put(visibleTokens[i]);
+            }
+        }
+        snapshot = frame.flip().asReadOnlyBuffer();
+        return snapshot;
+    }
+
+    /**
+     * Queues a frame for every spectator
+     *
+     * @param frame The frame
+     */
+    private void fanOut(ByteBuffer frame) {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(frame);
+        }
+    }
+
+    /**
+     * Checks if the game still has the players of the latest snapshot
+     *
+     * @return True if the players are the same, in the same order
+     */
+    private boolean samePlayers() {
+        List<Player> current = game.getPlayers();
+        if (current.size() != players.length) {
+            return false;
+        }
+        for (int i = 0; i < players.length; i++) {
+            if (current.get(i) != players[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the position of a player in the latest snapshot
+     *
+     * @param player The player
+     * @return The position, or -1 if the player is null or not in the snapshot
+     */
+    private int indexOf(Player player) {
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == player) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the tile a player stands on
+     *
+     * @param player The player
+     * @return The tile index, or {@link SpectatorFrames#NO_TILE}
+     */
+    private static int tileIndexOf(Player player) {
+        Tile tile = player.getCurrentTile();
+        return tile == null ? SpectatorFrames.NO_TILE : tile.getIndex();
+    }
+
+    /**
+     * Returns the token a tile shows
+     *
+     * @param tile The tile
+     * @return The ordinal of the revealed token, or {@link SpectatorFrames#NO_TOKEN}
+     */
+    private static byte visibleTokenOf(Tile tile) {
+        TokenType token = tile.getHiddenToken();
+        return tile.isTokenRevealed() && token != null ? (byte) token.ordinal() : SpectatorFrames.NO_TOKEN;
+    }
+
+    /**
+     * A connected spectator with its queue of frames waiting to be delivered
+     */
+    public final class Subscription {
+        private final Consumer<ByteBuffer> frames;
+        private final Runnable onDisconnected;
+        private final BlockingQueue<ByteBuffer> pending = new ArrayBlockingQueue<>(maxPendingFrames);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean connected = new AtomicBoolean(true);
+
+        /**
+         * Creates a subscription
+         *
+         * @param frames Receives every frame
+         * @param onDisconnected Called once when the spectator is disconnected, or null
+         */
+        private Subscription(Consumer<ByteBuffer> frames, Runnable onDisconnected) {
+            this.frames = frames;
+            this.onDisconnected = onDisconnected;
+        }
+
+        /**
+         * Checks if the spectator still receives frames
+         *
+         * @return True if the spectator is connected
+         */
+        public boolean isConnected() {
+            return connected.get();
+        }
+
+        /**
+         * Returns the number of frames waiting to be delivered to the spectator
+         *
+         * @return The number of pending frames
+         */
+        public int getPendingFrames() {
+            return pending.size();
+        }
+
+        /**
+         * Stops sending frames to the spectator
+         */
+        public void cancel() {
+            if (connected.compareAndSet(true, false)) {
+                subscriptions.remove(this);
+                pending.clear();
+            }
+        }
+
+        /**
+         * Queues a frame, disconnecting the spectator if it has too many frames waiting
+         *
+         * @param frame The frame
+         */
+        private void offer(ByteBuffer frame) {
+            if (!connected.get()) {
+                return;
+            }
+            if (!pending.offer(frame.duplicate())) {
+                logger.info("Disconnecting spectator that fell " + pending.size() + " frames behind");
+                disconnect();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                delivery.execute(this::drain);
+            }
+        }
+
+        /**
+         * Hands up to {@link #MAX_DRAIN_BATCH} waiting frames to the spectator and queues the
+         * rest as a new task, so other spectators get a turn on the delivery threads
+         */
+        private void drain() {
+            ByteBuffer frame;
+            for (int delivered = 0; delivered < MAX_DRAIN_BATCH && connected.get()
+                    && (frame = pending.poll()) != null; delivered++) {
+                try {
+                    frames.accept(frame);
+                } catch (RuntimeException e) {
+                    logger.warning("Disconnecting spectator that failed to take a frame: " + e.getMessage());
+                    disconnect();
+                }
+            }
+            draining.set(false);
+            if (connected.get() && !pending.isEmpty() && draining.compareAndSet(false, true)) {
+                delivery.execute(this::drain);
+            }
+        }
+
+        /**
+         * Disconnects the spectator and tells it so on the delivery thread
+         */
+        private void disconnect() {
+            if (connected.compareAndSet(true, false)) {
+                subscriptions.remove(this);
+                pending.clear();
+                if (onDisconnected != null) {
+                    delivery.execute(onDisconnected);
+                }
+            }
+        }
+    }
+}
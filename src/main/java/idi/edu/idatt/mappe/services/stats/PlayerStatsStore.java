@@ -0,0 +1,314 @@
+package idi.edu.idatt.mappe.services.stats;
+
+import idi.edu.idatt.mappe.models.PlayerGameResult;
+import idi.edu.idatt.mappe.models.PlayerStats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+import java.util.logging.Logger;
+
+/**
+ * Local store of cumulative player statistics, kept between sessions
+ * <p>
+ *     Statistics are stored in a directory as an append-only log and an on-disk hash index.
+ *     Recording a game appends one record per player to the log and points the index at it,
+ *     and looking up a player is an in-memory probe of the index followed by one read from
+ *     the log. When more than half of the log is old records, the log is compacted into a
+ *     new file with only the latest record of every player.
+ * </p>
+ * <p>
+ *     Player names are matched without regard to case or surrounding spaces.
+ *     {@link #recordGameAsync} writes on a background thread, so a game can end without
+ *     waiting for the disk. {@link #getAsync} reads on the same thread, after the games
+ *     recorded before it, so views never wait for a write or a compaction.
+ * </p>
+ */
+public class PlayerStatsStore implements Closeable {
+    private static final Logger logger = Logger.getLogger(PlayerStatsStore.class.getName());
+
+    private static final String LOG_FILE = "player-stats.log";
+    private static final String INDEX_FILE = "player-stats.idx";
+    private static final long MIN_COMPACTION_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final ExecutorService writer;
+    private StatsLog log;
+    private StatsHashIndex index;
+    private long liveBytes;
+
+    /**
+     * Creates a store over an open log and index
+     *
+     * @param directory The directory of the store
+     * @param log The log
+     * @param index The index, covering the whole log
+     * @param liveBytes The size of the latest record of every player
+     */
+    private PlayerStatsStore(Path directory, StatsLog log, StatsHashIndex index, long liveBytes) {
+        this.directory = directory;
+        this.log = log;
+        this.index = index;
+        this.liveBytes = liveBytes;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "player-stats-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens the store in a directory, creating it if it does not exist.
+     * A missing or outdated index is rebuilt from the log.
+     *
+     * @param directory The directory of the store
+     * @return The store
+     * @throws IOException If the store cannot be opened
+     */
+    public static PlayerStatsStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        StatsLog log = StatsLog.open(directory.resolve(LOG_FILE));
+        try {
+            StatsHashIndex index = StatsHashIndex.load(directory.resolve(INDEX_FILE));
+            if (index == null || index.getCoveredLength() > log.size()) {
+                logger.info("Rebuilding player statistics index");
+                if (index != null) {
+                    index.close();
+                }
+                index = StatsHashIndex.create(directory.resolve(INDEX_FILE));
+            }
+            replay(log, index);
+
+            long liveBytes = 0;
+            for (long offset : offsetsOf(index)) {
+                liveBytes += log.recordLength(offset);
+            }
+            logger.info("Opened player statistics for " + index.size() + " players");
+            return new PlayerStatsStore(directory, log, index, liveBytes);
+        } catch (IOException e) {
+            log.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the statistics of a player
+     *
+     * @param playerName The name of the player
+     * @return The statistics, with every value zero if the player has not played
+     * @throws IOException If the statistics cannot be read
+     */
+    public synchronized PlayerStats get(String playerName) throws IOException {
+        long offset = find(playerName);
+        return offset == StatsHashIndex.NOT_FOUND ? PlayerStats.empty(playerName.trim()) : log.read(offset);
+    }
+
+    /**
+     * Looks up the statistics of a player on the background thread
+     *
+     * @param playerName The name of the player
+     * @return A future with the statistics, completed after every game recorded before the call
+     */
+    public CompletableFuture<PlayerStats> getAsync(String playerName) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return get(playerName);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, writer);
+    }
+
+    /**
+     * Returns the number of players with statistics
+     *
+     * @return The number of players
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Adds a finished game to the statistics of every player in it
+     *
+     * @param results The result of each player in the game
+     * @throws IOException If the statistics cannot be written
+     */
+    public synchronized void recordGame(Collection<PlayerGameResult> results) throws IOException {
+        for (PlayerGameResult result : results) {
+            String name = result.getPlayerName().trim();
+            long previous = find(name);
+            PlayerStats current = previous == StatsHashIndex.NOT_FOUND ? PlayerStats.empty(name) : log.read(previous);
+
+            long offset = log.append(current.withGame(result));
+            index.put(hash(name), offset, isPlayer(log, name));
+            liveBytes += log.recordLength(offset)
+                    - (previous == StatsHashIndex.NOT_FOUND ? 0 : log.recordLength(previous));
+        }
+        index.setCoveredLength(log.size());
+
+        if (log.size() > MIN_COMPACTION_BYTES && log.size() - StatsLog.HEADER_SIZE > 2 * liveBytes) {
+            compact();
+        }
+    }
+
+    /**
+     * Adds a finished game to the statistics on a background thread
+     *
+     * @param results The result of each player in the game
+     * @return A future that completes when the statistics are written
+     */
+    public CompletableFuture<Void> recordGameAsync(Collection<PlayerGameResult> results) {
+        List<PlayerGameResult> copy = List.copyOf(results);
+        return CompletableFuture.runAsync(() -> {
+            try {
+                recordGame(copy);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, writer);
+    }
+
+    /**
+     * Rewrites the log with only the latest record of every player and rebuilds the index
+     *
+     * @throws IOException If the log cannot be rewritten
+     */
+    public synchronized void compact() throws IOException {
+        List<PlayerStats> latest = new ArrayList<>(index.size());
+        for (long offset : offsetsOf(index)) {
+            latest.add(log.read(offset));
+        }
+
+        Path logPath = directory.resolve(LOG_FILE);
+        Path temporary = directory.resolve(LOG_FILE + ".tmp");
+        Files.deleteIfExists(temporary);
+        try (StatsLog compacted = StatsLog.open(temporary)) {
+            for (PlayerStats stats : latest) {
+                compacted.append(stats);
+            }
+            compacted.force();
+        }
+
+        long before = log.size();
+        log.close();
+        Files.move(temporary, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log = StatsLog.open(logPath);
+
+        index.clear(latest.size());
+        replay(log, index);
+        liveBytes = log.size() - StatsLog.HEADER_SIZE;
+        logger.info("Compacted player statistics log from " + before + " to " + log.size() + " bytes");
+    }
+
+    /**
+     * Waits for pending background writes and closes the store
+     *
+     * @throws IOException If the store cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for player statistics to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            log.force();
+            log.close();
+            index.close();
+        }
+    }
+
+    /**
+     * Finds the offset of a player's latest record
+     *
+     * @param playerName The name of the player
+     * @return The offset, or {@link StatsHashIndex#NOT_FOUND}
+     */
+    private long find(String playerName) {
+        String name = playerName.trim();
+        return index.get(hash(name), isPlayer(log, name));
+    }
+
+    /**
+     * Returns a check for whether the record at an offset belongs to a player
+     *
+     * @param log The log holding the records
+     * @param name The trimmed name of the player
+     * @return The check
+     */
+    private static LongPredicate isPlayer(StatsLog log, String name) {
+        String key = key(name);
+        return offset -> {
+            try {
+                return key(log.read(offset).getName()).equals(key);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * Adds the records after the part of the log the index covers to the index
+     *
+     * @param log The log
+     * @param index The index
+     */
+    private static void replay(StatsLog log, StatsHashIndex index) throws IOException {
+        if (index.getCoveredLength() >= log.size()) {
+            return;
+        }
+        log.scan(index.getCoveredLength(),
+                (offset, stats) -> index.put(hash(stats.getName()), offset, isPlayer(log, stats.getName())));
+        index.setCoveredLength(log.size());
+    }
+
+    /**
+     * Returns the latest record offset of every player in an index
+     *
+     * @param index The index
+     * @return The offsets
+     */
+    private static long[] offsetsOf(StatsHashIndex index) {
+        long[] offsets = new long[index.size()];
+        int[] count = {0};
+        index.forEachOffset(offset -> offsets[count[0]++] = offset);
+        return offsets;
+    }
+
+    /**
+     * Hashes a player name without regard to case
+     *
+     * @param name The trimmed name
+     * @return The hash
+     */
+    private static int hash(String name) {
+        return key(name).hashCode();
+    }
+
+    /**
+     * Returns the form of a player name used to match players
+     *
+     * @param name The trimmed name
+     * @return The name in lower case
+     */
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
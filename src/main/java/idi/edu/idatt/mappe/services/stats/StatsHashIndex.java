@@ -0,0 +1,306 @@
+package idi.edu.idatt.mappe.services.stats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * On-disk hash index from player names to their latest record in the statistics log
+ * <p>
+ *     The index is an open-addressing table with linear probing. Each slot holds the hash of
+ *     a player name and the log offset of the player's latest record. The file starts with a
+ *     header holding the capacity, the number of players and how much of the log the index
+ *     covers, so records appended after the index was last written can be replayed.
+ * </p>
+ * <p>
+ *     The table is kept in memory as two primitive arrays and every change is written through
+ *     to the file, so a lookup does not touch the disk and the file is always current.
+ *     The table doubles when it is more than {@value #MAX_LOAD_PERCENT}% full.
+ * </p>
+ */
+final class StatsHashIndex implements Closeable {
+    static final long NOT_FOUND = -1;
+
+    private static final int MAGIC = 0x50534958;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int SLOT_SIZE = 12;
+    private static final int MIN_CAPACITY = 64;
+    private static final int MAX_LOAD_PERCENT = 60;
+    private static final long EMPTY = 0;
+
+    private final Path path;
+    private FileChannel channel;
+    private int[] hashes;
+    private long[] offsets;
+    private int size;
+    private long coveredLength;
+
+    /**
+     * Creates an index over an open file
+     *
+     * @param path The path of the index file
+     * @param channel The channel of the index file
+     * @param hashes The name hash of every slot
+     * @param offsets The log offset of every slot, {@link #EMPTY} for free slots
+     * @param size The number of players in the index
+     * @param coveredLength The length of the log the index covers
+     */
+    private StatsHashIndex(Path path, FileChannel channel, int[] hashes, long[] offsets, int size, long coveredLength) {
+        this.path = path;
+        this.channel = channel;
+        this.hashes = hashes;
+        this.offsets = offsets;
+        this.size = size;
+        this.coveredLength = coveredLength;
+    }
+
+    /**
+     * Loads an index file
+     *
+     * @param path The path of the index file
+     * @return The index, or null if the file does not exist or is not a valid index
+     * @throws IOException If the file cannot be read
+     */
+    static StatsHashIndex load(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        int capacity = StatsLog.readFully(channel, header, 0) ? header.getInt(8) : 0;
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || capacity < MIN_CAPACITY
+                || Integer.bitCount(capacity) != 1 || channel.size() != HEADER_SIZE + (long) capacity * SLOT_SIZE) {
+            channel.close();
+            return null;
+        }
+
+        ByteBuffer slots = ByteBuffer.allocate(capacity * SLOT_SIZE);
+        StatsLog.readFully(channel, slots, HEADER_SIZE);
+        int[] hashes = new int[capacity];
+        long[] offsets = new long[capacity];
+        for (int slot = 0; slot < capacity; slot++) {
+            hashes[slot] = slots.getInt();
+            offsets[slot] = slots.getLong();
+        }
+        return new StatsHashIndex(path, channel, hashes, offsets, header.getInt(12), header.getLong(16));
+    }
+
+    /**
+     * Creates an empty index file, replacing any existing file
+     *
+     * @param path The path of the index file
+     * @return The empty index
+     * @throws IOException If the file cannot be written
+     */
+    static StatsHashIndex create(Path path) throws IOException {
+        StatsHashIndex index = new StatsHashIndex(path, null, new int[MIN_CAPACITY], new long[MIN_CAPACITY], 0, StatsLog.HEADER_SIZE);
+        index.writeFile();
+        return index;
+    }
+
+    /**
+     * Returns the number of players in the index
+     *
+     * @return The number of players
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the length of the log the index covers
+     *
+     * @return The log length in bytes
+     */
+    long getCoveredLength() {
+        return coveredLength;
+    }
+
+    /**
+     * Records how much of the log the index covers
+     *
+     * @param length The log length in bytes
+     * @throws IOException If the header cannot be written
+     */
+    void setCoveredLength(long length) throws IOException {
+        coveredLength = length;
+        writeHeader();
+    }
+
+    /**
+     * Finds the log offset of a player's latest record
+     *
+     * @param hash The hash of the player name
+     * @param isPlayer Returns whether the record at an offset belongs to the player
+     * @return The offset, or {@link #NOT_FOUND}
+     */
+    long get(int hash, LongPredicate isPlayer) {
+        int mask = offsets.length - 1;
+        for (int slot = spread(hash) & mask; offsets[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && isPlayer.test(offsets[slot])) {
+                return offsets[slot];
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Points a player to a new record
+     *
+     * @param hash The hash of the player name
+     * @param offset The log offset of the player's new record
+     * @param isPlayer Returns whether the record at an offset belongs to the player
+     * @return The offset of the player's previous record, or {@link #NOT_FOUND}
+     * @throws IOException If the index cannot be written
+     */
+    long put(int hash, long offset, LongPredicate isPlayer) throws IOException {
+        if ((size + 1) * 100L > offsets.length * (long) MAX_LOAD_PERCENT) {
+            resize(offsets.length * 2);
+        }
+
+        int mask = offsets.length - 1;
+        int slot = spread(hash) & mask;
+        while (offsets[slot] != EMPTY) {
+            if (hashes[slot] == hash && isPlayer.test(offsets[slot])) {
+                long previous = offsets[slot];
+                offsets[slot] = offset;
+                writeSlot(slot);
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        hashes[slot] = hash;
+        offsets[slot] = offset;
+        size++;
+        writeSlot(slot);
+        writeHeader();
+        return NOT_FOUND;
+    }
+
+    /**
+     * Runs an action for the latest record offset of every player, in slot order
+     *
+     * @param action The action to run
+     */
+    void forEachOffset(LongConsumer action) {
+        for (long offset : offsets) {
+            if (offset != EMPTY) {
+                action.accept(offset);
+            }
+        }
+    }
+
+    /**
+     * Removes every player from the index
+     *
+     * @param capacity The minimum number of players the emptied index should hold without growing
+     * @throws IOException If the index cannot be written
+     */
+    void clear(int capacity) throws IOException {
+        int slots = MIN_CAPACITY;
+        while (capacity * 100L > slots * (long) MAX_LOAD_PERCENT) {
+            slots *= 2;
+        }
+        hashes = new int[slots];
+        offsets = new long[slots];
+        size = 0;
+        coveredLength = StatsLog.HEADER_SIZE;
+        writeFile();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Moves every player to a table with a new capacity and rewrites the file
+     *
+     * @param capacity The new capacity, a power of two
+     */
+    private void resize(int capacity) throws IOException {
+        int[] oldHashes = hashes;
+        long[] oldOffsets = offsets;
+        hashes = new int[capacity];
+        offsets = new long[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldOffsets.length; i++) {
+            if (oldOffsets[i] == EMPTY) continue;
+            int slot = spread(oldHashes[i]) & mask;
+            while (offsets[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = oldHashes[i];
+            offsets[slot] = oldOffsets[i];
+        }
+        writeFile();
+    }
+
+    /**
+     * Writes the whole table to a temporary file and moves it over the index file
+     */
+    private void writeFile() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + offsets.length * SLOT_SIZE);
+            putHeader(buffer);
+            for (int slot = 0; slot < offsets.length; slot++) {
+                buffer.putInt(hashes[slot]).putLong(offsets[slot]);
+            }
+            StatsLog.writeFully(out, buffer.flip(), 0);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Writes the header to the index file
+     */
+    private void writeHeader() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        putHeader(buffer);
+        StatsLog.writeFully(channel, buffer.flip(), 0);
+    }
+
+    /**
+     * Writes a slot to the index file
+     *
+     * @param slot The slot to write
+     */
+    private void writeSlot(int slot) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SLOT_SIZE).putInt(hashes[slot]).putLong(offsets[slot]);
+        StatsLog.writeFully(channel, buffer.flip(), HEADER_SIZE + (long) slot * SLOT_SIZE);
+    }
+
+    /**
+     * Puts the header fields into a buffer
+     *
+     * @param buffer The buffer to put the header into
+     */
+    private void putHeader(ByteBuffer buffer) {
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(offsets.length).putInt(size).putLong(coveredLength);
+    }
+
+    /**
+     * Spreads the bits of a hash so nearby hashes land in different slots
+     *
+     * @param hash The hash
+     * @return The spread hash
+     */
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
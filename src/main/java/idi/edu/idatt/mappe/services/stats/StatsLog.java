@@ -0,0 +1,271 @@
+package idi.edu.idatt.mappe.services.stats;
+
+import idi.edu.idatt.mappe.models.PlayerStats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of player statistics records
+ * <p>
+ *     Every update of a player's statistics appends a complete record to the end of the file;
+ *     records are never changed in place, so the latest record of a player is the current one.
+ *     A record is a length, a CRC32 checksum and a payload with the player name and the
+ *     statistics. A record that was only partly written when the program stopped fails its
+ *     checksum and is cut off the end of the log when it is opened.
+ * </p>
+ */
+final class StatsLog implements Closeable {
+    static final int HEADER_SIZE = 8;
+    private static final int MAGIC = 0x50534C47;
+    private static final int VERSION = 1;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int FIXED_PAYLOAD_SIZE = 2 + 4 + 4 + 8 + 8;
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+
+    private final FileChannel channel;
+    private long size;
+
+    /**
+     * Receives the records found when scanning the log
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+        /**
+         * Called for a record
+         *
+         * @param offset The offset of the record in the log
+         * @param stats The statistics in the record
+         */
+        void visit(long offset, PlayerStats stats) throws IOException;
+    }
+
+    /**
+     * Creates a log over an open channel
+     *
+     * @param channel The channel of the log file
+     * @param size The size of the valid part of the log
+     */
+    private StatsLog(FileChannel channel, long size) {
+        this.channel = channel;
+        this.size = size;
+    }
+
+    /**
+     * Opens a log file, creating it if it does not exist
+     *
+     * @param path The path of the log file
+     * @return The log
+     * @throws IOException If the file cannot be opened or is not a statistics log
+     */
+    static StatsLog open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+                writeFully(channel, header, 0);
+                return new StatsLog(channel, HEADER_SIZE);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (!readFully(channel, header, 0) || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a player statistics log: " + path);
+            }
+            return new StatsLog(channel, channel.size());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the size of the log in bytes
+     *
+     * @return The size of the log
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Appends a record to the end of the log
+     *
+     * @param stats The statistics to append
+     * @return The offset of the new record
+     * @throws IOException If the record cannot be written
+     */
+    long append(PlayerStats stats) throws IOException {
+        ByteBuffer record = encode(stats);
+        long offset = size;
+        writeFully(channel, record, offset);
+        size += record.limit();
+        return offset;
+    }
+
+    /**
+     * Reads the record at an offset
+     *
+     * @param offset The offset of the record
+     * @return The statistics in the record
+     * @throws IOException If the record cannot be read or is damaged
+     */
+    PlayerStats read(long offset) throws IOException {
+        PlayerStats stats = tryRead(offset);
+        if (stats == null) {
+            throw new IOException("Damaged player statistics record at offset " + offset);
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the length of the record at an offset
+     *
+     * @param offset The offset of the record
+     * @return The length of the record in bytes, including its header
+     * @throws IOException If the length cannot be read
+     */
+    int recordLength(long offset) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(4);
+        if (!readFully(channel, length, offset)) {
+            throw new IOException("Damaged player statistics record at offset " + offset);
+        }
+        return RECORD_HEADER_SIZE + length.getInt(0);
+    }
+
+    /**
+     * Reads every record from an offset to the end of the log, in order.
+     * A damaged record at the end is removed from the log.
+     *
+     * @param from The offset of the first record
+     * @param visitor Receives every record
+     * @throws IOException If the log cannot be read
+     */
+    void scan(long from, RecordVisitor visitor) throws IOException {
+        long offset = Math.max(from, HEADER_SIZE);
+        while (offset < size) {
+            PlayerStats stats = tryRead(offset);
+            if (stats == null) {
+                channel.truncate(offset);
+                size = offset;
+                return;
+            }
+            visitor.visit(offset, stats);
+            offset += recordLength(offset);
+        }
+    }
+
+    /**
+     * Forces the written records to the storage device
+     *
+     * @throws IOException If the log cannot be synchronised
+     */
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads the record at an offset
+     *
+     * @param offset The offset of the record
+     * @return The statistics, or null if the record is incomplete or its checksum does not match
+     */
+    private PlayerStats tryRead(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        if (!readFully(channel, header, offset)) {
+            return null;
+        }
+        int length = header.getInt(0);
+        if (length < FIXED_PAYLOAD_SIZE || length > FIXED_PAYLOAD_SIZE + MAX_NAME_BYTES
+                || offset + RECORD_HEADER_SIZE + length > size) {
+            return null;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        if (!readFully(channel, payload, offset + RECORD_HEADER_SIZE)) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+        if ((int) crc.getValue() != header.getInt(4)) {
+            return null;
+        }
+
+        byte[] name = new byte[Short.toUnsignedInt(payload.getShort())];
+        if (name.length != length - FIXED_PAYLOAD_SIZE) {
+            return null;
+        }
+        payload.get(name);
+        return new PlayerStats(new String(name, StandardCharsets.UTF_8),
+                payload.getInt(), payload.getInt(), payload.getLong(), payload.getLong());
+    }
+
+    /**
+     * Encodes statistics as a record
+     *
+     * @param stats The statistics
+     * @return A buffer with the record, ready to be written
+     */
+    private static ByteBuffer encode(PlayerStats stats) {
+        byte[] name = stats.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Player name is too long to store");
+        }
+        int length = FIXED_PAYLOAD_SIZE + name.length;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+        record.putInt(length).putInt(0)
+                .putShort((short) name.length).put(name)
+                .putInt(stats.getGamesPlayed()).putInt(stats.getWins())
+                .putLong(stats.getTotalTurns()).putLong(stats.getTreasureEarned());
+
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), RECORD_HEADER_SIZE, length);
+        record.putInt(4, (int) crc.getValue());
+        return record.flip();
+    }
+
+    /**
+     * Writes a whole buffer at a position
+     *
+     * @param channel The channel to write to
+     * @param buffer The buffer to write
+     * @param position The position in the file
+     */
+    static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            at += channel.write(buffer, at);
+        }
+    }
+
+    /**
+     * Fills a buffer from a position
+     *
+     * @param channel The channel to read from
+     * @param buffer The buffer to fill
+     * @param position The position in the file
+     * @return False if the end of the file was reached before the buffer was full
+     */
+    static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, at);
+            if (read < 0) {
+                return false;
+            }
+            at += read;
+        }
+        buffer.flip();
+        return true;
+    }
+}
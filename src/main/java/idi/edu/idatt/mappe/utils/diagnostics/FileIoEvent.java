@@ -0,0 +1,34 @@
+package idi.edu.idatt.mappe.utils.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for loading or saving a board, rules or player file
+ */
+@Name("idi.edu.idatt.mappe.FileIo")
+@Label("Game File I/O")
+@Category({"Board Game", "Files"})
+@Description("A board, rules or player file loaded or saved")
+@Enabled(false)
+@StackTrace(false)
+public class FileIoEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("File Kind")
+    String fileKind;
+
+    @Label("Path")
+    String path;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+}
@@ -0,0 +1,310 @@
+package idi.edu.idatt.mappe.utils.diagnostics;
+
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
+import idi.edu.idatt.mappe.models.tileaction.TileAction;
+
+import java.io.File;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * In-process counters and latency histograms for turns, tile actions, observer dispatch and file I/O
+ * <p>
+ *     The instrumented code starts a Flight Recorder event, does its work and hands the event
+ *     to one of the record methods here. The record methods update the counters and histograms,
+ *     which are always on and can be read with {@link #getCount(Counter)} and
+ *     {@link #getHistogram(Timer)}, and commit the event only if Flight Recorder is recording it.
+ *     The events are disabled by default, so without a recording they are never filled in.
+ * </p>
+ * <p>
+ *     Finished turns are also handed to the turn listeners as {@link TurnSample}s, with the
+ *     first tile action performed on the recording thread since {@link #beginTurn()}.
+ * </p>
+ */
+public final class GameMetrics {
+
+    /**
+     * The counters kept by the metrics
+     */
+    public enum Counter {
+        TURNS,
+        TILE_ACTIONS,
+        OBSERVER_DISPATCHES,
+        FILES_LOADED,
+        FILES_SAVED,
+        BYTES_LOADED,
+        BYTES_SAVED
+    }
+
+    /**
+     * The durations kept by the metrics
+     */
+    public enum Timer {
+        TURN,
+        TILE_ACTION,
+        OBSERVER_DISPATCH,
+        FILE_LOAD,
+        FILE_SAVE
+    }
+
+    /**
+     * The kinds of files the game loads and saves
+     */
+    public enum FileKind {
+        BOARD,
+        RULES,
+        PLAYERS
+    }
+
+    private static final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+    private static final Map<Timer, LatencyHistogram> histograms = new EnumMap<>(Timer.class);
+    private static final Map<TileActionKind, LongAdder> tileActionCounts = new EnumMap<>(TileActionKind.class);
+    private static final ThreadLocal<TileActionKind[]> turnActions = new ThreadLocal<>();
+    private static final List<Consumer<TurnSample>> turnListeners = new CopyOnWriteArrayList<>();
+
+    static {
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, new LongAdder());
+        }
+        for (Timer timer : Timer.values()) {
+            histograms.put(timer, new LatencyHistogram());
+        }
+        for (TileActionKind kind : TileActionKind.values()) {
+            tileActionCounts.put(kind, new LongAdder());
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private GameMetrics() {
+    }
+
+    /**
+     * Marks the start of a turn on the calling thread, so the first tile action performed on
+     * this thread until the turn is recorded becomes the land action of the turn
+     */
+    public static void beginTurn() {
+        turnActions.set(new TileActionKind[1]);
+    }
+
+    /**
+     * Records a finished turn and hands it to the turn listeners
+     *
+     * @param event The event started at the beginning of the turn
+     * @param startNanos The {@link System#nanoTime()} at the beginning of the turn
+     * @param gameType The name of the game type
+     * @param board The layout key of the board
+     * @param player The player, on the tile the turn ended on
+     * @param roll The total of the roll, or 0 if the player did not roll
+     * @param fromTile The tile the player started the turn on
+     * @param diamondFound True if the player found the diamond during the turn
+     */
+    public static void recordTurn(TurnEvent event, long startNanos, String gameType, String board, Player player,
+                                  int roll, int fromTile, boolean diamondFound) {
+        counters.get(Counter.TURNS).increment();
+        histograms.get(Timer.TURN).record(System.nanoTime() - startNanos);
+        TileActionKind[] actions = turnActions.get();
+        turnActions.remove();
+        TileActionKind landAction = actions != null ? actions[0] : null;
+        int toTile = player.getCurrentTile() != null ? player.getCurrentTile().getIndex() : -1;
+
+        if (event.shouldCommit()) {
+            event.gameType = gameType;
+            event.board = board;
+            event.player = player.getName();
+            event.roll = roll;
+            event.fromTile = fromTile;
+            event.toTile = toTile;
+            event.money = player.getMoney();
+            event.landAction = landAction != null ? landAction.name() : null;
+            event.diamondFound = diamondFound;
+            event.commit();
+        }
+        if (!turnListeners.isEmpty()) {
+            TurnSample sample = new TurnSample(gameType, board, player.getName(), roll, fromTile, toTile,
+                    player.getMoney(), landAction, diamondFound);
+            for (Consumer<TurnSample> listener : turnListeners) {
+                listener.accept(sample);
+            }
+        }
+    }
+
+    /**
+     * Adds a listener that receives every recorded turn, on the thread that recorded it
+     *
+     * @param listener The listener
+     */
+    public static void addTurnListener(Consumer<TurnSample> listener) {
+        turnListeners.add(listener);
+    }
+
+    /**
+     * Removes a turn listener
+     *
+     * @param listener The listener to remove
+     */
+    public static void removeTurnListener(Consumer<TurnSample> listener) {
+        turnListeners.remove(listener);
+    }
+
+    /**
+     * Records a performed tile action
+     *
+     * @param event The event started before the action was performed
+     * @param startNanos The {@link System#nanoTime()} before the action was performed
+     * @param action The action
+     * @param player The player the action was performed on
+     * @param fromTile The tile the player was on before the action
+     */
+    public static void recordTileAction(TileActionEvent event, long startNanos, TileAction action,
+                                        Player player, int fromTile) {
+        counters.get(Counter.TILE_ACTIONS).increment();
+        tileActionCounts.get(action.getKind()).increment();
+        TileActionKind[] actions = turnActions.get();
+        if (actions != null && actions[0] == null) {
+            actions[0] = action.getKind();
+        }
+        histograms.get(Timer.TILE_ACTION).record(System.nanoTime() - startNanos);
+        if (event.shouldCommit()) {
+            event.actionKind = action.getKind().name();
+            event.player = player.getName();
+            event.fromTile = fromTile;
+            event.toTile = player.getCurrentTile() != null ? player.getCurrentTile().getIndex() : -1;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a notification sent to the observers of a game
+     *
+     * @param event The event started before the observers were notified
+     * @param startNanos The {@link System#nanoTime()} before the observers were notified
+     * @param notification The name of the notification
+     * @param observerCount The number of observers notified
+     */
+    public static void recordObserverDispatch(ObserverDispatchEvent event, long startNanos,
+                                              String notification, int observerCount) {
+        counters.get(Counter.OBSERVER_DISPATCHES).increment();
+        histograms.get(Timer.OBSERVER_DISPATCH).record(System.nanoTime() - startNanos);
+        if (event.shouldCommit()) {
+            event.notification = notification;
+            event.observerCount = observerCount;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a loaded file
+     *
+     * @param event The event started before the file was read
+     * @param startNanos The {@link System#nanoTime()} before the file was read
+     * @param kind The kind of file
+     * @param path The path of the file
+     */
+    public static void recordFileLoad(FileIoEvent event, long startNanos, FileKind kind, String path) {
+        recordFileIo(event, startNanos, kind, path, "load",
+                Counter.FILES_LOADED, Counter.BYTES_LOADED, Timer.FILE_LOAD);
+    }
+
+    /**
+     * Records a saved file
+     *
+     * @param event The event started before the file was written
+     * @param startNanos The {@link System#nanoTime()} before the file was written
+     * @param kind The kind of file
+     * @param path The path of the file
+     */
+    public static void recordFileSave(FileIoEvent event, long startNanos, FileKind kind, String path) {
+        recordFileIo(event, startNanos, kind, path, "save",
+                Counter.FILES_SAVED, Counter.BYTES_SAVED, Timer.FILE_SAVE);
+    }
+
+    /**
+     * Returns the value of a counter
+     *
+     * @param counter The counter
+     * @return The value
+     */
+    public static long getCount(Counter counter) {
+        return counters.get(counter).sum();
+    }
+
+    /**
+     * Returns the number of times actions of a kind were performed
+     *
+     * @param kind The kind of action
+     * @return The number of actions performed
+     */
+    public static long getTileActionCount(TileActionKind kind) {
+        return tileActionCounts.get(kind).sum();
+    }
+
+    /**
+     * Returns the recorded durations of a timer
+     *
+     * @param timer The timer
+     * @return A snapshot of the histogram
+     */
+    public static LatencyHistogram.Snapshot getHistogram(Timer timer) {
+        return histograms.get(timer).snapshot();
+    }
+
+    /**
+     * Sets all counters to zero and clears all histograms
+     */
+    public static void reset() {
+        counters.values().forEach(LongAdder::reset);
+        tileActionCounts.values().forEach(LongAdder::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * Returns a readable summary of all counters and timers
+     *
+     * @return The summary, one metric per line
+     */
+    public static String summary() {
+        StringBuilder summary = new StringBuilder();
+        for (Counter counter : Counter.values()) {
+            summary.append(counter).append(": ").append(getCount(counter)).append('\n');
+        }
+        for (Timer timer : Timer.values()) {
+            summary.append(timer).append(": ").append(getHistogram(timer)).append('\n');
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Records a loaded or saved file
+     *
+     * @param event The event started before the file was read or written
+     * @param startNanos The {@link System#nanoTime()} before the file was read or written
+     * @param kind The kind of file
+     * @param path The path of the file
+     * @param operation "load" or "save"
+     * @param fileCounter The counter of files
+     * @param byteCounter The counter of bytes
+     * @param timer The timer of the operation
+     */
+    private static void recordFileIo(FileIoEvent event, long startNanos, FileKind kind, String path,
+                                     String operation, Counter fileCounter, Counter byteCounter, Timer timer) {
+        long duration = System.nanoTime() - startNanos;
+        long bytes = new File(path).length();
+        counters.get(fileCounter).increment();
+        counters.get(byteCounter).add(bytes);
+        histograms.get(timer).record(duration);
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.fileKind = kind.name();
+            event.path = path;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package idi.edu.idatt.mappe.utils.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for notifying the observers of a game
+ */
+@Name("idi.edu.idatt.mappe.ObserverDispatch")
+@Label("Observer Dispatch")
+@Category({"Board Game", "Observers"})
+@Description("A notification sent to every observer of a game")
+@Enabled(false)
+@StackTrace(false)
+public class ObserverDispatchEvent extends Event {
+    @Label("Notification")
+    String notification;
+
+    @Label("Observers")
+    int observerCount;
+}
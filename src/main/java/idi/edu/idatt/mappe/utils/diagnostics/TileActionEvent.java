@@ -0,0 +1,32 @@
+package idi.edu.idatt.mappe.utils.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for performing the land action of a tile
+ */
+@Name("idi.edu.idatt.mappe.TileAction")
+@Label("Tile Action")
+@Category({"Board Game", "Tile Actions"})
+@Description("A tile action performed on a player")
+@Enabled(false)
+@StackTrace(false)
+public class TileActionEvent extends Event {
+    @Label("Action Kind")
+    String actionKind;
+
+    @Label("Player")
+    String player;
+
+    @Label("From Tile")
+    int fromTile;
+
+    @Label("To Tile")
+    int toTile;
+}
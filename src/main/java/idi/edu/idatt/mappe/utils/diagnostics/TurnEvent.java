@@ -0,0 +1,52 @@
+package idi.edu.idatt.mappe.utils.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one turn, from the roll until the next player is up
+ */
+@Name(TurnEvent.NAME)
+@Label("Turn")
+@Category({"Board Game", "Turns"})
+@Description("A player's turn, from the start of the turn until the next player is up")
+@Enabled(false)
+@StackTrace(false)
+public class TurnEvent extends Event {
+    /**
+     * The name of the event in Flight Recorder recordings
+     */
+    public static final String NAME = "idi.edu.idatt.mappe.Turn";
+
+    @Label("Game Type")
+    String gameType;
+
+    @Label("Board")
+    String board;
+
+    @Label("Player")
+    String player;
+
+    @Label("Roll")
+    int roll;
+
+    @Label("From Tile")
+    int fromTile;
+
+    @Label("To Tile")
+    int toTile;
+
+    @Label("Money")
+    int money;
+
+    @Label("Land Action")
+    String landAction;
+
+    @Label("Diamond Found")
+    boolean diamondFound;
+}
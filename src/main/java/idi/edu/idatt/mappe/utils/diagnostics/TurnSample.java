@@ -0,0 +1,126 @@
+package idi.edu.idatt.mappe.utils.diagnostics;
+
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
+
+/**
+ * The facts of one finished turn, as handed to the turn listeners of {@link GameMetrics}
+ */
+public final class TurnSample {
+    private final String gameType;
+    private final String board;
+    private final String player;
+    private final int roll;
+    private final int fromTile;
+    private final int toTile;
+    private final int money;
+    private final TileActionKind landAction;
+    private final boolean diamondFound;
+
+    /**
+     * Creates a turn sample
+     *
+     * @param gameType The name of the game type
+     * @param board The layout key of the board
+     * @param player The name of the player
+     * @param roll The total of the roll, or 0 if the player did not roll
+     * @param fromTile The tile the player started the turn on
+     * @param toTile The tile the player ended the turn on
+     * @param money The money of the player at the end of the turn
+     * @param landAction The kind of the first tile action of the turn, or null if there was none
+     * @param diamondFound True if the player found the diamond during the turn
+     */
+    public TurnSample(String gameType, String board, String player, int roll, int fromTile, int toTile,
+                      int money, TileActionKind landAction, boolean diamondFound) {
+        this.gameType = gameType;
+        this.board = board;
+        this.player = player;
+        this.roll = roll;
+        this.fromTile = fromTile;
+        this.toTile = toTile;
+        this.money = money;
+        this.landAction = landAction;
+        this.diamondFound = diamondFound;
+    }
+
+    /**
+     * Returns the name of the game type
+     *
+     * @return The game type, or null if it is unknown
+     */
+    public String getGameType() {
+        return gameType;
+    }
+
+    /**
+     * Returns the layout key of the board
+     *
+     * @return The board key, or null if it is unknown
+     * @see idi.edu.idatt.mappe.models.Board#getLayoutKey()
+     */
+    public String getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the name of the player
+     *
+     * @return The player name
+     */
+    public String getPlayer() {
+        return player;
+    }
+
+    /**
+     * Returns the total of the roll
+     *
+     * @return The roll, or 0 if the player did not roll
+     */
+    public int getRoll() {
+        return roll;
+    }
+
+    /**
+     * Returns the tile the player started the turn on
+     *
+     * @return The tile index, or -1 if the player was not on a tile
+     */
+    public int getFromTile() {
+        return fromTile;
+    }
+
+    /**
+     * Returns the tile the player ended the turn on
+     *
+     * @return The tile index, or -1 if the player is not on a tile
+     */
+    public int getToTile() {
+        return toTile;
+    }
+
+    /**
+     * Returns the money of the player at the end of the turn
+     *
+     * @return The money
+     */
+    public int getMoney() {
+        return money;
+    }
+
+    /**
+     * Returns the kind of the first tile action of the turn
+     *
+     * @return The kind, or null if no tile action was performed
+     */
+    public TileActionKind getLandAction() {
+        return landAction;
+    }
+
+    /**
+     * Returns whether the player found the diamond during the turn
+     *
+     * @return True if the diamond was found
+     */
+    public boolean isDiamondFound() {
+        return diamondFound;
+    }
+}
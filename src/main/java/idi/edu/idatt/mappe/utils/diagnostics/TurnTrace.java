@@ -0,0 +1,133 @@
+package idi.edu.idatt.mappe.utils.diagnostics;
+
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.Player;
+
+/**
+ * Tracks the turn in progress for {@link GameMetrics}
+ * <p>
+ *     A turn in the user interface spans dice and token animations, so it cannot be timed
+ *     inside one method. The controller begins the trace when a turn starts, adds the roll
+ *     when the dice are thrown and ends the trace when the next player is up. The controller
+ *     also adds the time it spends in model code, so the turn can be split into model time
+ *     and the time spent waiting for the view.
+ * </p>
+ */
+public class TurnTrace {
+
+    /**
+     * Receives the start and end of every traced turn
+     */
+    public interface Listener {
+        /**
+         * Called when a turn starts
+         */
+        void onTurnStarted();
+
+        /**
+         * Called when a turn ends
+         *
+         * @param turnNanos The duration of the turn
+         * @param modelNanos The time spent in model code during the turn
+         */
+        void onTurnEnded(long turnNanos, long modelNanos);
+    }
+
+    private TurnEvent event;
+    private long startNanos;
+    private String gameType;
+    private String board;
+    private Player player;
+    private int fromTile;
+    private boolean hadDiamond;
+    private int roll;
+    private long modelNanos;
+    private Listener listener;
+
+    /**
+     * Begins tracing a turn, ending the turn in progress first
+     *
+     * @param game The game being played
+     * @param player The player whose turn it is
+     */
+    public void begin(BoardGame game, Player player) {
+        end();
+        this.event = new TurnEvent();
+        this.event.begin();
+        this.startNanos = System.nanoTime();
+        this.gameType = game.getGameType() != null ? game.getGameType().name() : null;
+        this.board = game.getBoardKey();
+        this.player = player;
+        this.fromTile = tileOf(player);
+        this.hadDiamond = player.hasDiamond();
+        GameMetrics.beginTurn();
+        this.roll = 0;
+        this.modelNanos = 0;
+        if (listener != null) {
+            listener.onTurnStarted();
+        }
+    }
+
+    /**
+     * Sets the roll of the turn in progress
+     *
+     * @param roll The total of the dice
+     */
+    public void setRoll(int roll) {
+        this.roll = roll;
+    }
+
+    /**
+     * Adds time spent in model code to the turn in progress
+     *
+     * @param nanos The time in nanoseconds
+     */
+    public void addModelTime(long nanos) {
+        modelNanos += nanos;
+    }
+
+    /**
+     * Sets the listener that receives the start and end of every turn
+     *
+     * @param listener The listener, or null to remove it
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Ends the turn in progress and records it. Does nothing if no turn is in progress.
+     */
+    public void end() {
+        if (event == null) {
+            return;
+        }
+        long turnNanos = System.nanoTime() - startNanos;
+        GameMetrics.recordTurn(event, startNanos, gameType, board, player, roll, fromTile,
+                player.hasDiamond() && !hadDiamond);
+        event = null;
+        player = null;
+        if (listener != null) {
+            listener.onTurnEnded(turnNanos, modelNanos);
+        }
+    }
+
+    /**
+     * Returns whether a turn is being traced
+     *
+     * @return True if a turn is in progress
+     */
+    public boolean isActive() {
+        return event != null;
+    }
+
+    /**
+     * Returns the tile index of a player
+     *
+     * @param player The player
+     * @return The index of the player's tile, or -1 if the player is not on a tile
+     */
+    private static int tileOf(Player player) {
+        return player.getCurrentTile() != null ? player.getCurrentTile().getIndex() : -1;
+    }
+}
@@ -1,7 +1,9 @@
 package idi.edu.idatt.mappe.utils.factory;
 
 import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.LandActionResolver;
 import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.TokenPool;
 import idi.edu.idatt.mappe.models.enums.Direction;
 import idi.edu.idatt.mappe.models.enums.GameType;
 import idi.edu.idatt.mappe.models.enums.TileType;
@@ -125,7 +127,8 @@ public class BoardFactory {
             int start = randomTileIndex(5, 80, board);
             int end = randomDestinationForLadder(start, board);
 
-            if (board.getTileByIndex(start).getLandAction() == null) {
+            if (board.getTileByIndex(start).getLandAction() == null
+                    && !LandActionResolver.createsLoop(board, start, end)) {
                 board.getTileByIndex(start).setLandAction(
                         new LadderTileAction(end, "Ladder from " + start + " to " + end, board)
                 );
@@ -144,7 +147,8 @@ public class BoardFactory {
             int start = randomTileIndex(15, 88, board);
             int end = randomDestinationForSnake(start, board);
 
-            if (board.getTileByIndex(start).getLandAction() == null) {
+            if (board.getTileByIndex(start).getLandAction() == null
+                    && !LandActionResolver.createsLoop(board, start, end)) {
                 board.getTileByIndex(start).setLandAction(
                         new SnakeTileAction(end, "Snake from " + start + " to " + end, board)
                 );
@@ -231,7 +235,7 @@ public class BoardFactory {
      * @return A random valid tile index
      */
     private static int randomTileIndex(int min, int max, Board board) {
-        if (min < 0 || max >= board.getTiles().size()) {
+        if (min < 0 || max >= board.getTileCount()) {
             throw new IllegalArgumentException("Invalid tile index range");
         }
         int range = max - min + 1;
@@ -249,7 +253,7 @@ public class BoardFactory {
         int minEnd = start + 5;
         int maxEnd = Math.min(start + 30, 89);
 
-        maxEnd = Math.min(maxEnd, board.getTiles().size() - 1);
+        maxEnd = Math.min(maxEnd, board.getTileCount() - 1);
 
         return randomTileIndex(minEnd, maxEnd, board);
     }
@@ -535,124 +539,30 @@ public class BoardFactory {
     /**
      * Distributes tokens to cities based on difficulty level
      *
-     * @param board The board to add tokens to
+     * @param board The board to distribute tokens on
      * @param difficulty The difficulty level
      */
     private static void distributeTokens(Board board, String difficulty) {
-        Map<Integer, Tile> tiles = board.getTiles();
-        List<TokenType> tokenTypes = new ArrayList<>();
-
-        switch (difficulty) {
-            case "Easy":
-                tokenTypes.add(TokenType.DIAMOND);
-
-                tokenTypes.add(TokenType.RUBY);
-                tokenTypes.add(TokenType.RUBY);
-                tokenTypes.add(TokenType.RUBY);
-                tokenTypes.add(TokenType.EMERALD);
-                tokenTypes.add(TokenType.EMERALD);
-                tokenTypes.add(TokenType.EMERALD);
-                tokenTypes.add(TokenType.EMERALD);
-                tokenTypes.add(TokenType.TOPAZ);
-                tokenTypes.add(TokenType.TOPAZ);
-                tokenTypes.add(TokenType.TOPAZ);
-                tokenTypes.add(TokenType.TOPAZ);
-                tokenTypes.add(TokenType.TOPAZ);
-
-                tokenTypes.add(TokenType.THIEF);
-                tokenTypes.add(TokenType.THIEF);
-
-                for (int i = tokenTypes.size(); i <= tiles.size() ; i++) {
-                    tokenTypes.add(TokenType.EMPTY);
-                }
-                break;
-
-            case "Challenging":
-                tokenTypes.add(TokenType.DIAMOND);
-
-                tokenTypes.add(TokenType.RUBY);
-                tokenTypes.add(TokenType.EMERALD);
-                tokenTypes.add(TokenType.EMERALD);
-                tokenTypes.add(TokenType.TOPAZ);
-                tokenTypes.add(TokenType.TOPAZ);
-                tokenTypes.add(TokenType.TOPAZ);
-
-                tokenTypes.add(TokenType.THIEF);
-                tokenTypes.add(TokenType.THIEF);
-                tokenTypes.add(TokenType.THIEF);
-                tokenTypes.add(TokenType.THIEF);
-                tokenTypes.add(TokenType.THIEF);
-
-                for (int i = tokenTypes.size(); i <= tiles.size() ; i++) {
-                    tokenTypes.add(TokenType.EMPTY);
-                }
-                break;
-
-            case "Standard":
-            default:
-                tokenTypes.add(TokenType.DIAMOND);
-
-                tokenTypes.add(TokenType.RUBY);
-                tokenTypes.add(TokenType.RUBY);
-                tokenTypes.add(TokenType.EMERALD);
-                tokenTypes.add(TokenType.EMERALD);
-                tokenTypes.add(TokenType.EMERALD);
-                tokenTypes.add(TokenType.TOPAZ);
-                tokenTypes.add(TokenType.TOPAZ);
-                tokenTypes.add(TokenType.TOPAZ);
-                tokenTypes.add(TokenType.TOPAZ);
-
-                tokenTypes.add(TokenType.THIEF);
-                tokenTypes.add(TokenType.THIEF);
-                tokenTypes.add(TokenType.THIEF);
-
-                for (int i = tokenTypes.size(); i <= tiles.size() ; i++) {
-                    tokenTypes.add(TokenType.EMPTY);
-                }
-                break;
-        }
-
-        TokenType diamond = TokenType.DIAMOND;
-        tokenTypes.remove(diamond);
-        Collections.shuffle(tokenTypes);
-
-        if (difficulty.equals("Easy")) {
-            tiles.get(17).setHiddenToken(diamond);
-            tiles.get(17).setLandAction(new DiamondTileAction());
-        } else if (difficulty.equals("Challenging")) {
-            tiles.get(22).setHiddenToken(diamond);
-            tiles.get(22).setLandAction(new DiamondTileAction());
-        } else {
-            tiles.get(19).setHiddenToken(diamond);
-            tiles.get(19).setLandAction(new DiamondTileAction());
-        }
-
-        int tokenIndex = 0;
-        for (Tile tile : tiles.values()) {
-            if (tile.getTileType() == TileType.CITY && tokenIndex < tokenTypes.size()) {
-                TokenType tokenType = tokenTypes.get(tokenIndex++);
-                tile.setHiddenToken(tokenType);
-
-                if (tokenType == TokenType.THIEF) {
-                    tile.setLandAction(new ThiefTileAction());
-                } else if (tokenType == TokenType.EMPTY) {
-                } else {
-                    tile.setLandAction(new TreasureTileAction(tokenType));
-                }
-            }
-        }
+        TokenPool tokenPool = createTokenPool(difficulty);
+        board.setTokenPool(tokenPool);
+        tokenPool.deal(board, random);
+    }
 
-        int basePrice = switch (difficulty) {
-            case "Easy" -> 80;
-            case "Challenging" -> 120;
-            default -> 100;
+    /**
+     * Returns the tokens of a difficulty level: easy maps have more treasures and fewer
+     * thieves, challenging maps fewer treasures and more thieves
+     *
+     * @param difficulty The difficulty level (Easy, Standard, Challenging)
+     * @return The token pool
+     */
+    private static TokenPool createTokenPool(String difficulty) {
+        return switch (difficulty) {
+            case "Easy" -> TokenPool.of(17, 80, Map.of(
+                    TokenType.RUBY, 3, TokenType.EMERALD, 4, TokenType.TOPAZ, 5, TokenType.THIEF, 2));
+            case "Challenging" -> TokenPool.of(22, 120, Map.of(
+                    TokenType.RUBY, 1, TokenType.EMERALD, 2, TokenType.TOPAZ, 3, TokenType.THIEF, 5));
+            default -> TokenPool.of(19, 100, Map.of(
+                    TokenType.RUBY, 2, TokenType.EMERALD, 3, TokenType.TOPAZ, 4, TokenType.THIEF, 3));
         };
-
-        for (Tile tile : tiles.values()) {
-            if (tile.getTileType() == TileType.CITY) {
-                int locationVariance = random.nextInt(41) - 20;
-                tile.setTokenPrice(basePrice + locationVariance);
-            }
-        }
     }
 }
\ No newline at end of file
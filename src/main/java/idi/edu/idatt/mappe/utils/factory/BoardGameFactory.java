@@ -65,18 +65,7 @@ public class BoardGameFactory {
     public static BoardGame createCustomGame(GameRules rules) {
         BoardGame game = new BoardGame(rules.getGameType());
         game.setGameRules(rules);
-
-        if (rules.getGameType() == GameType.THE_LOST_DIAMOND) {
-            int startingMoney = rules.getStartingMoney();
-            rules.setAdditionalData("startingMoney", startingMoney);
-
-            if (!rules.hasAdditionalData("tokenPrice")) {
-                rules.setAdditionalData("tokenPrice", 100);
-            }
-            if (!rules.hasAdditionalData("travelCostModifier")) {
-                rules.setAdditionalData("travelCostModifier", 1.0);
-            }
-        }
+        applyRuleDefaults(rules);
 
 
         Board board;
@@ -127,6 +116,47 @@ public class BoardGameFactory {
         return game;
     }
 
+    /**
+     * Fills in the additional data the game type needs that the rules do not set
+     *
+     * @param rules The game rules to complete
+     */
+    public static void applyRuleDefaults(GameRules rules) {
+        if (rules.getGameType() == GameType.THE_LOST_DIAMOND) {
+            int startingMoney = rules.getStartingMoney();
+            rules.setAdditionalData("startingMoney", startingMoney);
+
+            if (!rules.hasAdditionalData("tokenPrice")) {
+                rules.setAdditionalData("tokenPrice", 100);
+            }
+            if (!rules.hasAdditionalData("travelCostModifier")) {
+                rules.setAdditionalData("travelCostModifier", 1.0);
+            }
+        }
+    }
+
+    /**
+     * Returns a key that is equal for rules that {@link #createCustomGame} builds the same
+     * kind of board and dice for
+     *
+     * @param rules The game rules
+     * @return The board key of the rules
+     */
+    public static String boardKey(GameRules rules) {
+        StringBuilder key = new StringBuilder()
+                .append(rules.getGameType()).append('/')
+                .append(rules.getBoardVariant()).append('/')
+                .append(rules.getNumberOfDice()).append('d').append(rules.getDiceSides());
+        if (rules.getGameType() == GameType.SNAKES_AND_LADDERS && "Custom".equals(rules.getBoardVariant())) {
+            key.append('/').append(rules.getIntAdditionalData("customSnakeCount", 8))
+                    .append(',').append(rules.getIntAdditionalData("customLadderCount", 8))
+                    .append(',').append(rules.getIntAdditionalData("customRandomTeleportCount", 0))
+                    .append(',').append(rules.getIntAdditionalData("customSkipTurnCount", 0))
+                    .append(',').append(rules.getIntAdditionalData("customExtraTurnCount", 0));
+        }
+        return key.toString();
+    }
+
     /**
      * Creates a standard Lost Diamond game
      *
@@ -3,6 +3,7 @@ package idi.edu.idatt.mappe.utils.factory;
 import idi.edu.idatt.mappe.exceptions.TileActionNotFoundException;
 import idi.edu.idatt.mappe.utils.file.writer.BoardFileWriter;
 import idi.edu.idatt.mappe.utils.file.writer.BoardFileWriterGson;
+import idi.edu.idatt.mappe.utils.file.writer.LostDiamondMapWriter;
 import idi.edu.idatt.mappe.models.Board;
 import idi.edu.idatt.mappe.models.BoardGame;
 import idi.edu.idatt.mappe.models.Tile;
@@ -25,7 +26,7 @@ public class BoardGameFileFactory {
     private static Logger logger  = Logger.getLogger(BoardGameFileFactory.class.getName());
 
     /**
-     * Main method to generate 6 different board game files
+     * Main method to generate 6 different board game files and the Lost Diamond reference maps
      */
     public static void main(String[] args) {
         BoardFileWriter writer = new BoardFileWriterGson();
@@ -39,6 +40,11 @@ public class BoardGameFileFactory {
             writer.writeBoard(createMixedActionBoard(), "src/main/resources/boards/mixed_action_board.json", "Mixed Actions", "A board game with a mix of actions");
             writer.writeBoard(createChaosBoard(), "src/main/resources/boards/chaos_board.json", "Chaos Board", "A board game with chaos and confusion");
 
+            LostDiamondMapWriter mapWriter = new LostDiamondMapWriter();
+            mapWriter.writeBoard(BoardFactory.createEasyLostDiamondBoard(), "src/main/resources/maps/lost_diamond_easy.json", "The Lost Diamond - Easy", "More treasures and fewer thieves");
+            mapWriter.writeBoard(BoardFactory.createLostDiamondBoard(), "src/main/resources/maps/lost_diamond_standard.json", "The Lost Diamond", "The standard map of Africa");
+            mapWriter.writeBoard(BoardFactory.createChallengingLostDiamondBoard(), "src/main/resources/maps/lost_diamond_challenging.json", "The Lost Diamond - Challenging", "More thieves and expensive sea routes");
+
             logger.info("Board game files generated successfully!");
         } catch (IOException | TileActionNotFoundException e) {
             logger.severe("An error occurred while generating board game files: " + e.getMessage());
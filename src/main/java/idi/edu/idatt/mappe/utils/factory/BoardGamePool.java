@@ -0,0 +1,145 @@
+package idi.edu.idatt.mappe.utils.factory;
+
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.GameRules;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Pool of ready-to-play board games, kept per board and rules key
+ * <p>
+ *     Building a board, and for The Lost Diamond every city, route and token, takes far
+ *     longer than playing a short game. A game that is released to the pool is reset in place
+ *     with {@link BoardGame#reset()} and loses its players and observers, and the next game
+ *     acquired with the same key is taken from the pool instead of being built again.
+ *     Taking a game from the pool does not allocate.
+ * </p>
+ * <p>
+ *     Games are only reused for the key they were created with, and at most
+ *     {@code maxIdlePerKey} released games are kept per key. A game must not be used after
+ *     it has been released.
+ * </p>
+ */
+public class BoardGamePool {
+    private static final Logger logger = Logger.getLogger(BoardGamePool.class.getName());
+
+    private static final int DEFAULT_MAX_IDLE_PER_KEY = 4;
+
+    private final int maxIdlePerKey;
+    private final Map<String, ArrayDeque<BoardGame>> idleGames = new HashMap<>();
+    private final Map<BoardGame, String> keys = new IdentityHashMap<>();
+
+    /**
+     * Creates a pool that keeps up to four idle games per key
+     */
+    public BoardGamePool() {
+        this(DEFAULT_MAX_IDLE_PER_KEY);
+    }
+
+    /**
+     * Creates a pool
+     *
+     * @param maxIdlePerKey The largest number of released games kept per key
+     * @throws IllegalArgumentException If the number is negative
+     */
+    public BoardGamePool(int maxIdlePerKey) {
+        if (maxIdlePerKey < 0) {
+            throw new IllegalArgumentException("Maximum idle games cannot be negative");
+        }
+        this.maxIdlePerKey = maxIdlePerKey;
+    }
+
+    /**
+     * Takes a game from the pool, or creates one if the pool has none for the key
+     *
+     * @param key The board and rules key of the game
+     * @param factory Creates a new game for the key
+     * @return A game that has not started, without players or observers
+     */
+    public synchronized BoardGame acquire(String key, Supplier<BoardGame> factory) {
+        ArrayDeque<BoardGame> idle = idleGames.get(key);
+        if (idle != null && !idle.isEmpty()) {
+            return idle.pop();
+        }
+        BoardGame game = factory.get();
+        keys.put(game, key);
+        logger.fine("Created pooled game for " + key);
+        return game;
+    }
+
+    /**
+     * Takes a game for a set of rules from the pool, or creates one with
+     * {@link BoardGameFactory#createCustomGame}. The game uses the given rules.
+     *
+     * @param rules The game rules
+     * @return A game that has not started, without players or observers
+     */
+    public BoardGame acquire(GameRules rules) {
+        BoardGame game = acquire(BoardGameFactory.boardKey(rules), () -> BoardGameFactory.createCustomGame(rules));
+        if (game.getGameRules() != rules) {
+            BoardGameFactory.applyRuleDefaults(rules);
+            game.setGameRules(rules);
+        }
+        return game;
+    }
+
+    /**
+     * Resets a game and returns it to the pool.
+     * Games that were not created by the pool, or that do not fit in it, are left to be discarded.
+     *
+     * @param game The game to release
+     * @return True if the game was returned to the pool
+     */
+    public synchronized boolean release(BoardGame game) {
+        String key = keys.get(game);
+        if (key == null) {
+            return false;
+        }
+        ArrayDeque<BoardGame> idle = idleGames.computeIfAbsent(key, k -> new ArrayDeque<>());
+        if (idle.contains(game)) {
+            return true;
+        }
+        if (idle.size() >= maxIdlePerKey) {
+            keys.remove(game);
+            return false;
+        }
+
+        game.clearObservers();
+        game.reset();
+        game.clearPlayers();
+        idle.push(game);
+        return true;
+    }
+
+    /**
+     * Creates games for a key until the pool holds a number of them
+     *
+     * @param key The board and rules key of the games
+     * @param factory Creates a new game for the key
+     * @param count The number of idle games to hold, at most the pool's limit per key
+     */
+    public synchronized void prefill(String key, Supplier<BoardGame> factory, int count) {
+        ArrayDeque<BoardGame> idle = idleGames.computeIfAbsent(key, k -> new ArrayDeque<>());
+        while (idle.size() < Math.min(count, maxIdlePerKey)) {
+            BoardGame game = factory.get();
+            keys.put(game, key);
+            idle.push(game);
+        }
+    }
+
+    /**
+     * Returns the number of idle games for a key
+     *
+     * @param key The board and rules key
+     * @return The number of games ready to be acquired
+     */
+    public synchronized int getIdleCount(String key) {
+        ArrayDeque<BoardGame> idle = idleGames.get(key);
+        return idle == null ? 0 : idle.size();
+    }
+}
@@ -3,17 +3,26 @@ package idi.edu.idatt.mappe.utils.file.reader;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import idi.edu.idatt.mappe.exceptions.JsonParsingException;
 import idi.edu.idatt.mappe.models.Board;
-import idi.edu.idatt.mappe.models.BoardGame;
 import idi.edu.idatt.mappe.models.Tile;
 import idi.edu.idatt.mappe.models.enums.GameType;
-import idi.edu.idatt.mappe.models.tileaction.*;
+import idi.edu.idatt.mappe.models.enums.SwapCandidates;
+import idi.edu.idatt.mappe.models.sampling.SamplingRule;
+import idi.edu.idatt.mappe.models.tileaction.SampledTileAction;
+import idi.edu.idatt.mappe.models.tileaction.TileAction;
+import idi.edu.idatt.mappe.models.tileaction.TileActionRegistry;
+import idi.edu.idatt.mappe.utils.diagnostics.FileIoEvent;
+import idi.edu.idatt.mappe.utils.diagnostics.GameMetrics;
+import idi.edu.idatt.mappe.validators.BoardValidator;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -42,6 +51,8 @@ import java.util.Map;
  *     },
  *     .....
  *     }
+ *     Random actions can have sampling settings, read into a {@link SamplingRule}:
+ *     "sampling": { "fromTile": 5, "toTile": 80, "defaultWeight": 1, "weights": { "42": 3 }, "candidates": "AHEAD" }
  *     </p>
  *
  * @see BoardFileReader
@@ -50,7 +61,7 @@ import java.util.Map;
 public class BoardFileReaderGson implements BoardFileReader {
 
     /**
-     * Reads a board from a JSON file
+     * Reads a board from a JSON file. Lost Diamond maps are read by {@link LostDiamondMapReader}.
      *
      * @param fileName The name of the file to read from
      * @return The board read from the file
@@ -58,80 +69,160 @@ public class BoardFileReaderGson implements BoardFileReader {
      */
     @Override
     public Board readBoard(String fileName) throws JsonParsingException {
+        if (LostDiamondMapReader.isMapFile(fileName)) {
+            return new LostDiamondMapReader().readBoard(fileName);
+        }
+        FileIoEvent event = new FileIoEvent();
+        event.begin();
+        long start = System.nanoTime();
         try (FileReader fileReader = new FileReader(fileName)) {
-            JsonObject boardJson = JsonParser.parseReader(fileReader).getAsJsonObject();
+            Board board = parseBoard(JsonParser.parseReader(fileReader).getAsJsonObject());
+            GameMetrics.recordFileLoad(event, start, GameMetrics.FileKind.BOARD, fileName);
+            return board;
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonParsingException("Error parsing JSON file", e);
+        } catch (IllegalArgumentException e) {
+            throw new JsonParsingException("Invalid board: " + e.getMessage(), e);
+        }
+    }
 
-            int rows = boardJson.has("rows") ? boardJson.get("rows").getAsInt() : 10;
-            int columns = boardJson.has("columns") ? boardJson.get("columns").getAsInt() : 10;
+    /**
+     * Reads a board from a JSON string in the same format as the board files
+     *
+     * @param json The JSON of the board
+     * @return The board read from the string
+     * @throws JsonParsingException If a JSON parsing error occurs
+     */
+    public Board readBoardFromString(String json) throws JsonParsingException {
+        try {
+            return parseBoard(JsonParser.parseString(json).getAsJsonObject());
+        } catch (IllegalStateException | JsonParseException e) {
+            throw new JsonParsingException("Error parsing board JSON", e);
+        } catch (IllegalArgumentException e) {
+            throw new JsonParsingException("Invalid board: " + e.getMessage(), e);
+        }
+    }
 
+    /**
+     * Builds a board from its JSON object
+     *
+     * @param boardJson The JSON object of the board
+     * @return The board
+     * @throws JsonParsingException If the JSON does not describe a valid board
+     */
+    private Board parseBoard(JsonObject boardJson) throws JsonParsingException {
+        int rows = boardJson.has("rows") ? boardJson.get("rows").getAsInt() : 10;
+        int columns = boardJson.has("columns") ? boardJson.get("columns").getAsInt() : 10;
 
-            GameType gameType = GameType.SNAKES_AND_LADDERS;
-            if (boardJson.has("gameType")) {
-                try {
-                    gameType = GameType.valueOf(boardJson.get("gameType").getAsString());
-                } catch (IllegalArgumentException e) {
-                    throw new JsonParsingException("Invalid game type: " + boardJson.get("gameType").getAsString(), e);
-                }
+
+        GameType gameType = GameType.SNAKES_AND_LADDERS;
+        if (boardJson.has("gameType")) {
+            try {
+                gameType = GameType.valueOf(boardJson.get("gameType").getAsString());
+            } catch (IllegalArgumentException e) {
+                throw new JsonParsingException("Invalid game type: " + boardJson.get("gameType").getAsString(), e);
             }
+        }
 
-            Board board = new Board(rows, columns, gameType);
+        Board board = new Board(rows, columns, gameType);
 
 
-            // Get the tiles array from the JSON
-            JsonArray tilesJsonArray = boardJson.getAsJsonArray("tiles");
+        // Get the tiles array from the JSON
+        JsonArray tilesJsonArray = boardJson.getAsJsonArray("tiles");
 
-            Map<Integer, Tile> tilesMap = new HashMap<>();
+        Map<Integer, Tile> tilesMap = new HashMap<>();
+        List<String> problems = new ArrayList<>();
 
-            for (JsonElement tileElement : tilesJsonArray) {
-                JsonObject tileJson = tileElement.getAsJsonObject();
-                int tileId = tileJson.get("id").getAsInt();
+        for (JsonElement tileElement : tilesJsonArray) {
+            JsonObject tileJson = tileElement.getAsJsonObject();
+            int tileId = tileJson.get("id").getAsInt();
 
-                // Read the coordinates
-                int x = tileJson.has("x") ? tileJson.get("x").getAsInt() : 0;
-                int y = tileJson.has("y") ? tileJson.get("y").getAsInt() : 0;
+            // Read the coordinates
+            int x = tileJson.has("x") ? tileJson.get("x").getAsInt() : 0;
+            int y = tileJson.has("y") ? tileJson.get("y").getAsInt() : 0;
 
-                // Create tile with coordinates
-                Tile tile = new Tile(tileId, x, y);
-                tilesMap.put(tileId, tile);
+            // Create tile with coordinates
+            Tile tile = new Tile(tileId, x, y);
+            if (tilesMap.put(tileId, tile) != null) {
+                problems.add("Tile " + tileId + " is defined more than once");
             }
+        }
 
-            tilesMap.forEach((key, tile) -> board.addTile(tile.getIndex(), tile));
+        tilesMap.forEach((key, tile) -> board.addTile(tile.getIndex(), tile));
 
-            // Second pass: Set next tiles and actions
-            for (JsonElement tileElement : tilesJsonArray) {
-                JsonObject tileJson = tileElement.getAsJsonObject();
-                int tileId = tileJson.get("id").getAsInt();
-                Tile tile = tilesMap.get(tileId);
+        // Second pass: Set next tiles and actions
+        for (JsonElement tileElement : tilesJsonArray) {
+            JsonObject tileJson = tileElement.getAsJsonObject();
+            int tileId = tileJson.get("id").getAsInt();
+            Tile tile = tilesMap.get(tileId);
 
-                if (tileJson.has("nextTile")) {
-                    int nextTileId = tileJson.get("nextTile").getAsInt();
-                    tile.setNextTile(tilesMap.get(nextTileId));
+            if (tileJson.has("nextTile")) {
+                int nextTileId = tileJson.get("nextTile").getAsInt();
+                if (!tilesMap.containsKey(nextTileId)) {
+                    problems.add("Tile " + tileId + ": next tile " + nextTileId + " is not on the board");
                 }
+                tile.setNextTile(tilesMap.get(nextTileId));
+            }
+
+            if (tileJson.has("action")) {
+                JsonObject actionJson = tileJson.getAsJsonObject("action");
+                String actionType = actionJson.get("type").getAsString();
+                int destinationTileId = actionJson.get("destinationTileId").getAsInt();
+                String description = actionJson.get("description").getAsString();
 
-                if (tileJson.has("action")) {
-                    JsonObject actionJson = tileJson.getAsJsonObject("action");
-                    String actionType = actionJson.get("type").getAsString();
-                    int destinationTileId = actionJson.get("destinationTileId").getAsInt();
-                    String description = actionJson.get("description").getAsString();
-
-                    TileAction action = switch (actionType) {
-                        case "LadderAction" -> new LadderTileAction(destinationTileId, description, board);
-                        case "SnakeAction" -> new SnakeTileAction(destinationTileId, description, board);
-                        case "RandomTeleportAction" -> new RandomTeleportTileAction(board, description);
-                        case "SwapAction" -> new SwapAction(new BoardGame(GameType.SNAKES_AND_LADDERS), description);
-                        case "ExtraThrowAction" -> new ExtraThrowAction(description, board);
-                        case "MissingTurnAction" -> new MissingTurnTileAction(description, board);
-                        case "GoToJailAction" -> new GoToJailTileAction(description, board);
-                        default -> throw new JsonParsingException("Unknown action type: " + actionType);
-                    };
-
-                    tile.setLandAction(action);
+                TileActionRegistry.Definition definition = TileActionRegistry.forTypeName(actionType);
+                if (definition == null || !definition.isSerializable()) {
+                    throw new JsonParsingException("Unknown action type: " + actionType);
                 }
+
+                TileAction action = definition.create(destinationTileId, description, board);
+                if (action instanceof SampledTileAction sampled && actionJson.has("sampling")) {
+                    try {
+                        sampled.setSamplingRule(parseSamplingRule(actionJson.getAsJsonObject("sampling")));
+                    } catch (IllegalArgumentException e) {
+                        problems.add("Tile " + tileId + ": " + e.getMessage());
+                    }
+                }
+                tile.setLandAction(action);
             }
+        }
 
-            return board;
-        } catch (IOException | IllegalStateException e) {
-            throw new JsonParsingException("Error parsing JSON file", e);
+        problems.addAll(BoardValidator.findStructuralProblems(board));
+        BoardValidator.throwIfAny(problems);
+        if (board.getGameType() == GameType.SNAKES_AND_LADDERS) {
+            board.getLandActionResolver();
+        }
+        return board;
+    }
+
+    /**
+     * Reads the sampling settings of a random action
+     *
+     * @param samplingJson The JSON object of the settings
+     * @return The sampling rule
+     * @throws IllegalArgumentException If a setting is not valid
+     */
+    private static SamplingRule parseSamplingRule(JsonObject samplingJson) {
+        int fromTile = samplingJson.has("fromTile") ? samplingJson.get("fromTile").getAsInt() : 0;
+        int toTile = samplingJson.has("toTile") ? samplingJson.get("toTile").getAsInt() : 0;
+        double defaultWeight = samplingJson.has("defaultWeight") ? samplingJson.get("defaultWeight").getAsDouble() : 1;
+
+        Map<Integer, Double> weights = new HashMap<>();
+        if (samplingJson.has("weights")) {
+            for (Map.Entry<String, JsonElement> weight : samplingJson.getAsJsonObject("weights").entrySet()) {
+                weights.put(Integer.parseInt(weight.getKey()), weight.getValue().getAsDouble());
+            }
+        }
+
+        SwapCandidates candidates = SwapCandidates.ANY;
+        if (samplingJson.has("candidates")) {
+            String value = samplingJson.get("candidates").getAsString();
+            try {
+                candidates = SwapCandidates.valueOf(value);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("unknown swap candidates " + value, e);
+            }
         }
+        return SamplingRule.of(fromTile, toTile, defaultWeight, weights, candidates);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,276 @@
+package idi.edu.idatt.mappe.utils.file.reader;
+
+import idi.edu.idatt.mappe.exceptions.CVSParsingException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Streaming reader for CSV records
+ * <p>
+ *     The reader reads the file through a channel in fixed-size chunks and decodes each
+ *     chunk into a reused character buffer, so memory use does not grow with the file.
+ *     Fields may be quoted with double quotes; a quoted field may contain commas, line
+ *     breaks and quotes written as two double quotes. Lines may end with LF or CRLF, and
+ *     a byte order mark at the start of the file is skipped.
+ * </p>
+ * <p>
+ *     Every record keeps the line number it starts on, so errors can point to the line.
+ *     A record that is not written correctly is skipped up to the end of its line, so the
+ *     caller can report it and keep reading. A quoted field that is never closed ends at
+ *     the end of the line it was opened on, and the lines after it are read again.
+ * </p>
+ */
+public class CsvRecordReader implements Closeable {
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int END_OF_INPUT = -1;
+    private static final int NO_CHAR = -2;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes = ByteBuffer.allocate(CHUNK_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(CHUNK_SIZE);
+    private final StringBuilder field = new StringBuilder();
+
+    private boolean channelDrained;
+    private boolean decoderFlushed;
+    private int pushedBack = NO_CHAR;
+    private String replay;
+    private int replayIndex;
+    private int lineNumber = 1;
+    private int recordLineNumber;
+    private boolean firstChar = true;
+
+    /**
+     * Opens a UTF-8 CSV file for reading
+     *
+     * @param path The path of the file
+     * @throws IOException If the file cannot be opened
+     */
+    public CsvRecordReader(Path path) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.READ), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a reader over a channel
+     *
+     * @param channel The channel to read from; closed when the reader is closed
+     * @param charset The character set of the file
+     */
+    public CsvRecordReader(ReadableByteChannel channel, Charset charset) {
+        this.channel = channel;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        chars.flip();
+    }
+
+    /**
+     * Reads the next record
+     *
+     * @param fields The list to fill with the fields of the record; cleared first
+     * @return True if a record was read, false at the end of the file
+     * @throws IOException If the file cannot be read or is not valid in the character set
+     * @throws CVSParsingException If a quoted field is not written correctly; the next call
+     *                             reads the record on the next line
+     */
+    public boolean readRecord(List<String> fields) throws IOException, CVSParsingException {
+        fields.clear();
+        int c = next();
+        if (c == END_OF_INPUT) {
+            return false;
+        }
+        recordLineNumber = lineNumber;
+
+        while (true) {
+            field.setLength(0);
+            if (c == '"') {
+                c = readQuotedField();
+            } else {
+                c = readUnquotedField(c);
+            }
+            fields.add(field.toString());
+
+            if (c == ',') {
+                c = next();
+                continue;
+            }
+            if (c == '\r') {
+                int following = next();
+                if (following != '\n') {
+                    pushedBack = following;
+                }
+                lineNumber++;
+            } else if (c == '\n') {
+                lineNumber++;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns the line the last record read starts on
+     *
+     * @return The line number, starting at 1
+     */
+    public int getLineNumber() {
+        return recordLineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads an unquoted field into the field buffer
+     *
+     * @param first The first character of the field
+     * @return The character that ended the field
+     * @throws CVSParsingException If the field contains a quote
+     */
+    private int readUnquotedField(int first) throws IOException, CVSParsingException {
+        int c = first;
+        while (c != ',' && c != '\n' && c != '\r' && c != END_OF_INPUT) {
+            if (c == '"') {
+                int line = lineNumber;
+                skipLine();
+                throw new CVSParsingException("Quote inside unquoted field", line);
+            }
+            field.append((char) c);
+            c = next();
+        }
+        return c;
+    }
+
+    /**
+     * Reads a quoted field into the field buffer. The opening quote has been read.
+     *
+     * @return The character that ended the field
+     * @throws CVSParsingException If the closing quote is missing or followed by other text
+     */
+    private int readQuotedField() throws IOException, CVSParsingException {
+        int quoteLine = lineNumber;
+        while (true) {
+            int c = next();
+            if (c == END_OF_INPUT) {
+                int lineBreak = field.indexOf("\n");
+                if (lineBreak >= 0) {
+                    replay = field.substring(lineBreak + 1);
+                    replayIndex = 0;
+                    lineNumber = quoteLine + 1;
+                }
+                throw new CVSParsingException("Quoted field is not closed", recordLineNumber);
+            }
+            if (c == '"') {
+                int following = next();
+                if (following != '"') {
+                    if (following != ',' && following != '\n' && following != '\r' && following != END_OF_INPUT) {
+                        int line = lineNumber;
+                        skipLine();
+                        throw new CVSParsingException("Unexpected text after closing quote", line);
+                    }
+                    return following;
+                }
+            } else if (c == '\n') {
+                lineNumber++;
+            }
+            field.append((char) c);
+        }
+    }
+
+    /**
+     * Skips the characters up to and including the next line break
+     */
+    private void skipLine() throws IOException {
+        int c = next();
+        while (c != '\n' && c != '\r' && c != END_OF_INPUT) {
+            c = next();
+        }
+        if (c == '\r') {
+            int following = next();
+            if (following != '\n') {
+                pushedBack = following;
+            }
+        }
+        if (c != END_OF_INPUT) {
+            lineNumber++;
+        }
+    }
+
+    /**
+     * Returns the next character of the file
+     *
+     * @return The character, or {@link #END_OF_INPUT}
+     */
+    private int next() throws IOException {
+        if (pushedBack != NO_CHAR) {
+            int c = pushedBack;
+            pushedBack = NO_CHAR;
+            return c;
+        }
+        if (replay != null) {
+            if (replayIndex < replay.length()) {
+                return replay.charAt(replayIndex++);
+            }
+            replay = null;
+        }
+        if (!chars.hasRemaining() && !fill()) {
+            return END_OF_INPUT;
+        }
+        char c = chars.get();
+        if (firstChar) {
+            firstChar = false;
+            if (c == BYTE_ORDER_MARK) {
+                return next();
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Reads and decodes the next chunk of the file
+     *
+     * @return True if characters are available, false at the end of the file
+     */
+    private boolean fill() throws IOException {
+        if (decoderFlushed) {
+            return false;
+        }
+        chars.clear();
+        while (chars.position() == 0) {
+            if (!channelDrained && channel.read(bytes) < 0) {
+                channelDrained = true;
+            }
+            bytes.flip();
+            CoderResult result = decoder.decode(bytes, chars, channelDrained);
+            bytes.compact();
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (result.isOverflow()) {
+                break;
+            }
+            if (channelDrained) {
+                decoder.flush(chars);
+                decoderFlushed = true;
+                break;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+}
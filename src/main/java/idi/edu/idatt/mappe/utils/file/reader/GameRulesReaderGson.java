@@ -5,6 +5,8 @@ import com.google.gson.JsonParser;
 import idi.edu.idatt.mappe.exceptions.JsonParsingException;
 import idi.edu.idatt.mappe.models.GameRules;
 import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.utils.diagnostics.FileIoEvent;
+import idi.edu.idatt.mappe.utils.diagnostics.GameMetrics;
 
 import java.io.FileReader;
 import java.io.IOException;
@@ -33,6 +35,9 @@ public class GameRulesReaderGson implements GameRulesReader {
      */
     @Override
     public GameRules readGameRules(String filePath) throws JsonParsingException {
+        FileIoEvent event = new FileIoEvent();
+        event.begin();
+        long start = System.nanoTime();
         try (FileReader fileReader = new FileReader(filePath)) {
             JsonObject rulesJson = JsonParser.parseReader(fileReader).getAsJsonObject();
             GameRules rules = new GameRules();
@@ -40,6 +45,7 @@ public class GameRulesReaderGson implements GameRulesReader {
             setBasicAttributes(rules, rulesJson);
             setGameType(rules, rulesJson);
 
+            GameMetrics.recordFileLoad(event, start, GameMetrics.FileKind.RULES, filePath);
             LOGGER.info("Successfully read game rules from file: " + filePath);
             return rules;
 
@@ -0,0 +1,435 @@
+package idi.edu.idatt.mappe.utils.file.reader;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import idi.edu.idatt.mappe.exceptions.JsonParsingException;
+import idi.edu.idatt.mappe.models.AdjacencyGraph;
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.TokenPool;
+import idi.edu.idatt.mappe.models.enums.Direction;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.TileType;
+import idi.edu.idatt.mappe.models.enums.TokenType;
+import idi.edu.idatt.mappe.utils.diagnostics.FileIoEvent;
+import idi.edu.idatt.mappe.utils.diagnostics.GameMetrics;
+import idi.edu.idatt.mappe.utils.file.writer.LostDiamondMapWriter;
+import idi.edu.idatt.mappe.validators.BoardValidator;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * Reads The Lost Diamond maps written by {@link LostDiamondMapWriter}
+ * <p>
+ *     The map is read in one streaming pass without building a JSON tree. The header gives
+ *     the number of cities and routes, so the cities are stored straight into an array indexed
+ *     by city id and the routes straight into the arrays of the board's {@link AdjacencyGraph},
+ *     which is installed on the board instead of being built again from the tile connections.
+ *     For that the cities must be numbered from 1 in order and come before the routes, and the
+ *     routes must be sorted by the city they leave from. A route is one way; a road both ways
+ *     is written as two routes.
+ * </p>
+ * <p>
+ *     The tokens of the pool are dealt when the map is loaded, so every game on a map
+ *     hides its treasures differently. The loaded map is checked with {@link BoardValidator}.
+ * </p>
+ *
+ * @see LostDiamondMapWriter
+ * @version 1.0
+ */
+public class LostDiamondMapReader implements BoardFileReader {
+    /**
+     * The value of the format property that marks a file as a Lost Diamond map
+     */
+    public static final String FORMAT = "lost-diamond-map";
+
+    /**
+     * The newest version of the format this reader understands
+     */
+    public static final int VERSION = 1;
+
+    private static final int ROUTES_PER_CITY_ESTIMATE = 4;
+    private static final Logger logger = Logger.getLogger(LostDiamondMapReader.class.getName());
+
+    private final Random random;
+
+    /**
+     * Creates a reader that deals the tokens at random
+     */
+    public LostDiamondMapReader() {
+        this(new Random());
+    }
+
+    /**
+     * Creates a reader that deals the tokens with the given source of randomness
+     *
+     * @param random The source of randomness for dealing the tokens
+     */
+    public LostDiamondMapReader(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Returns whether a file is a Lost Diamond map, by reading only its first property
+     *
+     * @param filePath The path to the file
+     * @return True if the file starts with the map format property
+     */
+    public static boolean isMapFile(String filePath) {
+        try (JsonReader json = new JsonReader(new BufferedReader(new FileReader(filePath)))) {
+            json.beginObject();
+            return json.hasNext() && json.nextName().equals("format")
+                    && json.peek() == JsonToken.STRING && json.nextString().equals(FORMAT);
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads a map from a file
+     *
+     * @param filePath The path to the file to read from
+     * @return The board of the map, with its tokens dealt
+     * @throws JsonParsingException If the file cannot be read or does not describe a valid map
+     */
+    @Override
+    public Board readBoard(String filePath) throws JsonParsingException {
+        FileIoEvent event = new FileIoEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try (Reader reader = new BufferedReader(new FileReader(filePath))) {
+            Board board = readMap(reader);
+            GameMetrics.recordFileLoad(event, start, GameMetrics.FileKind.BOARD, filePath);
+            return board;
+        } catch (IOException e) {
+            throw new JsonParsingException("Error reading map file " + filePath, e);
+        }
+    }
+
+    /**
+     * Reads a map from a string
+     *
+     * @param json The JSON of the map
+     * @return The board of the map, with its tokens dealt
+     * @throws JsonParsingException If the string does not describe a valid map
+     */
+    public Board readMapFromString(String json) throws JsonParsingException {
+        try {
+            return readMap(new StringReader(json));
+        } catch (IOException e) {
+            throw new JsonParsingException("Error parsing map JSON", e);
+        }
+    }
+
+    /**
+     * Streams a map from a reader
+     *
+     * @param reader The reader to read from, left open
+     * @return The board of the map, with its tokens dealt
+     * @throws JsonParsingException If the JSON does not describe a valid map
+     * @throws IOException If the reader fails
+     */
+    public Board readMap(Reader reader) throws JsonParsingException, IOException {
+        JsonReader json = new JsonReader(reader);
+        try {
+            return parseMap(json);
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new JsonParsingException("Error parsing map at " + json.getPath() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses the properties of a map in the order they appear
+     *
+     * @param json The JSON reader positioned before the map object
+     * @return The board of the map
+     * @throws JsonParsingException If the JSON does not describe a valid map
+     * @throws IOException If the reader fails
+     */
+    private Board parseMap(JsonReader json) throws JsonParsingException, IOException {
+        int cityCount = -1;
+        int routeCount = -1;
+        Tile[] cities = null;
+        AdjacencyGraph.Builder graph = null;
+        TokenPool tokenPool = null;
+        boolean routesRead = false;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "format" -> {
+                    String format = json.nextString();
+                    if (!format.equals(FORMAT)) {
+                        throw new JsonParsingException("Not a Lost Diamond map: format " + format);
+                    }
+                }
+                case "version" -> {
+                    int version = json.nextInt();
+                    if (version > VERSION) {
+                        throw new JsonParsingException("Map version " + version
+                                + " is newer than the supported version " + VERSION);
+                    }
+                }
+                case "gameType" -> {
+                    String gameType = json.nextString();
+                    if (!gameType.equals(GameType.THE_LOST_DIAMOND.name())) {
+                        throw new JsonParsingException("A map is for The Lost Diamond, not " + gameType);
+                    }
+                }
+                case "cityCount" -> {
+                    cityCount = json.nextInt();
+                    if (cityCount < 1) {
+                        throw new JsonParsingException("A map needs at least one city, not " + cityCount);
+                    }
+                }
+                case "routeCount" -> {
+                    routeCount = json.nextInt();
+                    if (routeCount < 0) {
+                        throw new JsonParsingException("The route count cannot be negative");
+                    }
+                }
+                case "tokens" -> tokenPool = readTokens(json);
+                case "cities" -> {
+                    if (cityCount < 0) {
+                        throw new JsonParsingException("The city count must come before the cities");
+                    }
+                    int expectedRoutes = routeCount >= 0 ? routeCount : cityCount * ROUTES_PER_CITY_ESTIMATE;
+                    graph = new AdjacencyGraph.Builder(cityCount, expectedRoutes);
+                    cities = readCities(json, cityCount, graph);
+                }
+                case "routes" -> {
+                    if (cities == null) {
+                        throw new JsonParsingException("The cities must come before the routes");
+                    }
+                    readRoutes(json, cities, graph);
+                    routesRead = true;
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        if (cities == null) {
+            throw new JsonParsingException("The map has no cities");
+        }
+        if (routeCount >= 0 && routesRead && graph.getRouteCount() != routeCount) {
+            throw new JsonParsingException("The map declares " + routeCount + " routes but has "
+                    + graph.getRouteCount());
+        }
+
+        Board board = new Board(GameType.THE_LOST_DIAMOND);
+        for (int id = 1; id < cities.length; id++) {
+            board.addTile(id, cities[id]);
+        }
+        board.setAdjacencyGraph(graph.build());
+
+        try {
+            if (tokenPool != null) {
+                board.setTokenPool(tokenPool);
+                tokenPool.deal(board, random);
+            }
+            BoardValidator.throwIfAny(BoardValidator.findStructuralProblems(board));
+        } catch (IllegalArgumentException e) {
+            throw new JsonParsingException("Invalid map: " + e.getMessage(), e);
+        }
+        logger.info("Read a map with " + cityCount + " cities and "
+                + board.getAdjacencyGraph().getEdgeCount() + " routes");
+        return board;
+    }
+
+    /**
+     * Reads the token pool of a map
+     *
+     * @param json The JSON reader positioned before the tokens object
+     * @return The token pool
+     * @throws JsonParsingException If the tokens are not valid
+     * @throws IOException If the reader fails
+     */
+    private TokenPool readTokens(JsonReader json) throws JsonParsingException, IOException {
+        int diamondCity = -1;
+        int basePrice = 0;
+        Map<TokenType, Integer> counts = new EnumMap<>(TokenType.class);
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "diamondCity" -> diamondCity = json.nextInt();
+                case "basePrice" -> basePrice = json.nextInt();
+                case "pool" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        String token = json.nextName();
+                        counts.put(parseEnum(TokenType.class, token, "Unknown token " + token), json.nextInt());
+                    }
+                    json.endObject();
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        if (diamondCity < 0) {
+            throw new JsonParsingException("The tokens do not say which city hides the diamond");
+        }
+        try {
+            return TokenPool.of(diamondCity, basePrice, counts);
+        } catch (IllegalArgumentException e) {
+            throw new JsonParsingException("Invalid tokens: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the cities of a map into an array indexed by city id
+     *
+     * @param json The JSON reader positioned before the cities array
+     * @param cityCount The number of cities in the header
+     * @param graph The graph to add the cities to
+     * @return The cities, with index 0 unused
+     * @throws JsonParsingException If a city is not valid or the count does not match
+     * @throws IOException If the reader fails
+     */
+    private Tile[] readCities(JsonReader json, int cityCount, AdjacencyGraph.Builder graph)
+            throws JsonParsingException, IOException {
+        Tile[] cities = new Tile[cityCount + 1];
+        int position = 0;
+
+        json.beginArray();
+        while (json.hasNext()) {
+            position++;
+            int id = -1;
+            String name = null;
+            TileType type = TileType.CITY;
+            int x = 0;
+            int y = 0;
+
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "id" -> id = json.nextInt();
+                    case "name" -> name = json.nextString();
+                    case "type" -> {
+                        String value = json.nextString();
+                        type = parseEnum(TileType.class, value, "City " + id + ": unknown type " + value);
+                    }
+                    case "x" -> x = json.nextInt();
+                    case "y" -> y = json.nextInt();
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+
+            if (position > cityCount) {
+                throw new JsonParsingException("City " + id + ": the map declares only " + cityCount + " cities");
+            }
+            if (id != position) {
+                throw new JsonParsingException("City " + id + ": city " + position
+                        + " was expected, cities must be numbered from 1 in order");
+            }
+            cities[id] = new Tile(id, name != null ? name : "City " + id, type, x, y);
+            graph.addTile(cities[id]);
+        }
+        json.endArray();
+
+        if (position != cityCount) {
+            throw new JsonParsingException("The map declares " + cityCount + " cities but has " + position);
+        }
+        return cities;
+    }
+
+    /**
+     * Reads the routes of a map into the tile connections and the graph
+     *
+     * @param json The JSON reader positioned before the routes array
+     * @param cities The cities indexed by id
+     * @param graph The graph to add the routes to
+     * @throws JsonParsingException If a route is not valid or out of order
+     * @throws IOException If the reader fails
+     */
+    private void readRoutes(JsonReader json, Tile[] cities, AdjacencyGraph.Builder graph)
+            throws JsonParsingException, IOException {
+        int routeNumber = 0;
+        int lastFrom = 0;
+        int usedDirections = 0;
+
+        json.beginArray();
+        while (json.hasNext()) {
+            routeNumber++;
+            int from = -1;
+            int to = -1;
+            int cost = -1;
+            Direction direction = null;
+
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "from" -> from = json.nextInt();
+                    case "to" -> to = json.nextInt();
+                    case "cost" -> cost = json.nextInt();
+                    case "direction" -> {
+                        String value = json.nextString();
+                        direction = parseEnum(Direction.class, value,
+                                "Route " + routeNumber + ": unknown direction " + value);
+                    }
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+
+            String route = "Route " + routeNumber + " (" + from + " -> " + to + ")";
+            if (from < 1 || from >= cities.length || to < 1 || to >= cities.length) {
+                throw new JsonParsingException(route + ": the map has no city "
+                        + (from < 1 || from >= cities.length ? from : to));
+            }
+            if (from < lastFrom) {
+                throw new JsonParsingException(route + ": routes must be sorted by the city they leave from");
+            }
+            if (direction == null) {
+                throw new JsonParsingException(route + ": the route has no direction");
+            }
+            if (cost < 0) {
+                throw new JsonParsingException(route + ": the route has no travel cost");
+            }
+            if (from != lastFrom) {
+                usedDirections = 0;
+                lastFrom = from;
+            }
+            int directionBit = 1 << direction.ordinal();
+            if ((usedDirections & directionBit) != 0) {
+                throw new JsonParsingException(route + ": city " + cities[from].getName()
+                        + " has more than one route " + direction);
+            }
+            usedDirections |= directionBit;
+
+            cities[from].addConnection(direction, cities[to], cost);
+            graph.addRoute(from, direction, to, cost);
+        }
+        json.endArray();
+    }
+
+    /**
+     * Parses the name of an enum constant
+     *
+     * @param type The enum class
+     * @param value The name of the constant
+     * @param message The message of the exception if there is no such constant
+     * @param <E> The enum type
+     * @return The constant
+     * @throws JsonParsingException If there is no constant with the name
+     */
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String message)
+            throws JsonParsingException {
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new JsonParsingException(message, e);
+        }
+    }
+}
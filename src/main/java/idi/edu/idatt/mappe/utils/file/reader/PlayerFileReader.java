@@ -1,5 +1,6 @@
 package idi.edu.idatt.mappe.utils.file.reader;
 
+import idi.edu.idatt.mappe.exceptions.CVSParsingException;
 import idi.edu.idatt.mappe.models.Player;
 
 import java.io.IOException;
@@ -23,6 +24,7 @@ public interface PlayerFileReader {
      * @param filePath The path to the file from which the players will be loaded
      * @return A list of players
      * @throws IOException If an I/O error occurs
+     * @throws CVSParsingException If the file contains rows that are not valid
      */
-    public List<Player> loadPlayers(String filePath) throws IOException;
+    public List<Player> loadPlayers(String filePath) throws IOException, CVSParsingException;
 }
\ No newline at end of file
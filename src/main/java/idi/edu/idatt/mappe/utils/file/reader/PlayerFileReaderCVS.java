@@ -1,12 +1,17 @@
 package idi.edu.idatt.mappe.utils.file.reader;
 
+import idi.edu.idatt.mappe.exceptions.CVSParsingException;
 import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.utils.diagnostics.FileIoEvent;
+import idi.edu.idatt.mappe.utils.diagnostics.GameMetrics;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
 
 /**
  * Class for reading player data from a CSV file.
@@ -14,11 +19,31 @@ import java.util.List;
  *     This class implements the PlayerFileReader interface and provides
  *     functionality to load player data from a CSV file.
  * </p>
+ * <p>
+ *     Each row holds a player's name and token, optionally followed by a colour as a hex
+ *     code and an amount of starting money. The file may start with a header row such as
+ *     {@code name,token,color,money}; the header then decides the order of the columns.
+ *     Without a header the columns are read in that order. Fields may be quoted, and empty
+ *     lines are skipped.
+ * </p>
+ * <p>
+ *     The file is streamed with {@link CsvRecordReader}. Rows that cannot be read do not stop
+ *     the reader; all of them are reported together with their line numbers.
+ * </p>
  *
  * @see PlayerFileReader
  * @version 1.0
  */
 public class PlayerFileReaderCVS implements PlayerFileReader {
+    private static final Logger logger = Logger.getLogger(PlayerFileReaderCVS.class.getName());
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final Pattern HEX_COLOR = Pattern.compile("#([0-9a-fA-F]{3}|[0-9a-fA-F]{6}|[0-9a-fA-F]{8})");
+
+    private static final int NAME = 0;
+    private static final int TOKEN = 1;
+    private static final int COLOR = 2;
+    private static final int MONEY = 3;
 
     /**
      * Loads a list of players from a file in CSV format.
@@ -26,22 +51,183 @@ public class PlayerFileReaderCVS implements PlayerFileReader {
      * @param filePath The path to the file from which the players will be loaded.
      * @return A list of players.
      * @throws IOException If an I/O error occurs.
+     * @throws CVSParsingException If one or more rows are not valid; every invalid row is added as a suppressed exception
      */
     @Override
-    public List<Player> loadPlayers(String filePath) throws IOException {
+    public List<Player> loadPlayers(String filePath) throws IOException, CVSParsingException {
+        FileIoEvent event = new FileIoEvent();
+        event.begin();
+        long start = System.nanoTime();
+
         List<Player> players = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length == 2) {
-                    players.add(new Player(parts[0], parts[1]));
+        List<CVSParsingException> errors = new ArrayList<>();
+        int[] columns = {0, 1, 2, 3};
+        boolean firstRecord = true;
+
+        try (CsvRecordReader reader = new CsvRecordReader(Path.of(filePath))) {
+            List<String> fields = new ArrayList<>();
+            while (true) {
+                try {
+                    if (!reader.readRecord(fields)) {
+                        break;
+                    }
+                } catch (CVSParsingException e) {
+                    errors.add(e);
+                    continue;
+                }
+                if (fields.size() == 1 && fields.getFirst().isBlank()) {
+                    continue;
+                }
+                if (firstRecord) {
+                    firstRecord = false;
+                    if (isHeader(fields)) {
+                        columns = readHeader(fields, reader.getLineNumber());
+                        continue;
+                    }
+                }
+                try {
+                    players.add(readPlayer(fields, columns, reader.getLineNumber()));
+                } catch (CVSParsingException e) {
+                    errors.add(e);
                 }
             }
         } catch (IOException e) {
-            throw new IOException("Could not read file");
+            logger.warning("Could not read player file " + filePath + ": " + e.getMessage());
+            throw new IOException("Could not read file: " + e.getMessage(), e);
         }
+
+        if (!errors.isEmpty()) {
+            throw rowErrors(errors);
+        }
+
+        GameMetrics.recordFileLoad(event, start, GameMetrics.FileKind.PLAYERS, filePath);
         return players;
     }
 
+    /**
+     * Returns whether a record is a header row
+     *
+     * @param fields The fields of the record
+     * @return True if the first field is "name"
+     */
+    private static boolean isHeader(List<String> fields) {
+        return fields.getFirst().trim().equalsIgnoreCase("name");
+    }
+
+    /**
+     * Reads the position of every known column from a header row
+     *
+     * @param fields The fields of the header row
+     * @param lineNumber The line of the header row
+     * @return The field index of the name, token, colour and money columns, -1 for absent columns
+     * @throws CVSParsingException If the header has no token column or names a column twice
+     */
+    private static int[] readHeader(List<String> fields, int lineNumber) throws CVSParsingException {
+        int[] columns = {-1, -1, -1, -1};
+        for (int i = 0; i < fields.size(); i++) {
+            int column = switch (fields.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "name" -> NAME;
+                case "token" -> TOKEN;
+                case "color", "colour" -> COLOR;
+                case "money" -> MONEY;
+                default -> -1;
+            };
+            if (column == -1) {
+                continue;
+            }
+            if (columns[column] != -1) {
+                throw new CVSParsingException("Column '" + fields.get(i).trim() + "' appears twice in the header", lineNumber);
+            }
+            columns[column] = i;
+        }
+        if (columns[TOKEN] == -1) {
+            throw new CVSParsingException("Header has no 'token' column", lineNumber);
+        }
+        return columns;
+    }
+
+    /**
+     * Creates a player from a row
+     *
+     * @param fields The fields of the row
+     * @param columns The field index of each column
+     * @param lineNumber The line of the row
+     * @return The player
+     * @throws CVSParsingException If the row is not valid
+     */
+    private static Player readPlayer(List<String> fields, int[] columns, int lineNumber) throws CVSParsingException {
+        if (fields.size() <= Math.max(columns[NAME], columns[TOKEN])) {
+            throw new CVSParsingException("Expected a name and a token but found " + fields.size() + " field(s)", lineNumber);
+        }
+
+        String name = fields.get(columns[NAME]).trim();
+        String token = fields.get(columns[TOKEN]).trim();
+        if (name.isEmpty()) {
+            throw new CVSParsingException("Player name is empty", lineNumber);
+        }
+        if (token.isEmpty()) {
+            throw new CVSParsingException("Token of " + name + " is empty", lineNumber);
+        }
+
+        String color = optionalField(fields, columns[COLOR]);
+        if (color != null && !HEX_COLOR.matcher(color).matches()) {
+            throw new CVSParsingException("Invalid colour '" + color + "' for " + name + ", expected a hex code such as #e74c3c", lineNumber);
+        }
+
+        String moneyField = optionalField(fields, columns[MONEY]);
+        Player player;
+        if (moneyField == null) {
+            player = new Player(name, token);
+        } else {
+            int money;
+            try {
+                money = Integer.parseInt(moneyField);
+            } catch (NumberFormatException e) {
+                throw new CVSParsingException("Invalid money '" + moneyField + "' for " + name, lineNumber);
+            }
+            if (money < 0) {
+                throw new CVSParsingException("Money for " + name + " cannot be negative", lineNumber);
+            }
+            player = new Player(name, token, money);
+        }
+
+        player.setColor(color);
+        return player;
+    }
+
+    /**
+     * Returns an optional field of a row
+     *
+     * @param fields The fields of the row
+     * @param index The field index, or -1 if the column is absent
+     * @return The trimmed field, or null if it is absent or empty
+     */
+    private static String optionalField(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Combines the errors of the rows that could not be read into one exception
+     *
+     * @param errors The error of each row
+     * @return An exception listing the first errors, with every error added as a suppressed exception
+     */
+    private static CVSParsingException rowErrors(List<CVSParsingException> errors) {
+        StringBuilder message = new StringBuilder()
+                .append(errors.size()).append(errors.size() == 1 ? " row" : " rows")
+                .append(" could not be read:");
+        errors.stream().limit(MAX_REPORTED_ERRORS)
+                .forEach(error -> message.append('\n').append(error.getMessage()));
+        if (errors.size() > MAX_REPORTED_ERRORS) {
+            message.append("\n... and ").append(errors.size() - MAX_REPORTED_ERRORS).append(" more");
+        }
+
+        CVSParsingException exception = new CVSParsingException(message.toString());
+        errors.forEach(exception::addSuppressed);
+        return exception;
+    }
 }
@@ -5,7 +5,13 @@ import idi.edu.idatt.mappe.exceptions.JsonParsingException;
 import idi.edu.idatt.mappe.exceptions.TileActionNotFoundException;
 import idi.edu.idatt.mappe.models.Board;
 import idi.edu.idatt.mappe.models.Tile;
-import idi.edu.idatt.mappe.models.tileaction.*;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.sampling.SamplingRule;
+import idi.edu.idatt.mappe.models.tileaction.SampledTileAction;
+import idi.edu.idatt.mappe.models.tileaction.TileAction;
+import idi.edu.idatt.mappe.models.tileaction.TileActionRegistry;
+import idi.edu.idatt.mappe.utils.diagnostics.FileIoEvent;
+import idi.edu.idatt.mappe.utils.diagnostics.GameMetrics;
 
 import java.io.FileWriter;
 import java.io.IOException;
@@ -35,6 +41,7 @@ import java.util.Map;
  *     }
  *     },
  *     .....
+ *     Random actions with settings of their own also get a "sampling" object.
  * </p>
  *
  * @see BoardFileWriter
@@ -49,7 +56,8 @@ public class BoardFileWriterGson implements BoardFileWriter {
     }
 
     /**
-     * Writes a board to a JSON file
+     * Writes a board to a JSON file. Boards for The Lost Diamond are written as maps
+     * by {@link LostDiamondMapWriter}, which keeps their cities, routes and tokens.
      *
      * @param board The board to write to the file
      * @param fileName The name of the file to write to
@@ -57,6 +65,13 @@ public class BoardFileWriterGson implements BoardFileWriter {
      */
     @Override
     public void writeBoard(Board board, String fileName, String name, String description) throws JsonParseException, IOException, TileActionNotFoundException {
+        if (board.getGameType() == GameType.THE_LOST_DIAMOND) {
+            new LostDiamondMapWriter().writeBoard(board, fileName, name, description);
+            return;
+        }
+        FileIoEvent event = new FileIoEvent();
+        event.begin();
+        long start = System.nanoTime();
         JsonObject boardJson = serializeBoard(board, name, description);
 
         // Write the JSON to a file
@@ -66,6 +81,18 @@ public class BoardFileWriterGson implements BoardFileWriter {
         try (FileWriter writer = new FileWriter(fileName)) {
             writer.write(jsonString);
         }
+        GameMetrics.recordFileSave(event, start, GameMetrics.FileKind.BOARD, fileName);
+    }
+
+    /**
+     * Writes a board to a JSON string in the same format as the board files
+     *
+     * @param board The board to write
+     * @return The JSON of the board
+     * @throws TileActionNotFoundException If a tile has an action that cannot be written
+     */
+    public String writeBoardToString(Board board) throws TileActionNotFoundException {
+        return new Gson().toJson(serializeBoard(board, "Game Board", "A game board with tiles and actions"));
     }
 
     /**
@@ -127,37 +154,41 @@ public class BoardFileWriterGson implements BoardFileWriter {
     private static JsonObject getJsonObject(TileAction action) throws TileActionNotFoundException {
         JsonObject actionJson = new JsonObject();
 
-        if (action instanceof LadderTileAction ladderTileAction) {
-            actionJson.addProperty("type", "LadderAction");
-            actionJson.addProperty("destinationTileId", ladderTileAction.getDestinationTileId());
-            actionJson.addProperty("description", ladderTileAction.getDescription());
-        } else if (action instanceof SnakeTileAction snakeTileAction) {
-            actionJson.addProperty("type", "SnakeAction");
-            actionJson.addProperty("destinationTileId", snakeTileAction.getDestinationTileId());
-            actionJson.addProperty("description", snakeTileAction.getDescription());
-        } else if (action instanceof RandomTeleportTileAction randomTeleportTileAction) {
-            actionJson.addProperty("type", "RandomTeleportAction");
-            actionJson.addProperty("description", randomTeleportTileAction.getDescription());
-            actionJson.addProperty("destinationTileId", -1); // Placeholder for random teleport
-        } else if (action instanceof SwapAction swapAction) {
-            actionJson.addProperty("type", "SwapAction");
-            actionJson.addProperty("description", swapAction.getDescription());
-            actionJson.addProperty("destinationTileId", -1); // Placeholder for swap
-        } else if (action instanceof MissingTurnTileAction missingTurnTileAction) {
-            actionJson.addProperty("type", "MissingTurnAction");
-            actionJson.addProperty("description", missingTurnTileAction.getDescription());
-            actionJson.addProperty("destinationTileId", -1); // Placeholder for missing turn
-        } else if (action instanceof GoToJailTileAction goToJailTileAction) {
-            actionJson.addProperty("type", "GoToJailAction");
-            actionJson.addProperty("description", goToJailTileAction.getDescription());
-            actionJson.addProperty("destinationTileId", -1); // Placeholder for go to jail
-        } else if (action instanceof ExtraThrowAction extraThrowAction) {
-            actionJson.addProperty("type", "ExtraThrowAction");
-            actionJson.addProperty("description", extraThrowAction.getDescription());
-            actionJson.addProperty("destinationTileId", -1); // Placeholder for extra throw
-        } else {
+        TileActionRegistry.Definition definition = TileActionRegistry.get(action);
+        if (definition == null || !definition.isSerializable()) {
             throw new TileActionNotFoundException("Unknown action type: " + action.getClass().getName());
         }
+
+        actionJson.addProperty("type", definition.getTypeName());
+        actionJson.addProperty("destinationTileId", definition.getDestinationTileId(action));
+        actionJson.addProperty("description", action.getDescription());
+        if (action instanceof SampledTileAction sampled && !sampled.getSamplingRule().isDefault()) {
+            actionJson.add("sampling", getJsonObject(sampled.getSamplingRule()));
+        }
         return actionJson;
     }
+
+    /**
+     * Returns a JsonObject representing the sampling settings of a random action
+     *
+     * @param rule The sampling rule to serialize
+     * @return A JsonObject representing the sampling rule
+     */
+    private static JsonObject getJsonObject(SamplingRule rule) {
+        JsonObject samplingJson = new JsonObject();
+        if (rule.getFromTile() > 0) {
+            samplingJson.addProperty("fromTile", rule.getFromTile());
+        }
+        if (rule.getToTile() > 0) {
+            samplingJson.addProperty("toTile", rule.getToTile());
+        }
+        samplingJson.addProperty("defaultWeight", rule.getDefaultWeight());
+        if (!rule.getWeights().isEmpty()) {
+            JsonObject weightsJson = new JsonObject();
+            rule.getWeights().forEach((tile, weight) -> weightsJson.addProperty(String.valueOf(tile), weight));
+            samplingJson.add("weights", weightsJson);
+        }
+        samplingJson.addProperty("candidates", rule.getCandidates().name());
+        return samplingJson;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package idi.edu.idatt.mappe.utils.file.writer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streaming writer for CSV records
+ * <p>
+ *     Each record is written straight to a buffered writer, so the file is never built in
+ *     memory. A field is quoted only when it contains a comma, a quote, a line break or
+ *     leading or trailing spaces, and quotes inside a field are written as two quotes.
+ *     Records end with LF.
+ * </p>
+ */
+public class CsvRecordWriter implements Closeable {
+    private final Writer writer;
+
+    /**
+     * Creates or replaces a UTF-8 CSV file for writing
+     *
+     * @param path The path of the file
+     * @throws IOException If the file cannot be opened
+     */
+    public CsvRecordWriter(Path path) throws IOException {
+        this(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a writer that writes to another writer
+     *
+     * @param writer The writer to write to; closed when this writer is closed
+     */
+    public CsvRecordWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes a record
+     *
+     * @param fields The fields of the record; null fields are written as empty fields
+     * @throws IOException If the record cannot be written
+     */
+    public void writeRecord(String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(fields[i]);
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Writes a field, quoting it if needed
+     *
+     * @param field The field, may be null
+     * @throws IOException If the field cannot be written
+     */
+    private void writeField(String field) throws IOException {
+        if (field == null || field.isEmpty()) {
+            return;
+        }
+        if (!needsQuotes(field)) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < field.length(); i++) {
+            if (field.charAt(i) == '"') {
+                writer.write(field, start, i + 1 - start);
+                writer.write('"');
+                start = i + 1;
+            }
+        }
+        writer.write(field, start, field.length() - start);
+        writer.write('"');
+    }
+
+    /**
+     * Returns whether a field must be quoted to be read back unchanged
+     *
+     * @param field The field
+     * @return True if the field must be quoted
+     */
+    private static boolean needsQuotes(String field) {
+        if (field.charAt(0) == ' ' || field.charAt(field.length() - 1) == ' ') {
+            return true;
+        }
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -5,6 +5,8 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
 import idi.edu.idatt.mappe.exceptions.JsonParsingException;
 import idi.edu.idatt.mappe.models.GameRules;
+import idi.edu.idatt.mappe.utils.diagnostics.FileIoEvent;
+import idi.edu.idatt.mappe.utils.diagnostics.GameMetrics;
 
 import java.io.FileWriter;
 import java.io.IOException;
@@ -29,6 +31,9 @@ public class GameRulesWriterGson implements GameRulesWriter {
      */
     @Override
     public void writeGameRules(GameRules rules, String filePath) throws JsonParsingException, IOException {
+        FileIoEvent event = new FileIoEvent();
+        event.begin();
+        long start = System.nanoTime();
         try {
             JsonObject rulesJson = serializeRules(rules);
 
@@ -39,6 +44,7 @@ public class GameRulesWriterGson implements GameRulesWriter {
                 writer.write(jsonString);
             }
 
+            GameMetrics.recordFileSave(event, start, GameMetrics.FileKind.RULES, filePath);
             logger.info("Successfully wrote game rules to file: " + filePath);
 
         } catch (Exception e) {
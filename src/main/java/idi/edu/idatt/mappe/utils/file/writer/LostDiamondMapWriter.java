@@ -0,0 +1,202 @@
+package idi.edu.idatt.mappe.utils.file.writer;
+
+import com.google.gson.stream.JsonWriter;
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.TokenPool;
+import idi.edu.idatt.mappe.models.enums.Direction;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.TileType;
+import idi.edu.idatt.mappe.models.enums.TokenType;
+import idi.edu.idatt.mappe.utils.diagnostics.FileIoEvent;
+import idi.edu.idatt.mappe.utils.diagnostics.GameMetrics;
+import idi.edu.idatt.mappe.utils.file.reader.LostDiamondMapReader;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Writes The Lost Diamond maps in the format read by {@link LostDiamondMapReader}
+ * <p>
+ *     The map is streamed to the file city by city and route by route, so writing a map
+ *     with thousands of cities does not build it in memory a second time. The counts and
+ *     the token pool come first, then the cities in id order, then the routes in the order
+ *     of the city they leave from:
+ *     {
+ *     "format": "lost-diamond-map",
+ *     "version": 1,
+ *     "name": "The Lost Diamond",
+ *     "description": "A map for The Lost Diamond",
+ *     "gameType": "THE_LOST_DIAMOND",
+ *     "cityCount": 25,
+ *     "routeCount": 96,
+ *     "tokens": { "diamondCity": 19, "basePrice": 100, "pool": { "RUBY": 2, ... } },
+ *     "cities": [ { "id": 1, "name": "Tangier", "type": "STARTING_CITY", "x": 50, "y": 100 }, ... ],
+ *     "routes": [ { "from": 1, "to": 3, "direction": "NORTH", "cost": 100 }, ... ]
+ *     }
+ * </p>
+ *
+ * @see LostDiamondMapReader
+ * @version 1.0
+ */
+public class LostDiamondMapWriter implements BoardFileWriter {
+
+    @Override
+    public void writeBoard(Board board, String filePath) throws IOException {
+        writeBoard(board, filePath, "The Lost Diamond", "A map for The Lost Diamond");
+    }
+
+    /**
+     * Writes a map to a file
+     *
+     * @param board The board of the map
+     * @param fileName The name of the file to write to
+     * @param name The name of the map
+     * @param description The description of the map
+     * @throws IOException If an I/O error occurs
+     * @throws IllegalArgumentException If the board is not a Lost Diamond map with cities numbered from 1
+     */
+    @Override
+    public void writeBoard(Board board, String fileName, String name, String description) throws IOException {
+        FileIoEvent event = new FileIoEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try (Writer writer = new BufferedWriter(new FileWriter(fileName))) {
+            writeMap(board, writer, name, description);
+        }
+        GameMetrics.recordFileSave(event, start, GameMetrics.FileKind.BOARD, fileName);
+    }
+
+    /**
+     * Writes a map to a string
+     *
+     * @param board The board of the map
+     * @param name The name of the map
+     * @param description The description of the map
+     * @return The JSON of the map
+     * @throws IllegalArgumentException If the board is not a Lost Diamond map with cities numbered from 1
+     */
+    public String writeMapToString(Board board, String name, String description) {
+        StringWriter writer = new StringWriter();
+        try {
+            writeMap(board, writer, name, description);
+        } catch (IOException e) {
+            throw new IllegalStateException("Writing to a string failed", e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Streams a map to a writer
+     *
+     * @param board The board of the map
+     * @param writer The writer to write to, left open
+     * @param name The name of the map
+     * @param description The description of the map
+     * @throws IOException If an I/O error occurs
+     * @throws IllegalArgumentException If the board is not a Lost Diamond map with cities numbered from 1
+     */
+    public void writeMap(Board board, Writer writer, String name, String description) throws IOException {
+        if (board.getGameType() != GameType.THE_LOST_DIAMOND) {
+            throw new IllegalArgumentException("Only boards for The Lost Diamond can be written as maps");
+        }
+        int cityCount = board.getTileCount();
+        int[] routeCount = {0};
+        board.forEachTile(tile -> {
+            if (tile.getIndex() < 1 || tile.getIndex() > cityCount) {
+                throw new IllegalArgumentException("Tile " + tile.getIndex()
+                        + ": cities must be numbered from 1 to " + cityCount);
+            }
+            routeCount[0] += tile.getConnections().size();
+        });
+
+        JsonWriter json = new JsonWriter(writer);
+        json.setIndent("  ");
+        json.beginObject();
+        json.name("format").value(LostDiamondMapReader.FORMAT);
+        json.name("version").value(LostDiamondMapReader.VERSION);
+        json.name("name").value(name);
+        json.name("description").value(description);
+        json.name("gameType").value(GameType.THE_LOST_DIAMOND.name());
+        json.name("cityCount").value(cityCount);
+        json.name("routeCount").value(routeCount[0]);
+
+        TokenPool tokenPool = board.getTokenPool() != null ? board.getTokenPool() : tokenPoolOf(board);
+        if (tokenPool != null) {
+            json.name("tokens").beginObject();
+            json.name("diamondCity").value(tokenPool.getDiamondCityId());
+            json.name("basePrice").value(tokenPool.getBasePrice());
+            json.name("pool").beginObject();
+            for (Map.Entry<TokenType, Integer> entry : tokenPool.getCounts().entrySet()) {
+                json.name(entry.getKey().name()).value(entry.getValue());
+            }
+            json.endObject();
+            json.endObject();
+        }
+
+        json.name("cities").beginArray();
+        for (int id = 1; id <= cityCount; id++) {
+            Tile city = board.getTileByIndex(id);
+            json.beginObject();
+            json.name("id").value(id);
+            json.name("name").value(city.getName());
+            json.name("type").value(city.getTileType().name());
+            json.name("x").value(city.getX());
+            json.name("y").value(city.getY());
+            json.endObject();
+        }
+        json.endArray();
+
+        json.name("routes").beginArray();
+        for (int id = 1; id <= cityCount; id++) {
+            Tile city = board.getTileByIndex(id);
+            for (Map.Entry<Direction, Tile> route : city.getConnections().entrySet()) {
+                json.beginObject();
+                json.name("from").value(id);
+                json.name("to").value(route.getValue().getIndex());
+                json.name("direction").value(route.getKey().name());
+                json.name("cost").value(city.getTravelCost(route.getKey()));
+                json.endObject();
+            }
+        }
+        json.endArray();
+        json.endObject();
+        json.flush();
+    }
+
+    /**
+     * Finds the token pool of a board whose tokens were placed without one,
+     * from the tokens hidden in its cities
+     *
+     * @param board The board
+     * @return The token pool, or null if no city hides the diamond
+     */
+    private static TokenPool tokenPoolOf(Board board) {
+        int[] diamondCity = {-1};
+        long[] priceTotal = {0};
+        int[] cities = {0};
+        Map<TokenType, Integer> counts = new EnumMap<>(TokenType.class);
+        board.forEachTile(tile -> {
+            if (tile.getTileType() != TileType.CITY) {
+                return;
+            }
+            cities[0]++;
+            priceTotal[0] += tile.getTokenPrice();
+            TokenType token = tile.getHiddenToken();
+            if (token == TokenType.DIAMOND) {
+                diamondCity[0] = tile.getIndex();
+            } else if (token != null && token != TokenType.EMPTY) {
+                counts.merge(token, 1, Integer::sum);
+            }
+        });
+        if (diamondCity[0] < 0) {
+            return null;
+        }
+        return TokenPool.of(diamondCity[0], (int) Math.round((double) priceTotal[0] / cities[0]), counts);
+    }
+}
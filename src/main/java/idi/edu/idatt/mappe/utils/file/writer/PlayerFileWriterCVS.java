@@ -1,9 +1,11 @@
 package idi.edu.idatt.mappe.utils.file.writer;
 
 import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.utils.diagnostics.FileIoEvent;
+import idi.edu.idatt.mappe.utils.diagnostics.GameMetrics;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -14,6 +16,8 @@ import static java.util.logging.Logger.getLogger;
  * It provides functionality to save player data to a CSV file.
  * <p>
  *     This class is responsible for writing player data to a file in CSV format.
+ *     The file starts with the header {@code name,token,color,money}, followed by one row
+ *     per player. Rows are streamed to the file with {@link CsvRecordWriter}.
  * </p>
  *
  * @see PlayerFileWriter
@@ -32,13 +36,19 @@ public class PlayerFileWriterCVS implements PlayerFileWriter {
      */
     @Override
     public void savePlayers(List<Player> players, String filePath) throws IOException {
-        try (FileWriter writer = new FileWriter(filePath)) {
+        FileIoEvent event = new FileIoEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try (CsvRecordWriter writer = new CsvRecordWriter(Path.of(filePath))) {
+            writer.writeRecord("name", "token", "color", "money");
             for (Player player : players) {
-                writer.write(player.getName() + "," + player.getToken() + "\n");
+                writer.writeRecord(player.getName(), player.getToken(), player.getColor(),
+                        Integer.toString(player.getStartingMoney()));
             }
         } catch (IOException e) {
             logger.warning("Could not write to file: " + e.getMessage());
-            throw new IOException("Could not write to file");
+            throw new IOException("Could not write to file", e);
         }
+        GameMetrics.recordFileSave(event, start, GameMetrics.FileKind.PLAYERS, filePath);
     }
 }
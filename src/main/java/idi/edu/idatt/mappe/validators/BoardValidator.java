@@ -1,10 +1,388 @@
 package idi.edu.idatt.mappe.validators;
 
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.GameRules;
+import idi.edu.idatt.mappe.models.LandActionResolver;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.enums.Direction;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
+import idi.edu.idatt.mappe.models.enums.TokenType;
+import idi.edu.idatt.mappe.models.sampling.AliasTable;
+import idi.edu.idatt.mappe.models.sampling.SamplingRule;
+import idi.edu.idatt.mappe.models.tileaction.SampledTileAction;
+import idi.edu.idatt.mappe.models.tileaction.TileAction;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A class for validating boards
+ * <p>
+ *     Besides the size check, the structural validation finds every problem that would
+ *     otherwise only show up in the middle of a game, and names the tiles involved. It runs
+ *     in time linear in the number of tiles and routes, so it can check large boards when
+ *     they are loaded.
+ * </p>
+ * <p>
+ *     Snakes and Ladders boards must have every tile from 1 to the last, a next tile chain
+ *     that runs through them in order, ladders and snakes that lead to tiles on the board
+ *     without looping, random teleports with targets on the board, and a last tile that can be reached
+ *     from tile 1. The Lost Diamond boards must have routes that stay on the board, starting
+ *     cities from which every city can be reached, and a diamond.
+ * </p>
+ */
 public class BoardValidator {
+    private static final int MAX_REPORTED_PROBLEMS = 20;
 
     public static void boardSizeValidator(int size) {
         if (size < 1) {
             throw new IllegalArgumentException("Board size cannot be less than 1");
         }
     }
+
+    /**
+     * Validates the structure of a board, assuming the dice of the default game rules
+     *
+     * @param board The board to validate
+     * @throws IllegalArgumentException If the board has problems, listing them
+     */
+    public static void validateStructure(Board board) {
+        throwIfAny(findStructuralProblems(board));
+    }
+
+    /**
+     * Throws if a list of problems is not empty
+     *
+     * @param problems The problems found with a board
+     * @throws IllegalArgumentException If there are problems, listing the first of them
+     */
+    public static void throwIfAny(List<String> problems) {
+        if (problems.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder()
+                .append(problems.size()).append(problems.size() == 1 ? " problem: " : " problems: ");
+        message.append(String.join("; ", problems.subList(0, Math.min(problems.size(), MAX_REPORTED_PROBLEMS))));
+        if (problems.size() > MAX_REPORTED_PROBLEMS) {
+            message.append("; and ").append(problems.size() - MAX_REPORTED_PROBLEMS).append(" more");
+        }
+        throw new IllegalArgumentException(message.toString());
+    }
+
+    /**
+     * Finds the structural problems of a board, assuming the dice of the default game rules
+     *
+     * @param board The board to check
+     * @return The problems found, empty if the board is valid
+     */
+    public static List<String> findStructuralProblems(Board board) {
+        GameRules defaults = new GameRules();
+        return findStructuralProblems(board, defaults.getNumberOfDice(), defaults.getMaxRoll());
+    }
+
+    /**
+     * Finds the structural problems of a board
+     *
+     * @param board The board to check
+     * @param minRoll The lowest total the dice can show
+     * @param maxRoll The highest total the dice can show
+     * @return The problems found, empty if the board is valid
+     */
+    public static List<String> findStructuralProblems(Board board, int minRoll, int maxRoll) {
+        List<String> problems = new ArrayList<>();
+        if (board.getTileCount() == 0) {
+            problems.add("The board has no tiles");
+            return problems;
+        }
+        Tile[] tiles = tilesById(board);
+        if (board.getGameType() == GameType.THE_LOST_DIAMOND) {
+            checkRoutes(tiles, problems);
+        } else {
+            checkTrack(tiles, minRoll, maxRoll, problems);
+        }
+        return problems;
+    }
+
+    /**
+     * Copies the tiles of a board into an array indexed by tile id
+     *
+     * @param board The board
+     * @return The tiles, with null for ids that have no tile
+     */
+    private static Tile[] tilesById(Board board) {
+        int[] maxId = {0};
+        board.forEachTileIndex(id -> maxId[0] = Math.max(maxId[0], id));
+        Tile[] tiles = new Tile[maxId[0] + 1];
+        board.forEachTile(tile -> tiles[tile.getIndex()] = tile);
+        return tiles;
+    }
+
+    /**
+     * Checks a Snakes and Ladders track
+     *
+     * @param tiles The tiles by id
+     * @param minRoll The lowest total the dice can show
+     * @param maxRoll The highest total the dice can show
+     * @param problems Receives the problems found
+     */
+    private static void checkTrack(Tile[] tiles, int minRoll, int maxRoll, List<String> problems) {
+        int last = tiles.length - 1;
+        for (int id = 1; id <= last; id++) {
+            if (tiles[id] == null) {
+                problems.add("Tile " + id + " is missing; tiles must be numbered 1 to " + last + " without gaps");
+            }
+        }
+        if (tiles[0] != null) {
+            problems.add("Tile 0 is not allowed; tiles are numbered from 1");
+        }
+        if (!problems.isEmpty()) {
+            return;
+        }
+
+        for (int id = 1; id <= last; id++) {
+            Tile next = tiles[id].getNextTile();
+            if (id < last && next == null) {
+                problems.add("Tile " + id + ": the next tile chain ends before the last tile " + last);
+            } else if (id < last && next != tiles[id + 1]) {
+                problems.add("Tile " + id + ": next tile is " + next.getIndex()
+                        + (next.getIndex() <= last && tiles[next.getIndex()] == next ? "" : ", which is not on the board")
+                        + ", expected " + (id + 1));
+            } else if (id == last && next != null) {
+                problems.add("Tile " + id + ": the last tile has a next tile " + next.getIndex());
+            }
+        }
+
+        int[] destinations = new int[last + 1];
+        AliasTable[] teleports = new AliasTable[last + 1];
+        Map<SamplingRule, AliasTable> teleportTables = new HashMap<>();
+        for (int id = 1; id <= last; id++) {
+            TileAction action = tiles[id].getLandAction();
+            destinations[id] = id;
+            if (action == null) {
+                continue;
+            }
+            if (action.getKind() == TileActionKind.RANDOM_TELEPORT) {
+                SamplingRule rule = action instanceof SampledTileAction sampled
+                        ? sampled.getSamplingRule() : SamplingRule.DEFAULT;
+                try {
+                    teleports[id] = teleportTables.computeIfAbsent(rule, key -> key.createTileTable(last));
+                } catch (IllegalArgumentException e) {
+                    problems.add("Tile " + id + ": " + e.getMessage());
+                }
+            }
+            int destination = LandActionResolver.getFixedDestination(action);
+            if (destination == LandActionResolver.NO_TILE) {
+                continue;
+            }
+            if (destination < 1 || destination > last) {
+                problems.add("Tile " + id + ": " + action.getKind() + " leads to tile " + destination
+                        + ", which is not on the board");
+            } else if (destination == id) {
+                problems.add("Tile " + id + ": " + action.getKind() + " leads to itself");
+            } else {
+                destinations[id] = destination;
+            }
+        }
+
+        int[] finals = resolveChains(destinations, problems);
+        if (finals == null || !problems.isEmpty()) {
+            return;
+        }
+        if (!canReachLastTile(finals, teleports, minRoll, maxRoll)) {
+            problems.add("Tile " + last + ": the last tile cannot be reached from tile 1 with rolls from "
+                    + minRoll + " to " + maxRoll);
+        }
+    }
+
+    /**
+     * Follows the ladder, snake and go-to-start chains to their final tiles
+     *
+     * @param destinations The tile every tile leads to, itself if it has no such action
+     * @param problems Receives the chains that loop
+     * @return The final tile of every tile, or null if a chain loops
+     */
+    private static int[] resolveChains(int[] destinations, List<String> problems) {
+        final int unvisited = 0;
+        final int visiting = 1;
+        final int resolved = 2;
+        int[] state = new int[destinations.length];
+        int[] finals = new int[destinations.length];
+        int[] path = new int[destinations.length];
+        boolean loops = false;
+
+        for (int start = 1; start < destinations.length; start++) {
+            int length = 0;
+            int tile = start;
+            while (state[tile] == unvisited && destinations[tile] != tile) {
+                state[tile] = visiting;
+                path[length++] = tile;
+                tile = destinations[tile];
+            }
+            int end;
+            if (state[tile] == visiting) {
+                StringBuilder cycle = new StringBuilder().append(tile);
+                for (int next = destinations[tile]; next != tile; next = destinations[next]) {
+                    cycle.append(" -> ").append(next);
+                }
+                problems.add("Tile " + tile + ": ladders and snakes loop " + cycle + " -> " + tile);
+                loops = true;
+                end = tile;
+            } else {
+                end = state[tile] == resolved ? finals[tile] : tile;
+                state[tile] = resolved;
+                finals[tile] = end;
+            }
+            for (int i = 0; i < length; i++) {
+                state[path[i]] = resolved;
+                finals[path[i]] = end;
+            }
+        }
+        return loops ? null : finals;
+    }
+
+    /**
+     * Checks whether a player on tile 1 can reach the last tile
+     *
+     * <p>
+     *     Every tile is visited once and tries every roll. A random teleport can lead to any
+     *     tile in its target table, so the targets of a table are added once, the first time a
+     *     teleport with that table is landed on. Teleports with the same settings share a table,
+     *     which keeps the search linear however many teleports there are.
+     * </p>
+     *
+     * @param finals The tile a player ends up on after landing on every tile
+     * @param teleports The target table of every random teleport, null for other tiles
+     * @param minRoll The lowest total the dice can show
+     * @param maxRoll The highest total the dice can show
+     * @return True if the last tile can be reached
+     */
+    private static boolean canReachLastTile(int[] finals, AliasTable[] teleports, int minRoll, int maxRoll) {
+        int last = finals.length - 1;
+        BitSet visited = new BitSet(finals.length);
+        int[] queue = new int[finals.length];
+        int head = 0;
+        int tail = 0;
+        Set<AliasTable> addedTables = Collections.newSetFromMap(new IdentityHashMap<>());
+        queue[tail++] = finals[1];
+        visited.set(finals[1]);
+
+        while (head < tail) {
+            int tile = queue[head++];
+            if (tile == last) {
+                return true;
+            }
+            for (int roll = Math.max(1, minRoll); roll <= maxRoll; roll++) {
+                int landed = Math.min(tile + roll, last);
+                AliasTable targets = teleports[landed];
+                if (targets != null && addedTables.add(targets)) {
+                    for (int i = 0; i < targets.size(); i++) {
+                        int target = targets.getOutcome(i);
+                        if (!visited.get(finals[target])) {
+                            visited.set(finals[target]);
+                            queue[tail++] = finals[target];
+                        }
+                    }
+                }
+                int end = finals[landed];
+                if (!visited.get(end)) {
+                    visited.set(end);
+                    queue[tail++] = end;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the routes of a Lost Diamond map
+     *
+     * @param tiles The tiles by id
+     * @param problems Receives the problems found
+     */
+    private static void checkRoutes(Tile[] tiles, List<String> problems) {
+        int edgeCount = 0;
+        for (Tile tile : tiles) {
+            if (tile != null) {
+                edgeCount += tile.getConnections().size();
+            }
+        }
+        int[] firstEdge = new int[tiles.length + 1];
+        int[] targets = new int[edgeCount];
+        List<Integer> startingCities = new ArrayList<>();
+        List<Integer> diamonds = new ArrayList<>();
+        int edge = 0;
+
+        for (int id = 0; id < tiles.length; id++) {
+            firstEdge[id] = edge;
+            Tile tile = tiles[id];
+            if (tile == null) {
+                continue;
+            }
+            for (Map.Entry<Direction, Tile> connection : tile.getConnections().entrySet()) {
+                Tile target = connection.getValue();
+                int targetId = target == null ? -1 : target.getIndex();
+                if (targetId < 0 || targetId >= tiles.length || tiles[targetId] != target) {
+                    problems.add("Tile " + id + ": the route " + connection.getKey() + " leads to tile "
+                            + targetId + ", which is not on the board");
+                } else {
+                    targets[edge++] = targetId;
+                }
+            }
+            if (tile.isStartingCity()) {
+                startingCities.add(id);
+            }
+            if (tile.getHiddenToken() == TokenType.DIAMOND
+                    || (tile.getLandAction() != null && tile.getLandAction().getKind() == TileActionKind.DIAMOND)) {
+                diamonds.add(id);
+            }
+        }
+        firstEdge[tiles.length] = edge;
+
+        if (startingCities.size() < 2) {
+            problems.add("The map has " + startingCities.size() + " starting cities, at least 2 are needed");
+        }
+        if (diamonds.isEmpty()) {
+            problems.add("The map has no diamond");
+        }
+
+        BitSet diamondReachable = new BitSet(tiles.length);
+        int[] queue = new int[tiles.length];
+        for (int start : startingCities) {
+            BitSet visited = new BitSet(tiles.length);
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            visited.set(start);
+            while (head < tail) {
+                int tile = queue[head++];
+                for (int i = firstEdge[tile]; i < firstEdge[tile + 1]; i++) {
+                    if (!visited.get(targets[i])) {
+                        visited.set(targets[i]);
+                        queue[tail++] = targets[i];
+                    }
+                }
+            }
+            for (int id = 0; id < tiles.length; id++) {
+                if (tiles[id] != null && tiles[id].isCity() && !visited.get(id)) {
+                    problems.add("Tile " + id + ": the city " + tiles[id].getName()
+                            + " cannot be reached from the starting city on tile " + start);
+                }
+            }
+            for (int diamond : diamonds) {
+                if (visited.get(diamond)) {
+                    diamondReachable.set(diamond);
+                }
+            }
+        }
+        if (!startingCities.isEmpty() && !diamonds.isEmpty() && diamondReachable.isEmpty()) {
+            problems.add("Tile " + diamonds.get(0) + ": no diamond can be reached from a starting city");
+        }
+    }
 }
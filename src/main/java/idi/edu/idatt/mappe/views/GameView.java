@@ -1,22 +1,34 @@
 package idi.edu.idatt.mappe.views;
 
 import idi.edu.idatt.mappe.models.*;
+import idi.edu.idatt.mappe.models.enums.AnimationSpeed;
 import idi.edu.idatt.mappe.models.enums.GameState;
 import idi.edu.idatt.mappe.models.enums.GameType;
 import idi.edu.idatt.mappe.services.AnimationController;
 import idi.edu.idatt.mappe.services.ColorService;
 import idi.edu.idatt.mappe.services.TokenService;
+import idi.edu.idatt.mappe.services.heatmap.HeatMap;
+import idi.edu.idatt.mappe.services.heatmap.HeatMapService;
 import idi.edu.idatt.mappe.views.game.*;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.control.*;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.DoubleConsumer;
 import java.util.logging.Logger;
 
 /**
@@ -34,14 +46,34 @@ public class GameView extends BorderPane implements BoardGameObserver {
     private final DiceView diceView;
     private final PlayerStatusPanelView playerStatusView;
     private final GameLogView gameLogView;
+    private final PerformanceHudView performanceHud;
+    private final HeatMapService heatMapService = new HeatMapService();
+    private final ProgressBar heatMapProgress = new ProgressBar();
+    private GameRules gameRules;
+    private boolean heatMapVisible;
 
     private Button actionButton;
+    private Button undoButton;
+    private Button redoButton;
+    private Runnable onUndo;
+    private Runnable onRedo;
 
     private final Board board;
 
     private Runnable onResetGame;
     private Runnable onReturnToMainMenu;
 
+    private HBox autoplayControls;
+    private ToggleButton autoplayButton;
+    private ComboBox<String> autoplayRateBox;
+    private ComboBox<AnimationSpeed> animationSpeedBox;
+    private DoubleConsumer onStartAutoplay;
+    private Runnable onStopAutoplay;
+
+    private boolean batchUpdates = false;
+    private final Set<Player> pendingPlayerUpdates = new LinkedHashSet<>();
+    private final List<String> pendingLogMessages = new ArrayList<>();
+
 
     /**
      * Creates a new GameView.
@@ -65,21 +97,118 @@ public class GameView extends BorderPane implements BoardGameObserver {
 
         playerTokenView.setBoard(board);
         playerTokenView.setBoardView(boardView);
+        boardView.setOnTileClicked(this::showTileInfo);
+        boardView.setOnViewportChanged(playerTokenView::relayoutTokens);
 
         diceView = new DiceView(animationController);
         playerStatusView = new PlayerStatusPanelView(tokenService);
         gameLogView = new GameLogView();
 
+        performanceHud = new PerformanceHudView(animationController);
+        StackPane.setAlignment(performanceHud, Pos.TOP_LEFT);
+        StackPane.setMargin(performanceHud, new Insets(8));
+
         VBox rightControlPanel = createRightControlPanel();
 
-        setCenter(boardPane);
+        heatMapProgress.setPrefWidth(160);
+        heatMapProgress.progressProperty().bind(heatMapService.progressProperty());
+        heatMapProgress.visibleProperty().bind(heatMapService.runningProperty());
+        heatMapProgress.setMouseTransparent(true);
+        StackPane.setAlignment(heatMapProgress, Pos.TOP_RIGHT);
+        StackPane.setMargin(heatMapProgress, new Insets(8));
+
+        setCenter(new StackPane(boardPane, performanceHud, heatMapProgress));
         setRight(rightControlPanel);
 
+        addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.F3) {
+                performanceHud.toggle();
+                event.consume();
+            } else if (event.getCode() == KeyCode.F4) {
+                setHeatMapVisible(!heatMapVisible);
+                event.consume();
+            } else if (!event.isShortcutDown() && (event.getCode() == KeyCode.EQUALS || event.getCode() == KeyCode.ADD)) {
+                boardView.zoomIn();
+                event.consume();
+            } else if (!event.isShortcutDown() && (event.getCode() == KeyCode.MINUS || event.getCode() == KeyCode.SUBTRACT)) {
+                boardView.zoomOut();
+                event.consume();
+            } else if (!event.isShortcutDown() && (event.getCode() == KeyCode.DIGIT0 || event.getCode() == KeyCode.NUMPAD0)) {
+                boardView.resetZoom();
+                event.consume();
+            } else if (event.isShortcutDown() && event.getCode() == KeyCode.Z) {
+                runHistoryAction(event.isShiftDown() ? redoButton : undoButton, event.isShiftDown() ? onRedo : onUndo);
+                event.consume();
+            } else if (event.isShortcutDown() && event.getCode() == KeyCode.Y) {
+                runHistoryAction(redoButton, onRedo);
+                event.consume();
+            }
+        });
+
         gameLogView.logGameEvent("Welcome to the Board Game!");
 
         logger.info("GameView initialized");
     }
 
+    /**
+     * Returns the performance overlay shown on top of the board
+     *
+     * @return The performance overlay
+     */
+    public PerformanceHudView getPerformanceHud() {
+        return performanceHud;
+    }
+
+    /**
+     * Shows or hides the performance overlay. The overlay can also be toggled with F3.
+     *
+     * @param visible True to show the overlay
+     */
+    public void setPerformanceHudVisible(boolean visible) {
+        performanceHud.setVisible(visible);
+    }
+
+    /**
+     * Sets the rules the heat map is computed with, and recomputes the heat map if it is shown.
+     * The heat map on screen stays until the new one is ready.
+     *
+     * @param gameRules The rules of the game
+     */
+    public void setGameRules(GameRules gameRules) {
+        this.gameRules = gameRules;
+        if (heatMapVisible) {
+            requestHeatMap();
+        }
+    }
+
+    /**
+     * Shows or hides the heat map of how often each tile is landed on. The heat map is
+     * computed in the background the first time it is shown; it can also be toggled with F4.
+     *
+     * @param visible True to show the heat map
+     */
+    public void setHeatMapVisible(boolean visible) {
+        heatMapVisible = visible;
+        if (visible) {
+            requestHeatMap();
+        } else {
+            heatMapService.cancel();
+            boardView.hideHeatMap();
+        }
+    }
+
+    /**
+     * Requests the heat map of the board and shows it when it is ready
+     */
+    private void requestHeatMap() {
+        GameRules rules = gameRules != null ? gameRules : new GameRules(board.getGameType());
+        heatMapService.request(board, rules, heatMap -> {
+            if (heatMapVisible) {
+                boardView.showHeatMap(heatMap);
+            }
+        });
+    }
+
     /**
      * Sets the callback to handle game reset requests.
      *
@@ -129,15 +258,29 @@ public class GameView extends BorderPane implements BoardGameObserver {
         Label diceLabel = new Label("Dice");
         diceLabel.getStyleClass().add("game-controls-label");
 
+        animationSpeedBox = new ComboBox<>();
+        animationSpeedBox.getItems().setAll(AnimationSpeed.values());
+        animationSpeedBox.setValue(diceView.getAnimationSpeed());
+        animationSpeedBox.setPrefWidth(CONTROL_PANEL_WIDTH - 40);
+        animationSpeedBox.setCellFactory(listView -> createAnimationSpeedCell());
+        animationSpeedBox.setButtonCell(createAnimationSpeedCell());
+        animationSpeedBox.setOnAction(e -> setDiceAnimationSpeed(animationSpeedBox.getValue()));
+
+        autoplayControls = createAutoplayControls();
+        HBox historyControls = createHistoryControls(CONTROL_PANEL_WIDTH - 40);
+
         controlPanel.getChildren().addAll(
                 gameTitleLabel,
                 controlsLabel,
                 actionButton,
+                historyControls,
+                autoplayControls,
                 new Separator(),
                 playerStatusLabel,
                 playerStatusView,
                 new Separator(),
                 diceLabel,
+                animationSpeedBox,
                 diceView,
                 new Separator(),
                 gameLogView
@@ -146,6 +289,210 @@ public class GameView extends BorderPane implements BoardGameObserver {
         return controlPanel;
     }
 
+    /**
+     * Creates the undo and redo buttons. They start disabled until there is something to undo.
+     *
+     * @param width The width of both buttons together
+     * @return The history controls as a HBox
+     */
+    private HBox createHistoryControls(double width) {
+        undoButton = new Button("Undo");
+        redoButton = new Button("Redo");
+        undoButton.setTooltip(new Tooltip("Undo the last action (Ctrl+Z)"));
+        redoButton.setTooltip(new Tooltip("Redo the undone action (Ctrl+Y)"));
+        undoButton.setPrefWidth((width - 10) / 2);
+        redoButton.setPrefWidth((width - 10) / 2);
+        undoButton.setDisable(true);
+        redoButton.setDisable(true);
+        undoButton.setOnAction(e -> runHistoryAction(undoButton, onUndo));
+        redoButton.setOnAction(e -> runHistoryAction(redoButton, onRedo));
+        return new HBox(10, undoButton, redoButton);
+    }
+
+    /**
+     * Runs an undo or redo action if its button is enabled
+     *
+     * @param button The button of the action
+     * @param action The action
+     */
+    private void runHistoryAction(Button button, Runnable action) {
+        if (action != null && !button.isDisabled()) {
+            action.run();
+        }
+    }
+
+    /**
+     * Sets the actions run by the undo and redo buttons and their shortcuts.
+     *
+     * @param onUndo Action that undoes the last turn action
+     * @param onRedo Action that redoes the last undone turn action
+     */
+    public void setHistoryActions(Runnable onUndo, Runnable onRedo) {
+        this.onUndo = onUndo;
+        this.onRedo = onRedo;
+    }
+
+    /**
+     * Enables or disables the undo and redo buttons.
+     *
+     * @param canUndo Whether there is an action to undo
+     * @param canRedo Whether there is an action to redo
+     */
+    public void setHistoryAvailable(boolean canUndo, boolean canRedo) {
+        undoButton.setDisable(!canUndo);
+        redoButton.setDisable(!canRedo);
+    }
+
+    /**
+     * Redraws the players, the tokens on the board and the status panel after the game state
+     * has been restored, in one update.
+     *
+     * @param players The players of the game
+     */
+    public void showRestoredState(List<Player> players) {
+        pendingPlayerUpdates.removeAll(players);
+        playerTokenView.updatePlayerPositions(players);
+        for (Player player : players) {
+            playerStatusView.updatePlayerStatus(player);
+            if (board.getGameType() == GameType.THE_LOST_DIAMOND) {
+                playerStatusView.updatePlayerMoney(player);
+            }
+        }
+        boardView.updateTokens();
+    }
+
+    /**
+     * Creates a list cell that shows the display name of an animation speed.
+     *
+     * @return The list cell
+     */
+    private ListCell<AnimationSpeed> createAnimationSpeedCell() {
+        return new ListCell<>() {
+            @Override
+            protected void updateItem(AnimationSpeed animationSpeed, boolean empty) {
+                super.updateItem(animationSpeed, empty);
+                setText(empty || animationSpeed == null ? null : animationSpeed.getName());
+            }
+        };
+    }
+
+    /**
+     * Creates the autoplay controls with a toggle button and a turn rate selector.
+     * The controls stay hidden until a controller registers autoplay actions.
+     *
+     * @return The autoplay controls as a HBox
+     */
+    private HBox createAutoplayControls() {
+        autoplayButton = new ToggleButton("Autoplay");
+        autoplayButton.setDisable(true);
+
+        autoplayRateBox = new ComboBox<>();
+        autoplayRateBox.getItems().setAll("1 turn/s", "2 turns/s", "5 turns/s", "20 turns/s", "60 turns/s", "Max");
+        autoplayRateBox.setValue("1 turn/s");
+        autoplayRateBox.setOnAction(e -> {
+            if (autoplayButton.isSelected() && onStartAutoplay != null) {
+                onStartAutoplay.accept(getSelectedAutoplayRate());
+            }
+        });
+
+        autoplayButton.setOnAction(e -> {
+            if (autoplayButton.isSelected()) {
+                if (onStartAutoplay != null) {
+                    onStartAutoplay.accept(getSelectedAutoplayRate());
+                }
+            } else if (onStopAutoplay != null) {
+                onStopAutoplay.run();
+            }
+        });
+
+        HBox controls = new HBox(10, autoplayButton, autoplayRateBox);
+        controls.setVisible(false);
+        controls.setManaged(false);
+        return controls;
+    }
+
+    /**
+     * Gets the autoplay turn rate selected in the rate selector.
+     *
+     * @return The selected number of turns per second, or 0 for as fast as possible
+     */
+    private double getSelectedAutoplayRate() {
+        String value = autoplayRateBox.getValue();
+        if (value == null || value.equals("Max")) {
+            return 0;
+        }
+        return Double.parseDouble(value.substring(0, value.indexOf(' ')));
+    }
+
+    /**
+     * Sets the actions used to start and stop autoplay and shows the autoplay controls.
+     *
+     * @param onStart Action receiving the selected turns per second (0 means as fast as possible)
+     * @param onStop Action that stops autoplay
+     */
+    public void setAutoplayActions(DoubleConsumer onStart, Runnable onStop) {
+        this.onStartAutoplay = onStart;
+        this.onStopAutoplay = onStop;
+        autoplayControls.setVisible(true);
+        autoplayControls.setManaged(true);
+    }
+
+    /**
+     * Enables or disables the autoplay toggle.
+     *
+     * @param enabled Whether autoplay can be toggled
+     */
+    public void setAutoplayEnabled(boolean enabled) {
+        autoplayButton.setDisable(!enabled);
+    }
+
+    /**
+     * Updates the autoplay toggle to show whether autoplay is running.
+     * The animation speed selector is disabled while autoplay runs, as autoplay may choose
+     * its own speed and puts the selected one back when it stops.
+     *
+     * @param running Whether autoplay is running
+     */
+    public void setAutoplayRunning(boolean running) {
+        autoplayButton.setSelected(running);
+        animationSpeedBox.setDisable(running);
+        if (running) {
+            actionButton.setDisable(true);
+        }
+    }
+
+    /**
+     * Enables or disables batched view updates.
+     * While batching, player positions and log messages are collected and only drawn
+     * when {@link #flushPendingUpdates()} is called, so many turns per frame cost a single redraw.
+     * Turning batching off flushes everything that is still pending.
+     *
+     * @param batchUpdates Whether view updates should be batched
+     */
+    public void setBatchUpdates(boolean batchUpdates) {
+        this.batchUpdates = batchUpdates;
+        if (!batchUpdates) {
+            flushPendingUpdates();
+        }
+    }
+
+    /**
+     * Draws the latest state of every player that changed and the collected log messages.
+     */
+    public void flushPendingUpdates() {
+        playerTokenView.updatePlayerPositions(pendingPlayerUpdates);
+        Player lastMoved = null;
+        for (Player player : pendingPlayerUpdates) {
+            playerStatusView.updatePlayerStatus(player);
+            lastMoved = player;
+        }
+        followPlayer(lastMoved);
+        pendingPlayerUpdates.clear();
+
+        gameLogView.logGameEvents(pendingLogMessages);
+        pendingLogMessages.clear();
+    }
+
     /**
      * Gets the appropriate action button text based on the game type
      *
@@ -178,6 +525,9 @@ public class GameView extends BorderPane implements BoardGameObserver {
      * @param enabled Whether the button should be enabled
      */
     public void setRollDiceButtonEnabled(boolean enabled) {
+        if (autoplayButton.isSelected()) {
+            return;
+        }
         if (Platform.isFxApplicationThread()) {
             actionButton.setDisable(!enabled);
             logger.fine("Action button " + (enabled ? "enabled" : "disabled") + " on FX thread");
@@ -204,6 +554,49 @@ public class GameView extends BorderPane implements BoardGameObserver {
         logger.info("Added player: " + player.getName());
     }
 
+    /**
+     * Logs information about a tile the user clicked on.
+     *
+     * @param tile The clicked tile
+     */
+    private void showTileInfo(Tile tile) {
+        StringBuilder info = new StringBuilder("Tile ").append(tile.getIndex());
+        if (tile.getName() != null) {
+            info.append(" (").append(tile.getName()).append(")");
+        }
+        if (tile.getLandAction() != null) {
+            info.append(": ").append(tile.getLandAction().getDescription());
+        }
+
+        HeatMap heatMap = boardView.getHeatMap();
+        if (heatMap != null) {
+            info.append(String.format(" - %.1f%% of landings, %.1f%% of turns%s",
+                    heatMap.getLandingShare(tile.getIndex()) * 100, heatMap.getTurnShare(tile.getIndex()) * 100,
+                    heatMap.isExact() ? "" : " (simulated)"));
+        }
+
+        List<Player> playersOnTile = playerTokenView.getPlayersOnTile(tile.getIndex());
+        if (!playersOnTile.isEmpty()) {
+            info.append(" - ").append(playersOnTile.size()).append(playersOnTile.size() == 1 ? " player" : " players");
+        }
+
+        gameLogView.logGameEvent(info.toString());
+    }
+
+    /**
+     * Removes a player from the view.
+     *
+     * @param player The player to remove
+     */
+    public void removePlayer(Player player) {
+        pendingPlayerUpdates.remove(player);
+        playerTokenView.removePlayerToken(player);
+        playerStatusView.removePlayer(player);
+        gameLogView.logGameEvent(player.getName() + " left the game");
+
+        logger.info("Removed player: " + player.getName());
+    }
+
     /**
      * Updates the dice display with new values.
      *
@@ -213,6 +606,44 @@ public class GameView extends BorderPane implements BoardGameObserver {
         diceView.updateDiceDisplay(diceValues);
     }
 
+    /**
+     * Updates the dice display with new values and runs the callback when the animation completes.
+     *
+     * @param diceValues The values of the dice to display
+     * @param onComplete Callback to run after the dice animation
+     */
+    public void updateDiceDisplay(List<Integer> diceValues, Runnable onComplete) {
+        diceView.updateDiceDisplay(diceValues, onComplete);
+    }
+
+    /**
+     * Sets the speed of the dice animation and shows it in the speed selector.
+     *
+     * @param animationSpeed The animation speed to use
+     */
+    public void setDiceAnimationSpeed(AnimationSpeed animationSpeed) {
+        diceView.setAnimationSpeed(animationSpeed);
+        if (animationSpeed != null && animationSpeedBox != null) {
+            animationSpeedBox.setValue(animationSpeed);
+        }
+    }
+
+    /**
+     * Gets the speed of the dice animation.
+     *
+     * @return The current animation speed
+     */
+    public AnimationSpeed getDiceAnimationSpeed() {
+        return diceView.getAnimationSpeed();
+    }
+
+    /**
+     * Skips the dice animation that is currently running, if any.
+     */
+    public void skipDiceAnimation() {
+        diceView.skipAnimation();
+    }
+
     /**
      * Creates dice with a specific number of dice and sides.
      *
@@ -229,8 +660,24 @@ public class GameView extends BorderPane implements BoardGameObserver {
      * @param player The player to update
      */
     public void updatePlayerPosition(Player player) {
+        if (batchUpdates) {
+            pendingPlayerUpdates.add(player);
+            return;
+        }
         playerTokenView.updatePlayerPosition(player);
         playerStatusView.updatePlayerStatus(player);
+        followPlayer(player);
+    }
+
+    /**
+     * Moves the camera of a zoomed-in board to the tile of the player who just moved
+     *
+     * @param player The player, or null to leave the camera where it is
+     */
+    private void followPlayer(Player player) {
+        if (player != null && player.getCurrentTile() != null) {
+            boardView.followTile(player.getCurrentTile().getIndex());
+        }
     }
 
     /**
@@ -239,6 +686,10 @@ public class GameView extends BorderPane implements BoardGameObserver {
      * @param message The message to add
      */
     public void logGameEvent(String message) {
+        if (batchUpdates) {
+            pendingLogMessages.add(message);
+            return;
+        }
         gameLogView.logGameEvent(message);
     }
 
@@ -350,7 +801,11 @@ public class GameView extends BorderPane implements BoardGameObserver {
         }
 
         logGameEvent(message);
-        Platform.runLater(() -> updatePlayerPosition(player));
+        if (batchUpdates) {
+            pendingPlayerUpdates.add(player);
+        } else {
+            Platform.runLater(() -> updatePlayerPosition(player));
+        }
     }
 
     /**
@@ -13,7 +13,10 @@ import idi.edu.idatt.mappe.controllers.FileServiceController;
 import idi.edu.idatt.mappe.models.GameRules;
 import idi.edu.idatt.mappe.models.Player;
 import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.services.network.GameHost;
+import idi.edu.idatt.mappe.services.stats.PlayerStatsStore;
 import idi.edu.idatt.mappe.utils.factory.BoardGameFactory;
+import idi.edu.idatt.mappe.utils.factory.BoardGamePool;
 
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
@@ -21,6 +24,7 @@ import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -32,6 +36,7 @@ import java.util.logging.Logger;
 public class HomeView {
     private static final Logger LOGGER = Logger.getLogger(HomeView.class.getName());
     private static final String BOARDS_DIRECTORY = "src/main/resources/boards";
+    private static final String STATS_DIRECTORY = "stats";
 
     private final BorderPane root;
     private final Stage stage;
@@ -47,6 +52,9 @@ public class HomeView {
     private BoardGameController gameController;
     private final PlayerController playerController;
     private final FileService fileService;
+    private final PlayerStatsStore statsStore;
+    private final BoardGamePool gamePool = new BoardGamePool();
+    private GameHost gameHost;
 
     /**
      * Constructor for HomeView.
@@ -60,6 +68,7 @@ public class HomeView {
 
         this.fileService = new FileServiceController();
         this.playerController = new PlayerController(fileService);
+        this.statsStore = openStatsStore();
 
         root.setTop(createMenuBar());
         root.setCenter(createStartMenu());
@@ -67,6 +76,53 @@ public class HomeView {
         LOGGER.info("HomeView initialized");
     }
 
+    /**
+     * Opens the store with the statistics of every player.
+     * The game can be played without statistics if the store cannot be opened.
+     *
+     * @return The statistics store, or null if it cannot be opened
+     */
+    private PlayerStatsStore openStatsStore() {
+        try {
+            return PlayerStatsStore.open(fileService.getDefaultPlayerDirectory().toPath().resolve(STATS_DIRECTORY));
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not open player statistics", e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes pending player statistics and closes the statistics store.
+     * Called when the application exits.
+     */
+    public void shutdown() {
+        if (gameHost != null) {
+            gameHost.close();
+        }
+        if (statsStore == null) {
+            return;
+        }
+        try {
+            statsStore.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not close player statistics", e);
+        }
+    }
+
+    /**
+     * Serves every game started from this view to network clients on a port.
+     *
+     * @param port The port to listen on
+     */
+    public void startHosting(int port) {
+        try {
+            gameHost = GameHost.start(port);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not host games on port " + port, e);
+            showAlert("Error", "Could not host games on port " + port + ": " + e.getMessage());
+        }
+    }
+
     /**
      * Returns the root pane of this view.
      *
@@ -177,8 +233,11 @@ public class HomeView {
             gameView.setOnReturnToMainMenu(this::returnToMainMenu);
 
             gameController.startGame();
+
+            gameController.setGameHost(gameHost);
             root.setCenter(gameView);
         } else {
+            releaseCurrentGame();
             root.setCenter(createStartMenu());
         }
     }
@@ -195,6 +254,8 @@ public class HomeView {
             return;
         }
 
+        releaseCurrentGame();
+
         try {
             BoardGame newGame = null;
 
@@ -227,7 +288,7 @@ public class HomeView {
 
             if (newGame == null && lastGameRules != null) {
                 LOGGER.info("Creating game with rules: " + lastGameRules.getRuleName());
-                newGame = BoardGameFactory.createCustomGame(lastGameRules);
+                newGame = gamePool.acquire(lastGameRules);
             }
 
             if (newGame == null && lastPlayedGameType != null) {
@@ -244,6 +305,7 @@ public class HomeView {
 
             gameView = new GameView(newGame.getBoard());
             gameController = BoardGameControllerFactory.createController(newGame, gameView, fileService);
+            gameController.setPlayerStatsStore(statsStore);
 
             gameView.setOnResetGame(this::resetCurrentGame);
             gameView.setOnReturnToMainMenu(this::returnToMainMenu);
@@ -256,6 +318,8 @@ public class HomeView {
                 }
 
                 gameController.startGame();
+
+                gameController.setGameHost(gameHost);
                 root.setCenter(gameView);
 
                 LOGGER.info("Game reset successful with " + lastPlayers.size() + " players");
@@ -276,9 +340,22 @@ public class HomeView {
      */
     private void returnToMainMenu() {
         LOGGER.info("Returning to main menu");
+        releaseCurrentGame();
         root.setCenter(createStartMenu());
     }
 
+    /**
+     * Stops the current game controller and returns its game to the pool, so the next game
+     * with the same board and rules is reset in place instead of built again.
+     */
+    private void releaseCurrentGame() {
+        if (gameController == null) {
+            return;
+        }
+        gameController.shutdown();
+        gamePool.release(gameController.getBoardGame());
+    }
+
     /**
      * Opens the game rules view for the selected game type.
      *
@@ -329,18 +406,20 @@ public class HomeView {
                 game.setGameRules(rules);
                 game.createDice(rules.getNumberOfDice(), rules.getDiceSides());
             } else {
-                game = BoardGameFactory.createCustomGame(rules);
+                game = gamePool.acquire(rules);
             }
 
             gameView = new GameView(game.getBoard());
 
             gameController = BoardGameControllerFactory.createController(game, gameView, fileService);
+            gameController.setPlayerStatsStore(statsStore);
 
             LOGGER.info("Game created, showing player selection");
             PlayerSelectionView playerSelectionView = new PlayerSelectionView(
                     gameController,
                     playerController,
                     fileService,
+                    statsStore,
                     stage,
                     this::handlePlayerSelectionResult
             );
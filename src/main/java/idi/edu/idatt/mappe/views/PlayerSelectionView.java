@@ -1,11 +1,14 @@
 package idi.edu.idatt.mappe.views;
 
+import idi.edu.idatt.mappe.exceptions.CVSParsingException;
 import idi.edu.idatt.mappe.controllers.BoardGameController;
 import idi.edu.idatt.mappe.controllers.PlayerController;
 import idi.edu.idatt.mappe.models.Player;
 import idi.edu.idatt.mappe.models.PlayerSelectionEntry;
 import idi.edu.idatt.mappe.controllers.FileService;
+import idi.edu.idatt.mappe.services.stats.PlayerStatsStore;
 import idi.edu.idatt.mappe.views.game.PlayerCardView;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -51,6 +54,7 @@ public class PlayerSelectionView extends BorderPane {
     private final BoardGameController boardGameController;
     private final PlayerController playerController;
     private final FileService fileService;
+    private final PlayerStatsStore statsStore;
     private final Stage stage;
     private final Consumer<Boolean> onStartGameCallback;
 
@@ -72,14 +76,17 @@ public class PlayerSelectionView extends BorderPane {
      * @param boardGameController      The game controller
      * @param playerController    The player controller
      * @param fileService         The file service for loading/saving players
+     * @param statsStore          The store with the statistics of each player, or null to show no statistics
      * @param stage               The stage for the dialog
      * @param onStartGameCallback The callback to execute when the game starts
      */
     public PlayerSelectionView(BoardGameController boardGameController, PlayerController playerController,
-                               FileService fileService, Stage stage, Consumer<Boolean> onStartGameCallback) {
+                               FileService fileService, PlayerStatsStore statsStore, Stage stage,
+                               Consumer<Boolean> onStartGameCallback) {
         this.boardGameController = boardGameController;
         this.playerController = playerController;
         this.fileService = fileService;
+        this.statsStore = statsStore;
         this.stage = stage;
         this.onStartGameCallback = onStartGameCallback;
 
@@ -183,11 +190,32 @@ public class PlayerSelectionView extends BorderPane {
 
         for (PlayerSelectionEntry entry : playerEntries) {
             PlayerCardView card = new PlayerCardView(entry, tokenImages, this::removePlayerCard);
+            lookUpStats(card, entry.getName());
             playerCards.add(card);
             playersContainer.getChildren().add(card);
         }
     }
 
+    /**
+     * Looks up the statistics of a player in the background and shows them on the card
+     * when they are read, so the view does not wait for the disk
+     *
+     * @param card The card of the player
+     * @param playerName The name of the player
+     */
+    private void lookUpStats(PlayerCardView card, String playerName) {
+        if (statsStore == null) {
+            return;
+        }
+        statsStore.getAsync(playerName).whenComplete((stats, error) -> {
+            if (error != null) {
+                logger.warning("Could not read statistics for " + playerName + ": " + error.getMessage());
+                return;
+            }
+            Platform.runLater(() -> card.setStats(stats));
+        });
+    }
+
     /**
      * Removes a player card from the view.
      *
@@ -530,7 +558,7 @@ public class PlayerSelectionView extends BorderPane {
                         Alert.AlertType.INFORMATION);
 
                 logger.info("Loaded " + loadedPlayers.size() + " players from file: " + selectedFile.getAbsolutePath());
-            } catch (IOException ex) {
+            } catch (IOException | CVSParsingException ex) {
                 showAlert("Error Loading Players",
                         "Could not load players from file: " + ex.getMessage(),
                         Alert.AlertType.ERROR);
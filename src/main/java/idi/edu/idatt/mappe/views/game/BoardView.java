@@ -2,14 +2,22 @@ package idi.edu.idatt.mappe.views.game;
 
 import idi.edu.idatt.mappe.models.Board;
 import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.TileSpatialIndex;
 import idi.edu.idatt.mappe.models.enums.GameType;
 import idi.edu.idatt.mappe.models.enums.TileType;
 import idi.edu.idatt.mappe.models.tileaction.*;
 import idi.edu.idatt.mappe.services.ColorService;
+import idi.edu.idatt.mappe.services.heatmap.HeatMap;
 import idi.edu.idatt.mappe.utils.CoordinateConverter;
+import idi.edu.idatt.mappe.views.game.BoardViewport.LevelOfDetail;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Group;
+import javafx.scene.Node;
 import javafx.scene.control.Label;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
@@ -18,26 +26,47 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Line;
 import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.Shape;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 /**
  * View component for displaying the game board.
  * Handles rendering the board with tiles and special connections.
+ * <p>
+ *     The board is drawn through a {@link BoardViewport} that the user can zoom with the
+ *     mouse wheel and pan by dragging. Only the tiles, labels and connections inside the view
+ *     and a small margin around it are turned into nodes, and they are drawn again whenever
+ *     the camera moves. When tiles get too small to read, blocks of tiles are drawn as one
+ *     rectangle with their average colour, so the number of nodes stays about the same for a
+ *     board of a hundred tiles and a board of a million.
+ * </p>
+ * <p>
+ *     The board nodes live in their own layer at the bottom of the board pane, so the player
+ *     tokens added on top of it stay in place when the board is drawn again. Tile positions
+ *     are in view coordinates and change with the camera; register a listener with
+ *     {@link #setOnViewportChanged} to move anything placed on the tiles.
+ * </p>
  */
 public class BoardView {
     private static final Logger logger = Logger.getLogger(BoardView.class.getName());
 
     private final Pane boardPane;
+    private final Group boardLayer = new Group();
     private final ColorService colorService;
     private final Board board;
+    private final BoardViewport viewport;
 
     private final double boardWidth;
     private final double boardHeight;
@@ -46,6 +75,29 @@ public class BoardView {
     private final Map<Integer, Circle> cityCircles = new HashMap<>();
     private final Map<Integer, Integer> ladderDestinations = new HashMap<>();
     private final Map<Integer, Integer> snakeDestinations = new HashMap<>();
+    private final Map<Integer, Double> tileSpacing = new HashMap<>();
+    private final Map<Rectangle, int[]> blockSamples = new HashMap<>();
+    private final List<Node> heatMapNodes = new ArrayList<>();
+    private HeatMap heatMap;
+
+    private Runnable onViewportChanged;
+    private boolean renderPending;
+    private double dragX;
+    private double dragY;
+
+    private static final double CITY_RADIUS = 20;
+    private static final double MAP_WIDTH = 350.0;
+    private static final double MAP_HEIGHT = 390.0;
+    private static final double MAP_OFFSET_X = 10;
+    private static final double MAP_OFFSET_Y = 30;
+    private static final double HEAT_MAP_OPACITY = 0.6;
+    private static final double MAX_TILE_PIXELS = 120;
+    private static final double MAX_MAP_ZOOM = 4;
+    private static final double RENDER_MARGIN = 48;
+    private static final double FOLLOW_MARGIN = 80;
+    private static final double ZOOM_STEP = 1.25;
+    private static final double WHEEL_ZOOM_RATE = 0.0025;
+    private static final int BLOCK_SAMPLES = 3;
 
     /**
      * Creates a new BoardView.
@@ -63,6 +115,12 @@ public class BoardView {
         this.board = board;
         this.boardWidth = boardWidth;
         this.boardHeight = boardHeight;
+        this.viewport = new BoardViewport(boardWidth, boardHeight, calculateMaxZoom());
+
+        boardPane.getChildren().setAll(boardLayer);
+        boardPane.setPrefSize(boardWidth, boardHeight);
+        boardPane.setClip(new Rectangle(boardWidth, boardHeight));
+        installNavigation();
 
         if (board.getGameType() == GameType.SNAKES_AND_LADDERS) {
             identifySpecialTileDestinations();
@@ -94,17 +152,69 @@ public class BoardView {
     }
 
     /**
-     * Draws the game board with all tiles and special connections.
+     * Calculates the largest zoom, where a grid tile is a comfortable size to read
+     *
+     * @return The largest zoom
+     */
+    private double calculateMaxZoom() {
+        if (board.getGameType() == GameType.THE_LOST_DIAMOND) {
+            return MAX_MAP_ZOOM;
+        }
+        double tileSize = Math.min(boardWidth / getColumns(), boardHeight / getRows());
+        return MAX_TILE_PIXELS / tileSize;
+    }
+
+    /**
+     * Zooms with the mouse wheel around the pointer and pans by dragging the board
+     */
+    private void installNavigation() {
+        boardPane.addEventHandler(ScrollEvent.SCROLL, event -> {
+            if (viewport.zoomAt(Math.exp(event.getDeltaY() * WHEEL_ZOOM_RATE), event.getX(), event.getY())) {
+                requestRender();
+            }
+            event.consume();
+        });
+        boardPane.addEventHandler(MouseEvent.MOUSE_PRESSED, event -> {
+            dragX = event.getX();
+            dragY = event.getY();
+        });
+        boardPane.addEventHandler(MouseEvent.MOUSE_DRAGGED, event -> {
+            if (viewport.panBy(event.getX() - dragX, event.getY() - dragY)) {
+                requestRender();
+            }
+            dragX = event.getX();
+            dragY = event.getY();
+        });
+    }
+
+    /**
+     * Draws the board again on the next pulse, once no matter how many times the camera moved before it
+     */
+    private void requestRender() {
+        if (renderPending) {
+            return;
+        }
+        renderPending = true;
+        Platform.runLater(() -> {
+            renderPending = false;
+            drawBoard();
+        });
+    }
+
+    /**
+     * Draws the part of the game board in the view with its special connections.
      */
     private void drawBoard() {
-        if (board == null || board.getTiles() == null || board.getTiles().isEmpty()) {
+        if (board == null || board.getTileCount() == 0) {
             logger.severe("Board or tiles are not initialized or empty.");
             return;
         }
 
-        boardPane.getChildren().clear();
+        boardLayer.getChildren().clear();
         tileRectangles.clear();
         cityCircles.clear();
+        blockSamples.clear();
+        heatMapNodes.clear();
 
         GameType gameType = board.getGameType();
 
@@ -120,83 +230,207 @@ public class BoardView {
                 break;
         }
 
-        logger.info("Board drawn with " + board.getTiles().size() + " tiles for game type: " + gameType);
+        drawHeatMap();
+
+        logger.fine("Board drawn with " + boardLayer.getChildren().size() + " nodes for "
+                + board.getTileCount() + " tiles at zoom " + viewport.getZoom());
+        if (onViewportChanged != null) {
+            onViewportChanged.run();
+        }
+    }
+
+    /**
+     * Returns the number of rows of the grid
+     *
+     * @return The number of rows
+     */
+    private int getRows() {
+        return board.getRows() > 0 ? board.getRows() : 9;
+    }
+
+    /**
+     * Returns the number of columns of the grid
+     *
+     * @return The number of columns
+     */
+    private int getColumns() {
+        return board.getColumns() > 0 ? board.getColumns() : 10;
     }
 
     /**
-     * Draws the board for the Snakes and Ladders game.
+     * Draws the tiles of the Snakes and Ladders board that are in the view.
+     * Tiles of a readable size are drawn one by one, with numbers, ladders and snakes when
+     * they are large enough; smaller tiles are drawn as blocks.
      */
     private void drawSnakesAndLaddersBoard() {
-        int rows = board.getRows() > 0 ? board.getRows() : 9;
-        int cols = board.getColumns() > 0 ? board.getColumns() : 10;
+        int rows = getRows();
+        int cols = getColumns();
 
         double tileWidth = boardWidth / cols;
         double tileHeight = boardHeight / rows;
+        double zoom = viewport.getZoom();
 
-        List<ConnectionView> connections = new ArrayList<>();
+        double[] visible = viewport.getVisibleBounds(RENDER_MARGIN);
+        int fromColumn = Math.max(0, (int) Math.floor(visible[0] / tileWidth));
+        int toColumn = Math.min(cols - 1, (int) Math.floor(visible[2] / tileWidth));
+        int fromRow = Math.max(0, (int) Math.floor((boardHeight - visible[3]) / tileHeight) - 1);
+        int toRow = Math.min(rows - 1, (int) Math.ceil((boardHeight - visible[1]) / tileHeight));
 
-        for (Tile tile : board.getTiles().values()) {
-            if (tile == null) continue;
+        LevelOfDetail detail = LevelOfDetail.forTileSize(Math.min(tileWidth, tileHeight) * zoom);
+        if (detail == LevelOfDetail.BLOCKS) {
+            drawTileBlocks(fromColumn, toColumn, fromRow, toRow, tileWidth, tileHeight);
+            return;
+        }
 
-            int x = tile.getX();
-            int y = tile.getY();
-            int tileIndex = tile.getIndex();
+        Set<Tile> connectionStarts = new LinkedHashSet<>();
 
-            double[] screenPos = CoordinateConverter.boardToScreen(
-                    y, x, rows, cols, boardWidth, boardHeight);
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                Tile tile = board.getTileByCoordinates(column, row);
+                if (tile == null) continue;
 
-            Color tileColor;
-            TileAction action = tile.getLandAction();
+                int tileIndex = tile.getIndex();
 
-            tileColor = colorService.getTileColor(action);
+                double[] contentPos = getGridPosition(column, row);
+                double screenX = viewport.toScreenX(contentPos[0]);
+                double screenY = viewport.toScreenY(contentPos[1]);
 
-            Rectangle rect = createTileRectangle(screenPos[0], screenPos[1], tileWidth, tileHeight, tileColor);
+                TileAction action = tile.getLandAction();
+                Color tileColor = colorService.getTileColor(action);
 
-            tileRectangles.put(tileIndex, rect);
+                Rectangle rect = createTileRectangle(screenX, screenY, tileWidth * zoom, tileHeight * zoom, tileColor);
+                tileRectangles.put(tileIndex, rect);
+                boardLayer.getChildren().add(rect);
 
-            Text tileIdText = new Text(screenPos[0] + 10, screenPos[1] + 20, String.valueOf(tileIndex));
-            tileIdText.setStyle("-fx-font-size: 14px; -fx-font-weight: bold;");
+                if (detail != LevelOfDetail.DETAIL) continue;
 
-            boardPane.getChildren().addAll(tileRectangles.get(tileIndex), tileIdText);
+                Text tileIdText = new Text(screenX + 10, screenY + 20, String.valueOf(tileIndex));
+                tileIdText.setStyle("-fx-font-size: 14px; -fx-font-weight: bold;");
+                boardLayer.getChildren().add(tileIdText);
+
+                if (action instanceof LadderTileAction || action instanceof SnakeTileAction) {
+                    connectionStarts.add(tile);
+                }
+                addConnectionStart(connectionStarts, ladderDestinations.get(tileIndex));
+                addConnectionStart(connectionStarts, snakeDestinations.get(tileIndex));
+            }
         }
 
-        for (Tile tile : board.getTiles().values()) {
-            if (tile == null) continue;
+        List<ConnectionView> connections = new ArrayList<>();
+        for (Tile tile : connectionStarts) {
             TileAction action = tile.getLandAction();
             if (action instanceof LadderTileAction ladderTileAction) {
-                int targetId = ladderTileAction.getDestinationTileId();
-                Tile targetTile = board.getTileByIndex(targetId);
-                if (targetTile != null) {
-                    ConnectionView ladder = new ConnectionView(
-                            tile,
-                            targetTile,
-                            ConnectionView.Type.LADDER,
-                            rows,
-                            cols,
-                            boardWidth,
-                            boardHeight
-                    );
-                    connections.add(ladder);
-                }
+                addConnection(connections, tile, ladderTileAction.getDestinationTileId(), ConnectionView.Type.LADDER);
             } else if (action instanceof SnakeTileAction snakeTileAction) {
-                int targetId = snakeTileAction.getDestinationTileId();
-                Tile targetTile = board.getTileByIndex(targetId);
-                if (targetTile != null) {
-                    ConnectionView snake = new ConnectionView(
-                            tile,
-                            targetTile,
-                            ConnectionView.Type.SNAKE,
-                            rows,
-                            cols,
-                            boardWidth,
-                            boardHeight
-                    );
-                    connections.add(snake);
-                }
+                addConnection(connections, tile, snakeTileAction.getDestinationTileId(), ConnectionView.Type.SNAKE);
             }
         }
 
-        boardPane.getChildren().addAll(connections);
+        boardLayer.getChildren().addAll(connections);
+    }
+
+    /**
+     * Returns the top left corner of a grid cell at zoom 1. Row 0 is at the bottom, and the
+     * rows fill the height of the board from the bottom up.
+     *
+     * @param column The column
+     * @param row The row
+     * @return An array with [x, y]
+     */
+    private double[] getGridPosition(int column, int row) {
+        return CoordinateConverter.boardToScreen(
+                row + 1, column, getRows(), getColumns(), boardWidth, boardHeight);
+    }
+
+    /**
+     * Adds the start of a ladder or snake that ends in the view
+     *
+     * @param connectionStarts The starts found so far
+     * @param startIndex The index of the start tile, or null if no ladder or snake ends there
+     */
+    private void addConnectionStart(Set<Tile> connectionStarts, Integer startIndex) {
+        if (startIndex != null && board.hasTile(startIndex)) {
+            connectionStarts.add(board.getTileByIndex(startIndex));
+        }
+    }
+
+    /**
+     * Creates a ladder or snake scaled and moved with the camera
+     *
+     * @param connections The list to add the connection to
+     * @param from The tile the connection starts on
+     * @param targetId The id of the tile it ends on
+     * @param type The type of connection
+     */
+    private void addConnection(List<ConnectionView> connections, Tile from, int targetId, ConnectionView.Type type) {
+        if (!board.hasTile(targetId)) {
+            return;
+        }
+        double zoom = viewport.getZoom();
+        ConnectionView connection = new ConnectionView(from, board.getTileByIndex(targetId), type,
+                getRows(), getColumns(), boardWidth * zoom, boardHeight * zoom);
+        connection.setLayoutX(viewport.toScreenX(0));
+        connection.setLayoutY(viewport.toScreenY(-boardHeight / getRows()));
+        connections.add(connection);
+    }
+
+    /**
+     * Draws the tiles in the view as square blocks that are at least
+     * {@link BoardViewport#MIN_TILE_PIXELS} on screen. Every block gets the average colour of
+     * a few tiles sampled evenly across it, so drawing costs the same however many tiles a
+     * block covers.
+     *
+     * @param fromColumn The first column in the view
+     * @param toColumn The last column in the view
+     * @param fromRow The first row in the view
+     * @param toRow The last row in the view
+     * @param tileWidth The width of a tile at zoom 1
+     * @param tileHeight The height of a tile at zoom 1
+     */
+    private void drawTileBlocks(int fromColumn, int toColumn, int fromRow, int toRow,
+                                double tileWidth, double tileHeight) {
+        double zoom = viewport.getZoom();
+        int blockSize = (int) Math.ceil(BoardViewport.MIN_TILE_PIXELS / (Math.min(tileWidth, tileHeight) * zoom));
+        int firstColumn = fromColumn - fromColumn % blockSize;
+        int firstRow = fromRow - fromRow % blockSize;
+        int[] samples = new int[BLOCK_SAMPLES * BLOCK_SAMPLES];
+
+        for (int row = firstRow; row <= toRow; row += blockSize) {
+            int lastRow = Math.min(getRows() - 1, row + blockSize - 1);
+            for (int column = firstColumn; column <= toColumn; column += blockSize) {
+                int lastColumn = Math.min(getColumns() - 1, column + blockSize - 1);
+
+                int count = 0;
+                double red = 0;
+                double green = 0;
+                double blue = 0;
+                for (int i = 0; i < BLOCK_SAMPLES; i++) {
+                    int sampleRow = row + (lastRow - row) * i / (BLOCK_SAMPLES - 1);
+                    for (int j = 0; j < BLOCK_SAMPLES; j++) {
+                        int sampleColumn = column + (lastColumn - column) * j / (BLOCK_SAMPLES - 1);
+                        Tile tile = board.getTileByCoordinates(sampleColumn, sampleRow);
+                        if (tile == null) continue;
+                        Color color = colorService.getTileColor(tile.getLandAction());
+                        red += color.getRed();
+                        green += color.getGreen();
+                        blue += color.getBlue();
+                        samples[count++] = tile.getIndex();
+                    }
+                }
+                if (count == 0) continue;
+
+                double[] topLeft = getGridPosition(column, lastRow);
+                Rectangle block = new Rectangle(
+                        viewport.toScreenX(topLeft[0]),
+                        viewport.toScreenY(topLeft[1]),
+                        (lastColumn - column + 1) * tileWidth * zoom,
+                        (lastRow - row + 1) * tileHeight * zoom);
+                block.setFill(Color.color(red / count, green / count, blue / count));
+                block.getStyleClass().add("tile-block");
+                boardLayer.getChildren().add(block);
+                blockSamples.put(block, Arrays.copyOf(samples, count));
+            }
+        }
     }
 
     /**
@@ -204,9 +438,10 @@ public class BoardView {
      * Draws the board for The Lost Diamond game.
      */
     private void drawLostDiamondBoard() {
+        List<Tile> cities = findVisibleCities();
         createMapTitle();
-        drawLostDiamondRoutes();
-        drawCities();
+        drawLostDiamondRoutes(cities);
+        drawCities(cities);
         addLostDiamondLegend();
     }
 
@@ -218,22 +453,61 @@ public class BoardView {
         title.setFont(Font.font("Georgia", FontWeight.BOLD, 24));
         title.setFill(Color.SADDLEBROWN);
 
-        boardPane.getChildren().addAll(title);
+        boardLayer.getChildren().addAll(title);
     }
 
     /**
-     * Draws routes with better visual hierarchy
+     * Finds the cities in the view through the spatial index of the board
+     *
+     * @return The cities within the view and a margin around it
      */
-    private void drawLostDiamondRoutes() {
-        for (Tile tile : board.getTiles().values()) {
-            if (tile == null) continue;
+    private List<Tile> findVisibleCities() {
+        double scaleX = boardWidth / MAP_WIDTH;
+        double scaleY = boardHeight / MAP_HEIGHT;
+        double[] visible = viewport.getVisibleBounds(RENDER_MARGIN + CITY_RADIUS);
+        double minX = (visible[0] - MAP_OFFSET_X) / scaleX;
+        double minY = (visible[1] - MAP_OFFSET_Y) / scaleY;
+        double maxX = (visible[2] - MAP_OFFSET_X) / scaleX;
+        double maxY = (visible[3] - MAP_OFFSET_Y) / scaleY;
+
+        List<Tile> cities = new ArrayList<>();
+        for (Tile tile : board.getSpatialIndex().findWithinRadius(
+                (minX + maxX) / 2, (minY + maxY) / 2, Math.hypot(maxX - minX, maxY - minY) / 2)) {
+            if (tile.getX() >= minX && tile.getX() <= maxX && tile.getY() >= minY && tile.getY() <= maxY) {
+                cities.add(tile);
+            }
+        }
+        return cities;
+    }
 
-            double fromX = tile.getX() * (boardWidth / 350.0) + 10;
-            double fromY = tile.getY() * (boardHeight / 390.0) + 30;
+    /**
+     * Returns the position of a city in the view
+     *
+     * @param tile The city
+     * @return An array with [x, y]
+     */
+    private double[] getCityPosition(Tile tile) {
+        return new double[]{
+                viewport.toScreenX(tile.getX() * (boardWidth / MAP_WIDTH) + MAP_OFFSET_X),
+                viewport.toScreenY(tile.getY() * (boardHeight / MAP_HEIGHT) + MAP_OFFSET_Y)
+        };
+    }
+
+    /**
+     * Draws routes with better visual hierarchy
+     *
+     * @param cities The cities in the view, whose routes are drawn
+     */
+    private void drawLostDiamondRoutes(List<Tile> cities) {
+        for (Tile tile : cities) {
+            double[] from = getCityPosition(tile);
+            double fromX = from[0];
+            double fromY = from[1];
 
             tile.getConnections().forEach((direction, connectedTile) -> {
-                double toX = connectedTile.getX() * (boardWidth / 350.0) + 10;
-                double toY = connectedTile.getY() * (boardHeight / 390.0) + 30;
+                double[] to = getCityPosition(connectedTile);
+                double toX = to[0];
+                double toY = to[1];
 
                 Line routeLine = new Line(fromX, fromY, toX, toY);
 
@@ -255,12 +529,12 @@ public class BoardView {
                     costText.setFont(Font.font("Arial", FontWeight.BOLD, 11));
                     costText.setFill(Color.RED);
 
-                    boardPane.getChildren().addAll(routeLine, costBg, costText);
+                    boardLayer.getChildren().addAll(routeLine, costBg, costText);
                 } else {
                     routeLine.setStroke(Color.BROWN);
                     routeLine.setStrokeWidth(2.5);
 
-                    boardPane.getChildren().addAll(routeLine);
+                    boardLayer.getChildren().addAll(routeLine);
                 }
             });
         }
@@ -268,15 +542,16 @@ public class BoardView {
 
     /**
      * Draws cities with better styling
+     *
+     * @param cities The cities in the view
      */
-    private void drawCities() {
-        for (Tile tile : board.getTiles().values()) {
-            if (tile == null) continue;
+    private void drawCities(List<Tile> cities) {
+        for (Tile tile : cities) {
+            double[] position = getCityPosition(tile);
+            double x = position[0];
+            double y = position[1];
 
-            double x = tile.getX() * (boardWidth / 350) + 10;
-            double y = tile.getY() * (boardHeight / 390.0) +30;
-
-            Circle cityCircle = new Circle(x, y, 20);
+            Circle cityCircle = new Circle(x, y, CITY_RADIUS);
             Color cityColor = getCityColor(tile);
             cityCircle.setFill(cityColor);
 
@@ -286,7 +561,7 @@ public class BoardView {
                 Circle innerGlow = new Circle(x, y, 16);
                 innerGlow.setFill(Color.GOLD);
                 innerGlow.setOpacity(0.5);
-                boardPane.getChildren().add(innerGlow);
+                boardLayer.getChildren().add(innerGlow);
             } else {
                 cityCircle.setStroke(Color.SADDLEBROWN);
                 cityCircle.setStrokeWidth(2);
@@ -302,7 +577,7 @@ public class BoardView {
                 treasureText.setFont(Font.font("Arial", FontWeight.BOLD, 11));
                 treasureText.setFill(Color.WHITE);
 
-                boardPane.getChildren().addAll(treasureIndicator, treasureText);
+                boardLayer.getChildren().addAll(treasureIndicator, treasureText);
             }
 
             Rectangle nameBg = new Rectangle(x - 35, y + 25, 70, 18);
@@ -321,7 +596,7 @@ public class BoardView {
             tileIdText.setFont(Font.font("Arial", FontWeight.BOLD, 12));
             tileIdText.setFill(Color.WHITE);
 
-            boardPane.getChildren().addAll(cityCircle, nameBg, cityName, tileIdText);
+            boardLayer.getChildren().addAll(cityCircle, nameBg, cityName, tileIdText);
 
             cityCircles.put(tile.getIndex(), cityCircle);
             Rectangle rect = new Rectangle(x - 20, y - 20, 40, 40);
@@ -337,57 +612,9 @@ public class BoardView {
             return;
         }
 
-        removeExistingTreasureIndicators();
-        addCurrentTreasureIndicators();
-    }
-
-    /**
-     * Removes existing treasure indicators
-     */
-    private void removeExistingTreasureIndicators() {
-        List<javafx.scene.Node> nodesToRemove = new ArrayList<>();
-
-        for (javafx.scene.Node node : boardPane.getChildren()) {
-            if (node instanceof Circle circle &&
-                    circle.getFill().equals(Color.ORANGE) &&
-                    circle.getRadius() == 7) {
-                nodesToRemove.add(node);
-            }
-            else if (node instanceof Text text &&
-                    "?".equals(text.getText()) &&
-                    text.getFill().equals(Color.WHITE)) {
-                nodesToRemove.add(node);
-            }
-        }
-
-        boardPane.getChildren().removeAll(nodesToRemove);
-    }
-
-    /**
-     * Adds current treasure indicators
-     */
-    private void addCurrentTreasureIndicators() {
-        for (Tile tile : board.getTiles().values()) {
-            if (tile != null && tile.hasToken()) {
-                double x = tile.getX() * (boardWidth / 350.0) + 10;
-                double y = tile.getY() * (boardHeight / 390.0) + 30;
-
-                Circle treasureIndicator = new Circle(x + 12, y - 12, 7);
-                treasureIndicator.setFill(Color.ORANGE);
-                treasureIndicator.setStroke(Color.DARKORANGE);
-                treasureIndicator.setStrokeWidth(2);
-
-                Text treasureText = new Text(x + 8, y - 8, "?");
-                treasureText.setFont(Font.font("Arial", FontWeight.BOLD, 11));
-                treasureText.setFill(Color.WHITE);
-
-                boardPane.getChildren().addAll(treasureIndicator, treasureText);
-            }
-        }
+        drawBoard();
     }
 
-
-
     /**
      * Gets colors for cities based on their characteristics
      */
@@ -470,7 +697,7 @@ public class BoardView {
 
         legend.getChildren().addAll(legendTitle, startingCity, regularCity, normalCity,
                 freeRoute, paidRoute, treasure);
-        boardPane.getChildren().add(legend);
+        boardLayer.getChildren().add(legend);
     }
 
     /**
@@ -496,12 +723,13 @@ public class BoardView {
      * Creates a rectangle for a tile with the specified properties.
      */
     private Rectangle createTileRectangle(double x, double y, double width, double height, Color color) {
+        double arc = Math.min(15, Math.min(width, height) / 4);
         Rectangle rect = new Rectangle(x, y, width, height);
         rect.setFill(color);
         rect.setStroke(Color.BLACK);
         rect.setStrokeWidth(1.5);
-        rect.setArcWidth(15);
-        rect.setArcHeight(15);
+        rect.setArcWidth(arc);
+        rect.setArcHeight(arc);
         rect.getStyleClass().add("tile");
         return rect;
     }
@@ -561,6 +789,296 @@ public class BoardView {
     public Board getBoard() { return board; }
     public Rectangle getTileRectangle(int tileIndex) { return tileRectangles.get(tileIndex); }
 
+    /**
+     * Returns the camera over the board
+     *
+     * @return The viewport
+     */
+    public BoardViewport getViewport() {
+        return viewport;
+    }
+
+    /**
+     * Sets a callback that runs every time the board has been drawn again, for example after
+     * the camera moved, so nodes placed on tiles can follow their tiles
+     *
+     * @param onViewportChanged The callback
+     */
+    public void setOnViewportChanged(Runnable onViewportChanged) {
+        this.onViewportChanged = onViewportChanged;
+    }
+
+    /**
+     * Zooms in on the center of the view
+     */
+    public void zoomIn() {
+        if (viewport.zoomAt(ZOOM_STEP, boardWidth / 2, boardHeight / 2)) {
+            requestRender();
+        }
+    }
+
+    /**
+     * Zooms out from the center of the view
+     */
+    public void zoomOut() {
+        if (viewport.zoomAt(1 / ZOOM_STEP, boardWidth / 2, boardHeight / 2)) {
+            requestRender();
+        }
+    }
+
+    /**
+     * Shows the whole board again
+     */
+    public void resetZoom() {
+        viewport.reset();
+        requestRender();
+    }
+
+    /**
+     * Moves the camera to a tile when the tile is close to the edge of the view or outside it,
+     * so the camera follows the player who moved there. Does nothing when the whole board is shown.
+     *
+     * @param tileIndex The index of the tile
+     */
+    public void followTile(int tileIndex) {
+        Tile tile = board.getTiles().get(tileIndex);
+        if (tile == null || viewport.getZoom() <= 1) {
+            return;
+        }
+        double[] center = getContentCenter(tile);
+        if (viewport.ensureVisible(center[0], center[1], FOLLOW_MARGIN)) {
+            requestRender();
+        }
+    }
+
+    /**
+     * Sets a callback that runs when the user clicks on a tile.
+     * Releasing the mouse after dragging the board is not a click.
+     *
+     * @param onTileClicked The callback, receiving the clicked tile
+     */
+    public void setOnTileClicked(Consumer<Tile> onTileClicked) {
+        boardPane.setOnMouseClicked(event -> {
+            if (!event.isStillSincePress()) {
+                return;
+            }
+            Tile tile = getTileAt(event.getX(), event.getY());
+            if (tile != null && onTileClicked != null) {
+                onTileClicked.accept(tile);
+            }
+        });
+    }
+
+    /**
+     * Finds the tile at a position on the board pane.
+     * Grid boards look up the cell under the position, and maps look up the closest
+     * city within the city radius, both through the spatial index of the board.
+     *
+     * @param screenX The x-coordinate on the board pane
+     * @param screenY The y-coordinate on the board pane
+     * @return The tile at the position, or null if there is no tile there
+     */
+    public Tile getTileAt(double screenX, double screenY) {
+        if (board == null) {
+            return null;
+        }
+
+        TileSpatialIndex index = board.getSpatialIndex();
+        double contentX = viewport.toContentX(screenX);
+        double contentY = viewport.toContentY(screenY);
+
+        if (board.getGameType() == GameType.THE_LOST_DIAMOND) {
+            double scaleX = boardWidth / MAP_WIDTH;
+            double scaleY = boardHeight / MAP_HEIGHT;
+            return index.findNearest(
+                    (contentX - MAP_OFFSET_X) / scaleX,
+                    (contentY - MAP_OFFSET_Y) / scaleY,
+                    CITY_RADIUS / (Math.min(scaleX, scaleY) * viewport.getZoom()));
+        }
+
+        double tileWidth = boardWidth / getColumns();
+        double tileHeight = boardHeight / getRows();
+
+        int column = (int) Math.floor(contentX / tileWidth);
+        int row = (int) Math.floor((boardHeight - contentY) / tileHeight);
+        return index.getTileAt(column, row);
+    }
+
+    /**
+     * Gets the screen position of the center of a tile.
+     * The position is calculated from the tile coordinates, so it is known for tiles that are
+     * outside the view as well.
+     *
+     * @param tileIndex The index of the tile
+     * @return An array with [x, y], or null if the tile is not on the board
+     */
+    public double[] getTileCenter(int tileIndex) {
+        Tile tile = board.getTiles().get(tileIndex);
+        if (tile == null) {
+            return null;
+        }
+        double[] center = getContentCenter(tile);
+        return new double[]{viewport.toScreenX(center[0]), viewport.toScreenY(center[1])};
+    }
+
+    /**
+     * Gets the position of the center of a tile at zoom 1
+     *
+     * @param tile The tile
+     * @return An array with [x, y]
+     */
+    private double[] getContentCenter(Tile tile) {
+        if (board.getGameType() == GameType.THE_LOST_DIAMOND) {
+            return new double[]{
+                    tile.getX() * (boardWidth / MAP_WIDTH) + MAP_OFFSET_X,
+                    tile.getY() * (boardHeight / MAP_HEIGHT) + MAP_OFFSET_Y
+            };
+        }
+        double[] position = getGridPosition(tile.getX(), tile.getY());
+        return new double[]{position[0] + boardWidth / getColumns() / 2, position[1] + boardHeight / getRows() / 2};
+    }
+
+    /**
+     * Gets the screen distance from a tile to the closest other tile.
+     * Tokens on the tile are kept within this distance so they do not spill onto neighbours.
+     * The distance at zoom 1 is looked up through the spatial index once per tile and then cached.
+     *
+     * @param tileIndex The index of the tile
+     * @return The distance in pixels, or positive infinity if the tile has no neighbours
+     */
+    public double getTileSpacing(int tileIndex) {
+        return tileSpacing.computeIfAbsent(tileIndex, this::calculateTileSpacing) * viewport.getZoom();
+    }
+
+    /**
+     * Calculates the distance from a tile to the closest other tile at zoom 1.
+     *
+     * @param tileIndex The index of the tile
+     * @return The distance in pixels, or positive infinity if the tile has no neighbours
+     */
+    private double calculateTileSpacing(int tileIndex) {
+        Tile tile = board.getTiles().get(tileIndex);
+        if (tile == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        if (board.getGameType() != GameType.THE_LOST_DIAMOND) {
+            return Math.min(boardWidth / getColumns(), boardHeight / getRows());
+        }
+
+        Tile neighbour = board.getSpatialIndex().findNearestNeighbour(tile);
+        if (neighbour == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double[] from = getContentCenter(tile);
+        double[] to = getContentCenter(neighbour);
+        return Math.hypot(to[0] - from[0], to[1] - from[1]);
+    }
+
+    /**
+     * Shows a heat map over the tiles, replacing the heat map shown before.
+     * Every tile rectangle, block or city circle in the view is covered with a colour from
+     * blue for the least landed tiles to red for the most landed tile.
+     *
+     * @param heatMap The heat map to show
+     */
+    public void showHeatMap(HeatMap heatMap) {
+        this.heatMap = heatMap;
+        drawHeatMap();
+    }
+
+    /**
+     * Hides the heat map
+     */
+    public void hideHeatMap() {
+        heatMap = null;
+        boardLayer.getChildren().removeAll(heatMapNodes);
+        heatMapNodes.clear();
+    }
+
+    /**
+     * Returns the heat map shown over the tiles
+     *
+     * @return The heat map, or null if none is shown
+     */
+    public HeatMap getHeatMap() {
+        return heatMap;
+    }
+
+    /**
+     * Draws the heat map right above each tile rectangle, block or city circle, so tile
+     * numbers, ladders, snakes and player tokens stay on top of it. A block shows the average
+     * of the tiles sampled for its colour.
+     */
+    private void drawHeatMap() {
+        boardLayer.getChildren().removeAll(heatMapNodes);
+        heatMapNodes.clear();
+        if (heatMap == null) {
+            return;
+        }
+
+        Map<Node, Node> covers = new HashMap<>();
+        for (Map.Entry<Integer, Rectangle> entry : tileRectangles.entrySet()) {
+            Color color = heatColor(heatMap.getIntensity(entry.getKey()));
+            Circle city = cityCircles.get(entry.getKey());
+            Shape cover;
+            if (city != null) {
+                cover = new Circle(city.getCenterX(), city.getCenterY(), city.getRadius(), color);
+            } else {
+                cover = createHeatCover(entry.getValue(), color);
+            }
+            covers.put(city != null ? city : entry.getValue(), cover);
+        }
+        for (Map.Entry<Rectangle, int[]> entry : blockSamples.entrySet()) {
+            double intensity = 0;
+            for (int tileIndex : entry.getValue()) {
+                intensity += heatMap.getIntensity(tileIndex);
+            }
+            covers.put(entry.getKey(), createHeatCover(entry.getKey(), heatColor(intensity / entry.getValue().length)));
+        }
+        for (Node cover : covers.values()) {
+            cover.setOpacity(HEAT_MAP_OPACITY);
+            cover.setMouseTransparent(true);
+            heatMapNodes.add(cover);
+        }
+
+        List<Node> children = new ArrayList<>(boardLayer.getChildren().size() + covers.size());
+        for (Node child : boardLayer.getChildren()) {
+            children.add(child);
+            Node cover = covers.get(child);
+            if (cover != null) {
+                children.add(cover);
+            }
+        }
+        boardLayer.getChildren().setAll(children);
+    }
+
+    /**
+     * Creates a heat map cover with the shape of a tile rectangle or block
+     *
+     * @param rect The rectangle to cover
+     * @param color The colour of the cover
+     * @return The cover
+     */
+    private static Rectangle createHeatCover(Rectangle rect, Color color) {
+        Rectangle heat = new Rectangle(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight());
+        heat.setArcWidth(rect.getArcWidth());
+        heat.setArcHeight(rect.getArcHeight());
+        heat.setFill(color);
+        return heat;
+    }
+
+    /**
+     * Returns the colour of a heat map intensity
+     *
+     * @param intensity The intensity between 0 and 1
+     * @return Blue for 0 through green and yellow to red for 1
+     */
+    private static Color heatColor(double intensity) {
+        double clamped = Math.max(0, Math.min(1, intensity));
+        return Color.hsb(240 * (1 - clamped), 0.85, 0.95);
+    }
+
     /**
      * Refreshes the board display to reflect current game state
      */
@@ -570,13 +1088,7 @@ public class BoardView {
         }
 
         logger.fine("Refreshing Lost Diamond board view");
-
-        boardPane.getChildren().clear();
-        tileRectangles.clear();
-        cityCircles.clear();
-
-        drawLostDiamondBoard();
-
+        drawBoard();
         logger.info("Lost Diamond board refreshed - treasure indicators updated");
     }
-}
\ No newline at end of file
+}
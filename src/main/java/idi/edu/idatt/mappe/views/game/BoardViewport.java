@@ -0,0 +1,269 @@
+package idi.edu.idatt.mappe.views.game;
+
+/**
+ * The camera over a board: which part of the board is on screen and how large it is drawn.
+ * <p>
+ *     The board is laid out in content coordinates, where the whole board fills the view at
+ *     zoom 1, so content and view coordinates are the same until the user zooms. Zooming in
+ *     magnifies the content around the camera center, and the camera is kept inside the board
+ *     so the view never shows more than the board. The viewport holds no nodes; the board
+ *     view asks it which part of the board to draw and where.
+ * </p>
+ * <p>
+ *     The level of detail follows from the size of a tile on screen: tiles that are too small
+ *     to read are drawn as blocks of several tiles, so the number of nodes on screen stays
+ *     about the same however large the board is.
+ * </p>
+ */
+public class BoardViewport {
+
+    /**
+     * How much of the board a drawn node stands for
+     */
+    public enum LevelOfDetail {
+        /** Every node stands for a block of tiles with their average colour */
+        BLOCKS,
+        /** Every tile is drawn, without numbers */
+        TILES,
+        /** Every tile is drawn with its number, ladders and snakes */
+        DETAIL;
+
+        /**
+         * Returns the level of detail for a tile size on screen
+         *
+         * @param tilePixels The smaller side of a tile on screen, in pixels
+         * @return The level of detail
+         */
+        public static LevelOfDetail forTileSize(double tilePixels) {
+            if (tilePixels >= DETAIL_TILE_PIXELS) {
+                return DETAIL;
+            }
+            return tilePixels >= MIN_TILE_PIXELS ? TILES : BLOCKS;
+        }
+    }
+
+    /**
+     * The smallest size in pixels a tile or block is drawn with
+     */
+    public static final double MIN_TILE_PIXELS = 12;
+
+    /**
+     * The smallest tile size in pixels that shows numbers, ladders and snakes
+     */
+    public static final double DETAIL_TILE_PIXELS = 36;
+
+    private final double viewWidth;
+    private final double viewHeight;
+    private final double maxZoom;
+
+    private double zoom = 1;
+    private double centerX;
+    private double centerY;
+
+    /**
+     * Creates a viewport showing the whole content
+     *
+     * @param viewWidth The width of the view, and of the content at zoom 1
+     * @param viewHeight The height of the view, and of the content at zoom 1
+     * @param maxZoom The largest zoom, at least 1
+     */
+    public BoardViewport(double viewWidth, double viewHeight, double maxZoom) {
+        if (viewWidth <= 0 || viewHeight <= 0) {
+            throw new IllegalArgumentException("View size must be positive");
+        }
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        this.maxZoom = Math.max(1, maxZoom);
+        reset();
+    }
+
+    /**
+     * Shows the whole content again
+     */
+    public void reset() {
+        zoom = 1;
+        centerX = viewWidth / 2;
+        centerY = viewHeight / 2;
+    }
+
+    /**
+     * Returns the zoom, where 1 shows the whole content
+     *
+     * @return The zoom
+     */
+    public double getZoom() {
+        return zoom;
+    }
+
+    /**
+     * Returns the largest zoom
+     *
+     * @return The largest zoom
+     */
+    public double getMaxZoom() {
+        return maxZoom;
+    }
+
+    /**
+     * Returns the content x-coordinate at the center of the view
+     *
+     * @return The x-coordinate
+     */
+    public double getCenterX() {
+        return centerX;
+    }
+
+    /**
+     * Returns the content y-coordinate at the center of the view
+     *
+     * @return The y-coordinate
+     */
+    public double getCenterY() {
+        return centerY;
+    }
+
+    /**
+     * Zooms by a factor, keeping the content under a point of the view in place
+     *
+     * @param factor The factor to multiply the zoom with
+     * @param screenX The x-coordinate of the point in the view
+     * @param screenY The y-coordinate of the point in the view
+     * @return True if the viewport changed
+     */
+    public boolean zoomAt(double factor, double screenX, double screenY) {
+        double newZoom = Math.max(1, Math.min(maxZoom, zoom * factor));
+        if (newZoom == zoom) {
+            return false;
+        }
+        double anchorX = toContentX(screenX);
+        double anchorY = toContentY(screenY);
+        zoom = newZoom;
+        centerX = anchorX - (screenX - viewWidth / 2) / zoom;
+        centerY = anchorY - (screenY - viewHeight / 2) / zoom;
+        clampCenter();
+        return true;
+    }
+
+    /**
+     * Moves the camera by a distance on screen, as when the board is dragged
+     *
+     * @param screenDx The horizontal distance in pixels
+     * @param screenDy The vertical distance in pixels
+     * @return True if the viewport changed
+     */
+    public boolean panBy(double screenDx, double screenDy) {
+        return moveCenter(centerX - screenDx / zoom, centerY - screenDy / zoom);
+    }
+
+    /**
+     * Centers the camera on a point of the content, as far as the content allows
+     *
+     * @param contentX The x-coordinate
+     * @param contentY The y-coordinate
+     * @return True if the viewport changed
+     */
+    public boolean centerOn(double contentX, double contentY) {
+        return moveCenter(contentX, contentY);
+    }
+
+    /**
+     * Centers the camera on a point of the content if it is within a margin of the edge of
+     * the view or outside it, so a followed point only moves the camera when it needs to
+     *
+     * @param contentX The x-coordinate
+     * @param contentY The y-coordinate
+     * @param marginPixels The margin in pixels
+     * @return True if the viewport changed
+     */
+    public boolean ensureVisible(double contentX, double contentY, double marginPixels) {
+        double x = toScreenX(contentX);
+        double y = toScreenY(contentY);
+        double marginX = Math.min(marginPixels, viewWidth / 2);
+        double marginY = Math.min(marginPixels, viewHeight / 2);
+        if (x >= marginX && x <= viewWidth - marginX && y >= marginY && y <= viewHeight - marginY) {
+            return false;
+        }
+        return centerOn(contentX, contentY);
+    }
+
+    /**
+     * Converts a content x-coordinate to the view
+     *
+     * @param contentX The x-coordinate in the content
+     * @return The x-coordinate in the view
+     */
+    public double toScreenX(double contentX) {
+        return (contentX - centerX) * zoom + viewWidth / 2;
+    }
+
+    /**
+     * Converts a content y-coordinate to the view
+     *
+     * @param contentY The y-coordinate in the content
+     * @return The y-coordinate in the view
+     */
+    public double toScreenY(double contentY) {
+        return (contentY - centerY) * zoom + viewHeight / 2;
+    }
+
+    /**
+     * Converts a view x-coordinate to the content
+     *
+     * @param screenX The x-coordinate in the view
+     * @return The x-coordinate in the content
+     */
+    public double toContentX(double screenX) {
+        return (screenX - viewWidth / 2) / zoom + centerX;
+    }
+
+    /**
+     * Converts a view y-coordinate to the content
+     *
+     * @param screenY The y-coordinate in the view
+     * @return The y-coordinate in the content
+     */
+    public double toContentY(double screenY) {
+        return (screenY - viewHeight / 2) / zoom + centerY;
+    }
+
+    /**
+     * Returns the part of the content that is in the view, grown by a margin
+     *
+     * @param marginPixels The margin around the view in pixels
+     * @return The bounds as [minX, minY, maxX, maxY] in content coordinates
+     */
+    public double[] getVisibleBounds(double marginPixels) {
+        return new double[]{
+                toContentX(-marginPixels),
+                toContentY(-marginPixels),
+                toContentX(viewWidth + marginPixels),
+                toContentY(viewHeight + marginPixels)
+        };
+    }
+
+    /**
+     * Moves the center and keeps it inside the content
+     *
+     * @param x The new x-coordinate of the center
+     * @param y The new y-coordinate of the center
+     * @return True if the center moved
+     */
+    private boolean moveCenter(double x, double y) {
+        double oldX = centerX;
+        double oldY = centerY;
+        centerX = x;
+        centerY = y;
+        clampCenter();
+        return centerX != oldX || centerY != oldY;
+    }
+
+    /**
+     * Keeps the view inside the content
+     */
+    private void clampCenter() {
+        double halfWidth = viewWidth / (2 * zoom);
+        double halfHeight = viewHeight / (2 * zoom);
+        centerX = Math.max(halfWidth, Math.min(viewWidth - halfWidth, centerX));
+        centerY = Math.max(halfHeight, Math.min(viewHeight - halfHeight, centerY));
+    }
+}
@@ -12,6 +12,8 @@ import javafx.scene.shape.CubicCurve;
 import javafx.scene.shape.Line;
 import javafx.scene.shape.Polygon;
 
+import java.util.Random;
+
 /**
  * Class representing a connection between two tiles in the game board.
  * This class is responsible for drawing the connection
@@ -60,7 +62,8 @@ public class ConnectionView extends Group {
         if (type == Type.LADDER) {
             drawLadder(startX, startY, endX, endY, tileWidth);
         } else {
-            drawSnake(startX, startY, endX, endY, tileWidth, tileHeight);
+            drawSnake(startX, startY, endX, endY, tileWidth, tileHeight,
+                    new Random(31L * from.getIndex() + to.getIndex()));
         }
     }
 
@@ -147,12 +150,14 @@ public class ConnectionView extends Group {
      * @param y2 The y-coordinate of the end point
      * @param tileWidth The width of the tile
      * @param tileHeight The height of the tile
+     * @param random The source of the bends, seeded by the tiles so a redrawn snake keeps its shape
      */
-    private void drawSnake(double x1, double y1, double x2, double y2, double tileWidth, double tileHeight) {
-        double ctrlX1 = x1 + (x2 - x1) * 0.25 + (Math.random() - 0.5) * tileWidth * 1.5;
-        double ctrlY1 = y1 + (y2 - y1) * 0.25 + (Math.random() - 0.5) * tileHeight * 1.5;
-        double ctrlX2 = x1 + (x2 - x1) * 0.75 + (Math.random() - 0.5) * tileWidth * 1.5;
-        double ctrlY2 = y1 + (y2 - y1) * 0.75 + (Math.random() - 0.5) * tileHeight * 1.5;
+    private void drawSnake(double x1, double y1, double x2, double y2, double tileWidth, double tileHeight,
+                           Random random) {
+        double ctrlX1 = x1 + (x2 - x1) * 0.25 + (random.nextDouble() - 0.5) * tileWidth * 1.5;
+        double ctrlY1 = y1 + (y2 - y1) * 0.25 + (random.nextDouble() - 0.5) * tileHeight * 1.5;
+        double ctrlX2 = x1 + (x2 - x1) * 0.75 + (random.nextDouble() - 0.5) * tileWidth * 1.5;
+        double ctrlY2 = y1 + (y2 - y1) * 0.75 + (random.nextDouble() - 0.5) * tileHeight * 1.5;
 
         CubicCurve snakeBody = new CubicCurve(
                 x1, y1,
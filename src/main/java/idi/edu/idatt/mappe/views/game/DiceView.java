@@ -1,6 +1,10 @@
 package idi.edu.idatt.mappe.views.game;
 
+import idi.edu.idatt.mappe.models.enums.AnimationSpeed;
 import idi.edu.idatt.mappe.services.AnimationController;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -13,6 +17,7 @@ import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
+import javafx.util.Duration;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,12 +27,18 @@ import java.util.logging.Logger;
 /**
  * View component for displaying dice in the game.
  * Supports multiple dice with animation.
+ * All roll animations run on a single timeline owned by the view, so no extra threads are created.
  */
 public class DiceView extends VBox {
     private static final Logger logger = Logger.getLogger(DiceView.class.getName());
     private final List<DieFace> dice = new ArrayList<>();
     private final AnimationController animationController;
 
+    private final Random random = new Random();
+    private final Timeline rollTimeline = new Timeline();
+    private AnimationSpeed animationSpeed = AnimationSpeed.NORMAL;
+
+    private List<Integer> targetValues;
     private Runnable onAnimationComplete;
 
     /**
@@ -42,6 +53,10 @@ public class DiceView extends VBox {
         setPadding(new Insets(10));
         setAlignment(Pos.CENTER);
 
+        rollTimeline.setOnFinished(e -> finishRoll());
+        animationController.track(rollTimeline);
+        configureTimeline();
+
         createDice(2, 6);
 
         logger.info("DiceView initialized");
@@ -56,6 +71,10 @@ public class DiceView extends VBox {
     public void createDice(int numberOfDice, int sides) {
         logger.info("Creating " + numberOfDice + " dice with " + sides + " sides each");
 
+        rollTimeline.stop();
+        targetValues = null;
+        onAnimationComplete = null;
+
         getChildren().clear();
         dice.clear();
 
@@ -80,6 +99,8 @@ public class DiceView extends VBox {
 
     /**
      * Updates the dice display with new values and executes the callback after animation.
+     * A roll that arrives while another animation is running finishes the previous
+     * animation first, so completion callbacks always run in the order the rolls were made.
      *
      * @param values The values to display on the dice
      * @param completeCallback Callback to execute after animation completes
@@ -92,9 +113,11 @@ public class DiceView extends VBox {
             return;
         }
 
-        this.onAnimationComplete = completeCallback;
-
-        animateRoll(values);
+        if (Platform.isFxApplicationThread()) {
+            startRoll(values, completeCallback);
+        } else {
+            Platform.runLater(() -> startRoll(values, completeCallback));
+        }
     }
 
     /**
@@ -107,61 +130,131 @@ public class DiceView extends VBox {
     }
 
     /**
-     * Animates rolling the dice to the target values.
+     * Sets the speed of the dice animation.
+     * A running animation is finished before the new speed takes effect.
      *
-     * @param targetValues The final values the dice should show
+     * @param animationSpeed The animation speed to use
      */
-    private void animateRoll(List<Integer> targetValues) {
-        final int steps = 10;
-        final int delayBetweenSteps = 50;
-
-        Random random = new Random();
-
-        new Thread(() -> {
-            try {
-                for (int step = 0; step < steps; step++) {
-                    final int currentStep = step;
-
-                    final List<Integer> randomValues = new ArrayList<>();
-                    for (DieFace die : dice) {
-                        int randomValue = random.nextInt(die.getNumberOfSides()) + 1;
-                        randomValues.add(randomValue);
-                    }
-
-                    Platform.runLater(() -> {
-                        for (int i = 0; i < dice.size(); i++) {
-                            dice.get(i).setValue(randomValues.get(i));
-                        }
-
-                        if (dice.size() > 1 && getChildren().size() > 1) {
-                            int total = randomValues.stream().mapToInt(Integer::intValue).sum();
-                            ((Label) getChildren().get(1)).setText("Total: " + total);
-                        }
-                    });
-
-                    Thread.sleep(delayBetweenSteps);
-                }
-
-                Platform.runLater(() -> {
-                    for (int i = 0; i < dice.size(); i++) {
-                        dice.get(i).setValue(targetValues.get(i));
-                    }
-
-                    if (dice.size() > 1 && getChildren().size() > 1) {
-                        int total = targetValues.stream().mapToInt(Integer::intValue).sum();
-                        ((Label) getChildren().get(1)).setText("Total: " + total);
-                    }
-
-                    if (onAnimationComplete != null) {
-                        onAnimationComplete.run();
-                    }
-                });
-
-            } catch (InterruptedException e) {
-                logger.warning("Dice animation interrupted: " + e.getMessage());
-                Thread.currentThread().interrupt();
-            }
-        }).start();
+    public void setAnimationSpeed(AnimationSpeed animationSpeed) {
+        if (animationSpeed == null || animationSpeed == this.animationSpeed) {
+            return;
+        }
+        skipAnimation();
+        this.animationSpeed = animationSpeed;
+        configureTimeline();
+        logger.info("Dice animation speed set to " + animationSpeed.getName());
+    }
+
+    /**
+     * Gets the speed of the dice animation.
+     *
+     * @return The current animation speed
+     */
+    public AnimationSpeed getAnimationSpeed() {
+        return animationSpeed;
+    }
+
+    /**
+     * Checks if a dice animation is currently running.
+     *
+     * @return True if the dice are animating
+     */
+    public boolean isAnimating() {
+        return rollTimeline.getStatus() == Animation.Status.RUNNING;
+    }
+
+    /**
+     * Skips the running animation, showing the final values and running its callback.
+     */
+    public void skipAnimation() {
+        if (targetValues == null) {
+            return;
+        }
+        rollTimeline.stop();
+        finishRoll();
+    }
+
+    /**
+     * Starts a new roll animation, finishing any animation that is still running.
+     *
+     * @param values The final values the dice should show
+     * @param completeCallback Callback to execute after the animation completes
+     */
+    private void startRoll(List<Integer> values, Runnable completeCallback) {
+        while (targetValues != null) {
+            skipAnimation();
+        }
+
+        targetValues = values;
+        onAnimationComplete = completeCallback;
+
+        if (animationSpeed.isInstant()) {
+            finishRoll();
+            return;
+        }
+
+        rollTimeline.playFromStart();
+    }
+
+    /**
+     * Configures the shared roll timeline for the current animation speed.
+     */
+    private void configureTimeline() {
+        rollTimeline.stop();
+        if (animationSpeed.isInstant()) {
+            rollTimeline.getKeyFrames().clear();
+            return;
+        }
+        rollTimeline.getKeyFrames().setAll(new KeyFrame(
+                Duration.millis(animationSpeed.getFrameDurationMs()),
+                e -> showRandomFrame()));
+        rollTimeline.setCycleCount(animationSpeed.getFrames());
+    }
+
+    /**
+     * Shows one intermediate frame with random values on every die.
+     */
+    private void showRandomFrame() {
+        int total = 0;
+        for (DieFace die : dice) {
+            int randomValue = random.nextInt(die.getNumberOfSides()) + 1;
+            die.setValue(randomValue);
+            total += randomValue;
+        }
+        updateTotalLabel(total);
+    }
+
+    /**
+     * Shows the final values and runs the completion callback of the current roll.
+     */
+    private void finishRoll() {
+        List<Integer> values = targetValues;
+        Runnable callback = onAnimationComplete;
+        targetValues = null;
+        onAnimationComplete = null;
+
+        int total = 0;
+        int shown = values == null ? 0 : Math.min(dice.size(), values.size());
+        for (int i = 0; i < shown; i++) {
+            dice.get(i).setValue(values.get(i));
+            total += values.get(i);
+        }
+        updateTotalLabel(total);
+
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    /**
+     * Updates the total label shown below the dice, if there is one.
+     *
+     * @param total The total to show
+     */
+    private void updateTotalLabel(int total) {
+        if (dice.size() > 1 && getChildren().size() > 1) {
+            ((Label) getChildren().get(1)).setText("Total: " + total);
+        }
     }
 
     /**
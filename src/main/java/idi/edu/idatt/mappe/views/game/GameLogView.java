@@ -9,6 +9,7 @@ import javafx.scene.text.FontWeight;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 import java.util.logging.Logger;
 
 /**
@@ -58,6 +59,38 @@ public class GameLogView extends VBox {
         }
     }
 
+    /**
+     * Adds several messages to the game log in a single update.
+     * Only the newest entries that fit in the log are appended.
+     *
+     * @param messages The messages to add, oldest first
+     */
+    public void logGameEvents(List<String> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        String timestamp = "[" + timeFormat.format(new Date()) + "] ";
+        int first = Math.max(0, messages.size() - maxLogEntries);
+
+        StringBuilder text = new StringBuilder();
+        if (first > 0) {
+            text.append(timestamp).append("... ").append(first).append(" earlier events skipped\n");
+        }
+        for (int i = first; i < messages.size(); i++) {
+            text.append(timestamp).append(messages.get(i));
+            if (i < messages.size() - 1) {
+                text.append("\n");
+            }
+        }
+
+        String fullText = text.toString();
+        if (Platform.isFxApplicationThread()) {
+            appendLogText(fullText);
+        } else {
+            Platform.runLater(() -> appendLogText(fullText));
+        }
+    }
+
     /**
      * Appends text to the log area and scrolls to the bottom.
      *
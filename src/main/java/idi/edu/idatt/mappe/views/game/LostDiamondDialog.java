@@ -1,7 +1,6 @@
 package idi.edu.idatt.mappe.views.game;
 
 import idi.edu.idatt.mappe.models.*;
-import idi.edu.idatt.mappe.models.enums.Direction;
 import idi.edu.idatt.mappe.models.enums.TokenType;
 import idi.edu.idatt.mappe.views.GameView;
 import javafx.geometry.Insets;
@@ -69,15 +68,7 @@ public class LostDiamondDialog extends Alert {
         for (Tile destination : affordableDestinations) {
             Label nameLabel = new Label(destination.getName());
 
-            Direction direction = null;
-            for (Direction dir : currentTile.getAvailableDirections()) {
-                if (currentTile.getConnectionInDirection(dir) == destination) {
-                    direction = dir;
-                    break;
-                }
-            }
-
-            int cost = (direction != null) ? currentTile.getTravelCost(direction) : 0;
+            int cost = Math.max(0, currentTile.getTravelCostTo(destination));
             Label costLabel = new Label(cost + " coins");
 
             if (cost > 0) {
@@ -0,0 +1,236 @@
+package idi.edu.idatt.mappe.views.game;
+
+import idi.edu.idatt.mappe.services.AnimationController;
+import idi.edu.idatt.mappe.utils.diagnostics.TurnTrace;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.logging.Logger;
+
+/**
+ * Overlay that shows how the client is performing while a game is played.
+ * <p>
+ *     The overlay shows the frame rate, how long each pulse spends on CSS and layout, the
+ *     number of nodes in the scene, how long a task posted with {@link Platform#runLater}
+ *     waits before it runs, the number of running animations, the heap usage and how the
+ *     last turn split between model code and the view.
+ * </p>
+ * <p>
+ *     Pulses are timed with the scene's pre- and post-layout pulse listeners and kept in
+ *     fixed-size rolling windows, so a pulse costs two clock reads and two array writes.
+ *     The text is refreshed twice a second. Nothing is measured while the overlay is hidden.
+ * </p>
+ */
+public class PerformanceHudView extends VBox implements TurnTrace.Listener {
+    private static final Logger logger = Logger.getLogger(PerformanceHudView.class.getName());
+
+    private static final int WINDOW = 120;
+    private static final Duration REFRESH_INTERVAL = Duration.millis(500);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private final AnimationController animationController;
+
+    private final Label frameLabel = new Label();
+    private final Label sceneLabel = new Label();
+    private final Label queueLabel = new Label();
+    private final Label memoryLabel = new Label();
+    private final Label turnLabel = new Label();
+
+    private final long[] frameIntervals = new long[WINDOW];
+    private final long[] pulseDurations = new long[WINDOW];
+    private int sampleIndex;
+    private int sampleCount;
+    private long lastPulseStart;
+    private long pulseStart;
+    private long totalPulseNanos;
+
+    private long runLaterLagNanos;
+    private boolean runLaterProbePending;
+
+    private long turnPulseStart;
+    private long lastTurnNanos;
+    private long lastModelNanos;
+    private long lastRenderNanos;
+    private boolean hasTurn;
+
+    private final Runnable preLayoutListener = this::onPulseStarted;
+    private final Runnable postLayoutListener = this::onPulseEnded;
+    private final Timeline refreshTimeline;
+    private Scene attachedScene;
+
+    /**
+     * Creates a new hidden performance overlay
+     *
+     * @param animationController The animation controller whose animations are counted
+     */
+    public PerformanceHudView(AnimationController animationController) {
+        this.animationController = animationController;
+
+        setSpacing(2);
+        setMouseTransparent(true);
+        setMaxSize(USE_PREF_SIZE, USE_PREF_SIZE);
+        getStyleClass().add("performance-hud");
+        getChildren().addAll(frameLabel, sceneLabel, queueLabel, memoryLabel, turnLabel);
+
+        refreshTimeline = new Timeline(new KeyFrame(REFRESH_INTERVAL, e -> refresh()));
+        refreshTimeline.setCycleCount(Animation.INDEFINITE);
+
+        setVisible(false);
+        visibleProperty().addListener((obs, wasVisible, isVisible) -> updateSampling());
+        sceneProperty().addListener((obs, oldScene, newScene) -> updateSampling());
+
+        logger.info("PerformanceHudView initialized");
+    }
+
+    /**
+     * Shows the overlay if it is hidden and hides it if it is shown
+     */
+    public void toggle() {
+        setVisible(!isVisible());
+    }
+
+    @Override
+    public void onTurnStarted() {
+        turnPulseStart = totalPulseNanos;
+    }
+
+    @Override
+    public void onTurnEnded(long turnNanos, long modelNanos) {
+        lastTurnNanos = turnNanos;
+        lastModelNanos = modelNanos;
+        lastRenderNanos = totalPulseNanos - turnPulseStart;
+        hasTurn = true;
+    }
+
+    /**
+     * Starts sampling when the overlay is shown in a scene and stops it otherwise
+     */
+    private void updateSampling() {
+        Scene scene = isVisible() ? getScene() : null;
+        if (scene == attachedScene) {
+            return;
+        }
+
+        if (attachedScene != null) {
+            attachedScene.removePreLayoutPulseListener(preLayoutListener);
+            attachedScene.removePostLayoutPulseListener(postLayoutListener);
+            refreshTimeline.stop();
+        }
+
+        attachedScene = scene;
+        sampleCount = 0;
+        sampleIndex = 0;
+        lastPulseStart = 0;
+
+        if (scene != null) {
+            scene.addPreLayoutPulseListener(preLayoutListener);
+            scene.addPostLayoutPulseListener(postLayoutListener);
+            refresh();
+            refreshTimeline.play();
+        }
+    }
+
+    /**
+     * Records the start of a pulse and the time since the previous one
+     */
+    private void onPulseStarted() {
+        pulseStart = System.nanoTime();
+        frameIntervals[sampleIndex] = lastPulseStart != 0 ? pulseStart - lastPulseStart : 0;
+        lastPulseStart = pulseStart;
+    }
+
+    /**
+     * Records how long the pulse spent on CSS and layout
+     */
+    private void onPulseEnded() {
+        long duration = System.nanoTime() - pulseStart;
+        pulseDurations[sampleIndex] = duration;
+        totalPulseNanos += duration;
+        sampleIndex = (sampleIndex + 1) % WINDOW;
+        sampleCount = Math.min(sampleCount + 1, WINDOW);
+    }
+
+    /**
+     * Updates the text of the overlay
+     */
+    private void refresh() {
+        probeRunLaterQueue();
+
+        long intervalTotal = 0;
+        long pulseTotal = 0;
+        long pulseMax = 0;
+        for (int i = 0; i < sampleCount; i++) {
+            intervalTotal += frameIntervals[i];
+            pulseTotal += pulseDurations[i];
+            pulseMax = Math.max(pulseMax, pulseDurations[i]);
+        }
+        double fps = intervalTotal > 0 ? sampleCount * 1_000_000_000.0 / intervalTotal : 0;
+        double pulseMean = sampleCount > 0 ? pulseTotal / (double) sampleCount : 0;
+
+        frameLabel.setText(String.format("FPS %5.1f  pulse %.2f ms avg, %.2f ms max",
+                fps, pulseMean / NANOS_PER_MILLI, pulseMax / NANOS_PER_MILLI));
+        sceneLabel.setText(String.format("nodes %d  animations %d",
+                countNodes(getScene().getRoot()), animationController.getActiveAnimationCount()));
+        queueLabel.setText(String.format("runLater wait %.2f ms", runLaterLagNanos / NANOS_PER_MILLI));
+
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        memoryLabel.setText(String.format("heap %d / %d MB",
+                used / BYTES_PER_MEGABYTE, runtime.maxMemory() / BYTES_PER_MEGABYTE));
+
+        turnLabel.setText(hasTurn
+                ? String.format("last turn %.1f ms  model %.2f ms  layout %.2f ms",
+                        lastTurnNanos / NANOS_PER_MILLI, lastModelNanos / NANOS_PER_MILLI,
+                        lastRenderNanos / NANOS_PER_MILLI)
+                : "last turn -");
+    }
+
+    /**
+     * Posts a task to the FX application thread and records how long it waits before it runs.
+     * The wait grows with the number of tasks queued ahead of it.
+     */
+    private void probeRunLaterQueue() {
+        if (runLaterProbePending) {
+            return;
+        }
+        runLaterProbePending = true;
+        long posted = System.nanoTime();
+        Platform.runLater(() -> {
+            runLaterLagNanos = System.nanoTime() - posted;
+            runLaterProbePending = false;
+        });
+    }
+
+    /**
+     * Counts the nodes in a scene graph without recursion
+     *
+     * @param root The root of the scene graph
+     * @return The number of nodes, including the root
+     */
+    private static int countNodes(Parent root) {
+        int count = 0;
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            count++;
+            if (node instanceof Parent parent) {
+                for (Node child : parent.getChildrenUnmodifiable()) {
+                    pending.push(child);
+                }
+            }
+        }
+        return count;
+    }
+}
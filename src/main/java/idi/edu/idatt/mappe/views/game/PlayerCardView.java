@@ -1,6 +1,7 @@
 package idi.edu.idatt.mappe.views.game;
 
 import idi.edu.idatt.mappe.models.PlayerSelectionEntry;
+import idi.edu.idatt.mappe.models.PlayerStats;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.geometry.Insets;
@@ -47,6 +48,7 @@ public class PlayerCardView extends HBox {
 
     private ImageView tokenImageView;
     private Circle colorCircle;
+    private Label statsLabel;
 
     private static final Logger logger = getLogger(PlayerCardView.class.getName());
 
@@ -155,8 +157,41 @@ public class PlayerCardView extends HBox {
         nameLabel.setPrefWidth(400);
         nameLabel.setMinWidth(120);
 
+        statsLabel = new Label();
+        statsLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 12));
+        statsLabel.setTextFill(Color.web("#7f8c8d"));
+        statsLabel.setManaged(false);
+        statsLabel.setVisible(false);
 
-        this.getChildren().add(nameLabel);
+        VBox nameBox = new VBox(2, nameLabel, statsLabel);
+        nameBox.setAlignment(Pos.CENTER_LEFT);
+        HBox.setHgrow(nameBox, Priority.ALWAYS);
+
+        this.getChildren().add(nameBox);
+    }
+
+    /**
+     * Shows the statistics of the player under the name.
+     * Players without finished games show "No games played yet".
+     *
+     * @param stats The statistics, or null to hide them
+     */
+    public void setStats(PlayerStats stats) {
+        statsLabel.setManaged(stats != null);
+        statsLabel.setVisible(stats != null);
+        if (stats == null) {
+            return;
+        }
+        if (stats.getGamesPlayed() == 0) {
+            statsLabel.setText("No games played yet");
+            return;
+        }
+        String text = String.format("%d games · %d wins · %.1f turns per game",
+                stats.getGamesPlayed(), stats.getWins(), stats.getAverageTurns());
+        if (stats.getTreasureEarned() > 0) {
+            text += " · " + stats.getTreasureEarned() + " coins of treasure";
+        }
+        statsLabel.setText(text);
     }
 
     /**
@@ -84,6 +84,24 @@ public class PlayerStatusPanelView extends VBox {
         logger.info("Added player " + player.getName() + " to status panel");
     }
 
+    /**
+     * Removes a player from the status panel.
+     *
+     * @param player The player to remove
+     */
+    public void removePlayer(Player player) {
+        HBox entryBox = playerEntries.remove(player);
+        if (entryBox == null) {
+            return;
+        }
+
+        playersContainer.getChildren().remove(entryBox);
+        positionLabels.remove(player);
+        moneyLabels.remove(player);
+
+        logger.info("Removed player " + player.getName() + " from status panel");
+    }
+
     /**
      * Sets whether to show money instead of position.
      *
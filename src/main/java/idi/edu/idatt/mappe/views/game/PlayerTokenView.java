@@ -9,7 +9,6 @@ import idi.edu.idatt.mappe.utils.CoordinateConverter;
 import javafx.scene.Node;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
 
 import java.util.*;
 import java.util.logging.Logger;
@@ -27,13 +26,15 @@ public class PlayerTokenView {
     private final Map<Player, Node> playerTokens = new HashMap<>();
     private final Map<Player, Color> playerColors = new HashMap<>();
 
-    private final Map<Integer, List<Player>> tileOccupancy = new HashMap<>();
+    private final TileOccupancyIndex tileOccupancy = new TileOccupancyIndex();
+    private final List<double[]> packingLayouts = new ArrayList<>();
 
     private double boardWidth;
     private double boardHeight;
 
     private final double PLAYER_OFFSET_HORIZONTAL = 15.0;
     private final double PLAYER_OFFSET_VERTICAL = 15.0;
+    private static final int MAX_PACKING_COLUMNS = 4;
 
     private Board board;
     private BoardView boardView;
@@ -111,76 +112,150 @@ public class PlayerTokenView {
     }
 
     /**
-     * Updates a player's position on the board.
+     * Removes a player token from the board.
+     * The remaining tokens on the player's tile are laid out again.
      *
-     * @param player The player to update
+     * @param player The player to remove
      */
-    public void updatePlayerPosition(Player player) {
-        if (player == null || player.getCurrentTile() == null) {
-            logger.warning("Cannot update position: player or current tile is null");
+    public void removePlayerToken(Player player) {
+        Node tokenNode = playerTokens.remove(player);
+        playerColors.remove(player);
+        if (tokenNode == null) {
             return;
         }
 
-        Node token = playerTokens.get(player);
-        if (token == null) {
-            logger.warning("No token found for player: " + player.getName());
-            return;
+        boardPane.getChildren().remove(tokenNode);
+
+        int tileIndex = tileOccupancy.remove(player);
+        if (tileIndex != TileOccupancyIndex.NO_TILE) {
+            layoutTile(tileIndex);
         }
 
-        Tile currentTile = player.getCurrentTile();
-        int tileIndex = currentTile.getIndex();
+        logger.info("Removed token for player: " + player.getName());
+    }
 
-        updateTileOccupancy(player, tileIndex);
+    /**
+     * Gets the players whose tokens are on a tile.
+     *
+     * @param tileIndex The index of the tile
+     * @return An unmodifiable list of the players on the tile
+     */
+    public List<Player> getPlayersOnTile(int tileIndex) {
+        return tileOccupancy.getPlayersOnTile(tileIndex);
+    }
 
-        if (boardView != null) {
-            Rectangle tileRect = boardView.getTileRectangle(tileIndex);
-            if (tileRect != null) {
-                positionPlayerOnTileRectangle(player, token, tileRect);
-                return;
+    /**
+     * Updates a player's position on the board.
+     * Only the tokens on the tile the player left and the tile it moved to are repositioned.
+     *
+     * @param player The player to update
+     */
+    public void updatePlayerPosition(Player player) {
+        updatePlayerPositions(Collections.singletonList(player));
+    }
+
+    /**
+     * Updates the positions of several players at once.
+     * The occupancy index is updated for every player first, and every tile that changed
+     * is then laid out once, no matter how many of the players moved to or from it.
+     *
+     * @param players The players to update
+     */
+    public void updatePlayerPositions(Collection<Player> players) {
+        Set<Integer> changedTiles = new LinkedHashSet<>();
+
+        for (Player player : players) {
+            if (player == null || player.getCurrentTile() == null) {
+                logger.warning("Cannot update position: player or current tile is null");
+                continue;
+            }
+            if (!playerTokens.containsKey(player)) {
+                logger.warning("No token found for player: " + player.getName());
+                continue;
             }
+
+            int tileIndex = player.getCurrentTile().getIndex();
+            int previousTile = tileOccupancy.move(player, tileIndex);
+
+            changedTiles.add(tileIndex);
+            if (previousTile != tileIndex && previousTile != TileOccupancyIndex.NO_TILE) {
+                changedTiles.add(previousTile);
+            }
+        }
+
+        for (int tileIndex : changedTiles) {
+            layoutTile(tileIndex);
         }
 
-        positionPlayerUsingCoordinates(player, token, currentTile);
+        logger.fine("Updated token layout on " + changedTiles.size() + " tiles");
+    }
 
-        logger.info("Updated position for player: " + player.getName() +
-                " to tile: " + tileIndex);
+    /**
+     * Positions the tokens on every occupied tile again, after the board view has moved its
+     * tiles. Only tiles with players on them are visited.
+     */
+    public void relayoutTokens() {
+        for (int tileIndex : tileOccupancy.getOccupiedTiles()) {
+            layoutTile(tileIndex);
+        }
     }
 
     /**
-     * Positions a player token on a tile rectangle.
+     * Positions all tokens on a tile using the packing layout for the number of tokens on it.
      *
-     * @param player The player to position
-     * @param token The player's token node
-     * @param tileRect The rectangle representing the tile
+     * @param tileIndex The index of the tile
      */
-    private void positionPlayerOnTileRectangle(Player player, Node token, Rectangle tileRect) {
-        if (player == null || token == null || tileRect == null) {
+    private void layoutTile(int tileIndex) {
+        List<Player> playersOnTile = tileOccupancy.getPlayersOnTile(tileIndex);
+        if (playersOnTile.isEmpty()) {
             return;
         }
 
-        int tileIndex = player.getCurrentTile().getIndex();
+        double[] tileCenter = getTileCenter(tileIndex);
+        if (tileCenter == null) {
+            return;
+        }
 
-        double tileCenterX = tileRect.getX() + tileRect.getWidth() / 2;
-        double tileCenterY = tileRect.getY() + tileRect.getHeight() / 2;
+        double[] layout = getPackingLayout(playersOnTile.size());
+        double scale = getPackingScale(tileIndex, playersOnTile.size());
+        for (int slot = 0; slot < playersOnTile.size(); slot++) {
+            Node token = playerTokens.get(playersOnTile.get(slot));
 
-        getPlayerOffset(player, token, tileIndex, tileCenterX, tileCenterY);
-    }
+            double tokenWidth = token.getBoundsInLocal().getWidth();
+            double tokenHeight = token.getBoundsInLocal().getHeight();
 
+            double finalX = tileCenter[0] - tokenWidth / 2 + layout[slot * 2] * scale;
+            double finalY = tileCenter[1] - tokenHeight / 2 + layout[slot * 2 + 1] * scale;
+
+            animationController.setTokenPosition(token, finalX, finalY);
+        }
+    }
 
     /**
-     * Positions a player token using coordinate-based calculation.
-     * This is a fallback method when tile rectangles aren't available.
+     * Gets the screen position of the center of a tile.
+     * Uses the tile rectangle when the board view has one, and falls back to
+     * coordinate-based calculation otherwise.
      *
-     * @param player The player to position
-     * @param token The player's token node
-     * @param tile The tile the player is on
+     * @param tileIndex The index of the tile
+     * @return An array with [x, y], or null if the position cannot be calculated
      */
-    private void positionPlayerUsingCoordinates(Player player, Node token, Tile tile) {
-        if (player == null || token == null || tile == null) {
-            return;
+    private double[] getTileCenter(int tileIndex) {
+        if (boardView != null) {
+            double[] center = boardView.getTileCenter(tileIndex);
+            if (center != null) {
+                return center;
+            }
+        }
+
+        if (board == null) {
+            return null;
+        }
+
+        Tile tile = board.getTileByIndex(tileIndex);
+        if (tile == null) {
+            return null;
         }
 
-        int tileIndex = tile.getIndex();
         int rows = board.getRows();
         int cols = board.getColumns();
 
@@ -190,82 +265,62 @@ public class PlayerTokenView {
         double tileWidth = boardWidth / cols;
         double tileHeight = boardHeight / rows;
 
-        double tileCenterX = screenPos[0] + tileWidth / 2;
-        double tileCenterY = screenPos[1] + tileHeight / 2;
-
-        getPlayerOffset(player, token, tileIndex, tileCenterX, tileCenterY);
-
-
-    }
-
-    private void getPlayerOffset(Player player, Node token, int tileIndex, double tileCenterX, double tileCenterY) {
-        double[] offset = calculatePlayerOffset(tileIndex, player);
-
-        double tokenWidth = token.getBoundsInLocal().getWidth();
-        double tokenHeight = token.getBoundsInLocal().getHeight();
-
-        double finalX = tileCenterX - tokenWidth / 2 + offset[0];
-        double finalY = tileCenterY - tokenHeight / 2 + offset[1];
-
-        animationController.setTokenPosition(token, finalX, finalY);
+        return new double[]{screenPos[0] + tileWidth / 2, screenPos[1] + tileHeight / 2};
     }
 
     /**
-     * Updates the tile occupancy tracking when a player moves.
+     * Gets the token offsets for a tile with the given number of tokens.
+     * Layouts are computed once per token count and reused for every tile.
      *
-     * @param player The player that moved
-     * @param tileIndex The index of the tile the player moved to
+     * @param count The number of tokens on the tile
+     * @return The offsets as [x0, y0, x1, y1, ...], relative to the tile center
      */
-    private void updateTileOccupancy(Player player, int tileIndex) {
-        for (List<Player> players : tileOccupancy.values()) {
-            players.remove(player);
+    private double[] getPackingLayout(int count) {
+        while (packingLayouts.size() <= count) {
+            packingLayouts.add(createPackingLayout(packingLayouts.size()));
         }
-
-        tileOccupancy.computeIfAbsent(tileIndex, k -> new ArrayList<>()).add(player);
+        return packingLayouts.get(count);
     }
 
     /**
-     * Calculates the offset for a player token within a tile based on how many
-     * players are on the same tile.
+     * Gets how much the packing layout must shrink to keep the tokens on a tile away from
+     * the neighbouring tiles. Grid boards use the tile size, and maps use the distance to
+     * the closest other city.
      *
      * @param tileIndex The index of the tile
-     * @param player The player to calculate offset for
-     * @return An array with [x offset, y offset]
+     * @param count The number of tokens on the tile
+     * @return A factor between 0 and 1 to multiply the layout offsets with
      */
-    private double[] calculatePlayerOffset(int tileIndex, Player player) {
-        List<Player> playersOnTile = tileOccupancy.getOrDefault(tileIndex, Collections.emptyList());
-        int playerPosition = playersOnTile.indexOf(player);
+    private double getPackingScale(int tileIndex, int count) {
+        int columns = (int) Math.ceil(Math.sqrt(count));
+        double spacing = boardView != null
+                ? boardView.getTileSpacing(tileIndex)
+                : MAX_PACKING_COLUMNS * PLAYER_OFFSET_HORIZONTAL;
+        return Math.min(1.0, spacing / (columns * PLAYER_OFFSET_HORIZONTAL));
+    }
 
-        if (playerPosition == -1 || playersOnTile.size() <= 1) {
-            return new double[]{0, 0};
+    /**
+     * Creates the token offsets for a tile with the given number of tokens.
+     * Tokens are packed in a centered grid that is as square as possible.
+     *
+     * @param count The number of tokens on the tile
+     * @return The offsets as [x0, y0, x1, y1, ...], relative to the tile center
+     */
+    private double[] createPackingLayout(int count) {
+        double[] layout = new double[count * 2];
+        if (count <= 1) {
+            return layout;
         }
 
-        if (playersOnTile.size() == 2) {
-            return new double[]{
-                    playerPosition == 0 ? -PLAYER_OFFSET_HORIZONTAL/2 : PLAYER_OFFSET_HORIZONTAL/2,
-                    0
-            };
-        }
+        int columns = (int) Math.ceil(Math.sqrt(count));
+        int rows = (int) Math.ceil((double) count / columns);
 
-        if (playersOnTile.size() <= 4) {
-            int row = playerPosition / 2;
-            int col = playerPosition % 2;
-            return new double[]{
-                    col == 0 ? -PLAYER_OFFSET_HORIZONTAL/2 : PLAYER_OFFSET_HORIZONTAL/2,
-                    row == 0 ? -PLAYER_OFFSET_VERTICAL/2 : PLAYER_OFFSET_VERTICAL/2
-            };
+        for (int slot = 0; slot < count; slot++) {
+            int row = slot / columns;
+            int col = slot % columns;
+            layout[slot * 2] = (col - (columns - 1) / 2.0) * PLAYER_OFFSET_HORIZONTAL;
+            layout[slot * 2 + 1] = (row - (rows - 1) / 2.0) * PLAYER_OFFSET_VERTICAL;
         }
-
-        int maxPlayersPerRow = (int)Math.ceil(Math.sqrt(playersOnTile.size()));
-        int row = playerPosition / maxPlayersPerRow;
-        int col = playerPosition % maxPlayersPerRow;
-
-        double rowOffset = (maxPlayersPerRow - 1) / 2.0;
-        double colOffset = (playersOnTile.size() / maxPlayersPerRow) / 2.0;
-
-        return new double[]{
-                (col - rowOffset) * PLAYER_OFFSET_HORIZONTAL,
-                (row - colOffset) * PLAYER_OFFSET_VERTICAL
-        };
+        return layout;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,154 @@
+package idi.edu.idatt.mappe.views.game;
+
+import idi.edu.idatt.mappe.models.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of which players occupy which tile.
+ * <p>
+ *     Every player is stored together with its tile and its slot in that tile's list, so
+ *     moving a player costs O(1) no matter how many tiles or players there are. Removing a
+ *     player from a tile moves the last player on that tile into the free slot, which keeps
+ *     the slots of a tile numbered from 0 to count - 1.
+ * </p>
+ */
+public class TileOccupancyIndex {
+    /**
+     * Tile index returned for players that are not on any tile.
+     */
+    public static final int NO_TILE = -1;
+
+    private final Map<Player, Integer> playerTiles = new HashMap<>();
+    private final Map<Player, Integer> playerSlots = new HashMap<>();
+    private final Map<Integer, List<Player>> tilePlayers = new HashMap<>();
+
+    /**
+     * Moves a player to a tile, adding the player to the index if needed.
+     *
+     * @param player The player to move
+     * @param tileIndex The index of the tile the player moved to
+     * @return The index of the tile the player was on before, or {@link #NO_TILE}
+     */
+    public int move(Player player, int tileIndex) {
+        Integer previousTile = playerTiles.get(player);
+        if (previousTile != null && previousTile == tileIndex) {
+            return tileIndex;
+        }
+
+        if (previousTile != null) {
+            removeFromTile(player, previousTile);
+        }
+
+        List<Player> players = tilePlayers.computeIfAbsent(tileIndex, k -> new ArrayList<>());
+        playerSlots.put(player, players.size());
+        players.add(player);
+        playerTiles.put(player, tileIndex);
+
+        return previousTile == null ? NO_TILE : previousTile;
+    }
+
+    /**
+     * Removes a player from the index.
+     *
+     * @param player The player to remove
+     * @return The index of the tile the player was on, or {@link #NO_TILE}
+     */
+    public int remove(Player player) {
+        Integer tileIndex = playerTiles.remove(player);
+        if (tileIndex == null) {
+            return NO_TILE;
+        }
+        removeFromTile(player, tileIndex);
+        return tileIndex;
+    }
+
+    /**
+     * Removes all players from the index.
+     */
+    public void clear() {
+        playerTiles.clear();
+        playerSlots.clear();
+        tilePlayers.clear();
+    }
+
+    /**
+     * Gets the index of the tile a player is on.
+     *
+     * @param player The player
+     * @return The tile index, or {@link #NO_TILE} if the player is not in the index
+     */
+    public int getTileIndex(Player player) {
+        return playerTiles.getOrDefault(player, NO_TILE);
+    }
+
+    /**
+     * Gets the slot of a player on its tile.
+     *
+     * @param player The player
+     * @return The slot, from 0 to the number of players on the tile minus one, or -1
+     */
+    public int getSlot(Player player) {
+        return playerSlots.getOrDefault(player, -1);
+    }
+
+    /**
+     * Gets the players on a tile, ordered by slot.
+     *
+     * @param tileIndex The index of the tile
+     * @return An unmodifiable view of the players on the tile
+     */
+    public List<Player> getPlayersOnTile(int tileIndex) {
+        List<Player> players = tilePlayers.get(tileIndex);
+        return players == null ? Collections.emptyList() : Collections.unmodifiableList(players);
+    }
+
+    /**
+     * Gets the tiles that have players on them.
+     *
+     * @return An unmodifiable view of the indices of the occupied tiles
+     */
+    public Set<Integer> getOccupiedTiles() {
+        return Collections.unmodifiableSet(tilePlayers.keySet());
+    }
+
+    /**
+     * Gets the number of players on a tile.
+     *
+     * @param tileIndex The index of the tile
+     * @return The number of players on the tile
+     */
+    public int getPlayerCount(int tileIndex) {
+        List<Player> players = tilePlayers.get(tileIndex);
+        return players == null ? 0 : players.size();
+    }
+
+    /**
+     * Removes a player from the list of a tile by moving the last player into its slot.
+     *
+     * @param player The player to remove
+     * @param tileIndex The index of the tile the player is on
+     */
+    private void removeFromTile(Player player, int tileIndex) {
+        List<Player> players = tilePlayers.get(tileIndex);
+        Integer slot = playerSlots.remove(player);
+        if (players == null || slot == null) {
+            return;
+        }
+
+        Player last = players.remove(players.size() - 1);
+        if (last != player) {
+            players.set(slot, last);
+            playerSlots.put(last, slot);
+        }
+
+        if (players.isEmpty()) {
+            tilePlayers.remove(tileIndex);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package idi.edu.idatt.mappe.models;
+
+import idi.edu.idatt.mappe.models.enums.Direction;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.TileType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdjacencyGraphTest {
+
+    private Board board;
+    private Tile cairo;
+    private Tile tunis;
+    private Tile tripoli;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(GameType.THE_LOST_DIAMOND);
+        cairo = new Tile(1, "Cairo", TileType.CITY, 0, 0);
+        tunis = new Tile(2, "Tunis", TileType.CITY, 10, 0);
+        tripoli = new Tile(3, "Tripoli", TileType.CITY, 5, 5);
+        board.addTile(1, cairo);
+        board.addTile(2, tunis);
+        board.addTile(3, tripoli);
+
+        cairo.addConnection(Direction.EAST, tunis, 0);
+        tunis.addConnection(Direction.WEST, cairo, 0);
+        cairo.addConnection(Direction.SOUTHEAST, tripoli, 80);
+    }
+
+    @Test
+    void testTilesWithoutRoutesHaveNoConnections() {
+        Tile tile = new Tile(4, 0, 0);
+
+        assertTrue(tile.getConnections().isEmpty());
+        assertTrue(tile.getAvailableDirections().isEmpty());
+        assertEquals(0, tile.getTravelCost(Direction.NORTH));
+        assertEquals(-1, tile.getTravelCostTo(cairo));
+    }
+
+    @Test
+    void testTravelCostLookup() {
+        AdjacencyGraph graph = board.getAdjacencyGraph();
+
+        assertEquals(3, graph.getEdgeCount());
+        assertEquals(0, graph.getTravelCost(1, 2));
+        assertEquals(80, graph.getTravelCost(1, 3));
+        assertEquals(AdjacencyGraph.NO_EDGE, graph.getTravelCost(3, 1));
+        assertEquals(AdjacencyGraph.NO_EDGE, graph.getTravelCost(99, 1));
+    }
+
+    @Test
+    void testNeighbourByDirection() {
+        AdjacencyGraph graph = board.getAdjacencyGraph();
+
+        assertEquals(2, graph.getNeighbour(1, Direction.EAST));
+        assertEquals(AdjacencyGraph.NO_EDGE, graph.getNeighbour(1, Direction.NORTH));
+        assertEquals(Direction.SOUTHEAST, graph.getDirection(1, 3));
+    }
+
+    @Test
+    void testForEachEdgeAndCheapestCost() {
+        AdjacencyGraph graph = board.getAdjacencyGraph();
+        List<Integer> targets = new ArrayList<>();
+        graph.forEachEdge(1, (target, cost) -> targets.add(target));
+
+        assertEquals(2, graph.getDegree(1));
+        assertTrue(targets.containsAll(List.of(2, 3)));
+        assertEquals(0, graph.getCheapestCost(1));
+        assertEquals(AdjacencyGraph.NO_EDGE, graph.getCheapestCost(3));
+    }
+
+    @Test
+    void testGraphIsRebuiltAfterConnectionIsAdded() {
+        AdjacencyGraph graph = board.getAdjacencyGraph();
+        assertSame(graph, board.getAdjacencyGraph());
+
+        tripoli.addConnection(Direction.NORTHWEST, cairo, 80);
+        assertNotSame(graph, board.getAdjacencyGraph());
+        assertEquals(80, board.getAdjacencyGraph().getTravelCost(3, 1));
+    }
+
+    @Test
+    void testProcessLostDiamondMoveUsesGraph() {
+        BoardGame game = new BoardGame(GameType.THE_LOST_DIAMOND);
+        game.setBoard(board);
+        Player player = new Player("Explorer", "Token", 50);
+        player.placeOnTile(cairo);
+
+        assertFalse(game.processLostDiamondMove(player, tripoli));
+        assertTrue(game.processLostDiamondMove(player, tunis));
+        assertEquals(tunis, player.getCurrentTile());
+        assertFalse(game.processLostDiamondMove(player, tripoli));
+    }
+}
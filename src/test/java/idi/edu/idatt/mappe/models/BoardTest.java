@@ -4,6 +4,8 @@ import idi.edu.idatt.mappe.models.enums.GameType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -60,6 +62,54 @@ class BoardTest {
         assertEquals(newTile, tiles.get(10));
     }
 
+    @Test
+    void testAddTileRejectsIndexAboveBound() {
+        assertThrows(IllegalArgumentException.class, () -> board.addTile(Board.MAX_TILE_INDEX + 1, new Tile(0)));
+        assertThrows(IllegalArgumentException.class, () -> board.addTile(-1, new Tile(0)));
+        assertFalse(board.hasTile(Board.MAX_TILE_INDEX + 1));
+    }
+
+    @Test
+    void testTileChangesDiscardDerivedStructures() {
+        Tile tile = board.getTileByIndex(1);
+        LandActionResolver resolver = board.getLandActionResolver();
+        TileSpatialIndex spatialIndex = board.getSpatialIndex();
+
+        tile.setLandAction(null);
+        assertNotSame(resolver, board.getLandActionResolver());
+        assertSame(spatialIndex, board.getSpatialIndex());
+
+        tile.setCoordinates(40, 40);
+        assertSame(tile, board.getTileByCoordinates(40, 40));
+
+        Tile replaced = new Tile(1, 0, 0);
+        board.addTile(1, replaced);
+        spatialIndex = board.getSpatialIndex();
+        tile.setCoordinates(50, 50);
+        assertSame(spatialIndex, board.getSpatialIndex());
+    }
+
+    @Test
+    void testGetTilesIsUnmodifiableView() {
+        Map<Integer, Tile> tiles = board.getTiles();
+
+        assertThrows(UnsupportedOperationException.class, () -> tiles.put(10, new Tile(10, 0, 0)));
+        assertSame(tiles, board.getTiles());
+
+        board.addTile(10, new Tile(10, 2, 2));
+        assertEquals(10, tiles.size());
+        assertEquals(10, board.getTileCount());
+    }
+
+    @Test
+    void testForEachTileIndexIsOrdered() {
+        List<Integer> indices = new ArrayList<>();
+        board.forEachTileIndex(indices::add);
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), indices);
+        assertEquals(indices, new ArrayList<>(board.getTiles().keySet()));
+    }
+
     @Test
     void testSetAndGetGameType() {
         board.setGameType(GameType.THE_LOST_DIAMOND);
@@ -0,0 +1,81 @@
+package idi.edu.idatt.mappe.models;
+
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.tileaction.LadderTileAction;
+import idi.edu.idatt.mappe.models.tileaction.SnakeTileAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LandActionResolverTest {
+
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(10, 10, GameType.SNAKES_AND_LADDERS);
+    }
+
+    @Test
+    void testResolvesChainToFinalTile() {
+        board.getTileByIndex(3).setLandAction(new LadderTileAction(20, "Ladder", board));
+        board.getTileByIndex(20).setLandAction(new SnakeTileAction(8, "Snake", board));
+        board.getTileByIndex(8).setLandAction(new LadderTileAction(50, "Ladder", board));
+
+        LandActionResolver resolver = new LandActionResolver(board);
+
+        assertEquals(50, resolver.resolve(3));
+        assertEquals(50, resolver.resolve(20));
+        assertEquals(board.getTileByIndex(50), resolver.resolve(board.getTileByIndex(8)));
+        assertEquals(42, resolver.resolve(42));
+    }
+
+    @Test
+    void testRejectsLoop() {
+        board.getTileByIndex(10).setLandAction(new LadderTileAction(30, "Ladder", board));
+        board.getTileByIndex(30).setLandAction(new SnakeTileAction(10, "Snake", board));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new LandActionResolver(board));
+        assertTrue(e.getMessage().contains("10 -> 30 -> 10"));
+    }
+
+    @Test
+    void testRejectsMissingDestination() {
+        board.getTileByIndex(10).setLandAction(new LadderTileAction(300, "Ladder", board));
+
+        assertThrows(IllegalArgumentException.class, () -> new LandActionResolver(board));
+    }
+
+    @Test
+    void testCreatesLoop() {
+        board.getTileByIndex(10).setLandAction(new LadderTileAction(30, "Ladder", board));
+
+        assertTrue(LandActionResolver.createsLoop(board, 30, 10));
+        assertFalse(LandActionResolver.createsLoop(board, 40, 10));
+    }
+
+    @Test
+    void testSetBoardRejectsLoop() {
+        board.getTileByIndex(10).setLandAction(new LadderTileAction(30, "Ladder", board));
+        board.getTileByIndex(30).setLandAction(new SnakeTileAction(10, "Snake", board));
+        BoardGame game = new BoardGame(GameType.SNAKES_AND_LADDERS);
+
+        assertThrows(IllegalArgumentException.class, () -> game.setBoard(board));
+    }
+
+    @Test
+    void testPlayerFollowsChain() {
+        board.getTileByIndex(3).setLandAction(new LadderTileAction(20, "Ladder", board));
+        board.getTileByIndex(20).setLandAction(new SnakeTileAction(8, "Snake", board));
+        BoardGame game = new BoardGame(GameType.SNAKES_AND_LADDERS);
+        game.setBoard(board);
+        Player player = new Player("Ann", "Token");
+        game.addPlayer(player);
+
+        player.placeOnTile(board.getTileByIndex(3));
+
+        assertEquals(8, player.getCurrentTileIndex());
+    }
+}
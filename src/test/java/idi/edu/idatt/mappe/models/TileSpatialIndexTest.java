@@ -0,0 +1,118 @@
+package idi.edu.idatt.mappe.models;
+
+import idi.edu.idatt.mappe.models.enums.GameType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileSpatialIndexTest {
+
+    @Test
+    void testGridBoardUsesDirectArray() {
+        Board board = new Board(9, 10, GameType.SNAKES_AND_LADDERS);
+        TileSpatialIndex index = board.getSpatialIndex();
+
+        assertTrue(index.isGrid());
+        assertEquals(90, index.size());
+        assertEquals(board.getTileByIndex(1), index.getTileAt(0, 0));
+        assertEquals(board.getTileByIndex(20), index.getTileAt(0, 1));
+        assertNull(index.getTileAt(10, 0));
+    }
+
+    @Test
+    void testGetTileByCoordinatesUsesIndex() {
+        Board board = new Board(9, 10, GameType.SNAKES_AND_LADDERS);
+
+        assertEquals(board.getTileByIndex(11), board.getTileByCoordinates(9, 1));
+        assertNull(board.getTileByCoordinates(-1, 0));
+    }
+
+    @Test
+    void testAddTileRebuildsIndex() {
+        Board board = new Board(GameType.THE_LOST_DIAMOND);
+        board.addTile(1, new Tile(1, "Cairo", null, 10, 10));
+        assertNull(board.getTileByCoordinates(50, 50));
+
+        Tile tangier = new Tile(2, "Tangier", null, 50, 50);
+        board.addTile(2, tangier);
+
+        assertEquals(tangier, board.getTileByCoordinates(50, 50));
+    }
+
+    @Test
+    void testFreeFormNearestMatchesLinearScan() {
+        List<Tile> tiles = randomTiles(500, 1000, 42);
+        TileSpatialIndex index = new TileSpatialIndex(tiles);
+        Random random = new Random(7);
+
+        assertFalse(index.isGrid());
+        for (int i = 0; i < 200; i++) {
+            double x = random.nextDouble() * 1200 - 100;
+            double y = random.nextDouble() * 1200 - 100;
+            Tile expected = tiles.stream()
+                    .min(Comparator.comparingDouble(t -> Math.hypot(t.getX() - x, t.getY() - y)))
+                    .orElseThrow();
+            Tile actual = index.findNearest(x, y);
+
+            assertEquals(Math.hypot(expected.getX() - x, expected.getY() - y),
+                    Math.hypot(actual.getX() - x, actual.getY() - y), 1e-9);
+        }
+    }
+
+    @Test
+    void testFindNearestRespectsMaxDistance() {
+        TileSpatialIndex index = new TileSpatialIndex(List.of(
+                new Tile(1, "A", null, 0, 0),
+                new Tile(2, "B", null, 100, 0)));
+
+        assertEquals(1, index.findNearest(5, 5, 10).getIndex());
+        assertNull(index.findNearest(50, 50, 10));
+    }
+
+    @Test
+    void testFindWithinRadiusMatchesLinearScan() {
+        List<Tile> tiles = randomTiles(300, 500, 3);
+        TileSpatialIndex index = new TileSpatialIndex(tiles);
+
+        long expected = tiles.stream()
+                .filter(t -> Math.hypot(t.getX() - 250, t.getY() - 250) <= 80)
+                .count();
+
+        assertEquals(expected, index.findWithinRadius(250, 250, 80).size());
+    }
+
+    @Test
+    void testFindNearestNeighbourExcludesTile() {
+        Tile a = new Tile(1, "A", null, 0, 0);
+        Tile b = new Tile(2, "B", null, 30, 0);
+        Tile c = new Tile(3, "C", null, 100, 0);
+        TileSpatialIndex index = new TileSpatialIndex(List.of(a, b, c));
+
+        assertEquals(b, index.findNearestNeighbour(a));
+        assertEquals(a, index.findNearestNeighbour(b));
+        assertEquals(b, index.findNearestNeighbour(c));
+    }
+
+    @Test
+    void testEmptyIndex() {
+        TileSpatialIndex index = new TileSpatialIndex(List.of());
+
+        assertNull(index.findNearest(0, 0));
+        assertNull(index.getTileAt(0, 0));
+        assertTrue(index.findWithinRadius(0, 0, 10).isEmpty());
+    }
+
+    private List<Tile> randomTiles(int count, int extent, long seed) {
+        Random random = new Random(seed);
+        List<Tile> tiles = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            tiles.add(new Tile(i, "City" + i, null, random.nextInt(extent), random.nextInt(extent)));
+        }
+        return tiles;
+    }
+}
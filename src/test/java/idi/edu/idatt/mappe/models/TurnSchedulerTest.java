@@ -0,0 +1,176 @@
+package idi.edu.idatt.mappe.models;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TurnSchedulerTest {
+
+    private TurnScheduler scheduler;
+    private Player alice;
+    private Player bob;
+    private Player carol;
+
+    @BeforeEach
+    void setUp() {
+        alice = new Player("Alice");
+        bob = new Player("Bob");
+        carol = new Player("Carol");
+        scheduler = new TurnScheduler(List.of(alice, bob, carol));
+    }
+
+    @Test
+    void testFirstPlayerHasFirstTurn() {
+        assertEquals(alice, scheduler.getCurrentPlayer());
+        assertEquals(3, scheduler.getPlayerCount());
+    }
+
+    @Test
+    void testAdvanceWrapsAround() {
+        assertEquals(bob, scheduler.advance());
+        assertEquals(carol, scheduler.advance());
+        assertEquals(alice, scheduler.advance());
+    }
+
+    @Test
+    void testSkipNextTurnIsConsumed() {
+        scheduler.skipNextTurn(bob);
+        List<Player> skipped = new ArrayList<>();
+
+        assertEquals(carol, scheduler.advance(skipped::add));
+        assertEquals(List.of(bob), skipped);
+        assertFalse(scheduler.isSkippingNextTurn(bob));
+
+        assertEquals(alice, scheduler.advance());
+        assertEquals(bob, scheduler.advance());
+    }
+
+    @Test
+    void testMissingTurnFlagIsSkippedAndCleared() {
+        bob.setMissingTurn(true);
+
+        assertEquals(carol, scheduler.advance());
+        assertFalse(bob.isMissingTurn());
+    }
+
+    @Test
+    void testAllPlayersSkippingGivesTurnAfterOneRound() {
+        scheduler.skipNextTurn(alice);
+        scheduler.skipNextTurn(bob);
+        scheduler.skipNextTurn(carol);
+
+        assertEquals(bob, scheduler.advance());
+    }
+
+    @Test
+    void testAddPlayerMidGameJoinsEndOfRound() {
+        scheduler.advance();
+        Player dave = new Player("Dave");
+        scheduler.addPlayer(dave);
+
+        assertEquals(List.of(bob, carol, alice, dave), scheduler.getPlayersInTurnOrder());
+    }
+
+    @Test
+    void testRemoveCurrentPlayerPassesTurnToNext() {
+        scheduler.advance();
+        assertTrue(scheduler.removePlayer(bob));
+
+        assertEquals(carol, scheduler.advance());
+        assertEquals(alice, scheduler.advance());
+        assertEquals(2, scheduler.getPlayerCount());
+    }
+
+    @Test
+    void testRemovedSeatIsReused() {
+        scheduler.skipNextTurn(bob);
+        scheduler.removePlayer(bob);
+        Player dave = new Player("Dave");
+        scheduler.addPlayer(dave);
+
+        assertFalse(scheduler.isSkippingNextTurn(dave));
+        assertEquals(List.of(alice, carol, dave), scheduler.getPlayersInTurnOrder());
+    }
+
+    @Test
+    void testSkipsRunOfPlayersAroundTheEndOfTheSeats() {
+        TurnScheduler large = new TurnScheduler();
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Player player = new Player("Player" + i);
+            players.add(player);
+            large.addPlayer(player);
+        }
+        large.setCurrentPlayer(players.get(150));
+        List<Player> expected = new ArrayList<>();
+        for (int i = 151; i < 210; i++) {
+            Player player = players.get(i % 200);
+            if (i % 2 == 0) {
+                large.skipNextTurn(player);
+            } else {
+                player.setMissingTurn(true);
+            }
+            expected.add(player);
+        }
+        List<Player> skipped = new ArrayList<>();
+
+        assertEquals(players.get(10), large.advance(skipped::add));
+        assertEquals(expected, skipped);
+        assertFalse(players.get(0).isMissingTurn());
+        assertFalse(large.isSkippingNextTurn(players.get(199)));
+        assertEquals(players.get(11), large.advance());
+    }
+
+    @Test
+    void testSkipsWhenRingIsOutOfSeatOrder() {
+        scheduler.removePlayer(bob);
+        Player dave = new Player("Dave");
+        scheduler.addPlayer(dave);
+        carol.setMissingTurn(true);
+
+        assertEquals(dave, scheduler.advance());
+        assertFalse(carol.isMissingTurn());
+        assertEquals(alice, scheduler.advance());
+    }
+
+    @Test
+    void testMissingTurnIsKeptWhenPlayerLeaves() {
+        bob.setMissingTurn(true);
+        assertTrue(scheduler.isSkippingNextTurn(bob));
+
+        scheduler.removePlayer(bob);
+        assertTrue(bob.isMissingTurn());
+        assertEquals(carol, scheduler.advance());
+    }
+
+    @Test
+    void testRemoveLastPlayerEmptiesScheduler() {
+        TurnScheduler single = new TurnScheduler(List.of(alice));
+        single.removePlayer(alice);
+
+        assertNull(single.getCurrentPlayer());
+        assertNull(single.advance());
+    }
+
+    @Test
+    void testAddPlayerTwiceThrows() {
+        assertThrows(IllegalArgumentException.class, () -> scheduler.addPlayer(alice));
+    }
+
+    @Test
+    void testManyPlayersGrowRing() {
+        TurnScheduler large = new TurnScheduler();
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Player player = new Player("Player" + i);
+            players.add(player);
+            large.addPlayer(player);
+        }
+
+        assertEquals(players, large.getPlayersInTurnOrder());
+    }
+}
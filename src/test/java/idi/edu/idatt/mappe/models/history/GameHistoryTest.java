@@ -0,0 +1,116 @@
+package idi.edu.idatt.mappe.models.history;
+
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.GameRules;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.TurnScheduler;
+import idi.edu.idatt.mappe.models.rules.RulePhase;
+import idi.edu.idatt.mappe.models.rules.RulePipeline;
+import idi.edu.idatt.mappe.models.rules.TurnContext;
+import idi.edu.idatt.mappe.utils.factory.BoardGameFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameHistoryTest {
+
+    @Test
+    void testUndoAndRedoAcrossKeyframes() {
+        GameHistory history = new GameHistory(4, 1000);
+        history.start(new int[]{0, 0});
+        for (int step = 1; step <= 10; step++) {
+            assertTrue(history.record(new int[]{step, step * 2}));
+        }
+        assertFalse(history.record(new int[]{10, 20}));
+
+        assertArrayEquals(new int[]{3, 6}, history.undo(7));
+        assertArrayEquals(new int[]{2, 4}, history.undo());
+        assertArrayEquals(new int[]{3, 6}, history.redo());
+        assertEquals(7, history.getRedoCount());
+
+        history.record(new int[]{99, 6});
+        assertFalse(history.canRedo());
+        assertArrayEquals(new int[]{3, 6}, history.undo());
+        assertArrayEquals(new int[]{99, 6}, history.redo());
+        assertArrayEquals(new int[]{0, 0}, history.undo(4));
+        assertFalse(history.canUndo());
+    }
+
+    @Test
+    void testOldestStepsAreDropped() {
+        GameHistory history = new GameHistory(8, 64);
+        history.start(new int[]{0});
+        for (int step = 1; step <= 1000; step++) {
+            history.record(new int[]{step});
+        }
+        int undoCount = history.getUndoCount();
+        assertTrue(undoCount >= 64 && undoCount <= 64 + 8);
+        assertArrayEquals(new int[]{1000 - undoCount}, history.undo(undoCount));
+        assertArrayEquals(new int[]{1001 - undoCount}, history.redo());
+    }
+
+    @Test
+    void testCodecRestoresGame() {
+        BoardGame game = BoardGameFactory.createLostDiamondGame();
+        Player ann = new Player("Ann", "Token");
+        Player bob = new Player("Bob", "Token");
+        game.addPlayer(ann);
+        game.addPlayer(bob);
+        game.startGame();
+        TurnScheduler scheduler = new TurnScheduler(game.getPlayers());
+        game.setCurrentPlayer(ann);
+        ann.setMoney(300);
+
+        GameStateCodec codec = new GameStateCodec(game, scheduler, 1);
+        int[] before = codec.capture();
+
+        Tile city = game.getBoard().getTileByIndex(5);
+        ann.setCurrentTile(city);
+        ann.setMoney(17);
+        ann.setHasDiamond(true);
+        city.setTokenRevealed(true);
+        scheduler.skipNextTurn(bob);
+        game.setCurrentPlayer(bob);
+        scheduler.setCurrentPlayer(bob);
+
+        codec.restore(before);
+
+        assertEquals(1, ann.getCurrentTile().getIndex());
+        assertEquals(300, ann.getMoney());
+        assertFalse(ann.hasDiamond());
+        assertFalse(city.isTokenRevealed());
+        assertFalse(scheduler.isSkippingNextTurn(bob));
+        assertSame(ann, game.getCurrentPlayer());
+        assertSame(ann, scheduler.getCurrentPlayer());
+    }
+
+    @Test
+    void testCodecRestoresRuleCounters() {
+        BoardGame game = BoardGameFactory.createClassicGame();
+        Player ann = new Player("Ann", "Token");
+        game.addPlayer(ann);
+        GameRules rules = new GameRules();
+        rules.setConsecutiveSixesLimit(3);
+        game.setGameRules(rules);
+        game.startGame();
+        GameStateCodec codec = new GameStateCodec(game, new TurnScheduler(game.getPlayers()), 0);
+        RulePipeline pipeline = game.getRulePipeline();
+        int[] before = codec.capture();
+
+        for (int i = 0; i < 2; i++) {
+            pipeline.run(RulePhase.AFTER_ROLL, pipeline.newTurn(ann, rules.getMaxRoll(), message -> { }));
+        }
+        int[] afterTwo = codec.capture();
+        codec.restore(before);
+
+        TurnContext turn = pipeline.newTurn(ann, rules.getMaxRoll(), message -> { });
+        pipeline.run(RulePhase.AFTER_ROLL, turn);
+        assertFalse(turn.isTurnOver());
+
+        codec.restore(afterTwo);
+        turn = pipeline.newTurn(ann, rules.getMaxRoll(), message -> { });
+        pipeline.run(RulePhase.AFTER_ROLL, turn);
+        assertTrue(turn.isTurnOver());
+    }
+}
@@ -0,0 +1,147 @@
+package idi.edu.idatt.mappe.models.rules;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.GameRules;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.tileaction.LadderTileAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RulePipelineTest {
+
+    private Board board;
+    private Player player;
+    private GameRules rules;
+    private List<String> log;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(10, 10, GameType.SNAKES_AND_LADDERS);
+        player = new Player("Ann", "Token");
+        player.setCurrentTile(board.getTileByIndex(1));
+        rules = new GameRules();
+        rules.setConsecutiveSixesLimit(0);
+        log = new ArrayList<>();
+    }
+
+    @Test
+    void testDisabledRulesAreLeftOut() {
+        assertSame(RulePipeline.EMPTY, RulePipeline.compile(null));
+        assertEquals(0, RulePipeline.EMPTY.size());
+
+        RulePipeline pipeline = RulePipeline.compile(rules);
+        assertEquals(1, pipeline.size());
+        assertFalse(pipeline.hasStages(RulePhase.AFTER_MOVE));
+
+        rules.setExtraTurnOnLadder(true);
+        rules.setSkipTurnOnSnake(true);
+        assertEquals(3, RulePipeline.compile(rules).size());
+    }
+
+    @Test
+    void testStartOnlyWithMaxEndsTurn() {
+        rules.setStartOnlyWithMax(true);
+        RulePipeline pipeline = RulePipeline.compile(rules);
+
+        TurnContext low = pipeline.newTurn(player, 5, log::add);
+        pipeline.run(RulePhase.AFTER_ROLL, low);
+        assertTrue(low.isTurnOver());
+
+        TurnContext max = pipeline.newTurn(player, 12, log::add);
+        pipeline.run(RulePhase.AFTER_ROLL, max);
+        assertFalse(max.isTurnOver());
+        assertTrue(max.isMaxRoll());
+    }
+
+    @Test
+    void testConsecutiveMaxRollsForfeitTurn() {
+        rules.setConsecutiveSixesLimit(2);
+        RulePipeline pipeline = RulePipeline.compile(rules);
+
+        TurnContext first = pipeline.newTurn(player, 12, log::add);
+        pipeline.run(RulePhase.AFTER_ROLL, first);
+        assertFalse(first.isTurnOver());
+
+        TurnContext second = pipeline.newTurn(player, 12, log::add);
+        pipeline.run(RulePhase.AFTER_ROLL, second);
+        assertTrue(second.isTurnOver());
+
+        TurnContext third = pipeline.newTurn(player, 12, log::add);
+        pipeline.run(RulePhase.AFTER_ROLL, third);
+        assertFalse(third.isTurnOver());
+    }
+
+    @Test
+    void testLadderRuleUsesLandedTile() {
+        board.getTileByIndex(4).setLandAction(new LadderTileAction(30, "Ladder", board));
+        rules.setExtraTurnOnLadder(true);
+        BoardGame game = new BoardGame(GameType.SNAKES_AND_LADDERS);
+        game.setBoard(board);
+        game.addPlayer(player);
+        game.setGameRules(rules);
+        game.startGame();
+
+        RulePipeline pipeline = game.getRulePipeline();
+        TurnContext turn = pipeline.newTurn(player, 3, log::add);
+        player.placeOnTile(board.getTileByIndex(4));
+        turn.setLandedTile(board.getTileByIndex(4));
+        pipeline.run(RulePhase.AFTER_MOVE, turn);
+
+        assertEquals(30, player.getCurrentTile().getIndex());
+        assertTrue(turn.isExtraTurn());
+        assertEquals(List.of("Ann climbed a ladder and gets an extra turn!"), log);
+    }
+
+    @Test
+    void testLostDiamondOptionsAreBoundWhenCompiled() {
+        GameRules lostDiamond = new GameRules(GameType.THE_LOST_DIAMOND);
+        lostDiamond.setConsecutiveSixesLimit(0);
+        lostDiamond.setAdditionalData("emergencyMoneyAmount", 150);
+        player.setMoney(20);
+        RulePipeline pipeline = RulePipeline.compile(lostDiamond);
+        lostDiamond.setAdditionalData("diceRollThreshold", 11);
+
+        TurnContext turn = pipeline.newTurn(player, 0, log::add);
+        turn.setRequiredMoney(400);
+        pipeline.run(RulePhase.TOKEN_ROLL, turn);
+        pipeline.run(RulePhase.OUT_OF_MONEY, turn);
+        assertEquals(7, turn.getTokenRollThreshold());
+        assertEquals(380, turn.getEmergencyMoney());
+        assertFalse(RulePipeline.compile(rules).hasStages(RulePhase.TOKEN_ROLL));
+
+        lostDiamond.setAdditionalData("allowDiceRollForTokens", false);
+        lostDiamond.setAdditionalData("emergencyMoneyEnabled", false);
+        pipeline = RulePipeline.compile(lostDiamond);
+        turn = pipeline.newTurn(player, 0, log::add);
+        pipeline.run(RulePhase.TOKEN_ROLL, turn);
+        pipeline.run(RulePhase.OUT_OF_MONEY, turn);
+        assertEquals(0, turn.getTokenRollThreshold());
+        assertEquals(0, turn.getEmergencyMoney());
+    }
+
+    @Test
+    void testCustomStagesRunInOrder() {
+        rules.setAdditionalData("bonusRoll", 7);
+        RuleStageFactory bonus = gameRules -> {
+            int bonusRoll = gameRules.getIntAdditionalData("bonusRoll", 0);
+            return bonusRoll == 0 ? null : RuleStage.of(RulePhase.AFTER_MOVE, turn -> {
+                if (turn.getRoll() == bonusRoll) {
+                    turn.grantExtraTurn("bonus");
+                }
+            });
+        };
+        RulePipeline pipeline = RulePipeline.compile(rules, List.of(StandardRuleStages::maxRoll, bonus));
+
+        TurnContext turn = pipeline.newTurn(player, 7, log::add);
+        pipeline.run(RulePhase.AFTER_MOVE, turn);
+        assertTrue(turn.isExtraTurn());
+        assertEquals(0, RulePipeline.compile(new GameRules(), List.of(bonus)).size());
+    }
+}
@@ -0,0 +1,29 @@
+package idi.edu.idatt.mappe.models.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AliasTableTest {
+
+    @Test
+    void testDrawsFollowTheWeights() {
+        AliasTable table = AliasTable.of(new int[]{10, 20, 30, 40}, new double[]{1, 2, 0, 7});
+        int[] counts = new int[5];
+        Random random = new Random(7);
+        int draws = 200_000;
+        for (int i = 0; i < draws; i++) {
+            counts[table.sample(random) / 10]++;
+        }
+
+        assertEquals(0.7, table.getChance(3), 1e-12);
+        assertEquals(0, counts[3]);
+        assertEquals(0.1, counts[1] / (double) draws, 0.005);
+        assertEquals(0.2, counts[2] / (double) draws, 0.005);
+        assertEquals(0.7, counts[4] / (double) draws, 0.005);
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new int[]{1}, new double[]{0}));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(new int[]{1}, new double[]{Double.NaN}));
+    }
+}
@@ -0,0 +1,55 @@
+package idi.edu.idatt.mappe.models.tileaction;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.SwapCandidates;
+import idi.edu.idatt.mappe.models.sampling.SamplingRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomTeleportTileActionTest {
+
+    @Test
+    void testTeleportsToTheWeightedTiles() {
+        BoardGame game = new BoardGame(GameType.SNAKES_AND_LADDERS);
+        Board board = new Board(5, 10, GameType.SNAKES_AND_LADDERS);
+        game.setBoard(board);
+        RandomTeleportTileAction teleport = new RandomTeleportTileAction(board, "Portal");
+        teleport.setSamplingRule(SamplingRule.of(0, 0, 0, Map.of(42, 1.0, 43, 0.0), SwapCandidates.ANY));
+        board.getTileByIndex(8).setLandAction(teleport);
+        Player player = new Player("Player1", "Token1");
+        game.addPlayer(player);
+
+        player.placeOnTile(board.getTileByIndex(8));
+        teleport.perform(player);
+        assertEquals(42, player.getCurrentTile().getIndex());
+        assertEquals(40, SamplingRule.DEFAULT.createTileTable(50).size());
+    }
+
+    @Test
+    void testTeleportFollowsNewRulesAndTables() {
+        Board board = new Board(5, 10, GameType.SNAKES_AND_LADDERS);
+        RandomTeleportTileAction teleport = new RandomTeleportTileAction(board, "Portal");
+        teleport.setSamplingRule(SamplingRule.of(0, 0, 0, Map.of(42, 1.0), SwapCandidates.ANY));
+        board.getTileByIndex(8).setLandAction(teleport);
+        Player player = new Player("Player1", "Token1");
+
+        teleport.perform(player);
+        assertEquals(42, player.getCurrentTile().getIndex());
+
+        teleport.setSamplingRule(SamplingRule.of(0, 0, 0, Map.of(17, 1.0), SwapCandidates.ANY));
+        teleport.perform(player);
+        assertEquals(17, player.getCurrentTile().getIndex());
+
+        assertEquals(2, board.getTargetTables().getTableCount());
+        board.invalidateTargetTables();
+        teleport.perform(player);
+        assertEquals(17, player.getCurrentTile().getIndex());
+        assertEquals(1, board.getTargetTables().getTableCount());
+    }
+}
@@ -0,0 +1,54 @@
+package idi.edu.idatt.mappe.models.tileaction;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.SwapCandidates;
+import idi.edu.idatt.mappe.models.sampling.SamplingRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwapActionTest {
+
+    @Test
+    void testPlayerListedTwiceIsNotItsOwnOpponent() {
+        BoardGame game = new BoardGame(GameType.SNAKES_AND_LADDERS);
+        game.setBoard(new Board(5, 10, GameType.SNAKES_AND_LADDERS));
+        Player player = new Player("Player1", "Token1");
+        game.addPlayer(player);
+        game.addPlayer(player);
+
+        new SwapAction(game, "Swap").perform(player);
+
+        assertEquals(1, player.getCurrentTile().getIndex());
+    }
+
+    @Test
+    void testSwapPicksOnlyAllowedOpponents() {
+        BoardGame game = new BoardGame(GameType.SNAKES_AND_LADDERS);
+        game.setBoard(new Board(5, 10, GameType.SNAKES_AND_LADDERS));
+        Player player = new Player("Player1", "Token1");
+        Player behind = new Player("Player2", "Token2");
+        Player ahead = new Player("Player3", "Token3");
+        game.addPlayer(player);
+        game.addPlayer(behind);
+        game.addPlayer(ahead);
+        game.addPlayer(ahead);
+        SwapAction swap = new SwapAction(game, "Swap");
+        swap.setSamplingRule(SamplingRule.of(0, 0, 1, Map.of(), SwapCandidates.AHEAD));
+
+        for (int i = 0; i < 20; i++) {
+            player.placeOnTile(game.getBoard().getTileByIndex(20));
+            behind.placeOnTile(game.getBoard().getTileByIndex(10));
+            ahead.placeOnTile(game.getBoard().getTileByIndex(30));
+            swap.perform(player);
+            assertEquals(30, player.getCurrentTile().getIndex());
+            assertEquals(20, ahead.getCurrentTile().getIndex());
+            assertEquals(10, behind.getCurrentTile().getIndex());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package idi.edu.idatt.mappe.models.tileaction;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileActionRegistryTest {
+
+    @Test
+    void testEveryKindIsRegistered() {
+        for (TileActionKind kind : TileActionKind.values()) {
+            assertNotNull(TileActionRegistry.get(kind), kind.name());
+            assertNotNull(TileActionRegistry.get(kind).getColor());
+        }
+    }
+
+    @Test
+    void testLadderRoundTrip() {
+        Board board = new Board(9, 10, GameType.SNAKES_AND_LADDERS);
+        TileActionRegistry.Definition definition = TileActionRegistry.forTypeName("LadderAction");
+
+        TileAction action = definition.create(40, "Climb", board);
+
+        assertEquals(TileActionKind.LADDER, action.getKind());
+        assertEquals(40, TileActionRegistry.get(action).getDestinationTileId(action));
+        assertEquals("LadderAction", TileActionRegistry.get(action).getTypeName());
+    }
+
+    @Test
+    void testActionsWithoutDestinationWriteMinusOne() {
+        Board board = new Board(9, 10, GameType.SNAKES_AND_LADDERS);
+        TileAction action = TileActionRegistry.forTypeName("SwapAction").create(-1, "Swap", board);
+
+        assertEquals(TileActionKind.SWAP, action.getKind());
+        assertEquals(-1, TileActionRegistry.get(action).getDestinationTileId(action));
+    }
+
+    @Test
+    void testLostDiamondActionsAreNotSerializable() {
+        assertFalse(TileActionRegistry.get(TileActionKind.DIAMOND).isSerializable());
+        assertNull(TileActionRegistry.forTypeName("DiamondTileAction"));
+    }
+
+    @Test
+    void testMoveMessage() {
+        assertEquals("Ann climbed a ladder from 3 to 22!",
+                TileActionRegistry.get(TileActionKind.LADDER).formatMoveMessage("Ann", 3, 22));
+        assertEquals("Ann moved from 5 to 1 due to a special tile!",
+                TileActionRegistry.get(TileActionKind.GO_TO_START).formatMoveMessage("Ann", 5, 1));
+    }
+}
@@ -0,0 +1,103 @@
+package idi.edu.idatt.mappe.services.analytics;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
+import idi.edu.idatt.mappe.models.enums.TurnColumn;
+import idi.edu.idatt.mappe.models.tileaction.SnakeTileAction;
+import idi.edu.idatt.mappe.utils.diagnostics.TurnEvent;
+import idi.edu.idatt.mappe.utils.diagnostics.TurnSample;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TurnAnalyticsStoreTest {
+
+    private static TurnSample turn(String board, int toTile, int money, TileActionKind action, boolean diamond) {
+        return new TurnSample("SNAKES_AND_LADDERS", board, "Ann", 3, 1, toTile, money, action, diamond);
+    }
+
+    @Test
+    void testQueriesAcrossSegmentsAndBuffer() {
+        TurnAnalyticsStore store = new TurnAnalyticsStore(4);
+        store.ingest(turn("a", 7, 100, TileActionKind.SNAKE, false));
+        store.ingest(turn("a", 7, 200, null, false));
+        store.ingest(turn("a", 12, 300, null, true));
+        store.ingest(turn("a", 7, 400, TileActionKind.SNAKE, false));
+        store.ingest(turn("b", 12, 500, TileActionKind.SNAKE, false));
+        store.ingest(turn("b", 30, 600, null, true));
+
+        assertEquals(6, store.getRowCount());
+        assertEquals(1, store.getSegmentCount());
+
+        TurnQueryResult mostLanded = store.query().groupBy(TurnColumn.TO_TILE).count();
+        assertEquals(List.of("7", "12"), mostLanded.top(2));
+        assertEquals(3, mostLanded.getValue("7"));
+
+        assertEquals(450, store.query().whereEquals(TurnColumn.DIAMOND_FOUND, 1)
+                .average(TurnColumn.MONEY).getValue(), 1e-9);
+
+        TurnQueryResult snakes = store.query().whereEquals(TurnColumn.LAND_ACTION, "SNAKE")
+                .groupBy(TurnColumn.BOARD).count();
+        TurnQueryResult rates = snakes.ratioTo(store.query().groupBy(TurnColumn.BOARD).count());
+        assertEquals(0.5, rates.getValue("a"), 1e-9);
+        assertEquals(0.5, rates.getValue("b"), 1e-9);
+
+        assertEquals(2, store.query().whereBetween(TurnColumn.MONEY, 450, 1000).count().getValue());
+        assertEquals(0, store.query().whereEquals(TurnColumn.BOARD, "missing").count().getValue());
+        assertEquals(700, store.query().whereEquals(TurnColumn.BOARD, "a")
+                .whereBetween(TurnColumn.TO_TILE, 7, 7).sum(TurnColumn.MONEY).getValue());
+    }
+
+    @Test
+    void testIngestsLiveTurnsAndRecordings() throws Exception {
+        Board board = new Board(10, 10, GameType.SNAKES_AND_LADDERS);
+        for (int tile = 2; tile <= 13; tile++) {
+            board.getTileByIndex(tile).setLandAction(new SnakeTileAction(1, "Snake", board));
+        }
+        BoardGame game = new BoardGame(GameType.SNAKES_AND_LADDERS);
+        game.setBoard(board);
+        game.createDice(2);
+        game.addPlayer(new Player("Ann", "Hat"));
+        game.startGame();
+        game.setCurrentPlayer(game.getPlayers().get(0));
+
+        TurnAnalyticsStore live = new TurnAnalyticsStore();
+        Path file = Files.createTempFile("turns", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TurnEvent.class);
+            recording.start();
+            live.attach();
+            try {
+                for (int i = 0; i < 20; i++) {
+                    game.play();
+                }
+            } finally {
+                live.detach();
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        TurnAnalyticsStore replayed = new TurnAnalyticsStore();
+        try {
+            assertEquals(20, replayed.ingestRecording(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        for (TurnAnalyticsStore store : List.of(live, replayed)) {
+            assertEquals(20, store.getRowCount());
+            assertEquals(20, store.query().whereEquals(TurnColumn.LAND_ACTION, "SNAKE")
+                    .whereEquals(TurnColumn.TO_TILE, 1).count().getValue());
+            assertEquals(20, store.query().whereEquals(TurnColumn.BOARD, board.getLayoutKey()).count().getValue());
+        }
+    }
+}
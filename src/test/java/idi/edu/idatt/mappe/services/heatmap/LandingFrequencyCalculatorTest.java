@@ -0,0 +1,63 @@
+package idi.edu.idatt.mappe.services.heatmap;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.GameRules;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.tileaction.LadderTileAction;
+import idi.edu.idatt.mappe.models.tileaction.SnakeTileAction;
+import idi.edu.idatt.mappe.utils.factory.BoardGameFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LandingFrequencyCalculatorTest {
+
+    @Test
+    void testSnakesAndLaddersIsSolvedExactly() {
+        Board board = new Board(10, 10, GameType.SNAKES_AND_LADDERS);
+        board.getTileByIndex(3).setLandAction(new LadderTileAction(40, "Ladder", board));
+        board.getTileByIndex(60).setLandAction(new SnakeTileAction(20, "Snake", board));
+        GameRules rules = new GameRules(GameType.SNAKES_AND_LADDERS, "Standard", 1, 6);
+
+        double[] lastProgress = {0};
+        HeatMap heatMap = LandingFrequencyCalculator.of(board, rules)
+                .compute(progress -> lastProgress[0] = progress, () -> false);
+
+        assertTrue(heatMap.isExact());
+        assertEquals(1.0, lastProgress[0]);
+        assertEquals(1.0 / 6, heatMap.getLandingShare(2) / heatMap.getTurnShare(1), 1e-9);
+        assertTrue(heatMap.getLandingShare(3) > 0);
+        assertEquals(0, heatMap.getTurnShare(3));
+        assertEquals(0, heatMap.getTurnShare(60));
+        assertTrue(heatMap.getTurnShare(40) > heatMap.getTurnShare(39));
+
+        double total = 0;
+        for (Tile tile : board.getTiles().values()) {
+            total += heatMap.getLandingShare(tile.getIndex());
+            assertTrue(heatMap.getIntensity(tile.getIndex()) <= 1);
+        }
+        assertEquals(1.0, total, 1e-9);
+    }
+
+    @Test
+    void testLostDiamondIsSimulatedAndCanBeCancelled() {
+        BoardGame game = BoardGameFactory.createLostDiamondGame();
+        GameRules rules = new GameRules(GameType.THE_LOST_DIAMOND);
+        LandingFrequencyCalculator calculator = LandingFrequencyCalculator.of(game.getBoard(), rules);
+
+        HeatMap heatMap = calculator.compute(progress -> { }, () -> false);
+        assertFalse(heatMap.isExact());
+        assertEquals(calculator.getKey(), heatMap.getKey());
+        assertEquals(LandingFrequencyCalculator.keyOf(game.getBoard(), rules), heatMap.getKey());
+        long visited = game.getBoard().getTiles().values().stream()
+                .filter(tile -> heatMap.getLandingShare(tile.getIndex()) > 0)
+                .count();
+        assertTrue(visited > 1);
+
+        assertThrows(CancellationException.class, () -> calculator.compute(progress -> { }, () -> true));
+    }
+}
@@ -0,0 +1,200 @@
+package idi.edu.idatt.mappe.services.network;
+
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.services.spectator.SpectatorState;
+import idi.edu.idatt.mappe.services.spectator.SpectatorStream;
+import idi.edu.idatt.mappe.utils.factory.BoardGameFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameHostTest {
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    private static final class RecordingListener implements GameClient.Listener {
+        final BlockingQueue<GameSetup> welcomes = new LinkedBlockingQueue<>();
+        final BlockingQueue<ByteBuffer> frames = new LinkedBlockingQueue<>();
+        final BlockingQueue<Long> seeds = new LinkedBlockingQueue<>();
+        final BlockingQueue<Boolean> lost = new LinkedBlockingQueue<>();
+        final SpectatorState state = new SpectatorState();
+
+        @Override
+        public void onWelcome(GameSetup setup) {
+            welcomes.add(setup);
+        }
+
+        @Override
+        public void onState(ByteBuffer frame) {
+            frames.add(frame);
+        }
+
+        @Override
+        public void onRoll(String playerName, long seed) {
+            seeds.add(seed);
+        }
+
+        @Override
+        public void onConnectionLost() {
+            lost.add(true);
+        }
+
+        void applyNextFrame() throws InterruptedException {
+            ByteBuffer frame = frames.poll(5, TimeUnit.SECONDS);
+            assertNotNull(frame, "No state frame arrived");
+            state.apply(frame);
+        }
+    }
+
+    @AfterEach
+    void closeResources() throws Exception {
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    private GameHost host(int port, BoardGame game, SpectatorStream stream, BlockingQueue<String> requests)
+            throws Exception {
+        GameHost host = GameHost.start(port);
+        resources.add(host);
+        host.setGame(GameSetup.of(game), stream, requests::add);
+        return host;
+    }
+
+    @Test
+    void testClientsMirrorHostedGame() throws Exception {
+        BoardGame game = BoardGameFactory.createClassicGame();
+        Player ann = new Player("Ann");
+        Player bob = new Player("Bob");
+        game.addPlayer(ann);
+        game.addPlayer(bob);
+        game.startGame();
+        game.setCurrentPlayer(ann);
+        SpectatorStream stream = new SpectatorStream(game);
+        stream.start();
+
+        BlockingQueue<String> requests = new LinkedBlockingQueue<>();
+        GameHost host = host(0, game, stream, requests);
+
+        List<RecordingListener> listeners = List.of(new RecordingListener(), new RecordingListener());
+        List<GameClient> clients = new ArrayList<>();
+        for (int i = 0; i < listeners.size(); i++) {
+            GameClient client = GameClient.connect("localhost", host.getPort(), i == 0 ? "Ann" : "Bob", listeners.get(i));
+            resources.add(client);
+            clients.add(client);
+        }
+        List<GameSetup> setups = new ArrayList<>();
+        for (RecordingListener listener : listeners) {
+            GameSetup setup = listener.welcomes.poll(5, TimeUnit.SECONDS);
+            assertNotNull(setup);
+            setups.add(setup);
+            listener.applyNextFrame();
+            assertEquals(List.of("Ann", "Bob"), listener.state.getPlayerNames());
+        }
+
+        ann.setCurrentTile(game.getBoard().getTileByIndex(17));
+        game.setCurrentPlayer(bob);
+        stream.publish();
+        long seed = host.announceRoll("Bob");
+        game.getDice().setSeed(seed);
+        game.getDice().roll();
+
+        for (int i = 0; i < listeners.size(); i++) {
+            RecordingListener listener = listeners.get(i);
+            listener.applyNextFrame();
+            assertEquals(17, listener.state.getPlayerTile(0));
+            assertEquals("Bob", listener.state.getCurrentPlayerName());
+
+            Long announced = listener.seeds.poll(5, TimeUnit.SECONDS);
+            assertEquals(seed, announced);
+            BoardGame local = setups.get(i).createGame();
+            local.getDice().setSeed(announced);
+            local.getDice().roll();
+            assertEquals(game.getDice().getValues(), local.getDice().getValues());
+        }
+
+        assertTrue(clients.get(1).requestTurn());
+        assertEquals("Bob", requests.poll(5, TimeUnit.SECONDS));
+        assertEquals(2, host.getClientCount());
+    }
+
+    @Test
+    void testClientResyncsAfterHostRestarts() throws Exception {
+        BoardGame game = BoardGameFactory.createClassicGame();
+        Player ann = new Player("Ann");
+        game.addPlayer(ann);
+        game.startGame();
+        SpectatorStream stream = new SpectatorStream(game);
+        stream.start();
+
+        BlockingQueue<String> requests = new LinkedBlockingQueue<>();
+        GameHost host = host(0, game, stream, requests);
+        int port = host.getPort();
+
+        RecordingListener listener = new RecordingListener();
+        resources.add(GameClient.connect("localhost", port, "Ann", listener));
+        assertNotNull(listener.welcomes.poll(5, TimeUnit.SECONDS));
+        listener.applyNextFrame();
+
+        host.close();
+        assertNotNull(listener.lost.poll(5, TimeUnit.SECONDS));
+
+        ann.setCurrentTile(game.getBoard().getTileByIndex(42));
+        stream.publish();
+        host(port, game, stream, requests);
+
+        assertNotNull(listener.welcomes.poll(10, TimeUnit.SECONDS));
+        listener.applyNextFrame();
+        assertEquals(42, listener.state.getPlayerTile(0));
+    }
+
+    @Test
+    void testRollWaitsForTheStateItFollows() throws Exception {
+        BoardGame game = BoardGameFactory.createClassicGame();
+        Player ann = new Player("Ann");
+        game.addPlayer(ann);
+        game.startGame();
+        ExecutorService delivery = Executors.newSingleThreadExecutor();
+        resources.add(delivery::shutdownNow);
+        SpectatorStream stream = new SpectatorStream(game, delivery, SpectatorStream.DEFAULT_MAX_PENDING_FRAMES);
+        stream.start();
+
+        GameHost host = host(0, game, stream, new LinkedBlockingQueue<>());
+        RecordingListener listener = new RecordingListener();
+        resources.add(GameClient.connect("localhost", host.getPort(), "Ann", listener));
+        assertNotNull(listener.welcomes.poll(5, TimeUnit.SECONDS));
+        listener.applyNextFrame();
+
+        CountDownLatch gate = new CountDownLatch(1);
+        delivery.execute(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ann.setCurrentTile(game.getBoard().getTileByIndex(23));
+        stream.publish();
+        long seed = host.announceRoll("Ann");
+
+        assertNull(listener.seeds.poll(300, TimeUnit.MILLISECONDS));
+        assertTrue(listener.frames.isEmpty());
+        gate.countDown();
+
+        listener.applyNextFrame();
+        assertEquals(23, listener.state.getPlayerTile(0));
+        assertEquals(seed, listener.seeds.poll(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,130 @@
+package idi.edu.idatt.mappe.services.spectator;
+
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.utils.factory.BoardGameFactory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpectatorStreamTest {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    private void deliver() {
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+    }
+
+    @Test
+    void testSpectatorsFollowSnapshotAndDeltas() {
+        BoardGame game = BoardGameFactory.createLostDiamondGame();
+        Player ann = new Player("Ann", "Token");
+        Player bob = new Player("Bob", "Token");
+        game.addPlayer(ann);
+        game.addPlayer(bob);
+        game.startGame();
+        game.setCurrentPlayer(ann);
+
+        SpectatorStream stream = new SpectatorStream(game, tasks::add, 8);
+        SpectatorState early = new SpectatorState();
+        List<ByteBuffer> frames = new ArrayList<>();
+        stream.subscribe(frame -> {
+            frames.add(frame);
+            early.apply(frame);
+        }, null);
+        stream.start();
+
+        Tile city = game.getBoard().getTiles().values().stream()
+                .filter(tile -> tile.getHiddenToken() != null).findFirst().orElseThrow();
+        ann.setCurrentTile(city);
+        ann.setMoney(1000);
+        city.setTokenRevealed(true);
+        game.setCurrentPlayer(bob);
+        stream.publish();
+        stream.publish();
+
+        SpectatorState late = new SpectatorState();
+        stream.subscribe(late::apply, null);
+        deliver();
+
+        assertEquals(2, frames.size());
+        assertEquals(SpectatorFrames.DELTA, frames.get(1).get(0));
+        assertTrue(frames.get(1).remaining() < frames.get(0).remaining());
+        for (SpectatorState state : List.of(early, late)) {
+            assertEquals(List.of("Ann", "Bob"), state.getPlayerNames());
+            assertEquals(city.getIndex(), state.getPlayerTile(0));
+            assertEquals(1000, state.getPlayerMoney(0));
+            assertEquals(city.getHiddenToken(), state.getVisibleToken(city.getIndex()));
+            assertEquals("Bob", state.getCurrentPlayerName());
+        }
+    }
+
+    @Test
+    void testSlowSpectatorIsDisconnected() {
+        BoardGame game = BoardGameFactory.createLostDiamondGame();
+        Player ann = new Player("Ann", "Token");
+        game.addPlayer(ann);
+        game.startGame();
+
+        SpectatorStream stream = new SpectatorStream(game, tasks::add, 3);
+        boolean[] disconnected = {false};
+        SpectatorStream.Subscription slow = stream.subscribe(frame -> { }, () -> disconnected[0] = true);
+        stream.start();
+        for (int money = 1; money <= 3; money++) {
+            ann.setMoney(money);
+            stream.publish();
+        }
+
+        assertFalse(slow.isConnected());
+        assertEquals(0, stream.getSubscriberCount());
+        deliver();
+        assertTrue(disconnected[0]);
+    }
+
+    @Test
+    void testBlockedSpectatorDoesNotHoldUpOthers() throws Exception {
+        BoardGame game = BoardGameFactory.createLostDiamondGame();
+        Player ann = new Player("Ann", "Token");
+        game.addPlayer(ann);
+        game.startGame();
+
+        CountDownLatch release = new CountDownLatch(1);
+        Semaphore received = new Semaphore(0);
+        try (SpectatorStream stream = new SpectatorStream(game)) {
+            SpectatorStream.Subscription blocked = stream.subscribe(frame -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, null);
+            SpectatorStream.Subscription fast = stream.subscribe(frame -> received.release(), null);
+            stream.start();
+            assertTrue(received.tryAcquire(5, TimeUnit.SECONDS));
+
+            for (int money = 1; money <= 2 * SpectatorStream.DEFAULT_MAX_PENDING_FRAMES; money++) {
+                ann.setMoney(money);
+                stream.publish();
+                assertTrue(received.tryAcquire(5, TimeUnit.SECONDS));
+            }
+
+            assertTrue(fast.isConnected());
+            assertFalse(blocked.isConnected());
+            assertEquals(1, stream.getSubscriberCount());
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package idi.edu.idatt.mappe.services.stats;
+
+import idi.edu.idatt.mappe.models.PlayerGameResult;
+import idi.edu.idatt.mappe.models.PlayerStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerStatsStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecordsGamesPerPlayer() throws Exception {
+        try (PlayerStatsStore store = PlayerStatsStore.open(directory)) {
+            store.recordGame(List.of(
+                    new PlayerGameResult("Ann", true, 10, 0),
+                    new PlayerGameResult("Bob", false, 9, 0)));
+            store.recordGameAsync(List.of(
+                    new PlayerGameResult("ann ", false, 20, 300),
+                    new PlayerGameResult("Bob", true, 21, 0))).get(5, TimeUnit.SECONDS);
+
+            PlayerStats ann = store.get("ANN");
+            assertEquals("Ann", ann.getName());
+            assertEquals(2, ann.getGamesPlayed());
+            assertEquals(1, ann.getWins());
+            assertEquals(15.0, ann.getAverageTurns());
+            assertEquals(300, ann.getTreasureEarned());
+            assertEquals(0, store.get("Cecilie").getGamesPlayed());
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    void testAsyncLookUpSeesEarlierGames() throws Exception {
+        try (PlayerStatsStore store = PlayerStatsStore.open(directory)) {
+            for (int i = 0; i < 50; i++) {
+                store.recordGameAsync(List.of(new PlayerGameResult("Ann", i % 2 == 0, 10, 0)));
+            }
+            PlayerStats ann = store.getAsync(" ann").get(5, TimeUnit.SECONDS);
+
+            assertEquals(50, ann.getGamesPlayed());
+            assertEquals(25, ann.getWins());
+        }
+    }
+
+    @Test
+    void testStatsSurviveReopeningAndLostIndex() throws Exception {
+        try (PlayerStatsStore store = PlayerStatsStore.open(directory)) {
+            for (int i = 0; i < 200; i++) {
+                store.recordGame(List.of(new PlayerGameResult("Player " + i, i % 2 == 0, i, 0)));
+            }
+        }
+        try (PlayerStatsStore store = PlayerStatsStore.open(directory)) {
+            assertEquals(200, store.size());
+            assertEquals(1, store.get("Player 198").getWins());
+        }
+
+        Files.delete(directory.resolve("player-stats.idx"));
+        try (PlayerStatsStore store = PlayerStatsStore.open(directory)) {
+            assertEquals(200, store.size());
+            assertEquals(57, store.get("Player 57").getTotalTurns());
+        }
+    }
+
+    @Test
+    void testPartlyWrittenRecordIsDropped() throws Exception {
+        try (PlayerStatsStore store = PlayerStatsStore.open(directory)) {
+            store.recordGame(List.of(new PlayerGameResult("Ann", true, 10, 0)));
+        }
+        Files.write(directory.resolve("player-stats.log"), new byte[]{0, 0, 0, 40, 1, 2},
+                StandardOpenOption.APPEND);
+        Files.delete(directory.resolve("player-stats.idx"));
+
+        try (PlayerStatsStore store = PlayerStatsStore.open(directory)) {
+            assertEquals(1, store.get("Ann").getGamesPlayed());
+            store.recordGame(List.of(new PlayerGameResult("Ann", false, 4, 0)));
+            assertEquals(2, store.get("Ann").getGamesPlayed());
+        }
+    }
+
+    @Test
+    void testCompactionKeepsLatestStats() throws Exception {
+        Path log = directory.resolve("player-stats.log");
+        try (PlayerStatsStore store = PlayerStatsStore.open(directory)) {
+            for (int game = 0; game < 3000; game++) {
+                store.recordGame(List.of(
+                        new PlayerGameResult("Ann", game % 3 == 0, 5, 1),
+                        new PlayerGameResult("Bob", false, 7, 0)));
+            }
+            assertTrue(Files.size(log) < 64 * 1024 + 1024);
+
+            store.compact();
+            assertEquals(3000, store.get("Ann").getGamesPlayed());
+            assertEquals(1000, store.get("Ann").getWins());
+            assertEquals(21000, store.get("Bob").getTotalTurns());
+        }
+        try (PlayerStatsStore store = PlayerStatsStore.open(directory)) {
+            assertEquals(3000, store.get("Ann").getTreasureEarned());
+        }
+    }
+}
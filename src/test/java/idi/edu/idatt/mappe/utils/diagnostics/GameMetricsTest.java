@@ -0,0 +1,92 @@
+package idi.edu.idatt.mappe.utils.diagnostics;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.TileActionKind;
+import idi.edu.idatt.mappe.models.tileaction.LadderTileAction;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMetricsTest {
+
+    private BoardGame game;
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        GameMetrics.reset();
+        Board board = new Board(10, 10, GameType.SNAKES_AND_LADDERS);
+        board.getTileByIndex(5).setLandAction(new LadderTileAction(50, "Ladder", board));
+        game = new BoardGame(GameType.SNAKES_AND_LADDERS);
+        game.setBoard(board);
+        game.createDice(1);
+        player = new Player("Ann", "Hat");
+        game.addPlayer(player);
+        game.startGame();
+        game.setCurrentPlayer(player);
+    }
+
+    @Test
+    void testCountsTurnsAndTileActions() {
+        game.play();
+        player.setCurrentTile(game.getBoard().getTileByIndex(1));
+        game.movePlayer(player, 4);
+
+        assertEquals(1, GameMetrics.getCount(GameMetrics.Counter.TURNS));
+        assertEquals(1, GameMetrics.getHistogram(GameMetrics.Timer.TURN).getCount());
+        assertTrue(GameMetrics.getTileActionCount(TileActionKind.LADDER) >= 1);
+        assertTrue(GameMetrics.getCount(GameMetrics.Counter.OBSERVER_DISPATCHES) >= 3);
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(100, snapshot.getCount());
+        assertEquals(100_000, snapshot.getMaxNanos());
+        assertEquals(50_500, snapshot.getMeanNanos(), 0.001);
+        long p50 = snapshot.getPercentileNanos(50);
+        assertTrue(p50 >= 50_000 && p50 < 100_000, "p50 was " + p50);
+        assertEquals(100_000, snapshot.getPercentileNanos(100));
+    }
+
+    @Test
+    void testEventsAreCommittedWhenRecording() throws Exception {
+        Path file = Files.createTempFile("metrics", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TurnEvent.class);
+            recording.enable(TileActionEvent.class);
+            recording.start();
+
+            player.setCurrentTile(game.getBoard().getTileByIndex(1));
+            game.movePlayer(player, 4);
+            game.play();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("idi.edu.idatt.mappe.Turn")
+                && e.getString("player").equals("Ann")));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("idi.edu.idatt.mappe.TileAction")
+                && e.getString("actionKind").equals("LADDER") && e.getInt("toTile") == 50));
+    }
+}
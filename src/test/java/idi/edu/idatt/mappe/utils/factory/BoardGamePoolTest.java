@@ -0,0 +1,73 @@
+package idi.edu.idatt.mappe.utils.factory;
+
+import idi.edu.idatt.mappe.models.BoardGame;
+import idi.edu.idatt.mappe.models.GameRules;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.enums.GameState;
+import idi.edu.idatt.mappe.models.enums.TokenType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardGamePoolTest {
+
+    @Test
+    void testResetShufflesAndHidesTokens() {
+        BoardGame game = BoardGameFactory.createLostDiamondGame();
+        Player player = new Player("Ann", "Token");
+        game.addPlayer(player);
+        game.startGame();
+
+        List<TokenType> before = tokens(game);
+        game.getBoard().forEachTile(tile -> tile.revealToken(player));
+        player.setMoney(5);
+        game.setGameState(GameState.FINISHED);
+
+        game.reset(new Random(1));
+
+        List<TokenType> after = tokens(game);
+        assertEquals(GameState.NOT_STARTED, game.getGameState());
+        assertEquals(300, player.getMoney());
+        assertEquals(1, player.getCurrentTile().getIndex());
+        assertEquals(before.stream().sorted().toList(), after.stream().sorted().toList());
+        assertNotEquals(before, after);
+        game.getBoard().forEachTile(tile -> assertFalse(tile.isTokenRevealed()));
+    }
+
+    @Test
+    void testReleasedGameIsReused() {
+        BoardGamePool pool = new BoardGamePool(1);
+        GameRules rules = GameRulesFactory.createSnakesAndLaddersRules();
+
+        BoardGame game = pool.acquire(rules);
+        game.addPlayer(new Player("Ann", "Token"));
+        game.startGame();
+
+        assertTrue(pool.release(game));
+        assertTrue(pool.release(game));
+        assertEquals(1, pool.getIdleCount(BoardGameFactory.boardKey(rules)));
+
+        BoardGame reused = pool.acquire(rules);
+        assertSame(game, reused);
+        assertTrue(reused.getPlayers().isEmpty());
+        assertEquals(GameState.NOT_STARTED, reused.getGameState());
+        assertNotSame(game, pool.acquire(rules));
+
+        assertFalse(pool.release(BoardGameFactory.createClassicGame()));
+    }
+
+    private static List<TokenType> tokens(BoardGame game) {
+        List<TokenType> tokens = new ArrayList<>();
+        game.getBoard().forEachTile(tile -> {
+            if (tile.getHiddenToken() != null) {
+                tokens.add(tile.getHiddenToken());
+            }
+        });
+        return tokens;
+    }
+}
@@ -0,0 +1,44 @@
+package idi.edu.idatt.mappe.utils.file;
+
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.SwapCandidates;
+import idi.edu.idatt.mappe.models.sampling.SamplingRule;
+import idi.edu.idatt.mappe.models.tileaction.RandomTeleportTileAction;
+import idi.edu.idatt.mappe.models.tileaction.SampledTileAction;
+import idi.edu.idatt.mappe.utils.file.reader.BoardFileReaderGson;
+import idi.edu.idatt.mappe.utils.file.writer.BoardFileWriterGson;
+import idi.edu.idatt.mappe.validators.BoardValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardFileGsonTest {
+
+    @Test
+    void testSamplingRulesAreReadFromTheBoardFile() throws Exception {
+        Board board = new Board(5, 10, GameType.SNAKES_AND_LADDERS);
+        RandomTeleportTileAction teleport = new RandomTeleportTileAction(board, "Portal");
+        teleport.setSamplingRule(SamplingRule.of(0, 0, 0, Map.of(42, 1.0, 43, 0.0), SwapCandidates.ANY));
+        board.getTileByIndex(8).setLandAction(teleport);
+
+        Board read = new BoardFileReaderGson().readBoardFromString(new BoardFileWriterGson().writeBoardToString(board));
+
+        SampledTileAction readTeleport = (SampledTileAction) read.getTileByIndex(8).getLandAction();
+        assertEquals(teleport.getSamplingRule(), readTeleport.getSamplingRule());
+        assertNotEquals(new Board(5, 10, GameType.SNAKES_AND_LADDERS).getLayoutKey(), read.getLayoutKey());
+    }
+
+    @Test
+    void testValidatorReportsWeightedTilesOffTheBoard() {
+        Board board = new Board(5, 10, GameType.SNAKES_AND_LADDERS);
+        RandomTeleportTileAction teleport = new RandomTeleportTileAction(board, "Portal");
+        teleport.setSamplingRule(SamplingRule.of(0, 0, 0, Map.of(60, 1.0), SwapCandidates.ANY));
+        board.getTileByIndex(8).setLandAction(teleport);
+
+        assertTrue(BoardValidator.findStructuralProblems(board).stream()
+                .anyMatch(problem -> problem.startsWith("Tile 8: weighted tile 60")));
+    }
+}
@@ -0,0 +1,127 @@
+package idi.edu.idatt.mappe.utils.file;
+
+import idi.edu.idatt.mappe.exceptions.JsonParsingException;
+import idi.edu.idatt.mappe.models.AdjacencyGraph;
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.TokenPool;
+import idi.edu.idatt.mappe.models.enums.Direction;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.TileType;
+import idi.edu.idatt.mappe.models.enums.TokenType;
+import idi.edu.idatt.mappe.utils.factory.BoardFactory;
+import idi.edu.idatt.mappe.utils.file.reader.BoardFileReaderGson;
+import idi.edu.idatt.mappe.utils.file.reader.LostDiamondMapReader;
+import idi.edu.idatt.mappe.utils.file.writer.BoardFileWriterGson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LostDiamondMapTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReferenceMapsMatchTheFactory() throws Exception {
+        Map<String, Board> maps = Map.of(
+                "lost_diamond_easy.json", BoardFactory.createEasyLostDiamondBoard(),
+                "lost_diamond_standard.json", BoardFactory.createLostDiamondBoard(),
+                "lost_diamond_challenging.json", BoardFactory.createChallengingLostDiamondBoard());
+
+        for (Map.Entry<String, Board> entry : maps.entrySet()) {
+            Board expected = entry.getValue();
+            Board board = new BoardFileReaderGson().readBoard("src/main/resources/maps/" + entry.getKey());
+
+            assertEquals(GameType.THE_LOST_DIAMOND, board.getGameType());
+            assertEquals(expected.getTokenPool().getCounts(), board.getTokenPool().getCounts());
+            int diamondCity = expected.getTokenPool().getDiamondCityId();
+            assertEquals(diamondCity, board.getTokenPool().getDiamondCityId());
+            assertEquals(TokenType.DIAMOND, board.getTileByIndex(diamondCity).getHiddenToken());
+
+            AdjacencyGraph rebuilt = new AdjacencyGraph(board);
+            assertEquals(rebuilt.getEdgeCount(), board.getAdjacencyGraph().getEdgeCount());
+            for (Tile city : expected.getTiles().values()) {
+                Tile read = board.getTileByIndex(city.getIndex());
+                assertEquals(city.getName(), read.getName());
+                assertEquals(city.getTileType(), read.getTileType());
+                assertEquals(city.getX(), read.getX());
+                assertEquals(city.getY(), read.getY());
+                for (Direction direction : Direction.values()) {
+                    int to = rebuilt.getNeighbour(city.getIndex(), direction);
+                    assertEquals(to, board.getAdjacencyGraph().getNeighbour(city.getIndex(), direction));
+                    assertEquals(rebuilt.getTravelCost(city.getIndex(), to),
+                            board.getAdjacencyGraph().getTravelCost(city.getIndex(), to));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLargeMapRoundTrip() throws Exception {
+        int columns = 100;
+        int rows = 50;
+        Board board = new Board(GameType.THE_LOST_DIAMOND);
+        for (int id = 1; id <= columns * rows; id++) {
+            TileType type = id <= 2 ? TileType.STARTING_CITY : TileType.CITY;
+            board.addTile(id, new Tile(id, "City " + id, type, (id - 1) % columns, (id - 1) / columns));
+        }
+        for (int id = 1; id <= columns * rows; id++) {
+            Tile city = board.getTileByIndex(id);
+            if (id % columns != 0) {
+                city.addConnection(Direction.EAST, board.getTileByIndex(id + 1), id % 7);
+                board.getTileByIndex(id + 1).addConnection(Direction.WEST, city, id % 7);
+            }
+            if (id + columns <= columns * rows) {
+                city.addConnection(Direction.SOUTH, board.getTileByIndex(id + columns), 10);
+                board.getTileByIndex(id + columns).addConnection(Direction.NORTH, city, 10);
+            }
+        }
+        board.setTokenPool(TokenPool.of(columns * rows, 100, Map.of(TokenType.RUBY, 40, TokenType.THIEF, 60)));
+        board.getTokenPool().deal(board, new Random(1));
+        String file = directory.resolve("large.json").toString();
+
+        new BoardFileWriterGson().writeBoard(board, file);
+        Board read = new LostDiamondMapReader(new Random(2)).readBoard(file);
+
+        assertEquals(columns * rows, read.getTileCount());
+        assertEquals(2 * (rows * (columns - 1) + columns * (rows - 1)), read.getAdjacencyGraph().getEdgeCount());
+        assertEquals(3, read.getAdjacencyGraph().getTravelCost(3, 4));
+        assertEquals(3, read.getAdjacencyGraph().getTravelCost(4, 3));
+        assertEquals(Direction.NORTH, read.getAdjacencyGraph().getDirection(101, 1));
+        assertSame(read.getTileByIndex(1), read.getTileByIndex(101).getConnectionInDirection(Direction.NORTH));
+        long rubies = read.getTiles().values().stream().filter(t -> t.getHiddenToken() == TokenType.RUBY).count();
+        assertEquals(40, rubies);
+    }
+
+    @Test
+    void testReportsTheRouteOrCityThatIsWrong() {
+        String header = "{\"format\":\"lost-diamond-map\",\"version\":1,\"cityCount\":3,\"cities\":["
+                + "{\"id\":1,\"name\":\"A\",\"type\":\"STARTING_CITY\"},"
+                + "{\"id\":2,\"name\":\"B\",\"type\":\"STARTING_CITY\"},"
+                + "{\"id\":3,\"name\":\"C\"}],";
+        LostDiamondMapReader reader = new LostDiamondMapReader();
+
+        JsonParsingException unsorted = assertThrows(JsonParsingException.class, () -> reader.readMapFromString(header
+                + "\"routes\":[{\"from\":2,\"to\":3,\"direction\":\"EAST\",\"cost\":1},"
+                + "{\"from\":1,\"to\":3,\"direction\":\"EAST\",\"cost\":1}]}"));
+        assertTrue(unsorted.getMessage().startsWith("Route 2 (1 -> 3)"), unsorted.getMessage());
+
+        JsonParsingException unknown = assertThrows(JsonParsingException.class, () -> reader.readMapFromString(header
+                + "\"routes\":[{\"from\":1,\"to\":9,\"direction\":\"EAST\",\"cost\":1}]}"));
+        assertTrue(unknown.getMessage().contains("no city 9"), unknown.getMessage());
+
+        JsonParsingException order = assertThrows(JsonParsingException.class, () -> reader.readMapFromString(
+                "{\"cityCount\":2,\"cities\":[{\"id\":2},{\"id\":1}]}"));
+        assertTrue(order.getMessage().startsWith("City 2:"), order.getMessage());
+
+        JsonParsingException invalid = assertThrows(JsonParsingException.class, () -> reader.readMapFromString(header
+                + "\"routes\":[{\"from\":1,\"to\":2,\"direction\":\"EAST\",\"cost\":1}]}"));
+        assertTrue(invalid.getMessage().startsWith("Invalid map:"), invalid.getMessage());
+    }
+}
@@ -0,0 +1,117 @@
+package idi.edu.idatt.mappe.utils.file;
+
+import idi.edu.idatt.mappe.exceptions.CVSParsingException;
+import idi.edu.idatt.mappe.models.Player;
+import idi.edu.idatt.mappe.utils.file.reader.PlayerFileReaderCVS;
+import idi.edu.idatt.mappe.utils.file.writer.PlayerFileWriterCVS;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerFileCsvTest {
+
+    @TempDir
+    Path directory;
+
+    private final PlayerFileReaderCVS reader = new PlayerFileReaderCVS();
+    private final PlayerFileWriterCVS writer = new PlayerFileWriterCVS();
+
+    @Test
+    void testReadsFilesWithoutHeader() throws Exception {
+        Path file = directory.resolve("players.csv");
+        Files.writeString(file, "Ola,controller\r\n\r\nAnna,cat,#3498db,250\n");
+
+        List<Player> players = reader.loadPlayers(file.toString());
+
+        assertEquals(2, players.size());
+        assertEquals("Ola", players.get(0).getName());
+        assertEquals("controller", players.get(0).getToken());
+        assertNull(players.get(0).getColor());
+        assertEquals("#3498db", players.get(1).getColor());
+        assertEquals(250, players.get(1).getStartingMoney());
+    }
+
+    @Test
+    void testReadsQuotedFieldsAndHeaderOrder() throws Exception {
+        Path file = directory.resolve("players.csv");
+        Files.writeString(file, "name,color,token\n\"Smith, \"\"Jo\"\"\",#fff,\"hat\"\n");
+
+        List<Player> players = reader.loadPlayers(file.toString());
+
+        assertEquals("Smith, \"Jo\"", players.getFirst().getName());
+        assertEquals("hat", players.getFirst().getToken());
+        assertEquals("#fff", players.getFirst().getColor());
+    }
+
+    @Test
+    void testRoundTripKeepsColourAndMoney() throws Exception {
+        List<Player> roster = new ArrayList<>();
+        Player first = new Player("Line\nBreak", "cat", 120);
+        first.setColor("#e74c3c");
+        roster.add(first);
+        roster.add(new Player(" Spaced ", "dog"));
+        for (int i = 0; i < 100_000; i++) {
+            roster.add(new Player("Player " + i, "token" + (i % 8)));
+        }
+        Path file = directory.resolve("roster.csv");
+
+        writer.savePlayers(roster, file.toString());
+        List<Player> players = reader.loadPlayers(file.toString());
+
+        assertEquals(roster.size(), players.size());
+        assertEquals("Line\nBreak", players.get(0).getName());
+        assertEquals("#e74c3c", players.get(0).getColor());
+        assertEquals(120, players.get(0).getStartingMoney());
+        assertEquals("Spaced", players.get(1).getName());
+        assertEquals("Player 99999", players.getLast().getName());
+    }
+
+    @Test
+    void testReportsEveryInvalidRowWithItsLine() throws Exception {
+        Path file = directory.resolve("players.csv");
+        Files.writeString(file, "Ola,controller\nAnna\nPer,cat,red\n\"Kari\nNordmann\",hat,#000000,lots\n");
+
+        CVSParsingException exception = assertThrows(CVSParsingException.class,
+                () -> reader.loadPlayers(file.toString()));
+
+        Throwable[] rows = exception.getSuppressed();
+        assertEquals(3, rows.length);
+        assertEquals(2, ((CVSParsingException) rows[0]).getLineNumber());
+        assertEquals(3, ((CVSParsingException) rows[1]).getLineNumber());
+        assertEquals(4, ((CVSParsingException) rows[2]).getLineNumber());
+        assertTrue(exception.getMessage().contains("Line 3: Invalid colour 'red'"));
+    }
+
+    @Test
+    void testRejectsUnclosedQuote() throws Exception {
+        Path file = directory.resolve("players.csv");
+        Files.writeString(file, "Ola,controller\n\"Anna,cat\nPer,cat,red\nLiv,fox\n");
+
+        CVSParsingException exception = assertThrows(CVSParsingException.class,
+                () -> reader.loadPlayers(file.toString()));
+
+        Throwable[] rows = exception.getSuppressed();
+        assertEquals(2, rows.length);
+        assertEquals(2, ((CVSParsingException) rows[0]).getLineNumber());
+        assertEquals(3, ((CVSParsingException) rows[1]).getLineNumber());
+        assertTrue(exception.getMessage().contains("Line 3: Invalid colour 'red'"));
+
+        Files.writeString(file, "Ka\"ri,hat\n\"Jo\"x,dog\nLiv,fox,#zz\n");
+        rows = assertThrows(CVSParsingException.class, () -> reader.loadPlayers(file.toString())).getSuppressed();
+        assertEquals(3, rows.length);
+        assertEquals(1, ((CVSParsingException) rows[0]).getLineNumber());
+        assertEquals(2, ((CVSParsingException) rows[1]).getLineNumber());
+        assertEquals(3, ((CVSParsingException) rows[2]).getLineNumber());
+
+        Files.writeString(file, "Ola,controller\n\"Anna,cat\nPer,cat\n");
+        exception = assertThrows(CVSParsingException.class, () -> reader.loadPlayers(file.toString()));
+        assertEquals(1, exception.getSuppressed().length);
+        assertTrue(exception.getMessage().contains("Line 2: Quoted field is not closed"));
+    }
+}
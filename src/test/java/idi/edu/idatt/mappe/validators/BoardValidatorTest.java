@@ -0,0 +1,77 @@
+package idi.edu.idatt.mappe.validators;
+
+import idi.edu.idatt.mappe.exceptions.JsonParsingException;
+import idi.edu.idatt.mappe.models.Board;
+import idi.edu.idatt.mappe.models.Tile;
+import idi.edu.idatt.mappe.models.enums.GameType;
+import idi.edu.idatt.mappe.models.enums.TileType;
+import idi.edu.idatt.mappe.models.tileaction.LadderTileAction;
+import idi.edu.idatt.mappe.models.tileaction.RandomTeleportTileAction;
+import idi.edu.idatt.mappe.models.tileaction.SnakeTileAction;
+import idi.edu.idatt.mappe.utils.factory.BoardFactory;
+import idi.edu.idatt.mappe.utils.file.reader.BoardFileReaderGson;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardValidatorTest {
+
+    @Test
+    void testBundledBoardsAreValid() throws JsonParsingException {
+        File[] files = new File("src/main/resources/boards").listFiles((dir, name) -> name.endsWith(".json"));
+        assertNotNull(files);
+        BoardFileReaderGson reader = new BoardFileReaderGson();
+        for (File file : files) {
+            Board board = reader.readBoard(file.getPath());
+            assertEquals(List.of(), BoardValidator.findStructuralProblems(board), file.getName());
+        }
+        assertEquals(List.of(), BoardValidator.findStructuralProblems(BoardFactory.createLostDiamondBoard()));
+    }
+
+    @Test
+    void testReportsEveryProblemWithTileIds() {
+        Board board = new Board(2, 5, GameType.SNAKES_AND_LADDERS);
+        board.getTileByIndex(2).setLandAction(new LadderTileAction(40, "Ladder", board));
+        board.getTileByIndex(3).setLandAction(new LadderTileAction(6, "Ladder", board));
+        board.getTileByIndex(6).setLandAction(new SnakeTileAction(3, "Snake", board));
+        board.getTileByIndex(8).setLandAction(new RandomTeleportTileAction(board, "Teleport"));
+        board.getTileByIndex(4).setNextTile(null);
+
+        List<String> problems = BoardValidator.findStructuralProblems(board);
+
+        assertTrue(problems.stream().anyMatch(p -> p.startsWith("Tile 2:") && p.contains("40")), problems::toString);
+        assertTrue(problems.stream().anyMatch(p -> p.contains("loop") && p.contains("3 -> 6")), problems::toString);
+        assertTrue(problems.stream().anyMatch(p -> p.startsWith("Tile 8:")), problems::toString);
+        assertTrue(problems.stream().anyMatch(p -> p.startsWith("Tile 4:")), problems::toString);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BoardValidator.validateStructure(board));
+        assertTrue(e.getMessage().startsWith(problems.size() + " problems"));
+    }
+
+    @Test
+    void testReportsUnreachableLastTile() {
+        Board board = new Board(5, 10, GameType.SNAKES_AND_LADDERS);
+        for (int tile = 30; tile < 42; tile++) {
+            board.getTileByIndex(tile).setLandAction(new SnakeTileAction(2, "Snake", board));
+        }
+
+        List<String> problems = BoardValidator.findStructuralProblems(board, 2, 12);
+
+        assertEquals(List.of("Tile 50: the last tile cannot be reached from tile 1 with rolls from 2 to 12"), problems);
+        assertEquals(List.of(), BoardValidator.findStructuralProblems(board, 2, 13));
+    }
+
+    @Test
+    void testReportsCitiesThatCannotBeReached() {
+        Board board = BoardFactory.createLostDiamondBoard();
+        board.addTile(900, new Tile(900, "Atlantis", TileType.CITY, 0, 0));
+
+        List<String> problems = BoardValidator.findStructuralProblems(board);
+
+        assertEquals(2, problems.size(), problems::toString);
+        assertTrue(problems.stream().allMatch(p -> p.startsWith("Tile 900: the city Atlantis cannot be reached")));
+    }
+}
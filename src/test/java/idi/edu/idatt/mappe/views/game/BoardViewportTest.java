@@ -0,0 +1,50 @@
+package idi.edu.idatt.mappe.views.game;
+
+import idi.edu.idatt.mappe.views.game.BoardViewport.LevelOfDetail;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardViewportTest {
+
+    @Test
+    void testZoomKeepsPointUnderCursorAndStaysOnBoard() {
+        BoardViewport viewport = new BoardViewport(700, 600, 100);
+        assertEquals(120, viewport.toScreenX(120));
+        assertEquals(80, viewport.toScreenY(80));
+
+        assertTrue(viewport.zoomAt(10, 100, 150));
+        assertEquals(10, viewport.getZoom());
+        assertEquals(100, viewport.toScreenX(100), 1e-9);
+        assertEquals(150, viewport.toScreenY(150), 1e-9);
+
+        viewport.panBy(10_000, 10_000);
+        double[] visible = viewport.getVisibleBounds(0);
+        assertEquals(0, visible[0], 1e-9);
+        assertEquals(0, visible[1], 1e-9);
+        assertEquals(70, visible[2], 1e-9);
+        assertEquals(60, visible[3], 1e-9);
+
+        assertTrue(viewport.zoomAt(0.01, 0, 0));
+        assertEquals(1, viewport.getZoom());
+        assertEquals(350, viewport.getCenterX());
+    }
+
+    @Test
+    void testFollowsPointsNearTheEdge() {
+        BoardViewport viewport = new BoardViewport(700, 600, 8);
+        viewport.zoomAt(4, 350, 300);
+
+        assertFalse(viewport.ensureVisible(350, 300, 80));
+        assertTrue(viewport.ensureVisible(690, 590, 80));
+        assertEquals(700 - 350 / 4.0, viewport.getCenterX(), 1e-9);
+        assertEquals(600 - 300 / 4.0, viewport.getCenterY(), 1e-9);
+    }
+
+    @Test
+    void testLevelOfDetailFollowsTileSize() {
+        assertEquals(LevelOfDetail.BLOCKS, LevelOfDetail.forTileSize(0.7));
+        assertEquals(LevelOfDetail.TILES, LevelOfDetail.forTileSize(BoardViewport.MIN_TILE_PIXELS));
+        assertEquals(LevelOfDetail.DETAIL, LevelOfDetail.forTileSize(72));
+    }
+}
@@ -0,0 +1,77 @@
+package idi.edu.idatt.mappe.views.game;
+
+import idi.edu.idatt.mappe.models.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileOccupancyIndexTest {
+
+    private TileOccupancyIndex index;
+    private Player first;
+    private Player second;
+    private Player third;
+
+    @BeforeEach
+    void setUp() {
+        index = new TileOccupancyIndex();
+        first = new Player("Player1", "Token1");
+        second = new Player("Player2", "Token2");
+        third = new Player("Player3", "Token3");
+    }
+
+    @Test
+    void testMoveBetweenTiles() {
+        assertEquals(TileOccupancyIndex.NO_TILE, index.move(first, 1));
+        assertEquals(1, index.getTileIndex(first));
+        assertEquals(1, index.move(first, 1));
+
+        assertEquals(1, index.move(first, 7));
+        assertEquals(7, index.getTileIndex(first));
+        assertEquals(0, index.getSlot(first));
+        assertEquals(List.of(first), index.getPlayersOnTile(7));
+        assertEquals(0, index.getPlayerCount(1));
+        assertEquals(Set.of(7), index.getOccupiedTiles());
+    }
+
+    @Test
+    void testRemovingLastPlayerFreesTile() {
+        index.move(first, 3);
+        index.move(second, 3);
+
+        assertEquals(3, index.move(first, 4));
+        assertEquals(3, index.remove(second));
+        assertEquals(TileOccupancyIndex.NO_TILE, index.remove(second));
+
+        assertTrue(index.getPlayersOnTile(3).isEmpty());
+        assertEquals(Set.of(4), index.getOccupiedTiles());
+        assertEquals(TileOccupancyIndex.NO_TILE, index.getTileIndex(second));
+        assertEquals(-1, index.getSlot(second));
+
+        index.clear();
+        assertTrue(index.getOccupiedTiles().isEmpty());
+        assertEquals(TileOccupancyIndex.NO_TILE, index.getTileIndex(first));
+    }
+
+    @Test
+    void testPlayersOnTileKeepSlotOrder() {
+        index.move(first, 5);
+        index.move(second, 5);
+        index.move(third, 5);
+        assertEquals(List.of(first, second, third), index.getPlayersOnTile(5));
+
+        index.move(first, 6);
+        assertEquals(List.of(third, second), index.getPlayersOnTile(5));
+        assertEquals(0, index.getSlot(third));
+        assertEquals(1, index.getSlot(second));
+
+        index.move(first, 5);
+        assertEquals(List.of(third, second, first), index.getPlayersOnTile(5));
+        assertEquals(2, index.getSlot(first));
+        assertThrows(UnsupportedOperationException.class, () -> index.getPlayersOnTile(5).clear());
+    }
+}